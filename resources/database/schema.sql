@@ -22,15 +22,15 @@ CREATE TABLE IF NOT EXISTS CUSTOMER (
 CREATE TABLE IF NOT EXISTS ACCOUNT (
     ACCOUNT_NUMBER VARCHAR(50) PRIMARY KEY,
     ACCOUNT_TYPE VARCHAR(20) NOT NULL,
-    BALANCE DOUBLE NOT NULL DEFAULT 0.0,
+    BALANCE DECIMAL(19,2) NOT NULL DEFAULT 0.00,
     BRANCH VARCHAR(100) NOT NULL,
     CUSTOMER_ID VARCHAR(50) NOT NULL,
     DATE_OPENED DATE NOT NULL,
     LAST_INTEREST_DATE DATE,
     EMPLOYER VARCHAR(100),
     EMPLOYER_ADDRESS VARCHAR(255),
-    INTEREST_RATE DOUBLE,
-    MINIMUM_BALANCE DOUBLE,
+    INTEREST_RATE DECIMAL(9,6),
+    MINIMUM_BALANCE DECIMAL(19,2),
     FOREIGN KEY (CUSTOMER_ID) REFERENCES CUSTOMER(CUSTOMER_ID),
     CREATED_DATE TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
@@ -39,7 +39,7 @@ CREATE TABLE IF NOT EXISTS ACCOUNT (
 CREATE TABLE IF NOT EXISTS TRANSACTION (
     TRANSACTION_ID VARCHAR(50) PRIMARY KEY,
     TRANSACTION_TYPE VARCHAR(20) NOT NULL,
-    AMOUNT DOUBLE NOT NULL,
+    AMOUNT DECIMAL(19,2) NOT NULL,
     TRANSACTION_DATE DATE NOT NULL,
     ACCOUNT_NUMBER VARCHAR(50) NOT NULL,
     STATUS VARCHAR(20) NOT NULL,
@@ -47,6 +47,35 @@ CREATE TABLE IF NOT EXISTS TRANSACTION (
     FOREIGN KEY (ACCOUNT_NUMBER) REFERENCES ACCOUNT(ACCOUNT_NUMBER)
 );
 
+-- INTEREST_RUN Table (month-end interest checkpoints)
+CREATE TABLE IF NOT EXISTS INTEREST_RUN (
+    RUN_ID VARCHAR(20) PRIMARY KEY,
+    STATUS VARCHAR(20) NOT NULL,
+    LAST_ACCOUNT_NUMBER VARCHAR(50),
+    ACCOUNTS_PROCESSED INT NOT NULL DEFAULT 0,
+    TOTAL_INTEREST DECIMAL(19,2) NOT NULL DEFAULT 0.00,
+    STARTED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    UPDATED_AT TIMESTAMP NULL
+);
+
+-- AUDIT_LOG Table
+CREATE TABLE IF NOT EXISTS AUDIT_LOG (
+    ID VARCHAR(100) PRIMARY KEY,
+    TIMESTAMP DATETIME(6) NOT NULL,
+    ACTOR_ID VARCHAR(50),
+    ACTOR_EMAIL VARCHAR(100),
+    ACTION_TYPE VARCHAR(100),
+    TARGET_TYPE VARCHAR(50),
+    TARGET_ID VARCHAR(100),
+    DETAILS TEXT,
+    STATUS VARCHAR(50),
+    CREATED_TIMESTAMP TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
 -- Create Indexes for better performance
 CREATE INDEX idx_customer_id ON ACCOUNT(CUSTOMER_ID);
-CREATE INDEX idx_account_number ON TRANSACTION(ACCOUNT_NUMBER);
\ No newline at end of file
+CREATE INDEX idx_txn_account_date ON TRANSACTION(ACCOUNT_NUMBER, TRANSACTION_DATE, TRANSACTION_ID);
+CREATE UNIQUE INDEX idx_customer_email ON CUSTOMER(EMAIL);
+CREATE INDEX idx_audit_ts_id ON AUDIT_LOG(TIMESTAMP, ID);
+CREATE INDEX idx_audit_actor_ts ON AUDIT_LOG(ACTOR_ID, TIMESTAMP);
+CREATE INDEX idx_audit_target_ts ON AUDIT_LOG(TARGET_ID, TIMESTAMP);
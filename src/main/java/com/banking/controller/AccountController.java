@@ -2,13 +2,20 @@ package com.banking.controller;
 
 import com.banking.model.*;
 import com.banking.service.*;
+import com.banking.util.Log;
 import java.util.*;
 
 public class AccountController {
     private Bank bank;
+    private final SessionManager sessions;
     
     public AccountController(Bank bank) {
+        this(bank, SessionManager.getInstance());
+    }
+
+    public AccountController(Bank bank, SessionManager sessions) {
         this.bank = bank;
+        this.sessions = sessions;
     }
     
     /**
@@ -16,7 +23,7 @@ public class AccountController {
      */
     public Account openSavingsAccount(Customer customer) {
         if (customer == null) {
-            System.out.println("✗ Customer is null");
+            Log.warn("✗ Customer is null");
             return null;
         }
         Account account = bank.openAccount(customer, "savings");
@@ -31,21 +38,22 @@ public class AccountController {
      */
     public Account openInvestmentAccount(Customer customer, double initialDeposit) {
         if (customer == null) {
-            System.out.println("✗ Customer is null");
+            Log.warn("✗ Customer is null");
             return null;
         }
         
         if (initialDeposit < InvestmentAccount.getMinimumOpening()) {
-            System.out.println("✗ Minimum opening balance: BWP " + 
+            Log.warn(() -> "✗ Minimum opening balance: BWP " + 
                              InvestmentAccount.getMinimumOpening());
             return null;
         }
         
         Account account = bank.openAccount(customer, "investment");
         if (account != null) {
+            long before = account.getBalanceThebe();
             account.deposit(initialDeposit);
             // Persist the account with the initial deposit
-            bank.updateAccount(account);
+            bank.updateAccount(account, account.getBalanceThebe() - before);
             try { bank.logAction(customer.getCustomerId(), customer.getEmail(), "OPEN_ACCOUNT", "ACCOUNT", account.getAccountId(), "Opened investment account", "OK"); } catch (Exception ex) {}
         }
         return account;
@@ -57,17 +65,17 @@ public class AccountController {
     public Account openChequeAccount(Customer customer, String employerName, 
                                      String employerAddress) {
         if (customer == null) {
-            System.out.println("✗ Customer is null");
+            Log.warn("✗ Customer is null");
             return null;
         }
         
         if (employerName == null || employerName.isEmpty()) {
-            System.out.println("✗ Employer name is required");
+            Log.warn("✗ Employer name is required");
             return null;
         }
         
         if (employerAddress == null || employerAddress.isEmpty()) {
-            System.out.println("✗ Employer address is required");
+            Log.warn("✗ Employer address is required");
             return null;
         }
         
@@ -159,38 +167,40 @@ public class AccountController {
      */
     public List<Account> getUserAccounts(String customerId) {
         if (customerId == null) return new ArrayList<>();
-        // Always fetch fresh from DB instead of using in-memory cached accounts
-        for (Customer customer : bank.getAllCustomers()) {
-            if (customer.getCustomerId().equals(customerId)) {
-                // Fetch fresh from DB and sync with in-memory customer object
-                List<Account> accounts = bank.getAllAccountsForCustomer(customer.getCustomerId());
-                customer.getAccounts().clear();
-                customer.getAccounts().addAll(accounts);
-                return accounts;
-            }
-        }
-        return new ArrayList<>();
+        // Served from the bank's cache, which every account write invalidates
+        return bank.getAllAccountsForCustomer(customerId);
     }
     
     /**
-     * Get transaction history for a user - used by ModernBankingApp
+     * Get the full transaction history for a user, newest first per account.
+     * Reads every row; prefer getRecentTransactionHistory for display.
      */
     public List<Transaction> getTransactionHistory(String customerId) {
         List<Transaction> allTransactions = new ArrayList<>();
         if (customerId == null) return allTransactions;
-        for (Customer customer : bank.getAllCustomers()) {
-            if (customer.getCustomerId().equals(customerId)) {
-                for (Account account : bank.getAllAccountsForCustomer(customer.getCustomerId())) {
-                    List<Transaction> txns = account.getTransactions();
-                    System.out.println("✓ Loaded " + txns.size() + " transactions for account " + account.getAccountNumber());
-                    allTransactions.addAll(txns);
-                }
-            }
+        for (Account account : bank.getAllAccountsForCustomer(customerId)) {
+            allTransactions.addAll(account.getHistory().loadAll());
         }
-        System.out.println("✓ Total transactions for customer " + customerId + ": " + allTransactions.size());
+        Log.debug(() -> "✓ Total transactions for customer " + customerId + ": " + allTransactions.size());
         return allTransactions;
     }
     
+    /**
+     * Get a user's most recent transactions across all their accounts,
+     * newest first - used by ModernBankingApp. Reads at most one page per
+     * account instead of each account's whole history.
+     */
+    public List<Transaction> getRecentTransactionHistory(String customerId, int limit) {
+        List<Transaction> recent = new ArrayList<>();
+        if (customerId == null) return recent;
+        for (Account account : bank.getAllAccountsForCustomer(customerId)) {
+            recent.addAll(account.getHistory().latest(limit).items);
+        }
+        recent.sort(Comparator.comparing(Transaction::getDate)
+            .thenComparing(Transaction::getTransactionId).reversed());
+        return recent.size() > limit ? new ArrayList<>(recent.subList(0, limit)) : recent;
+    }
+    
     /**
      * Create account for user - used by ModernBankingApp
      */
@@ -211,63 +221,36 @@ public class AccountController {
     public boolean transferFunds(String fromAccountId, String toAccountId, 
                                  double amount, String description) {
         if (fromAccountId == null || toAccountId == null || amount <= 0) {
-            System.out.println("✗ Invalid transfer parameters");
+            Log.warn("✗ Invalid transfer parameters");
             return false;
         }
         
-        // Find accounts by ID
-        Account fromAccount = null;
-        Account toAccount = null;
-        
-        for (Account account : bank.getAllAccounts()) {
-            if (account.getAccountId().equals(fromAccountId)) {
-                fromAccount = account;
-            }
-            if (account.getAccountId().equals(toAccountId)) {
-                toAccount = account;
-            }
-        }
+        // Find both accounts by primary key in one query
+        Map<String, Account> accounts = bank.getAccountPair(fromAccountId, toAccountId);
+        Account fromAccount = accounts.get(fromAccountId);
+        Account toAccount = accounts.get(toAccountId);
         
         if (fromAccount == null || toAccount == null) {
-            System.out.println("✗ One or both accounts not found");
+            Log.warn("✗ One or both accounts not found");
             return false;
         }
         
         if (fromAccount.getBalance() < amount) {
-            System.out.println("✗ Insufficient funds");
+            Log.warn("✗ Insufficient funds");
             return false;
         }
         
-        // Perform transfer
-        boolean success = fromAccount.withdraw(amount) && toAccount.deposit(amount);
+        // Perform transfer: balances and both transaction records in one database transaction
+        boolean success = bank.transfer(fromAccount, toAccount, amount);
         if (success) {
-            System.out.println("✓ Transfer of " + amount + " completed: " + 
+            Log.debug(() -> "✓ Transfer of " + amount + " completed: " + 
                              (description != null ? description : "No description"));
             try {
                 // actor is the owner of the source account
-                // find owner
-                String ownerId = null; String ownerEmail = null;
-                for (Customer c : bank.getAllCustomers()) {
-                    for (Account a : bank.getAllAccountsForCustomer(c.getCustomerId())) {
-                        if (a.getAccountId().equals(fromAccountId)) { ownerId = c.getCustomerId(); ownerEmail = c.getEmail(); break; }
-                    }
-                    if (ownerId != null) break;
-                }
+                Customer owner = bank.getAccountOwner(fromAccountId);
+                String ownerId = owner != null ? owner.getCustomerId() : null;
+                String ownerEmail = owner != null ? owner.getEmail() : null;
                 bank.logAction(ownerId, ownerEmail, "TRANSFER", "TRANSACTION", fromAccountId + "->" + toAccountId, "Amount: " + amount + (description != null ? " desc=" + description : ""), "OK");
-                // persist transaction records and update accounts
-                try {
-                    String txOutId = "TXN_" + java.util.UUID.randomUUID().toString();
-                    Transaction txOut = new Transaction(txOutId, "WITHDRAWAL", amount, java.time.LocalDate.now(), fromAccount.getAccountNumber(), "SUCCESS");
-                    bank.recordTransaction(txOut);
-                    bank.updateAccount(fromAccount);
-
-                    String txInId = "TXN_" + java.util.UUID.randomUUID().toString();
-                    Transaction txIn = new Transaction(txInId, "DEPOSIT", amount, java.time.LocalDate.now(), toAccount.getAccountNumber(), "SUCCESS");
-                    bank.recordTransaction(txIn);
-                    bank.updateAccount(toAccount);
-                } catch (Exception ex) {
-                    System.out.println("⚠ Warning: could not persist transfer transactions: " + ex.getMessage());
-                }
             } catch (Exception ex) {}
         }
         return success;
@@ -276,30 +259,32 @@ public class AccountController {
     /**
      * Owner-checked transfer: ensures caller owns the source account before transfer.
      * callerCustomerId is the hashed customerId passed from the UI (currentUser.getUserId()).
+     * A logged-in caller is checked against the account numbers cached in
+     * their session; the owner is looked up only for accounts the session
+     * does not list.
      */
     public boolean transferFunds(String callerCustomerId, String fromAccountId, String toAccountId,
                                  double amount, String description) {
-        // locate the owner of the source account
-        Customer owner = null;
-        for (Customer c : bank.getAllCustomers()) {
-            for (Account a : bank.getAllAccountsForCustomer(c.getCustomerId())) {
-                if (a.getAccountId().equals(fromAccountId)) {
-                    owner = c;
-                    break;
-                }
-            }
-            if (owner != null) break;
+        SessionManager.Session session = sessions.findByCustomer(callerCustomerId);
+        if (session != null && session.ownsAccount(fromAccountId)) {
+            return transferFunds(fromAccountId, toAccountId, amount, description);
         }
 
+        // locate the owner of the source account
+        Customer owner = bank.getAccountOwner(fromAccountId);
+
         if (owner == null) {
-            System.out.println("✗ Source account owner not found");
+            Log.warn("✗ Source account owner not found");
             return false;
         }
 
         if (!owner.getCustomerId().equals(callerCustomerId)) {
-            System.out.println("✗ Unauthorized: caller does not own the source account");
+            Log.warn("✗ Unauthorized: caller does not own the source account");
             return false;
         }
+        if (session != null) {
+            session.addAccount(fromAccountId); // opened since login
+        }
 
         // delegate to existing transfer method
         return transferFunds(fromAccountId, toAccountId, amount, description);
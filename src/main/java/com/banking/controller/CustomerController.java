@@ -2,6 +2,8 @@ package com.banking.controller;
 
 import com.banking.model.*;
 import com.banking.service.*;
+import com.banking.util.IdGenerator;
+import com.banking.util.Log;
 
 public class CustomerController {
     private Bank bank;
@@ -30,7 +32,7 @@ public class CustomerController {
         // Add to bank
         bank.addCustomer(customer);
         
-        System.out.println("✓ Customer registered: " + customerId);
+        Log.info(() -> "✓ Customer registered: " + customerId);
         return customer;
     }
     
@@ -40,23 +42,23 @@ public class CustomerController {
     private boolean validateCustomerInput(String firstName, String surname, String address,
                                          String phoneNumber, String email) {
         if (firstName == null || firstName.isEmpty()) {
-            System.out.println("✗ First name is required");
+            Log.warn("✗ First name is required");
             return false;
         }
         if (surname == null || surname.isEmpty()) {
-            System.out.println("✗ Surname is required");
+            Log.warn("✗ Surname is required");
             return false;
         }
         if (address == null || address.isEmpty()) {
-            System.out.println("✗ Address is required");
+            Log.warn("✗ Address is required");
             return false;
         }
         if (phoneNumber == null || phoneNumber.isEmpty()) {
-            System.out.println("✗ Phone number is required");
+            Log.warn("✗ Phone number is required");
             return false;
         }
         if (email == null || email.isEmpty()) {
-            System.out.println("✗ Email is required");
+            Log.warn("✗ Email is required");
             return false;
         }
         return true;
@@ -66,7 +68,7 @@ public class CustomerController {
      * Generate unique customer ID
      */
     private String generateCustomerId() {
-        return "CUST" + System.nanoTime();
+        return IdGenerator.next("CUST_");
     }
     
     /**
@@ -99,17 +101,17 @@ public class CustomerController {
      */
     public boolean updateCustomerAddress(Customer customer, String newAddress) {
         if (customer == null) {
-            System.out.println("✗ Customer is null");
+            Log.warn("✗ Customer is null");
             return false;
         }
         
         if (newAddress == null || newAddress.isEmpty()) {
-            System.out.println("✗ Address cannot be empty");
+            Log.warn("✗ Address cannot be empty");
             return false;
         }
         
         customer.setAddress(newAddress);
-        System.out.println("✓ Address updated");
+        Log.info("✓ Address updated");
         return true;
     }
     
@@ -118,17 +120,17 @@ public class CustomerController {
      */
     public boolean updateCustomerEmail(Customer customer, String newEmail) {
         if (customer == null) {
-            System.out.println("✗ Customer is null");
+            Log.warn("✗ Customer is null");
             return false;
         }
         
         if (newEmail == null || newEmail.isEmpty()) {
-            System.out.println("✗ Email cannot be empty");
+            Log.warn("✗ Email cannot be empty");
             return false;
         }
         
         customer.setEmail(newEmail);
-        System.out.println("✓ Email updated");
+        Log.info("✓ Email updated");
         return true;
     }
 }
\ No newline at end of file
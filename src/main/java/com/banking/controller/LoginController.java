@@ -4,6 +4,10 @@ import com.banking.model.*;
 import com.banking.service.*;
 import com.banking.main.User;
 import com.banking.main.Role;
+import com.banking.util.IdGenerator;
+import com.banking.util.Log;
+import java.util.ArrayList;
+import java.util.List;
 
 // ============================================================================
 // 1. LOGIN CONTROLLER - Handles authentication
@@ -14,7 +18,8 @@ import com.banking.main.Role;
  * Responsibility:
  * - Validate username/customer ID
  * - Authenticate users
- * - Manage login state
+ * - Manage login sessions (see SessionManager); the desktop application
+ *   keeps one current session per controller, a server hands out tokens
  * 
  * DOES NOT contain:
  * - GUI code (no JFrame, buttons, text fields)
@@ -22,12 +27,27 @@ import com.banking.main.Role;
  * - Business logic storage
  */
 public class LoginController {
+    /** Source recorded for logins made from the desktop application. */
+    public static final String LOCAL_SOURCE = "local";
+
     private Bank bank;
-    private Customer currentLoggedInCustomer;
+    private final LoginThrottle throttle;
+    private final SessionManager sessions;
+    // token of the desktop application's session, if any
+    private volatile String currentToken;
     
     public LoginController(Bank bank) {
+        this(bank, LoginThrottle.getInstance(), SessionManager.getInstance());
+    }
+
+    public LoginController(Bank bank, LoginThrottle throttle) {
+        this(bank, throttle, SessionManager.getInstance());
+    }
+
+    public LoginController(Bank bank, LoginThrottle throttle, SessionManager sessions) {
         this.bank = bank;
-        this.currentLoggedInCustomer = null;
+        this.throttle = throttle;
+        this.sessions = sessions;
     }
     
     /**
@@ -37,80 +57,157 @@ public class LoginController {
      */
     public boolean authenticateCustomer(String customerId) {
         if (customerId == null || customerId.isEmpty()) {
-            System.out.println("✗ Customer ID cannot be empty");
+            Log.warn("✗ Customer ID cannot be empty");
             return false;
         }
         
         Customer customer = bank.getCustomerById(customerId);
         
         if (customer != null) {
-            this.currentLoggedInCustomer = customer;
-            System.out.println("✓ Authentication successful for: " + 
+            setCurrent(openSession(customer).getToken());
+            Log.info(() -> "✓ Authentication successful for: " + 
                              customer.getFirstName() + " " + customer.getSurname());
             return true;
         }
         
-        System.out.println("✗ Customer ID not found");
+        Log.warn("✗ Customer ID not found");
         return false;
     }
 
     /**
      * Authenticate by username/email and password.
      *
-     * NOTE: The current model does not store passwords. This method will
-     * attempt to find a Customer by email (username) and mark them as logged in.
-     * Replace or extend this with real password verification when a password
-     * field / secure storage is available.
+     * The password is checked on the PasswordVerifier pool, so this blocks
+     * for roughly one BCrypt round and must not run on the UI thread. A
+     * stored hash in the old SHA-256 format is replaced on success.
      *
      * @param username email/username to locate the customer
-     * @param password password (currently unused)
-     * @return true if a matching customer was found and logged in
+     * @param password plain-text password
+     * @return true if the password matched and the customer was logged in
      */
     public boolean authenticateUser(String username, String password) {
-        if (username == null || username.isEmpty()) {
-            System.out.println("✗ Username cannot be empty");
+        return authenticateUser(username, password, LOCAL_SOURCE);
+    }
+
+    /**
+     * Authenticate an attempt from the given source (e.g. a client address).
+     * Attempts over the LoginThrottle limits for the email or the source
+     * are refused before the customer is looked up.
+     */
+    public boolean authenticateUser(String username, String password, String source) {
+        String token = login(username, password, source);
+        if (token == null) {
             return false;
         }
+        setCurrent(token);
+        return true;
+    }
+
+    /**
+     * Authenticate and open a new session without touching this
+     * controller's current session, for callers serving many users.
+     *
+     * @return the session token, or null if the login was refused
+     */
+    public String login(String username, String password, String source) {
+        if (username == null || username.isEmpty()) {
+            Log.warn("✗ Username cannot be empty");
+            return null;
+        }
         
         if (password == null || password.isEmpty()) {
-            System.out.println("✗ Password cannot be empty");
-            return false;
+            Log.warn("✗ Password cannot be empty");
+            return null;
+        }
+
+        LoginThrottle.Decision decision = throttle.tryAcquire(username, source);
+        if (!decision.allowed) {
+            Log.debug(() -> "✗ Too many login attempts for " + username + "; retry in " + (decision.retryAfterMillis / 1000 + 1) + "s");
+            return null;
         }
 
         Customer customer = bank.getCustomerByEmail(username);
 
         if (customer != null) {
-            // Verify password using PasswordUtil
+            // Verify password on the bounded verifier pool
             String storedHash = customer.getPasswordHash();
-            if (storedHash == null || storedHash.isEmpty() || 
-                !com.banking.util.PasswordUtil.verifyPassword(password, storedHash)) {
-                System.out.println("✗ Invalid password for: " + username);
-                return false;
+            if (storedHash == null || storedHash.isEmpty()) {
+                Log.warn(() -> "✗ Invalid password for: " + username);
+                return null;
+            }
+            PasswordVerifier.Result check = PasswordVerifier.getInstance().verify(password, storedHash);
+            if (check.outcome == PasswordVerifier.Outcome.BUSY) {
+                Log.warn(() -> "✗ Login service busy, try again: " + username);
+                return null;
+            }
+            if (!check.matches()) {
+                Log.warn(() -> "✗ Invalid password for: " + username);
+                return null;
+            }
+            if (check.upgradedHash != null) {
+                // legacy SHA-256 or under-cost hash: store the stronger one now that we have the password
+                customer.setPasswordHash(check.upgradedHash);
+                if (bank.updateCustomer(customer)) {
+                    Log.info(() -> "✓ Password hash upgraded for: " + customer.getEmail());
+                }
             }
             
             // Prevent unapproved customers from logging in (but allow admin/teller)
             if (customer.getRole() == com.banking.main.Role.CUSTOMER && !customer.isApproved()) {
-                System.out.println("✗ Customer account pending approval: " + customer.getEmail());
+                Log.warn(() -> "✗ Customer account pending approval: " + customer.getEmail());
                     try { bank.logAction(customer.getCustomerId(), customer.getEmail(), "LOGIN_ATTEMPT", "CUSTOMER", customer.getCustomerId(), "Attempt to login while pending approval", "DENIED"); } catch (Exception ex) {}
-                return false;
+                return null;
             }
 
-            this.currentLoggedInCustomer = customer;
-            System.out.println("✓ Authentication successful for: " + 
+            SessionManager.Session session = openSession(customer);
+            throttle.onSuccess(username);
+            Log.info(() -> "✓ Authentication successful for: " + 
                              customer.getFirstName() + " " + customer.getSurname());
                 try { bank.logAction(customer.getCustomerId(), customer.getEmail(), "LOGIN", "CUSTOMER", customer.getCustomerId(), "Successful login", "OK"); } catch (Exception ex) {}
-            return true;
+            return session.getToken();
         }
 
-        System.out.println("✗ User not found");
-        return false;
+        Log.warn("✗ User not found");
+        return null;
+    }
+    
+    // Start a session holding the customer's role and account numbers
+    private SessionManager.Session openSession(Customer customer) {
+        List<String> accountNumbers = new ArrayList<>();
+        for (Account account : bank.getAllAccountsForCustomer(customer.getCustomerId())) {
+            accountNumbers.add(account.getAccountNumber());
+        }
+        return sessions.create(customer, accountNumbers);
+    }
+
+    private void setCurrent(String token) {
+        String previous = currentToken;
+        currentToken = token;
+        if (previous != null && !previous.equals(token)) {
+            sessions.invalidate(previous);
+        }
+    }
+
+    /**
+     * The live session for a token, or null if it has ended.
+     */
+    public SessionManager.Session getSession(String token) {
+        return sessions.get(token);
+    }
+
+    /**
+     * This controller's current session, or null if logged out or expired.
+     */
+    public SessionManager.Session getCurrentSession() {
+        return sessions.get(currentToken);
     }
     
     /**
      * Get currently logged-in customer
      */
     public Customer getCurrentCustomer() {
-        return currentLoggedInCustomer;
+        SessionManager.Session session = getCurrentSession();
+        return session != null ? bank.getCustomerById(session.getCustomerId()) : null;
     }
     
     /**
@@ -128,7 +225,7 @@ public class LoginController {
                            customer.getEmail(),
                            customer.getPhoneNumber(),
                            customer.getRole());
-            System.out.println("[AUTH] Mapped user '" + username + "' -> role=" + (customer.getRole() != null ? customer.getRole().name() : "NULL"));
+            Log.debug(() -> "[AUTH] Mapped user '" + username + "' -> role=" + (customer.getRole() != null ? customer.getRole().name() : "NULL"));
             return user;
         }
         return null;
@@ -138,9 +235,18 @@ public class LoginController {
      * Logout current customer
      */
     public void logout() {
-        if (currentLoggedInCustomer != null) {
-            System.out.println("✓ " + currentLoggedInCustomer.getFirstName() + " logged out");
-            currentLoggedInCustomer = null;
+        String token = currentToken;
+        currentToken = null;
+        logout(token);
+    }
+
+    /**
+     * End the session with this token.
+     */
+    public void logout(String token) {
+        SessionManager.Session session = sessions.get(token);
+        if (session != null && sessions.invalidate(token)) {
+            Log.info(() -> "✓ " + session.getEmail() + " logged out");
         }
     }
     
@@ -148,7 +254,11 @@ public class LoginController {
      * Check if user is logged in
      */
     public boolean isLoggedIn() {
-        return currentLoggedInCustomer != null;
+        return getCurrentSession() != null;
+    }
+
+    public SessionManager.Stats getSessionStats() {
+        return sessions.getStats();
     }
     
     /**
@@ -175,18 +285,18 @@ public class LoginController {
         if (firstName == null || firstName.isEmpty() || 
             lastName == null || lastName.isEmpty() ||
             email == null || email.isEmpty()) {
-            System.out.println("✗ First name, last name, and email are required");
+            Log.warn("✗ First name, last name, and email are required");
             return false;
         }
         
         // Check if email already exists
         if (bank.getCustomerByEmail(email) != null) {
-            System.out.println("✗ Email already registered");
+            Log.warn("✗ Email already registered");
             return false;
         }
         
         // Create new customer with specified role
-        String customerId = "CUST_" + System.nanoTime();
+        String customerId = IdGenerator.next("CUST_");
         Customer newCustomer = new Customer(customerId, firstName, lastName, 
                                            address != null ? address : "", 
                                            phone != null ? phone : "", 
@@ -2,6 +2,8 @@ package com.banking.controller;
 
 import com.banking.model.*;
 import com.banking.service.*;
+import com.banking.util.IdGenerator;
+import com.banking.util.Log;
 import java.util.*;
 
 public class TransactionController {
@@ -16,48 +18,38 @@ public class TransactionController {
      */
     public boolean processDeposit(Account account, double amount) {
         if (account == null) {
-            System.out.println("✗ Account is null");
+            Log.warn("✗ Account is null");
             return false;
         }
         
         if (amount <= 0) {
-            System.out.println("✗ Deposit amount must be greater than 0");
+            Log.warn("✗ Deposit amount must be greater than 0");
             return false;
         }
         
-        boolean success = account.deposit(amount);
-
-        if (success) {
-            System.out.println("✓ Deposit processed successfully");
-            // persist transaction and account state
-            try {
-                // Find account owner for audit log
-                String ownerId = null; 
-                String ownerEmail = null;
-                for (Customer c : bank.getAllCustomers()) {
-                    for (Account a : bank.getAllAccountsForCustomer(c.getCustomerId())) {
-                        if (a.getAccountId().equals(account.getAccountId())) { 
-                            ownerId = c.getCustomerId(); 
-                            ownerEmail = c.getEmail(); 
-                            break; 
-                        }
-                    }
-                    if (ownerId != null) break;
-                }
-                
-                // Log to audit
-                bank.logAction(ownerId, ownerEmail, "DEPOSIT", "TRANSACTION", account.getAccountId(), "Amount: " + amount, "OK");
-                
-                String txnId = "TXN_" + java.util.UUID.randomUUID().toString();
-                Transaction txn = new Transaction(txnId, "DEPOSIT", amount, java.time.LocalDate.now(), account.getAccountNumber(), "SUCCESS");
-                bank.recordTransaction(txn);
-                bank.updateAccount(account);
-            } catch (Exception ex) {
-                System.out.println("⚠ Warning: could not persist deposit transaction: " + ex.getMessage());
-            }
+        return bank.getAccountLocks().withLock(account.getAccountNumber(), () -> postDeposit(account, amount));
+    }
+    
+    // Runs under the account's lock. The account-type rules are checked on
+    // the committed balance; the posting itself is a relative update plus the
+    // transaction record in one database transaction, so nothing another
+    // writer committed meanwhile (interest, other processes) is overwritten
+    private boolean postDeposit(Account account, double amount) {
+        bank.refreshBalance(account);
+        long before = account.getBalanceThebe();
+        if (!account.deposit(amount)) {
+            return false;
         }
 
-        return success;
+        Transaction txn = Transaction.ofThebe(IdGenerator.next("TXN_"), "DEPOSIT", Money.toThebe(amount),
+            java.time.LocalDate.now(), account.getAccountNumber(), "SUCCESS");
+        if (!bank.post(account, txn.getAmountThebe(), txn)) {
+            account.setBalanceThebe(before);
+            return false;
+        }
+        Log.debug("✓ Deposit processed successfully");
+        audit(account, "DEPOSIT", amount);
+        return true;
     }
     
     /**
@@ -65,53 +57,49 @@ public class TransactionController {
      */
     public boolean processWithdrawal(Account account, double amount) {
         if (account == null) {
-            System.out.println("✗ Account is null");
+            Log.warn("✗ Account is null");
             return false;
         }
         
         if (amount <= 0) {
-            System.out.println("✗ Withdrawal amount must be greater than 0");
+            Log.warn("✗ Withdrawal amount must be greater than 0");
             return false;
         }
         
+        return bank.getAccountLocks().withLock(account.getAccountNumber(), () -> postWithdrawal(account, amount));
+    }
+    
+    // Runs under the account's lock; see postDeposit
+    private boolean postWithdrawal(Account account, double amount) {
+        bank.refreshBalance(account);
         if (amount > account.getBalance()) {
-            System.out.println("✗ Insufficient funds. Available: BWP " + 
+            Log.warn(() -> "✗ Insufficient funds. Available: BWP " + 
                              String.format("%.2f", account.getBalance()));
             return false;
         }
         
-        boolean success = account.withdraw(amount);
+        long before = account.getBalanceThebe();
+        if (!account.withdraw(amount)) {
+            return false;
+        }
 
-        if (success) {
-            System.out.println("✓ Withdrawal processed successfully");
-            try {
-                // Find account owner for audit log
-                String ownerId = null; 
-                String ownerEmail = null;
-                for (Customer c : bank.getAllCustomers()) {
-                    for (Account a : bank.getAllAccountsForCustomer(c.getCustomerId())) {
-                        if (a.getAccountId().equals(account.getAccountId())) { 
-                            ownerId = c.getCustomerId(); 
-                            ownerEmail = c.getEmail(); 
-                            break; 
-                        }
-                    }
-                    if (ownerId != null) break;
-                }
-                
-                // Log to audit
-                bank.logAction(ownerId, ownerEmail, "WITHDRAWAL", "TRANSACTION", account.getAccountId(), "Amount: " + amount, "OK");
-                
-                String txnId = "TXN_" + java.util.UUID.randomUUID().toString();
-                Transaction txn = new Transaction(txnId, "WITHDRAWAL", amount, java.time.LocalDate.now(), account.getAccountNumber(), "SUCCESS");
-                bank.recordTransaction(txn);
-                bank.updateAccount(account);
-            } catch (Exception ex) {
-                System.out.println("⚠ Warning: could not persist withdrawal transaction: " + ex.getMessage());
-            }
+        Transaction txn = Transaction.ofThebe(IdGenerator.next("TXN_"), "WITHDRAWAL", Money.toThebe(amount),
+            java.time.LocalDate.now(), account.getAccountNumber(), "SUCCESS");
+        if (!bank.post(account, -txn.getAmountThebe(), txn)) {
+            account.setBalanceThebe(before);
+            return false;
         }
+        Log.debug("✓ Withdrawal processed successfully");
+        audit(account, "WITHDRAWAL", amount);
+        return true;
+    }
 
-        return success;
+    // Audit entry for a committed posting, attributed to the account's owner
+    private void audit(Account account, String action, double amount) {
+        Customer owner = bank.getAccountOwner(account.getAccountId());
+        String ownerId = owner != null ? owner.getCustomerId() : null;
+        String ownerEmail = owner != null ? owner.getEmail() : null;
+        bank.logAction(ownerId, ownerEmail, action, "TRANSACTION", account.getAccountId(), "Amount: " + amount, "OK");
     }
     
     /**
@@ -148,9 +136,9 @@ public class TransactionController {
      * Process monthly interest for all accounts
      */
     public void processMonthlyInterestForBank() {
-        System.out.println("\n--- Processing Monthly Interest ---");
+        Log.info("\n--- Processing Monthly Interest ---");
         bank.processMonthlyInterest();
-        System.out.println("✓ Monthly interest processed");
+        Log.info("✓ Monthly interest processed");
     }
     
     /**
@@ -158,14 +146,14 @@ public class TransactionController {
      */
     public void processMonthlyInterestForCustomer(Customer customer) {
         if (customer == null) {
-            System.out.println("✗ Customer is null");
+            Log.warn("✗ Customer is null");
             return;
         }
         
-        System.out.println("\n--- Processing Monthly Interest ---");
+        Log.info("\n--- Processing Monthly Interest ---");
         for (Account account : customer.getAccounts()) {
             account.payInterest();
         }
-        System.out.println("✓ Interest processed for customer");
+        Log.info("✓ Interest processed for customer");
     }
 }
\ No newline at end of file
@@ -0,0 +1,137 @@
+package com.banking.main;
+
+import com.banking.model.*;
+import com.banking.persistence.*;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmark harness comparing the old per-row (N+1) account loading with the
+ * set-based AccountDAO.readAll loader.
+ *
+ * Seeds BENCH_* accounts at increasing sizes, loads them both ways and prints
+ * the number of SQL statements and the wall time of each. All seeded rows are
+ * removed at the end.
+ *
+ * Usage: AccountLoadBenchmark [size1 size2 ...]   (default: 100 1000 5000)
+ */
+public class AccountLoadBenchmark {
+
+    private static final String BENCH_CUSTOMER = "BENCH_LOAD_CUST";
+    private static final int TXNS_PER_ACCOUNT = 2;
+
+    public static void main(String[] args) throws Exception {
+        int[] sizes = args.length == 0 ? new int[] {100, 1000, 5000} : new int[args.length];
+        for (int i = 0; i < args.length; i++) sizes[i] = Integer.parseInt(args[i]);
+
+        new DatabaseManager();
+        ConnectionPool pool = DatabaseConnection.getInstance().getPool();
+        AccountDAO accountDAO = new AccountDAO();
+
+        System.out.println("\n=== Account loading: N+1 vs set-based ===");
+        System.out.printf("%10s | %14s | %12s | %14s | %12s%n", "accounts", "N+1 queries", "N+1 ms", "set queries", "set ms");
+        try {
+            cleanup();
+            seedCustomer();
+            int seeded = 0;
+            for (int size : sizes) {
+                seedAccounts(seeded, size - seeded);
+                seeded = size;
+
+                long q0 = pool.getStats().statements;
+                long t0 = System.nanoTime();
+                int legacyCount = loadPerRow().size();
+                long legacyMs = (System.nanoTime() - t0) / 1_000_000;
+                long legacyQueries = pool.getStats().statements - q0;
+
+                q0 = pool.getStats().statements;
+                t0 = System.nanoTime();
+                int setCount = accountDAO.readAll(true).size();
+                long setMs = (System.nanoTime() - t0) / 1_000_000;
+                long setQueries = pool.getStats().statements - q0;
+
+                if (legacyCount != setCount) {
+                    System.out.println("⚠ Warning: loaders disagree (" + legacyCount + " vs " + setCount + ")");
+                }
+                System.out.printf("%10d | %14d | %12d | %14d | %12d%n", setCount, legacyQueries, legacyMs, setQueries, setMs);
+            }
+        } finally {
+            cleanup();
+            System.out.println(pool.getStats());
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Reproduces the previous readByCustomer("*") behaviour: one account query,
+     * then one owner query and one transaction query per account row.
+     */
+    private static List<Account> loadPerRow() throws SQLException {
+        List<Account> accounts = new ArrayList<>();
+        CustomerDAO customerDAO = new CustomerDAO();
+        TransactionDAO transactionDAO = new TransactionDAO();
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT * FROM ACCOUNT")) {
+            while (rs.next()) {
+                Customer owner = customerDAO.readShallow(rs.getString("CUSTOMER_ID"));
+                Account account = new ChequeAccount(rs.getString("ACCOUNT_NUMBER"), owner, "", "");
+                for (Transaction t : transactionDAO.readByAccount(account.getAccountNumber())) {
+                    account.addTransaction(t);
+                }
+                accounts.add(account);
+            }
+        }
+        return accounts;
+    }
+
+    private static void seedCustomer() throws SQLException {
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement ps = conn.prepareStatement(
+                 "INSERT INTO CUSTOMER (CUSTOMER_ID, FIRST_NAME, SURNAME, ADDRESS, PHONE_NUMBER, EMAIL, ROLE, APPROVED) VALUES (?, 'Bench', 'Mark', 'n/a', '0', ?, 'CUSTOMER', 1)")) {
+            ps.setString(1, BENCH_CUSTOMER);
+            ps.setString(2, "bench.load@bank.local");
+            ps.executeUpdate();
+        }
+    }
+
+    private static void seedAccounts(int from, int count) throws SQLException {
+        if (count <= 0) return;
+        try (Connection conn = DatabaseConnection.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement acc = conn.prepareStatement(
+                     "INSERT INTO ACCOUNT (ACCOUNT_NUMBER, ACCOUNT_TYPE, BALANCE, BRANCH, CUSTOMER_ID, DATE_OPENED) VALUES (?, 'Cheque Account', 100.0, 'Main Branch', ?, CURRENT_DATE)");
+                 PreparedStatement txn = conn.prepareStatement(
+                     "INSERT INTO TRANSACTION (TRANSACTION_ID, TRANSACTION_TYPE, AMOUNT, TRANSACTION_DATE, ACCOUNT_NUMBER, STATUS) VALUES (?, 'DEPOSIT', 50.0, CURRENT_DATE, ?, 'SUCCESS')")) {
+                for (int i = from; i < from + count; i++) {
+                    String accountNumber = "BENCH_" + i;
+                    acc.setString(1, accountNumber);
+                    acc.setString(2, BENCH_CUSTOMER);
+                    acc.addBatch();
+                    for (int t = 0; t < TXNS_PER_ACCOUNT; t++) {
+                        txn.setString(1, "BENCH_TXN_" + i + "_" + t);
+                        txn.setString(2, accountNumber);
+                        txn.addBatch();
+                    }
+                }
+                acc.executeBatch();
+                txn.executeBatch();
+            }
+            conn.commit();
+        }
+    }
+
+    private static void cleanup() throws SQLException {
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM TRANSACTION WHERE ACCOUNT_NUMBER LIKE 'BENCH\\_%'");
+            stmt.executeUpdate("DELETE FROM ACCOUNT WHERE CUSTOMER_ID = '" + BENCH_CUSTOMER + "'");
+            stmt.executeUpdate("DELETE FROM CUSTOMER WHERE CUSTOMER_ID = '" + BENCH_CUSTOMER + "'");
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.banking.main;
+
+import com.banking.server.ApiServer;
+import com.banking.service.Bank;
+import com.banking.util.Log;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Runs the bank as an HTTP/JSON server instead of the JavaFX app.
+ *
+ * Needs no JavaFX on the classpath. Settings come from the banking.http.*
+ * system properties (see ApiServer.Config) and the database settings from
+ * application.properties as usual; -Dbanking.db.profile=embedded runs it
+ * against an in-memory H2 database.
+ *
+ * Usage: HeadlessServer [port]
+ */
+public class HeadlessServer {
+
+    public static void main(String[] args) throws Exception {
+        ApiServer.Config config = ApiServer.Config.fromSystemProperties();
+        if (args.length > 0) {
+            config.port(Integer.parseInt(args[0]));
+        }
+        Bank bank = new Bank("Meridian Bank");
+        ApiServer server = new ApiServer(bank, config);
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            Log.flush();
+            stopped.countDown();
+        }, "api-server-shutdown"));
+        server.start();
+        stopped.await();
+    }
+}
@@ -18,6 +18,7 @@ import com.banking.model.Account;
 import com.banking.model.Customer;
 import com.banking.model.Transaction;
 import com.banking.service.Bank;
+import com.banking.util.Paging;
 
 
 import java.util.List;
@@ -34,6 +35,9 @@ public class ModernBankingApp extends Application {
     private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
     private Font patrickHandFont;
     private Font patrickHandBold;
+    // controller and database calls run here, never on the FX thread
+    private final UiExecutor ui = new UiExecutor();
+    private java.util.concurrent.Future<?> seeding;
 
     /**
      * Recursively apply Patrick Hand font to all nodes in the scene graph
@@ -81,12 +85,88 @@ public class ModernBankingApp extends Application {
         this.accountController = new AccountController(bank);
         this.transactionController = new TransactionController(bank);
         
-        // Initialize with seed data (test accounts)
-        initializeSeedData();
+        // Initialize with seed data (test accounts) in the background; login waits for it
+        seeding = ui.background(this::initializeSeedData);
         
         showLoginScreen();
     }
 
+    @Override
+    public void stop() {
+        ui.shutdown();
+    }
+
+    /**
+     * Progress placeholder shown while a screen's data loads
+     */
+    private HBox createLoadingPlaceholder(String text) {
+        ProgressIndicator spinner = new ProgressIndicator();
+        spinner.setPrefSize(24, 24);
+        Label label = new Label(text);
+        label.setStyle("-fx-font-size: 12; -fx-text-fill: #666666;");
+        HBox box = new HBox(10, spinner, label);
+        box.setAlignment(Pos.CENTER_LEFT);
+        box.setPadding(new Insets(10));
+        return box;
+    }
+
+    /**
+     * Swap a placeholder's content for loaded nodes, styled like the rest of the scene
+     */
+    private void fillLoaded(javafx.scene.layout.Pane container, javafx.scene.Node... nodes) {
+        container.getChildren().setAll(nodes);
+        for (javafx.scene.Node node : nodes) {
+            applyFontToAllNodes(node);
+        }
+    }
+
+    /**
+     * Search box for a paged table; filters on the server once typing pauses
+     */
+    private TextField createPagedSearchField(String prompt, PagedTableSource<?> source) {
+        TextField searchField = new TextField();
+        searchField.setPromptText(prompt);
+        searchField.setStyle("-fx-padding: 8; -fx-background-color: #151a35; -fx-text-fill: #000000;");
+        javafx.animation.PauseTransition searchDelay = new javafx.animation.PauseTransition(javafx.util.Duration.millis(300));
+        searchDelay.setOnFinished(e -> source.setFilter(searchField.getText()));
+        searchField.textProperty().addListener((obs, oldV, newV) -> searchDelay.playFromStart());
+        return searchField;
+    }
+
+    private void updateShownLabel(Label label, int rowsInWindow, PagedTableSource<?> source) {
+        int first = source.getWindowStart();
+        label.setText(rowsInWindow == 0 ? "No rows"
+            : "Showing rows " + (first + 1) + "–" + (first + rowsInWindow) + (source.hasMore() ? " (scroll for more)" : ""));
+    }
+
+    /**
+     * Leave a confirmation on screen briefly, then navigate, unless the user
+     * has already moved on. Replaces sleeping on the FX thread, which froze the
+     * window and never painted the message.
+     */
+    private void returnAfterDelay(javafx.scene.Node anchor, Runnable next) {
+        javafx.animation.PauseTransition delay = new javafx.animation.PauseTransition(javafx.util.Duration.millis(1500));
+        delay.setOnFinished(e -> {
+            if (anchor.getScene() != null && anchor.getScene() == primaryStage.getScene()) next.run();
+        });
+        delay.play();
+    }
+
+    private void showLoadFailure(Throwable error) {
+        showAlert("Error", "Could not load data", error.getMessage() != null ? error.getMessage() : error.toString(), false);
+    }
+
+    /**
+     * Wait for start-up seeding so logins see the seeded users; call off the FX thread
+     */
+    private void awaitSeeding() {
+        try {
+            if (seeding != null) seeding.get();
+        } catch (Exception e) {
+            System.out.println("⚠ Seed data not ready: " + e.getMessage());
+        }
+    }
+
     private String getStylesheet() {
         try {
             return getClass().getResource("/banking-style.css").toExternalForm();
@@ -229,6 +309,7 @@ public class ModernBankingApp extends Application {
     }
 
     private void showLoginScreen() {
+        ui.enterScreen();
         VBox mainContainer = new VBox(20);
         mainContainer.setPadding(new Insets(60, 100, 60, 100));
         mainContainer.setAlignment(Pos.CENTER);
@@ -307,21 +388,35 @@ public class ModernBankingApp extends Application {
                 messageLabel.setText("⚠ Password must be at least 6 characters");
                 messageLabel.setStyle("-fx-text-fill: #f57c00; -fx-font-size: 11; -fx-padding: 10; " +
                         "-fx-background-color: rgba(245,124,0,0.1); -fx-border-radius: 4;");
-            } else if (authController.authenticateUser(username, password)) {
-                currentUser = authController.getUserByUsername(username);
-                System.out.println("[UI] Logged in user: " + (currentUser != null ? currentUser.getUsername() + " role=" + currentUser.getRole() : "null"));
-                if (currentUser != null) {
-                    showDashboard();
-                } else {
+            } else {
+                loginButton.setDisable(true);
+                messageLabel.setText("⏳ Signing in...");
+                messageLabel.setStyle("-fx-text-fill: #666666; -fx-font-size: 11; -fx-padding: 10; " +
+                        "-fx-background-color: rgba(0,0,0,0.05); -fx-border-radius: 4;");
+                ui.run(() -> {
+                    awaitSeeding();
+                    if (!authController.authenticateUser(username, password)) return null;
+                    User user = authController.getUserByUsername(username);
+                    if (user == null) throw new IllegalStateException("No user record for " + username);
+                    return user;
+                }, user -> {
+                    loginButton.setDisable(false);
+                    if (user != null) {
+                        currentUser = user;
+                        System.out.println("[UI] Logged in user: " + currentUser.getUsername() + " role=" + currentUser.getRole());
+                        showDashboard();
+                    } else {
+                        messageLabel.setText("✗ Invalid username or password");
+                        messageLabel.setStyle("-fx-text-fill: #d32f2f; -fx-font-size: 11; -fx-padding: 10; " +
+                                "-fx-background-color: rgba(211,47,47,0.1); -fx-border-radius: 4;");
+                        passwordField.clear();
+                    }
+                }, ex -> {
+                    loginButton.setDisable(false);
                     messageLabel.setText("✗ Error retrieving user information");
                     messageLabel.setStyle("-fx-text-fill: #d32f2f; -fx-font-size: 11; -fx-padding: 10; " +
                             "-fx-background-color: rgba(211,47,47,0.1); -fx-border-radius: 4;");
-                }
-            } else {
-                messageLabel.setText("✗ Invalid username or password");
-                messageLabel.setStyle("-fx-text-fill: #d32f2f; -fx-font-size: 11; -fx-padding: 10; " +
-                        "-fx-background-color: rgba(211,47,47,0.1); -fx-border-radius: 4;");
-                passwordField.clear();
+                });
             }
         });
 
@@ -358,6 +453,7 @@ public class ModernBankingApp extends Application {
     }
 
     private void showRegisterScreen() {
+        ui.enterScreen();
         VBox mainContainer = new VBox(15);
         mainContainer.setPadding(new Insets(40));
         mainContainer.setStyle("-fx-background-color: #ffffff;");
@@ -410,29 +506,34 @@ public class ModernBankingApp extends Application {
             messageLabel.setText("✗ Passwords do not match");
             messageLabel.setStyle("-fx-text-fill: #ffffff; -fx-font-size: 11; -fx-padding: 10; " +
                     "-fx-background-color: rgba(231,76,60,0.1); -fx-border-radius: 4;");
-        } else if (authController.registerUser(
-            firstNameField.getText().trim(),
-            lastNameField.getText().trim(),
-            emailField.getText().trim(),
-            phoneField.getText().trim(),
-            "", com.banking.main.Role.CUSTOMER, pwd)) {
-                messageLabel.setText("✓ Registration successful!");
-                messageLabel.setStyle("-fx-text-fill: #000000; -fx-font-size: 11; -fx-padding: 10; " +
-                        "-fx-background-color: rgba(26,188,156,0.1); -fx-border-radius: 4;");
-                showAlert("Registration Successful", "Account Created", "Your account has been created successfully!\n\nYour account is pending approval by an administrator.\nYou will receive confirmation once approved.", true);
-                try {
-                    Thread.sleep(1000);
-                    showLoginScreen();
-                } catch (InterruptedException ex) {
+        } else {
+            String firstName = firstNameField.getText().trim();
+            String lastName = lastNameField.getText().trim();
+            String email = emailField.getText().trim();
+            String phone = phoneField.getText().trim();
+            signupButton.setDisable(true);
+            messageLabel.setText("⏳ Creating account...");
+            ui.run(() -> authController.registerUser(firstName, lastName, email, phone,
+                "", com.banking.main.Role.CUSTOMER, pwd), registered -> {
+                signupButton.setDisable(false);
+                if (registered) {
+                    messageLabel.setText("✓ Registration successful!");
+                    messageLabel.setStyle("-fx-text-fill: #000000; -fx-font-size: 11; -fx-padding: 10; " +
+                            "-fx-background-color: rgba(26,188,156,0.1); -fx-border-radius: 4;");
+                    showAlert("Registration Successful", "Account Created", "Your account has been created successfully!\n\nYour account is pending approval by an administrator.\nYou will receive confirmation once approved.", true);
                     showLoginScreen();
+                } else {
+                    messageLabel.setText("✗ Registration failed. Check your input or duplicate username.");
+                    messageLabel.setStyle("-fx-text-fill: #ffffff; -fx-font-size: 11; -fx-padding: 10; " +
+                            "-fx-background-color: rgba(231,76,60,0.1); -fx-border-radius: 4;");
+                    showAlert("Registration Failed", "Error", "Registration could not be completed. Please check your input and try again.", false);
                 }
-            } else {
-                messageLabel.setText("✗ Registration failed. Check your input or duplicate username.");
-                messageLabel.setStyle("-fx-text-fill: #ffffff; -fx-font-size: 11; -fx-padding: 10; " +
-                        "-fx-background-color: rgba(231,76,60,0.1); -fx-border-radius: 4;");
-                showAlert("Registration Failed", "Error", "Registration could not be completed. Please check your input and try again.", false);
-            }
-        });
+            }, ex -> {
+                signupButton.setDisable(false);
+                messageLabel.setText("✗ Registration failed: " + ex.getMessage());
+            });
+        }
+    });
 
         backButton.setOnAction(e -> showLoginScreen());
 
@@ -481,6 +582,7 @@ public class ModernBankingApp extends Application {
     }
 
     private void showAdminDashboard() {
+        ui.enterScreen();
         if (!requireRole(Role.ADMIN)) return;
         VBox mainContainer = new VBox(15);
         mainContainer.setPadding(new Insets(0));
@@ -505,6 +607,7 @@ public class ModernBankingApp extends Application {
         logoutButton.setStyle("-fx-background-color: #000000; " +
                 "-fx-text-fill: #ffffff; -fx-font-weight: bold; -fx-border-radius: 6; -fx-cursor: hand; -fx-border-color: #cccccc; -fx-border-width: 1;");
         logoutButton.setOnAction(e -> {
+            authController.logout();
             currentUser = null;
             showLoginScreen();
         });
@@ -587,6 +690,7 @@ public class ModernBankingApp extends Application {
     }
 
     private void showTellerDashboard() {
+        ui.enterScreen();
         if (!requireRole(Role.TELLER)) return;
         VBox mainContainer = new VBox(15);
         mainContainer.setPadding(new Insets(0));
@@ -611,6 +715,7 @@ public class ModernBankingApp extends Application {
         logoutButton.setStyle("-fx-background-color: #000000; " +
                 "-fx-text-fill: #ffffff; -fx-font-weight: bold; -fx-border-radius: 6; -fx-cursor: hand; -fx-border-color: #cccccc; -fx-border-width: 1;");
         logoutButton.setOnAction(e -> {
+            authController.logout();
             currentUser = null;
             showLoginScreen();
         });
@@ -666,6 +771,7 @@ public class ModernBankingApp extends Application {
     }
 
     private void showViewAllUsersScreen() {
+        ui.enterScreen();
         VBox mainContainer = new VBox(15);
         mainContainer.setPadding(new Insets(0));
         mainContainer.setStyle("-fx-background-color: #ffffff;");
@@ -699,6 +805,16 @@ public class ModernBankingApp extends Application {
         usersTable.setStyle("-fx-background-color: #f5f5f5; -fx-control-inner-background: #f5f5f5; " +
                 "-fx-text-fill: #000000; -fx-border-color: #ffffff; -fx-border-width: 1;");
 
+        // customers are read a page at a time as the table scrolls, with the
+        // account numbers for just that page in one extra query
+        java.util.Map<String, String> accountsByCustomer = new java.util.concurrent.ConcurrentHashMap<>();
+        PagedTableSource<Customer> usersSource = new PagedTableSource<>(usersTable, ui, (after, limit, sort, filter) -> {
+            Paging.Page<Customer> page = bank.getCustomerPage(after, limit, sort, filter);
+            List<String> ids = page.items.stream().map(Customer::getCustomerId).collect(java.util.stream.Collectors.toList());
+            bank.getAccountNumbersByCustomer(ids).forEach((id, accts) -> accountsByCustomer.put(id, String.join(", ", accts)));
+            return page;
+        }, Paging.Sort.asc("name"));
+
         TableColumn<Customer, String> nameColumn = new TableColumn<>("Name");
         nameColumn.setPrefWidth(150);
         nameColumn.setCellValueFactory(cellData -> 
@@ -726,12 +842,8 @@ public class ModernBankingApp extends Application {
 
         TableColumn<Customer, String> accountsColumn = new TableColumn<>("Accounts");
         accountsColumn.setPrefWidth(300);
-        accountsColumn.setCellValueFactory(cellData -> {
-            Customer c = cellData.getValue();
-            List<Account> accts = bank.getAllAccountsForCustomer(c.getCustomerId());
-            String joined = accts == null || accts.isEmpty() ? "-" : String.join(", ", accts.stream().map(a -> a.getAccountId()).toArray(String[]::new));
-            return new javafx.beans.property.SimpleStringProperty(joined);
-        });
+        accountsColumn.setCellValueFactory(cellData ->
+            new javafx.beans.property.SimpleStringProperty(accountsByCustomer.getOrDefault(cellData.getValue().getCustomerId(), "-")));
 
         TableColumn<Customer, Void> userActionColumn = new TableColumn<>("Action");
         userActionColumn.setPrefWidth(140);
@@ -753,18 +865,24 @@ public class ModernBankingApp extends Application {
                     confirm.setContentText("Are you sure you want to delete this user? This will remove all associated accounts.");
                     java.util.Optional<javafx.scene.control.ButtonType> result = confirm.showAndWait();
                     if (result.isPresent() && result.get() == javafx.scene.control.ButtonType.OK) {
-                        boolean ok = bank.deleteCustomer(customer.getCustomerId());
-                        if (ok) {
-                            getTableView().getItems().remove(customer);
-                            showAlert("Success", "User Deleted", "User removed successfully.", true);
-                            try {
+                        deleteBtn.setDisable(true);
+                        ui.run(() -> {
+                            boolean ok = bank.deleteCustomer(customer.getCustomerId());
+                            if (ok) {
                                 String actorId = currentUser != null ? currentUser.getUserId() : null;
                                 String actorEmail = currentUser != null ? currentUser.getUsername() : null;
                                 bank.logAction(actorId, actorEmail, "DELETE_USER", "CUSTOMER", customer.getCustomerId(), "Deleted user: " + customer.getEmail(), "OK");
-                            } catch (Exception ex) {}
-                        } else {
-                            showAlert("Error", "Delete Failed", "Could not delete user from database.", false);
-                        }
+                            }
+                            return ok;
+                        }, ok -> {
+                            deleteBtn.setDisable(false);
+                            if (ok) {
+                                usersSource.remove(customer);
+                                showAlert("Success", "User Deleted", "User removed successfully.", true);
+                            } else {
+                                showAlert("Error", "Delete Failed", "Could not delete user from database.", false);
+                            }
+                        }, ex -> deleteBtn.setDisable(false));
                     }
                 });
             }
@@ -782,13 +900,23 @@ public class ModernBankingApp extends Application {
 
         usersTable.getColumns().addAll(nameColumn, emailColumn, phoneColumn, addressColumn, roleColumn, accountsColumn, userActionColumn);
 
-        List<Customer> allCustomers = bank.getAllCustomers();
-        usersTable.getItems().addAll(allCustomers);
-
-        Label countLabel = new Label("Total Users: " + allCustomers.size());
+        Label countLabel = new Label("Total Users: ...");
         countLabel.setStyle("-fx-font-size: 14; -fx-font-weight: bold; -fx-text-fill: #ffffff;");
+        ui.load(() -> bank.getStatistics().snapshot().customers,
+            total -> countLabel.setText("Total Users: " + total), this::showLoadFailure);
+
+        Label shownLabel = new Label();
+        usersSource
+            .sortable(nameColumn, "name")
+            .sortable(emailColumn, "email")
+            .placeholders(createLoadingPlaceholder("Loading users..."), new Label("No users found"))
+            .onLoaded(() -> updateShownLabel(shownLabel, usersTable.getItems().size(), usersSource))
+            .onError(this::showLoadFailure)
+            .start();
 
-        contentPanel.getChildren().addAll(countLabel, usersTable);
+        TextField searchField = createPagedSearchField("Search by name, email or ID...", usersSource);
+
+        contentPanel.getChildren().addAll(countLabel, searchField, usersTable, shownLabel);
         VBox.setVgrow(usersTable, Priority.ALWAYS);
 
         mainContainer.getChildren().addAll(headerBox, contentPanel);
@@ -801,6 +929,7 @@ public class ModernBankingApp extends Application {
 
     @SuppressWarnings("unchecked")
     private void showApproveRegistrationsScreen() {
+        ui.enterScreen();
         if (!requireRole(Role.ADMIN)) return;
         VBox mainContainer = new VBox(15);
         mainContainer.setPadding(new Insets(0));
@@ -862,13 +991,20 @@ public class ModernBankingApp extends Application {
                     Customer customer = getTableView().getItems().get(getIndex());
                     if (customer != null) {
                         customer.setApproved(true);
-                        boolean ok = bank.updateCustomer(customer);
-                        if (!ok) {
-                            showAlert("Error", "Save Failed", "Could not persist approval for " + customer.getEmail(), false);
-                            return;
-                        }
-                        getTableView().refresh();
-                        showAlert("Success", "Customer Approved", customer.getFirstName() + " " + customer.getSurname() + " has been approved and can now login.", true);
+                        approveBtn.setDisable(true);
+                        ui.run(() -> bank.updateCustomer(customer), ok -> {
+                            approveBtn.setDisable(false);
+                            if (!ok) {
+                                customer.setApproved(false);
+                                showAlert("Error", "Save Failed", "Could not persist approval for " + customer.getEmail(), false);
+                                return;
+                            }
+                            getTableView().refresh();
+                            showAlert("Success", "Customer Approved", customer.getFirstName() + " " + customer.getSurname() + " has been approved and can now login.", true);
+                        }, ex -> {
+                            approveBtn.setDisable(false);
+                            customer.setApproved(false);
+                        });
                     }
                 });
 
@@ -877,11 +1013,19 @@ public class ModernBankingApp extends Application {
                 denyBtn.setOnAction(event -> {
                     Customer customer = getTableView().getItems().get(getIndex());
                     if (customer != null) {
-                        bank.deleteCustomer(customer.getCustomerId());
-                        getTableView().getItems().remove(customer);
-                        getTableView().refresh();
-                        showAlert("Info", "Registration Denied", "Registration of " + customer.getFirstName() + " has been denied and removed.", true);
-                        try { String actorId = currentUser != null ? currentUser.getUserId() : null; String actorEmail = currentUser != null ? currentUser.getUsername() : null; bank.logAction(actorId, actorEmail, "DENY_REGISTRATION", "CUSTOMER", customer.getCustomerId(), "Denied registration for " + customer.getEmail(), "DENIED"); } catch (Exception ex) {}
+                        denyBtn.setDisable(true);
+                        ui.run(() -> {
+                            bank.deleteCustomer(customer.getCustomerId());
+                            String actorId = currentUser != null ? currentUser.getUserId() : null;
+                            String actorEmail = currentUser != null ? currentUser.getUsername() : null;
+                            bank.logAction(actorId, actorEmail, "DENY_REGISTRATION", "CUSTOMER", customer.getCustomerId(), "Denied registration for " + customer.getEmail(), "DENIED");
+                            return null;
+                        }, done -> {
+                            denyBtn.setDisable(false);
+                            getTableView().getItems().remove(customer);
+                            getTableView().refresh();
+                            showAlert("Info", "Registration Denied", "Registration of " + customer.getFirstName() + " has been denied and removed.", true);
+                        }, ex -> denyBtn.setDisable(false));
                     }
                 });
             }
@@ -903,15 +1047,18 @@ public class ModernBankingApp extends Application {
 
         pendingTable.getColumns().addAll(nameColumn, emailColumn, statusColumn, actionColumn);
 
+        Label countLabel = new Label("Pending Approvals: ...");
+        countLabel.setStyle("-fx-font-size: 14; -fx-font-weight: bold; -fx-text-fill: #27ae60;");
+
         // Filter to show customers (not admin/teller) who need approval
-        List<Customer> pendingApprovals = bank.getAllCustomers().stream()
+        pendingTable.setPlaceholder(createLoadingPlaceholder("Loading registrations..."));
+        ui.load(() -> bank.getAllCustomers().stream()
             .filter(c -> c.getRole() == Role.CUSTOMER && !c.isApproved())
-            .collect(java.util.stream.Collectors.toList());
-
-        pendingTable.getItems().addAll(pendingApprovals);
-
-        Label countLabel = new Label("Pending Approvals: " + pendingApprovals.size());
-        countLabel.setStyle("-fx-font-size: 14; -fx-font-weight: bold; -fx-text-fill: #27ae60;");
+            .collect(java.util.stream.Collectors.toList()), pendingApprovals -> {
+            pendingTable.setPlaceholder(new Label("No pending registrations"));
+            pendingTable.getItems().setAll(pendingApprovals);
+            countLabel.setText("Pending Approvals: " + pendingApprovals.size());
+        }, this::showLoadFailure);
 
         contentPanel.getChildren().addAll(countLabel, pendingTable);
         VBox.setVgrow(pendingTable, Priority.ALWAYS);
@@ -925,6 +1072,7 @@ public class ModernBankingApp extends Application {
     }
 
     private void showProcessTransactionScreen() {
+        ui.enterScreen();
         // allow tellers and admins to access this screen
         if (currentUser == null || (currentUser.getRole() != Role.TELLER && currentUser.getRole() != Role.ADMIN)) {
             showAlert("Unauthorized", "Access denied", "You do not have permission to access this area", false);
@@ -962,8 +1110,7 @@ public class ModernBankingApp extends Application {
 
         // Customer selector
         ComboBox<Customer> customerCombo = new ComboBox<>();
-        customerCombo.getItems().addAll(bank.getAllCustomers());
-        customerCombo.setPromptText("Select Customer");
+        customerCombo.setPromptText("⏳ Loading customers...");
         customerCombo.setConverter(new javafx.util.StringConverter<Customer>(){
             @Override public String toString(Customer c) { return c == null ? "" : c.getFirstName() + " " + c.getSurname() + " (" + c.getEmail() + ")"; }
             @Override public Customer fromString(String string) { return null; }
@@ -1009,8 +1156,8 @@ public class ModernBankingApp extends Application {
         // Helper to populate target accounts list (optionally filtered by query)
         // NOTE: allow same-customer accounts (so transfers between a customer's own accounts are possible)
         // but exclude the currently-selected source account to avoid transferring into the same account.
+        List<Account> all = new ArrayList<>();
         java.util.function.Consumer<String> populateTargets = (query) -> {
-            List<Account> all = bank.getAllAccounts();
             Account sourceAccount = accountCombo.getValue();
             if (query == null || query.trim().isEmpty()) {
                 if (sourceAccount == null) {
@@ -1039,8 +1186,15 @@ public class ModernBankingApp extends Application {
             }
         };
 
-        // Initialize with full list
-        populateTargets.accept("");
+        // Initialize with full list once customers and accounts are loaded
+        record TransactionData(List<Customer> customers, List<Account> accounts) {}
+        ui.load(() -> new TransactionData(bank.getAllCustomers(), bank.getAllAccounts()), data -> {
+            customerCombo.getItems().setAll(data.customers());
+            customerCombo.setPromptText("Select Customer");
+            all.clear();
+            all.addAll(data.accounts());
+            populateTargets.accept(searchTargetField.getText());
+        }, this::showLoadFailure);
 
         // Small owner preview panel for the selected target account
         VBox ownerPreview = new VBox(4);
@@ -1086,7 +1240,11 @@ public class ModernBankingApp extends Application {
         customerCombo.setOnAction(e -> {
             Customer sel = customerCombo.getValue();
             accountCombo.getItems().clear();
-            if (sel != null) accountCombo.getItems().addAll(accountController.getCustomerAccounts(sel));
+            if (sel != null) {
+                ui.load(() -> accountController.getCustomerAccounts(sel), accounts -> {
+                    if (sel == customerCombo.getValue()) accountCombo.getItems().setAll(accounts);
+                }, this::showLoadFailure);
+            }
             // when a customer is selected, pre-filter the target list to exclude their own accounts
             searchTargetField.clear();
             populateTargets.accept("");
@@ -1111,29 +1269,42 @@ public class ModernBankingApp extends Application {
             if (cust == null || acc == null) { showAlert("Error", "Missing selection", "Select a customer and account", false); return; }
             if (amt <= 0) { showAlert("Error", "Invalid amount", "Amount must be greater than zero", false); return; }
 
-            boolean success = false;
-            if ("Deposit".equals(op)) {
-                success = transactionController.processDeposit(acc, amt);
-            } else if ("Withdraw".equals(op)) {
-                success = transactionController.processWithdrawal(acc, amt);
-            } else if ("Transfer".equals(op)) {
-                Account target = targetAccountCombo.getValue();
+            Account target = targetAccountCombo.getValue();
+            if ("Transfer".equals(op)) {
                 if (target == null) { showAlert("Error", "Missing target", "Select a target account for transfer", false); return; }
                 // Prevent transferring into the exact same account
                 if (acc.getAccountId() != null && acc.getAccountId().equals(target.getAccountId())) {
                     showAlert("Error", "Invalid target", "Cannot transfer into the same account", false);
                     return;
                 }
-                success = accountController.transferFunds(acc.getAccountId(), target.getAccountId(), amt, "Teller transfer");
             }
 
-            if (success) {
-                showAlert("Success", "Transaction Completed", "Operation successful", true);
-                try { Thread.sleep(1000); } catch (InterruptedException ex) {}
-                showTellerDashboard();
-            } else {
+            double amount = amt;
+            submitBtn.setDisable(true);
+            submitBtn.setText("⏳ PROCESSING...");
+            ui.run(() -> {
+                if ("Deposit".equals(op)) {
+                    return transactionController.processDeposit(acc, amount);
+                } else if ("Withdraw".equals(op)) {
+                    return transactionController.processWithdrawal(acc, amount);
+                } else if ("Transfer".equals(op)) {
+                    return accountController.transferFunds(acc.getAccountId(), target.getAccountId(), amount, "Teller transfer");
+                }
+                return false;
+            }, success -> {
+                submitBtn.setDisable(false);
+                submitBtn.setText("✓ PROCESS TRANSACTION");
+                if (success) {
+                    showAlert("Success", "Transaction Completed", "Operation successful", true);
+                    showTellerDashboard();
+                } else {
+                    showAlert("Failure", "Transaction Failed", "Operation could not be completed", false);
+                }
+            }, ex -> {
+                submitBtn.setDisable(false);
+                submitBtn.setText("✓ PROCESS TRANSACTION");
                 showAlert("Failure", "Transaction Failed", "Operation could not be completed", false);
-            }
+            });
         });
 
         HBox buttonBox = new HBox(15);
@@ -1157,6 +1328,7 @@ public class ModernBankingApp extends Application {
     }
 
     private void showOpenAccountScreen() {
+        ui.enterScreen();
         // tellers and admins can open accounts for customers via this screen
         if (currentUser == null || (currentUser.getRole() != Role.TELLER && currentUser.getRole() != Role.ADMIN)) {
             showAlert("Unauthorized", "Access denied", "You do not have permission to access this area", false);
@@ -1199,9 +1371,12 @@ public class ModernBankingApp extends Application {
         formBox.setAlignment(Pos.CENTER);
 
         ComboBox<Customer> customerCombo = new ComboBox<>();
-        customerCombo.getItems().addAll(bank.getAllCustomers());
-        customerCombo.setPromptText("Select Customer");
+        customerCombo.setPromptText("⏳ Loading customers...");
         customerCombo.setPrefWidth(350);
+        ui.load(bank::getAllCustomers, customers -> {
+            customerCombo.getItems().setAll(customers);
+            customerCombo.setPromptText("Select Customer");
+        }, this::showLoadFailure);
         customerCombo.setConverter(new javafx.util.StringConverter<Customer>(){
             @Override public String toString(Customer c) { return c == null ? "" : c.getFirstName() + " " + c.getSurname() + " (" + c.getEmail() + ")"; }
             @Override public Customer fromString(String string) { return null; }
@@ -1241,21 +1416,33 @@ public class ModernBankingApp extends Application {
             Customer c = customerCombo.getValue();
             if (c == null) { showAlert("Error", "No customer", "Select a customer", false); return; }
             String t = typeCombo.getValue();
-            boolean ok = false;
-            if ("Savings".equals(t)) {
-                ok = accountController.openSavingsAccount(c) != null;
-            } else if ("Investment".equals(t)) {
-                double amt = 0;
+            double amt = 0;
+            if ("Investment".equals(t)) {
                 try { amt = Double.parseDouble(initialDepositField.getText()); } catch (Exception ex) { showAlert("Error", "Invalid deposit", "Enter numeric initial deposit", false); return; }
-                ok = accountController.openInvestmentAccount(c, amt) != null;
-            } else if ("Cheque".equals(t)) {
-                String em = employerField.getText();
-                String emAddr = employerAddressField.getText();
-                if (em == null || em.isEmpty() || emAddr == null || emAddr.isEmpty()) { showAlert("Error", "Employer info", "Provide employer name and address", false); return; }
-                ok = accountController.openChequeAccount(c, em, emAddr) != null;
             }
-            if (ok) showAlert("Success", "Account Created", "New account created successfully", true);
-            else showAlert("Failure", "Could not create account", "Check input or constraints", false);
+            String em = employerField.getText();
+            String emAddr = employerAddressField.getText();
+            if ("Cheque".equals(t) && (em == null || em.isEmpty() || emAddr == null || emAddr.isEmpty())) { showAlert("Error", "Employer info", "Provide employer name and address", false); return; }
+
+            double deposit = amt;
+            createBtn.setDisable(true);
+            ui.run(() -> {
+                if ("Savings".equals(t)) {
+                    return accountController.openSavingsAccount(c) != null;
+                } else if ("Investment".equals(t)) {
+                    return accountController.openInvestmentAccount(c, deposit) != null;
+                } else if ("Cheque".equals(t)) {
+                    return accountController.openChequeAccount(c, em, emAddr) != null;
+                }
+                return false;
+            }, ok -> {
+                createBtn.setDisable(false);
+                if (ok) showAlert("Success", "Account Created", "New account created successfully", true);
+                else showAlert("Failure", "Could not create account", "Check input or constraints", false);
+            }, ex -> {
+                createBtn.setDisable(false);
+                showAlert("Failure", "Could not create account", "Check input or constraints", false);
+            });
         });
 
         formBox.getChildren().addAll(
@@ -1277,6 +1464,7 @@ public class ModernBankingApp extends Application {
     }
 
     private void showEditCustomerScreen() {
+        ui.enterScreen();
         if (!requireRole(Role.TELLER)) return;
         VBox mainContainer = new VBox(12);
         mainContainer.setPadding(new Insets(0));
@@ -1338,21 +1526,24 @@ public class ModernBankingApp extends Application {
         searchBtn.setOnAction(e -> {
             String email = searchEmailField.getText();
             String cid = searchIdField.getText();
-            Customer found = null;
-            if (email != null && !email.isEmpty()) found = bank.getCustomerByEmail(email);
-            if (found == null && cid != null && !cid.isEmpty()) found = bank.getCustomerById(cid);
-            
-            if (found == null) {
-                showAlert("Not Found", "Customer not found", "Please check your search criteria", false);
-                editFormBox.setVisible(false);
-                return;
-            }
-            
-            selectedCustomer[0] = found;
-            phoneField.setText(found.getPhoneNumber());
-            addressField.setText(found.getAddress());
-            emailDisplayLabel.setText("Email: " + found.getEmail());
-            editFormBox.setVisible(true);
+            searchBtn.setDisable(true);
+            ui.load(() -> findCustomer(email, cid), found -> {
+                searchBtn.setDisable(false);
+                if (found == null) {
+                    showAlert("Not Found", "Customer not found", "Please check your search criteria", false);
+                    editFormBox.setVisible(false);
+                    return;
+                }
+
+                selectedCustomer[0] = found;
+                phoneField.setText(found.getPhoneNumber());
+                addressField.setText(found.getAddress());
+                emailDisplayLabel.setText("Email: " + found.getEmail());
+                editFormBox.setVisible(true);
+            }, ex -> {
+                searchBtn.setDisable(false);
+                showLoadFailure(ex);
+            });
         });
 
         saveBtn.setOnAction(e -> {
@@ -1361,17 +1552,25 @@ public class ModernBankingApp extends Application {
                 return;
             }
             
-            selectedCustomer[0].setPhoneNumber(phoneField.getText());
-            selectedCustomer[0].setAddress(addressField.getText());
-            
-            if (bank.updateCustomer(selectedCustomer[0])) {
-                showAlert("Success", "Customer Updated", "Customer information has been saved successfully", true);
-                searchEmailField.clear();
-                searchIdField.clear();
-                editFormBox.setVisible(false);
-            } else {
+            Customer customer = selectedCustomer[0];
+            customer.setPhoneNumber(phoneField.getText());
+            customer.setAddress(addressField.getText());
+
+            saveBtn.setDisable(true);
+            ui.run(() -> bank.updateCustomer(customer), ok -> {
+                saveBtn.setDisable(false);
+                if (ok) {
+                    showAlert("Success", "Customer Updated", "Customer information has been saved successfully", true);
+                    searchEmailField.clear();
+                    searchIdField.clear();
+                    editFormBox.setVisible(false);
+                } else {
+                    showAlert("Error", "Save Failed", "Could not save customer information", false);
+                }
+            }, ex -> {
+                saveBtn.setDisable(false);
                 showAlert("Error", "Save Failed", "Could not save customer information", false);
-            }
+            });
         });
 
         editFormBox.getChildren().addAll(
@@ -1402,6 +1601,7 @@ public class ModernBankingApp extends Application {
     }
 
     private void showVerifyCustomerScreen() {
+        ui.enterScreen();
         if (!requireRole(Role.TELLER)) return;
         VBox mainContainer = new VBox(12);
         mainContainer.setPadding(new Insets(0));
@@ -1450,15 +1650,23 @@ public class ModernBankingApp extends Application {
         searchBtn.setOnAction(e -> {
             String email = emailField.getText();
             String cid = idField.getText();
-            Customer found = null;
-            if (email != null && !email.isEmpty()) found = bank.getCustomerByEmail(email);
-            if (found == null && cid != null && !cid.isEmpty()) found = bank.getCustomerById(cid);
-            if (found == null) { resultLabel.setText("No customer found"); accountsList.getItems().clear(); return; }
-            resultLabel.setText("Customer: " + found.getFirstName() + " " + found.getSurname() + " | Email: " + found.getEmail() + " | Phone: " + found.getPhoneNumber());
+            resultLabel.setText("⏳ Searching...");
             accountsList.getItems().clear();
-            for (Account a : found.getAccounts()) {
-                accountsList.getItems().add(a.getAccountId() + " | " + a.getAccountType() + " | BWP " + String.format("%.2f", a.getBalance()));
-            }
+            record VerifyData(Customer customer, List<Account> accounts) {}
+            ui.load(() -> {
+                Customer found = findCustomer(email, cid);
+                return new VerifyData(found, found == null ? List.of() : bank.getAllAccountsForCustomer(found.getCustomerId()));
+            }, data -> {
+                Customer found = data.customer();
+                if (found == null) { resultLabel.setText("No customer found"); return; }
+                resultLabel.setText("Customer: " + found.getFirstName() + " " + found.getSurname() + " | Email: " + found.getEmail() + " | Phone: " + found.getPhoneNumber());
+                for (Account a : data.accounts()) {
+                    accountsList.getItems().add(a.getAccountId() + " | " + a.getAccountType() + " | BWP " + String.format("%.2f", a.getBalance()));
+                }
+            }, ex -> {
+                resultLabel.setText("");
+                showLoadFailure(ex);
+            });
         });
 
         contentPanel.getChildren().addAll(titleLabel, emailField, idField, searchBtn, resultLabel, accountsList);
@@ -1471,6 +1679,7 @@ public class ModernBankingApp extends Application {
     }
 
     private void showManageAccountsScreen() {
+        ui.enterScreen();
         if (!requireRole(Role.ADMIN)) return;
         VBox mainContainer = new VBox(15);
         mainContainer.setPadding(new Insets(0));
@@ -1504,6 +1713,9 @@ public class ModernBankingApp extends Application {
         TableView<Account> accountsTable = new TableView<>();
         accountsTable.setStyle("-fx-background-color: #f5f5f5; -fx-control-inner-background: #f5f5f5; " +
                 "-fx-text-fill: #000000; -fx-border-color: #ffffff; -fx-border-width: 1;");
+        // accounts and their owners are read a page at a time as the table scrolls
+        PagedTableSource<Account> accountsSource = new PagedTableSource<>(accountsTable, ui,
+            bank::getAccountPage, Paging.Sort.asc("number"));
 
         TableColumn<Account, String> accountNumColumn = new TableColumn<>("Account Number");
         accountNumColumn.setPrefWidth(150);
@@ -1545,18 +1757,29 @@ public class ModernBankingApp extends Application {
                     confirm.setContentText("Are you sure you want to permanently delete this account?");
                     java.util.Optional<javafx.scene.control.ButtonType> result = confirm.showAndWait();
                     if (result.isPresent() && result.get() == javafx.scene.control.ButtonType.OK) {
-                        boolean ok = bank.deleteAccount(acc.getAccountId());
-                        if (ok) {
-                            getTableView().getItems().remove(acc);
-                            showAlert("Success", "Account Deleted", "Account has been deleted.", true);
-                            try {
-                                String actorId = currentUser != null ? currentUser.getUserId() : null;
-                                String actorEmail = currentUser != null ? currentUser.getUsername() : null;
-                                bank.logAction(actorId, actorEmail, "DELETE_ACCOUNT", "ACCOUNT", acc.getAccountId(), "Deleted account", "OK");
-                            } catch (Exception ex) {}
-                        } else {
+                        deleteBtn.setDisable(true);
+                        ui.run(() -> {
+                            boolean ok = bank.deleteAccount(acc.getAccountId());
+                            if (ok) {
+                                try {
+                                    String actorId = currentUser != null ? currentUser.getUserId() : null;
+                                    String actorEmail = currentUser != null ? currentUser.getUsername() : null;
+                                    bank.logAction(actorId, actorEmail, "DELETE_ACCOUNT", "ACCOUNT", acc.getAccountId(), "Deleted account", "OK");
+                                } catch (Exception ex) {}
+                            }
+                            return ok;
+                        }, ok -> {
+                            deleteBtn.setDisable(false);
+                            if (ok) {
+                                accountsSource.remove(acc);
+                                showAlert("Success", "Account Deleted", "Account has been deleted.", true);
+                            } else {
+                                showAlert("Error", "Delete Failed", "Could not delete account.", false);
+                            }
+                        }, ex -> {
+                            deleteBtn.setDisable(false);
                             showAlert("Error", "Delete Failed", "Could not delete account.", false);
-                        }
+                        });
                     }
                 });
             }
@@ -1574,28 +1797,43 @@ public class ModernBankingApp extends Application {
 
         accountsTable.getColumns().addAll(accountNumColumn, typeColumn, balanceColumn, statusColumn, createdColumn, accountActionColumn);
 
-        List<Account> allAccounts = bank.getAllAccounts();
-        accountsTable.getItems().addAll(allAccounts);
-
-        double totalBalance = allAccounts.stream().mapToDouble(Account::getBalance).sum();
-        long activeAccounts = allAccounts.stream().filter(Account::isActive).count();
-
         HBox statsBox = new HBox(30);
         statsBox.setPadding(new Insets(15));
         statsBox.setStyle("-fx-background-color: #f5f5f5; -fx-border-color: #ffffff; -fx-border-width: 1; -fx-border-radius: 4;");
 
-        Label totalAccountsLabel = new Label("Total Accounts: " + allAccounts.size());
+        Label totalAccountsLabel = new Label("Total Accounts: ...");
         totalAccountsLabel.setStyle("-fx-font-size: 12; -fx-font-weight: bold; -fx-text-fill: #ffffff;");
 
-        Label activeAccountsLabel = new Label("Active Accounts: " + activeAccounts);
+        Label activeAccountsLabel = new Label("Active Accounts: ...");
         activeAccountsLabel.setStyle("-fx-font-size: 12; -fx-font-weight: bold; -fx-text-fill: #000000;");
 
-        Label totalBalanceLabel = new Label("Total Balance: BWP " + String.format("%.2f", totalBalance));
+        Label totalBalanceLabel = new Label("Total Balance: ...");
         totalBalanceLabel.setStyle("-fx-font-size: 12; -fx-font-weight: bold; -fx-text-fill: #ffffff;");
 
         statsBox.getChildren().addAll(totalAccountsLabel, activeAccountsLabel, totalBalanceLabel);
 
-        contentPanel.getChildren().addAll(statsBox, accountsTable);
+        // totals come from the running statistics rather than from the rows on screen
+        ui.load(() -> bank.getStatistics().snapshot(), stats -> {
+            totalAccountsLabel.setText("Total Accounts: " + stats.accounts);
+            // every account is active in this implementation
+            activeAccountsLabel.setText("Active Accounts: " + stats.accounts);
+            totalBalanceLabel.setText("Total Balance: BWP " + String.format("%.2f", stats.getTotalBalance()));
+        }, this::showLoadFailure);
+
+        Label shownLabel = new Label();
+        accountsSource
+            .sortable(accountNumColumn, "number")
+            .sortable(typeColumn, "type")
+            .sortable(balanceColumn, "balance")
+            .sortable(createdColumn, "opened")
+            .placeholders(createLoadingPlaceholder("Loading accounts..."), new Label("No accounts"))
+            .onLoaded(() -> updateShownLabel(shownLabel, accountsTable.getItems().size(), accountsSource))
+            .onError(this::showLoadFailure)
+            .start();
+
+        TextField searchField = createPagedSearchField("Search by account number, owner name or email...", accountsSource);
+
+        contentPanel.getChildren().addAll(statsBox, searchField, accountsTable, shownLabel);
         VBox.setVgrow(accountsTable, Priority.ALWAYS);
 
         mainContainer.getChildren().addAll(headerBox, contentPanel);
@@ -1607,6 +1845,7 @@ public class ModernBankingApp extends Application {
     }
 
     private void showSystemStatisticsScreen() {
+        ui.enterScreen();
         if (!requireRole(Role.ADMIN)) return;
         VBox mainContainer = new VBox(15);
         mainContainer.setPadding(new Insets(0));
@@ -1637,70 +1876,66 @@ public class ModernBankingApp extends Application {
         contentPanel.setPadding(new Insets(30));
         contentPanel.setStyle("-fx-background-color: #ffffff;");
 
-        List<Customer> allCustomers = bank.getAllCustomers();
-        List<Account> allAccounts = bank.getAllAccounts();
-
-        double totalBalance = allAccounts.stream().mapToDouble(Account::getBalance).sum();
-        long activeAccounts = allAccounts.stream().filter(Account::isActive).count();
-        long customerCount = allCustomers.size();
+        // running totals; no customer or account rows are loaded here. A stale
+        // snapshot reconciles against the database, so fetch it off the FX thread
+        contentPanel.getChildren().add(createLoadingPlaceholder("Loading statistics..."));
+        ui.load(() -> bank.getStatistics().snapshot(), stats -> {
+            double totalBalance = stats.getTotalBalance();
+            long activeAccounts = stats.accounts;
+            long customerCount = stats.customers;
 
-        // Create statistics cards
-        VBox statsContainer = new VBox(15);
+            // Create statistics cards
+            VBox statsContainer = new VBox(15);
 
-        HBox row1 = new HBox(20);
-        row1.setAlignment(Pos.CENTER_LEFT);
+            HBox row1 = new HBox(20);
+            row1.setAlignment(Pos.CENTER_LEFT);
 
-        VBox card1 = createStatCard("👥 TOTAL CUSTOMERS", String.valueOf(customerCount), "#000000");
-        VBox card2 = createStatCard("💼 TOTAL ACCOUNTS", String.valueOf(allAccounts.size()), "#ffffff");
-        VBox card3 = createStatCard("🟢 ACTIVE ACCOUNTS", String.valueOf(activeAccounts), "#27ae60");
+            VBox card1 = createStatCard("👥 TOTAL CUSTOMERS", String.valueOf(customerCount), "#000000");
+            VBox card2 = createStatCard("💼 TOTAL ACCOUNTS", String.valueOf(stats.accounts), "#ffffff");
+            VBox card3 = createStatCard("🟢 ACTIVE ACCOUNTS", String.valueOf(activeAccounts), "#27ae60");
 
-        row1.getChildren().addAll(card1, card2, card3);
+            row1.getChildren().addAll(card1, card2, card3);
 
-        HBox row2 = new HBox(20);
-        row2.setAlignment(Pos.CENTER_LEFT);
+            HBox row2 = new HBox(20);
+            row2.setAlignment(Pos.CENTER_LEFT);
 
-        VBox card4 = createStatCard("💰 TOTAL BALANCE", "BWP " + String.format("%.2f", totalBalance), "#ffffff");
-        VBox card5 = createStatCard("📝 SYSTEM DATA", String.valueOf(allAccounts.size()), "#9b59b6");
-        VBox card6 = createStatCard("⚙️ SYSTEM STATUS", "🟢 OPERATIONAL", "#000000");
+            VBox card4 = createStatCard("💰 TOTAL BALANCE", "BWP " + String.format("%.2f", totalBalance), "#ffffff");
+            VBox card5 = createStatCard("📝 SYSTEM DATA", String.valueOf(stats.accounts), "#9b59b6");
+            VBox card6 = createStatCard("⚙️ SYSTEM STATUS", "🟢 OPERATIONAL", "#000000");
 
-        row2.getChildren().addAll(card4, card5, card6);
+            row2.getChildren().addAll(card4, card5, card6);
 
-        statsContainer.getChildren().addAll(row1, row2);
+            statsContainer.getChildren().addAll(row1, row2);
 
-        // Account Type Breakdown
-        VBox breakdownBox = new VBox(10);
-        breakdownBox.setPadding(new Insets(20));
-        breakdownBox.setStyle("-fx-background-color: #f5f5f5; -fx-border-color: #ffffff; -fx-border-width: 1; -fx-border-radius: 4;");
+            // Account Type Breakdown
+            VBox breakdownBox = new VBox(10);
+            breakdownBox.setPadding(new Insets(20));
+            breakdownBox.setStyle("-fx-background-color: #f5f5f5; -fx-border-color: #ffffff; -fx-border-width: 1; -fx-border-radius: 4;");
 
-        Label breakdownTitle = new Label("📈 ACCOUNT TYPE BREAKDOWN");
-        breakdownTitle.setStyle("-fx-font-size: 14; -fx-font-weight: bold; -fx-text-fill: #ffffff;");
+            Label breakdownTitle = new Label("📈 ACCOUNT TYPE BREAKDOWN");
+            breakdownTitle.setStyle("-fx-font-size: 14; -fx-font-weight: bold; -fx-text-fill: #ffffff;");
 
-        long savingsCount = allAccounts.stream().filter(a -> a.getAccountType().equals("Savings Account")).count();
-        long investmentCount = allAccounts.stream().filter(a -> a.getAccountType().equals("Investment Account")).count();
-        long chequeCount = allAccounts.stream().filter(a -> a.getAccountType().equals("Cheque Account")).count();
+            long savingsCount = stats.forType("Savings Account").count;
+            long investmentCount = stats.forType("Investment Account").count;
+            long chequeCount = stats.forType("Cheque Account").count;
 
-        double savingsBalance = allAccounts.stream()
-                .filter(a -> a.getAccountType().equals("Savings Account"))
-                .mapToDouble(Account::getBalance).sum();
-        double investmentBalance = allAccounts.stream()
-                .filter(a -> a.getAccountType().equals("Investment Account"))
-                .mapToDouble(Account::getBalance).sum();
-        double chequeBalance = allAccounts.stream()
-                .filter(a -> a.getAccountType().equals("Cheque Account"))
-                .mapToDouble(Account::getBalance).sum();
+            double savingsBalance = stats.forType("Savings Account").getBalance();
+            double investmentBalance = stats.forType("Investment Account").getBalance();
+            double chequeBalance = stats.forType("Cheque Account").getBalance();
 
-        Label savingsLabel = new Label("💾 Savings Accounts: " + savingsCount + " accounts | Balance: BWP " + String.format("%.2f", savingsBalance));
-        savingsLabel.setStyle("-fx-font-size: 11; -fx-text-fill: #000000; -fx-padding: 8;");
+            Label savingsLabel = new Label("💾 Savings Accounts: " + savingsCount + " accounts | Balance: BWP " + String.format("%.2f", savingsBalance));
+            savingsLabel.setStyle("-fx-font-size: 11; -fx-text-fill: #000000; -fx-padding: 8;");
 
-        Label investmentLabel = new Label("📊 Investment Accounts: " + investmentCount + " accounts | Balance: BWP " + String.format("%.2f", investmentBalance));
-        investmentLabel.setStyle("-fx-font-size: 11; -fx-text-fill: #ffffff; -fx-padding: 8;");
+            Label investmentLabel = new Label("📊 Investment Accounts: " + investmentCount + " accounts | Balance: BWP " + String.format("%.2f", investmentBalance));
+            investmentLabel.setStyle("-fx-font-size: 11; -fx-text-fill: #ffffff; -fx-padding: 8;");
 
-        Label chequeLabel = new Label("✓ Cheque Accounts: " + chequeCount + " accounts | Balance: BWP " + String.format("%.2f", chequeBalance));
-        chequeLabel.setStyle("-fx-font-size: 11; -fx-text-fill: #27ae60; -fx-padding: 8;");
+            Label chequeLabel = new Label("✓ Cheque Accounts: " + chequeCount + " accounts | Balance: BWP " + String.format("%.2f", chequeBalance));
+            chequeLabel.setStyle("-fx-font-size: 11; -fx-text-fill: #27ae60; -fx-padding: 8;");
 
-        breakdownBox.getChildren().addAll(breakdownTitle, savingsLabel, investmentLabel, chequeLabel);
+            breakdownBox.getChildren().addAll(breakdownTitle, savingsLabel, investmentLabel, chequeLabel);
 
-        contentPanel.getChildren().addAll(statsContainer, breakdownBox);
+            fillLoaded(contentPanel, statsContainer, breakdownBox);
+        }, this::showLoadFailure);
 
         ScrollPane scrollPane = new ScrollPane(contentPanel);
         scrollPane.setFitToWidth(true);
@@ -1716,6 +1951,7 @@ public class ModernBankingApp extends Application {
 
     @SuppressWarnings("unchecked")
     private void showAuditLogScreen() {
+        ui.enterScreen();
         if (!requireRole(Role.ADMIN)) return;
         VBox mainContainer = new VBox(12);
         mainContainer.setPadding(new Insets(10));
@@ -1730,10 +1966,6 @@ public class ModernBankingApp extends Application {
         back.setOnAction(e -> showAdminDashboard());
         header.getChildren().addAll(title, spacer, back);
 
-        TextField searchField = new TextField();
-        searchField.setPromptText("Filter by actor, action or target...");
-        searchField.setStyle("-fx-padding: 8; -fx-background-color: #151a35; -fx-text-fill: #000000;");
-
         TableView<com.banking.model.AuditLog> table = new TableView<>();
         table.setStyle("-fx-background-color: #f5f5f5; -fx-text-fill: #000000;");
 
@@ -1763,25 +1995,27 @@ public class ModernBankingApp extends Application {
 
         table.getColumns().addAll(tsCol, actorCol, actionCol, targetCol, statusCol, detailsCol);
 
-        List<com.banking.model.AuditLog> logs = bank.getAuditLogs();
-        table.getItems().addAll(logs);
-
-        // Simple client-side filter
-        searchField.textProperty().addListener((obs, oldV, newV) -> {
-            String q = newV == null ? "" : newV.toLowerCase();
-            table.getItems().clear();
-            for (com.banking.model.AuditLog l : logs) {
-                if (l.getActorEmail() != null && l.getActorEmail().toLowerCase().contains(q) ||
-                    (l.getActionType() != null && l.getActionType().toLowerCase().contains(q)) ||
-                    (l.getTargetId() != null && l.getTargetId().toLowerCase().contains(q)) ||
-                    (l.getDetails() != null && l.getDetails().toLowerCase().contains(q))) {
-                    table.getItems().add(l);
-                }
-            }
-        });
+        // Entries are loaded a page at a time as the table scrolls, newest first
+        // unless the timestamp column is sorted the other way
+        PagedTableSource<com.banking.model.AuditLog> source = new PagedTableSource<>(table, ui, (after, limit, sort, filter) -> {
+            return bank.getAuditLogPage(after, limit,
+                new com.banking.persistence.AuditDAO.Filter().text(filter), !sort.ascending);
+        }, Paging.Sort.desc("time"));
+        Label shownLabel = new Label();
+        source
+            .sortable(tsCol, "time")
+            .placeholders(createLoadingPlaceholder("Loading audit log..."), new Label("No audit entries"))
+            .onLoaded(() -> updateShownLabel(shownLabel, table.getItems().size(), source))
+            .onError(this::showLoadFailure)
+            .start();
+
+        TextField searchField = createPagedSearchField("Filter by actor, action or target...", source);
+
+        HBox footer = new HBox(10, shownLabel);
+        footer.setAlignment(Pos.CENTER_LEFT);
 
         VBox.setVgrow(table, Priority.ALWAYS);
-        mainContainer.getChildren().addAll(header, searchField, table);
+        mainContainer.getChildren().addAll(header, searchField, table, footer);
 
         Scene scene = new Scene(mainContainer, 1100, 600);
         setupScene(scene);
@@ -1809,6 +2043,7 @@ public class ModernBankingApp extends Application {
     }
 
     private void showCreateTellerScreen() {
+        ui.enterScreen();
         if (!requireRole(Role.ADMIN)) return;
         VBox mainContainer = new VBox(15);
         mainContainer.setPadding(new Insets(0));
@@ -1892,21 +2127,29 @@ public class ModernBankingApp extends Application {
                 return;
             }
 
-            if (authController.registerUser(firstName, lastName, email, phone, "Meridian Bank Botswana", Role.TELLER)) {
-                messageLabel.setText("✓ Teller account created successfully!");
-                messageLabel.setStyle("-fx-text-fill: #000000; -fx-padding: 10; -fx-background-color: rgba(26,188,156,0.1);");
-                firstNameField.clear();
-                lastNameField.clear();
-                emailField.clear();
-                phoneField.clear();
-                passwordField.clear();
-                confirmPasswordField.clear();
-                try { Thread.sleep(1500); } catch (InterruptedException ex) {}
-                showAdminDashboard();
-            } else {
+            createButton.setDisable(true);
+            messageLabel.setText("⏳ Creating teller...");
+            ui.run(() -> authController.registerUser(firstName, lastName, email, phone, "Meridian Bank Botswana", Role.TELLER), created -> {
+                createButton.setDisable(false);
+                if (created) {
+                    messageLabel.setText("✓ Teller account created successfully!");
+                    messageLabel.setStyle("-fx-text-fill: #000000; -fx-padding: 10; -fx-background-color: rgba(26,188,156,0.1);");
+                    firstNameField.clear();
+                    lastNameField.clear();
+                    emailField.clear();
+                    phoneField.clear();
+                    passwordField.clear();
+                    confirmPasswordField.clear();
+                    returnAfterDelay(createButton, this::showAdminDashboard);
+                } else {
+                    messageLabel.setText("✗ Failed to create teller. Email may already exist.");
+                    messageLabel.setStyle("-fx-text-fill: #ffffff; -fx-padding: 10; -fx-background-color: rgba(231,76,60,0.1);");
+                }
+            }, ex -> {
+                createButton.setDisable(false);
                 messageLabel.setText("✗ Failed to create teller. Email may already exist.");
                 messageLabel.setStyle("-fx-text-fill: #ffffff; -fx-padding: 10; -fx-background-color: rgba(231,76,60,0.1);");
-            }
+            });
         });
 
         cancelButton.setOnAction(e -> showAdminDashboard());
@@ -1932,6 +2175,7 @@ public class ModernBankingApp extends Application {
     }
 
     private void showCustomerDashboard() {
+        ui.enterScreen();
         if (!requireRole(Role.CUSTOMER)) return;
         VBox mainContainer = new VBox(15);
         mainContainer.setPadding(new Insets(0));
@@ -1952,8 +2196,10 @@ public class ModernBankingApp extends Application {
         balanceLabel.setFont(patrickHandFont != null ? Font.font(patrickHandFont.getFamily(), 10) : Font.font("System", 10));
         balanceLabel.setStyle("-fx-text-fill: #cccccc; -fx-letter-spacing: 1;");
 
-    double totalBalance = accountController.getTotalBalance(currentUser.getUserId());
-        Label amountLabel = new Label("BWP" + String.format("%.2f", totalBalance));
+        Label amountLabel = new Label("BWP ...");
+        String userId = currentUser.getUserId();
+        ui.load(() -> accountController.getTotalBalance(userId),
+            totalBalance -> amountLabel.setText("BWP" + String.format("%.2f", totalBalance)), this::showLoadFailure);
         amountLabel.setFont(patrickHandBold != null ? Font.font(patrickHandBold.getFamily(), 32) : Font.font("System", 32));
         amountLabel.setStyle("-fx-text-fill: #000000;");
 
@@ -1968,6 +2214,7 @@ public class ModernBankingApp extends Application {
         logoutButton.setStyle("-fx-background-color: #000000; " +
                 "-fx-text-fill: #ffffff; -fx-font-weight: bold; -fx-border-radius: 6; -fx-cursor: hand; -fx-border-color: #cccccc; -fx-border-width: 1;");
         logoutButton.setOnAction(e -> {
+            authController.logout();
             currentUser = null;
             showLoginScreen();
         });
@@ -2027,6 +2274,7 @@ public class ModernBankingApp extends Application {
     }
 
     private void showAccountsScreen() {
+        ui.enterScreen();
         VBox mainContainer = new VBox(15);
         mainContainer.setPadding(new Insets(30));
         mainContainer.setStyle("-fx-background-color: #ffffff;");
@@ -2035,42 +2283,46 @@ public class ModernBankingApp extends Application {
         titleLabel.setStyle("-fx-font-size: 24; -fx-font-weight: bold; -fx-text-fill: #000000; -fx-letter-spacing: 1;");
 
         VBox accountsBox = new VBox(15);
-    List<Account> accounts = accountController.getUserAccounts(currentUser.getUserId());
-
-        if (accounts.isEmpty()) {
-            Label emptyLabel = new Label("✗ No accounts found. Create one!");
-            emptyLabel.setStyle("-fx-font-size: 14; -fx-text-fill: #666666;");
-            accountsBox.getChildren().add(emptyLabel);
-        } else {
-            for (Account account : accounts) {
-                HBox cardBox = new HBox(20);
-                cardBox.setPadding(new Insets(20));
-                cardBox.setStyle("-fx-background-color: #f5f5f5; -fx-border-color: #000000; " +
-                        "-fx-border-width: 2; -fx-border-radius: 8; " +
-                        "-fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 8, 0, 0, 2);");
+        accountsBox.getChildren().add(createLoadingPlaceholder("Loading accounts..."));
+        String userId = currentUser.getUserId();
+        ui.load(() -> accountController.getUserAccounts(userId), accounts -> {
+            accountsBox.getChildren().clear();
+            if (accounts.isEmpty()) {
+                Label emptyLabel = new Label("✗ No accounts found. Create one!");
+                emptyLabel.setStyle("-fx-font-size: 14; -fx-text-fill: #666666;");
+                accountsBox.getChildren().add(emptyLabel);
+            } else {
+                for (Account account : accounts) {
+                    HBox cardBox = new HBox(20);
+                    cardBox.setPadding(new Insets(20));
+                    cardBox.setStyle("-fx-background-color: #f5f5f5; -fx-border-color: #000000; " +
+                            "-fx-border-width: 2; -fx-border-radius: 8; " +
+                            "-fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 8, 0, 0, 2);");
 
-                VBox cardInfo = new VBox(8);
-                Label idLabel = new Label("ACC ID: " + account.getAccountId());
-                idLabel.setStyle("-fx-font-size: 11; -fx-text-fill: #666666; -fx-letter-spacing: 1;");
+                    VBox cardInfo = new VBox(8);
+                    Label idLabel = new Label("ACC ID: " + account.getAccountId());
+                    idLabel.setStyle("-fx-font-size: 11; -fx-text-fill: #666666; -fx-letter-spacing: 1;");
 
-                Label typeLabel = new Label(account.getAccountType().toUpperCase());
-                typeLabel.setStyle("-fx-font-size: 16; -fx-font-weight: bold; -fx-text-fill: #000000;");
+                    Label typeLabel = new Label(account.getAccountType().toUpperCase());
+                    typeLabel.setStyle("-fx-font-size: 16; -fx-font-weight: bold; -fx-text-fill: #000000;");
 
-                Label statusLabel = new Label(account.isActive() ? "✓ ACTIVE" : "✗ INACTIVE");
-                statusLabel.setStyle("-fx-font-size: 11; -fx-text-fill: #000000;");
+                    Label statusLabel = new Label(account.isActive() ? "✓ ACTIVE" : "✗ INACTIVE");
+                    statusLabel.setStyle("-fx-font-size: 11; -fx-text-fill: #000000;");
 
-                cardInfo.getChildren().addAll(idLabel, typeLabel, statusLabel);
+                    cardInfo.getChildren().addAll(idLabel, typeLabel, statusLabel);
 
-                HBox spacer2 = new HBox();
-                HBox.setHgrow(spacer2, Priority.ALWAYS);
+                    HBox spacer2 = new HBox();
+                    HBox.setHgrow(spacer2, Priority.ALWAYS);
 
-                Label balanceLabel = new Label("BWP " + String.format("%.2f", account.getBalance()));
-                balanceLabel.setStyle("-fx-font-size: 24; -fx-font-weight: bold; -fx-text-fill: #000000;");
+                    Label balanceLabel = new Label("BWP " + String.format("%.2f", account.getBalance()));
+                    balanceLabel.setStyle("-fx-font-size: 24; -fx-font-weight: bold; -fx-text-fill: #000000;");
 
-                cardBox.getChildren().addAll(cardInfo, spacer2, balanceLabel);
-                accountsBox.getChildren().add(cardBox);
+                    cardBox.getChildren().addAll(cardInfo, spacer2, balanceLabel);
+                    accountsBox.getChildren().add(cardBox);
+                }
             }
-        }
+            applyFontToAllNodes(accountsBox);
+        }, this::showLoadFailure);
 
         ScrollPane scrollPane = new ScrollPane(accountsBox);
         scrollPane.setStyle("-fx-background-color: #ffffff; -fx-control-inner-background: #ffffff;");
@@ -2097,6 +2349,7 @@ public class ModernBankingApp extends Application {
     }
 
     private void showTransferScreen() {
+        ui.enterScreen();
         VBox mainContainer = new VBox(20);
         mainContainer.setPadding(new Insets(40));
         mainContainer.setStyle("-fx-background-color: #ffffff;");
@@ -2112,12 +2365,17 @@ public class ModernBankingApp extends Application {
                 "-fx-effect: dropshadow(gaussian, rgba(0,212,255,0.15), 10, 0, 0, 2); -fx-max-width: 400;");
         formBox.setAlignment(Pos.CENTER);
 
-    List<Account> accounts = accountController.getUserAccounts(currentUser.getUserId());
-
         ComboBox<Account> fromCombo = new ComboBox<>();
         ComboBox<Account> toCombo = new ComboBox<>();
-        fromCombo.getItems().addAll(accounts);
-        toCombo.getItems().addAll(accounts);
+        fromCombo.setPromptText("⏳ Loading accounts...");
+        toCombo.setPromptText("⏳ Loading accounts...");
+        String userId = currentUser.getUserId();
+        ui.load(() -> accountController.getUserAccounts(userId), accounts -> {
+            fromCombo.getItems().setAll(accounts);
+            toCombo.getItems().setAll(accounts);
+            fromCombo.setPromptText("");
+            toCombo.setPromptText("");
+        }, this::showLoadFailure);
         fromCombo.setPrefWidth(350);
         toCombo.setPrefWidth(350);
 
@@ -2161,21 +2419,31 @@ public class ModernBankingApp extends Application {
                 } else if (fromAccount.getAccountId() != null && fromAccount.getAccountId().equals(toAccount.getAccountId())) {
                     messageLabel.setText("⚠ Cannot transfer to the same account");
                     messageLabel.setStyle("-fx-text-fill: #ffffff;");
-        } else if (accountController.transferFunds(
-            currentUser.getUserId(),
-            fromAccount.getAccountId(),
-            toAccount.getAccountId(),
-            amount,
-            description)) {
-                    messageLabel.setText("✓ Transfer successful! Returning to dashboard...");
-                    messageLabel.setStyle("-fx-text-fill: #000000;");
-                    amountField.clear();
-                    descriptionField.clear();
-                    try { Thread.sleep(1500); } catch (InterruptedException ex) {}
-                    showDashboard();
                 } else {
-                    messageLabel.setText("✗ Transfer failed. Insufficient balance?");
-                    messageLabel.setStyle("-fx-text-fill: #ffffff;");
+                    transferButton.setDisable(true);
+                    messageLabel.setText("⏳ Processing transfer...");
+                    ui.run(() -> accountController.transferFunds(
+                        userId,
+                        fromAccount.getAccountId(),
+                        toAccount.getAccountId(),
+                        amount,
+                        description), transferred -> {
+                        transferButton.setDisable(false);
+                        if (transferred) {
+                            messageLabel.setText("✓ Transfer successful! Returning to dashboard...");
+                            messageLabel.setStyle("-fx-text-fill: #000000;");
+                            amountField.clear();
+                            descriptionField.clear();
+                            returnAfterDelay(transferButton, this::showDashboard);
+                        } else {
+                            messageLabel.setText("✗ Transfer failed. Insufficient balance?");
+                            messageLabel.setStyle("-fx-text-fill: #ffffff;");
+                        }
+                    }, ex -> {
+                        transferButton.setDisable(false);
+                        messageLabel.setText("✗ Transfer failed. Insufficient balance?");
+                        messageLabel.setStyle("-fx-text-fill: #ffffff;");
+                    });
                 }
             } catch (NumberFormatException ex) {
                 messageLabel.setText("✗ Invalid amount entered");
@@ -2208,7 +2476,9 @@ public class ModernBankingApp extends Application {
         primaryStage.setScene(scene);
     }
 
+    @SuppressWarnings("unchecked")
     private void showTransactionHistory() {
+        ui.enterScreen();
         VBox mainContainer = new VBox(15);
         mainContainer.setPadding(new Insets(30));
         mainContainer.setStyle("-fx-background-color: #ffffff;");
@@ -2216,47 +2486,54 @@ public class ModernBankingApp extends Application {
         Label titleLabel = new Label("TRANSACTION HISTORY");
         titleLabel.setStyle("-fx-font-size: 24; -fx-font-weight: bold; -fx-text-fill: #000000; -fx-letter-spacing: 1;");
 
-        VBox transactionBox = new VBox(10);
-    List<Transaction> transactions = accountController.getTransactionHistory(currentUser.getUserId());
-
-        if (transactions.isEmpty()) {
-            Label emptyLabel = new Label("No transactions found");
-            emptyLabel.setStyle("-fx-font-size: 14; -fx-text-fill: #666666;");
-            transactionBox.getChildren().add(emptyLabel);
-        } else {
-            for (Transaction trans : transactions) {
-                HBox cardBox = new HBox(20);
-                cardBox.setPadding(new Insets(15));
-                cardBox.setStyle("-fx-background-color: #f5f5f5; -fx-border-color: #000000; " +
-                        "-fx-border-width: 1; -fx-border-radius: 6;");
+        TableView<Transaction> transactionTable = new TableView<>();
+        transactionTable.setStyle("-fx-background-color: #f5f5f5; -fx-control-inner-background: #f5f5f5; " +
+                "-fx-text-fill: #000000; -fx-border-color: #000000; -fx-border-width: 1;");
 
-                VBox cardInfo = new VBox(5);
-                Label dateLabel = new Label(trans.getTransactionDate().format(dateFormatter));
-                dateLabel.setStyle("-fx-font-size: 10; -fx-text-fill: #666666;");
+        TableColumn<Transaction, String> dateColumn = new TableColumn<>("Date");
+        dateColumn.setPrefWidth(120);
+        dateColumn.setCellValueFactory(cellData ->
+            new javafx.beans.property.SimpleStringProperty(cellData.getValue().getTransactionDate().format(dateFormatter)));
 
-                Label descLabel = new Label(trans.getDescription());
-                descLabel.setStyle("-fx-font-size: 13; -fx-font-weight: bold; -fx-text-fill: #000000;");
+        TableColumn<Transaction, String> descColumn = new TableColumn<>("Description");
+        descColumn.setPrefWidth(240);
+        descColumn.setCellValueFactory(cellData ->
+            new javafx.beans.property.SimpleStringProperty(cellData.getValue().getDescription()));
 
-                Label typeLabel = new Label(trans.getTransactionType());
-                typeLabel.setStyle("-fx-font-size: 10; -fx-text-fill: #000000;");
+        TableColumn<Transaction, String> typeColumn = new TableColumn<>("Type");
+        typeColumn.setPrefWidth(110);
+        typeColumn.setCellValueFactory(cellData ->
+            new javafx.beans.property.SimpleStringProperty(cellData.getValue().getTransactionType()));
 
-                cardInfo.getChildren().addAll(dateLabel, descLabel, typeLabel);
-
-                HBox spacer3 = new HBox();
-                HBox.setHgrow(spacer3, Priority.ALWAYS);
-
-                String amountColor = trans.getFromAccountId() > 0 ? "#ffffff" : "#000000";
-                Label amountLabel = new Label("BWP" + String.format("%.2f", trans.getAmount()));
-                amountLabel.setStyle("-fx-font-size: 18; -fx-font-weight: bold; -fx-text-fill: " + amountColor + ";");
-
-                cardBox.getChildren().addAll(cardInfo, spacer3, amountLabel);
-                transactionBox.getChildren().add(cardBox);
-            }
-        }
+        TableColumn<Transaction, String> accountColumn = new TableColumn<>("Account");
+        accountColumn.setPrefWidth(120);
+        accountColumn.setCellValueFactory(cellData ->
+            new javafx.beans.property.SimpleStringProperty(cellData.getValue().getAccountNumber()));
 
-        ScrollPane scrollPane = new ScrollPane(transactionBox);
-        scrollPane.setStyle("-fx-background-color: #ffffff; -fx-control-inner-background: #ffffff;");
-        scrollPane.setFitToWidth(true);
+        TableColumn<Transaction, String> amountColumn = new TableColumn<>("Amount (BWP)");
+        amountColumn.setPrefWidth(120);
+        amountColumn.setCellValueFactory(cellData ->
+            new javafx.beans.property.SimpleStringProperty(String.format("%.2f", cellData.getValue().getAmount())));
+
+        transactionTable.getColumns().addAll(dateColumn, descColumn, typeColumn, accountColumn, amountColumn);
+
+        // transactions across all of the user's accounts, a page at a time as the table scrolls
+        String userId = currentUser.getUserId();
+        PagedTableSource<Transaction> transactionSource = new PagedTableSource<>(transactionTable, ui,
+            (after, limit, sort, filter) -> bank.getCustomerTransactionPage(userId, after, limit, sort, filter),
+            Paging.Sort.desc("date"));
+        Label shownLabel = new Label();
+        transactionSource
+            .sortable(dateColumn, "date")
+            .sortable(typeColumn, "type")
+            .sortable(amountColumn, "amount")
+            .placeholders(createLoadingPlaceholder("Loading transactions..."), new Label("No transactions found"))
+            .onLoaded(() -> updateShownLabel(shownLabel, transactionTable.getItems().size(), transactionSource))
+            .onError(this::showLoadFailure)
+            .start();
+
+        TextField searchField = createPagedSearchField("Filter by type, account or status...", transactionSource);
+        VBox.setVgrow(transactionTable, Priority.ALWAYS);
 
         Button backButton = new Button("← BACK TO DASHBOARD");
         backButton.setPrefWidth(180);
@@ -2270,7 +2547,7 @@ public class ModernBankingApp extends Application {
         bottomBox.setPadding(new Insets(20));
         bottomBox.getChildren().add(backButton);
 
-        mainContainer.getChildren().addAll(titleLabel, scrollPane, bottomBox);
+        mainContainer.getChildren().addAll(titleLabel, searchField, transactionTable, shownLabel, bottomBox);
 
         Scene scene = new Scene(mainContainer, 800, 650);
         setupScene(scene);
@@ -2308,17 +2585,32 @@ public class ModernBankingApp extends Application {
         });
 
         dialog.showAndWait().ifPresent(accountType -> {
-            if (accountController.createAccount(currentUser.getUserId(), accountType)) {
-                showAlert("✓ Success", "Account Created", 
-                    "New " + accountType + " account created successfully!", true);
-                showDashboard();
-            } else {
-                showAlert("✗ Error", "Account Creation Failed", 
-                    "Could not create account. Please try again.", false);
-            }
+            String userId = currentUser.getUserId();
+            ui.run(() -> accountController.createAccount(userId, accountType), created -> {
+                if (created) {
+                    showAlert("✓ Success", "Account Created", 
+                        "New " + accountType + " account created successfully!", true);
+                    showDashboard();
+                } else {
+                    showAlert("✗ Error", "Account Creation Failed", 
+                        "Could not create account. Please try again.", false);
+                }
+            }, ex -> showAlert("✗ Error", "Account Creation Failed", 
+                "Could not create account. Please try again.", false));
         });
     }
 
+    /**
+     * Look a customer up by email, falling back to customer ID. Blocking:
+     * call from a background task.
+     */
+    private Customer findCustomer(String email, String customerId) {
+        Customer found = null;
+        if (email != null && !email.isEmpty()) found = bank.getCustomerByEmail(email);
+        if (found == null && customerId != null && !customerId.isEmpty()) found = bank.getCustomerById(customerId);
+        return found;
+    }
+
     private void showAlert(String title, String header, String content, boolean isSuccess) {
         Alert alert = new Alert(isSuccess ? Alert.AlertType.INFORMATION : Alert.AlertType.ERROR);
         alert.setTitle(title);
@@ -2329,6 +2621,7 @@ public class ModernBankingApp extends Application {
     }
 
     private void showProfileScreen() {
+        ui.enterScreen();
         if (currentUser == null) return;
         Customer customer = authController.getCurrentCustomer();
         if (customer == null) return;
@@ -2399,20 +2692,30 @@ public class ModernBankingApp extends Application {
                 customer.setAddress(addressField.getText());
 
                 // Update password if provided
-                if (!passwordField.getText().isEmpty()) {
-                    String passwordError = com.banking.util.PasswordUtil.getPasswordValidationError(passwordField.getText());
+                String newPassword = passwordField.getText();
+                if (!newPassword.isEmpty()) {
+                    String passwordError = com.banking.util.PasswordUtil.getPasswordValidationError(newPassword);
                     if (passwordError != null) {
                         showAlert("✗ Error", "Invalid Password", passwordError, false);
                         return;
                     }
-                    String hashedPassword = com.banking.util.PasswordUtil.hashPassword(passwordField.getText());
-                    customer.setPasswordHash(hashedPassword);
                 }
 
-                // Persist customer updates
-                bank.updateCustomer(customer);
-                showAlert("✓ Success", "Profile Updated", "Your profile has been updated successfully.", true);
-                showDashboard();
+                // Hash and persist off the FX thread
+                saveButton.setDisable(true);
+                ui.run(() -> {
+                    if (!newPassword.isEmpty()) {
+                        customer.setPasswordHash(com.banking.util.PasswordUtil.hashPassword(newPassword));
+                    }
+                    return bank.updateCustomer(customer);
+                }, saved -> {
+                    saveButton.setDisable(false);
+                    showAlert("✓ Success", "Profile Updated", "Your profile has been updated successfully.", true);
+                    showDashboard();
+                }, ex -> {
+                    saveButton.setDisable(false);
+                    showAlert("✗ Error", "Update Failed", "Could not update profile: " + ex.getMessage(), false);
+                });
             } catch (Exception ex) {
                 showAlert("✗ Error", "Update Failed", "Could not update profile: " + ex.getMessage(), false);
             }
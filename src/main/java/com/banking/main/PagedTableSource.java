@@ -0,0 +1,277 @@
+package com.banking.main;
+
+import com.banking.util.Paging;
+
+import javafx.scene.Node;
+import javafx.scene.control.IndexedCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.skin.VirtualFlow;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Feeds a TableView from a keyset-paged query instead of a complete list.
+ *
+ * Pages are fetched on the UiExecutor as the user scrolls near either end
+ * of the table, and at most maxPages of them are held at once: scrolling
+ * down past the window drops the top page, and scrolling back up fetches
+ * it again from the cursor it started at. Sorting and filtering happen in
+ * the query. Clicking a sortable column or changing the filter starts over
+ * from the first page; columns without a sort key cannot be sorted.
+ */
+public class PagedTableSource<T> {
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int DEFAULT_MAX_PAGES = 5;
+
+    /** Reads one page after the cursor (null for the first) in the given order. */
+    @FunctionalInterface
+    public interface Fetcher<T> {
+        Paging.Page<T> fetch(Paging.Cursor after, int limit, Paging.Sort sort, String filter) throws Exception;
+    }
+
+    // how close to either end of the scroll range triggers a fetch
+    private static final double EDGE = 0.05;
+
+    private final TableView<T> table;
+    private final UiExecutor ui;
+    private final Fetcher<T> fetcher;
+    private final int pageSize;
+    private final int maxPages;
+    private final Map<TableColumn<T, ?>, String> sortKeys = new HashMap<>();
+    // start cursor of every page reached so far, by page number; page 0 starts at null
+    private final List<Paging.Cursor> pageStarts = new ArrayList<>();
+    // row counts of the pages in the window, from firstPage to lastPage
+    private final LinkedList<Integer> windowSizes = new LinkedList<>();
+    private int firstPage;
+    private int lastPage;
+    private int totalPages;
+    private boolean loading;
+    private boolean started;
+    private int generation;
+    private UiExecutor.Handle pending;
+    private Paging.Sort defaultSort;
+    private Paging.Sort sort;
+    private String filter = "";
+    private Node loadingPlaceholder;
+    private Node emptyPlaceholder;
+    private Runnable onLoaded = () -> {};
+    private Consumer<Throwable> onError = e -> {};
+
+    public PagedTableSource(TableView<T> table, UiExecutor ui, Fetcher<T> fetcher, Paging.Sort defaultSort) {
+        this(table, ui, fetcher, defaultSort, DEFAULT_PAGE_SIZE, DEFAULT_MAX_PAGES);
+    }
+
+    public PagedTableSource(TableView<T> table, UiExecutor ui, Fetcher<T> fetcher, Paging.Sort defaultSort, int pageSize, int maxPages) {
+        this.table = table;
+        this.ui = ui;
+        this.fetcher = fetcher;
+        this.defaultSort = defaultSort;
+        this.pageSize = pageSize;
+        this.maxPages = Math.max(2, maxPages);
+    }
+
+    /** Let a column be sorted by the query's sort key. */
+    public PagedTableSource<T> sortable(TableColumn<T, ?> column, String sortKey) {
+        sortKeys.put(column, sortKey);
+        return this;
+    }
+
+    public PagedTableSource<T> placeholders(Node loading, Node empty) {
+        this.loadingPlaceholder = loading;
+        this.emptyPlaceholder = empty;
+        return this;
+    }
+
+    /** Called on the FX thread after each page lands in the table. */
+    public PagedTableSource<T> onLoaded(Runnable callback) {
+        this.onLoaded = callback;
+        return this;
+    }
+
+    public PagedTableSource<T> onError(Consumer<Throwable> callback) {
+        this.onError = callback;
+        return this;
+    }
+
+    /**
+     * Wire the table up and load the first page. Call once, on the FX thread.
+     */
+    public void start() {
+        for (TableColumn<T, ?> column : table.getColumns()) {
+            column.setSortable(sortKeys.containsKey(column));
+        }
+        table.setSortPolicy(t -> {
+            Paging.Sort requested = requestedSort();
+            if (started && !sameSort(requested, sort)) {
+                sort = requested;
+                reload();
+            }
+            // rows are already in query order; never sort them on the client
+            return true;
+        });
+        table.skinProperty().addListener((obs, oldSkin, newSkin) -> attachScrollListener());
+        attachScrollListener();
+        sort = requestedSort();
+        started = true;
+        reload();
+    }
+
+    /** Filter on the server; an unchanged filter does nothing. */
+    public void setFilter(String text) {
+        String value = text == null ? "" : text.trim();
+        if (value.equals(filter)) return;
+        filter = value;
+        if (started) reload();
+    }
+
+    /** Drop everything and read again from the first page. */
+    public void reload() {
+        generation++;
+        if (pending != null) pending.cancel();
+        loading = false;
+        table.getItems().clear();
+        pageStarts.clear();
+        pageStarts.add(null);
+        windowSizes.clear();
+        firstPage = 0;
+        lastPage = -1;
+        totalPages = -1;
+        if (loadingPlaceholder != null) table.setPlaceholder(loadingPlaceholder);
+        loadNext();
+    }
+
+    /**
+     * Remove a row shown in the table, e.g. after deleting it, keeping the
+     * page bookkeeping in step.
+     */
+    public void remove(T item) {
+        int index = table.getItems().indexOf(item);
+        if (index < 0) return;
+        table.getItems().remove(index);
+        int offset = 0;
+        for (int i = 0; i < windowSizes.size(); i++) {
+            int size = windowSizes.get(i);
+            if (index < offset + size) {
+                windowSizes.set(i, size - 1);
+                break;
+            }
+            offset += size;
+        }
+    }
+
+    /** Whether rows exist past the end of the window. */
+    public boolean hasMore() {
+        return totalPages < 0 || lastPage + 1 < totalPages;
+    }
+
+    /** Zero-based position of the first row in the window within the whole result. */
+    public int getWindowStart() {
+        // every page but the last is full, so dropped pages held pageSize rows each
+        return firstPage * pageSize;
+    }
+
+    private void loadNext() {
+        int page = lastPage + 1;
+        if (loading || !hasMore() || page >= pageStarts.size()) return;
+        fetch(page, result -> {
+            int anchor = firstVisibleIndex();
+            table.getItems().addAll(result.items);
+            windowSizes.addLast(result.items.size());
+            lastPage = page;
+            if (result.next == null) {
+                totalPages = page + 1;
+            } else if (pageStarts.size() == page + 1) {
+                pageStarts.add(result.next);
+            }
+            if (windowSizes.size() > maxPages) {
+                int dropped = windowSizes.removeFirst();
+                table.getItems().remove(0, dropped);
+                firstPage++;
+                table.scrollTo(Math.max(0, anchor - dropped));
+            }
+        });
+    }
+
+    private void loadPrevious() {
+        if (loading || firstPage == 0) return;
+        int page = firstPage - 1;
+        fetch(page, result -> {
+            int anchor = firstVisibleIndex();
+            table.getItems().addAll(0, result.items);
+            windowSizes.addFirst(result.items.size());
+            firstPage = page;
+            if (windowSizes.size() > maxPages) {
+                int dropped = windowSizes.removeLast();
+                int size = table.getItems().size();
+                table.getItems().remove(size - dropped, size);
+                lastPage--;
+            }
+            table.scrollTo(anchor + result.items.size());
+        });
+    }
+
+    private void fetch(int page, Consumer<Paging.Page<T>> apply) {
+        loading = true;
+        int expected = generation;
+        Paging.Cursor after = pageStarts.get(page);
+        Paging.Sort order = sort;
+        String text = filter;
+        pending = ui.load(() -> fetcher.fetch(after, pageSize, order, text), result -> {
+            if (expected != generation) return;
+            loading = false;
+            apply.accept(result);
+            if (emptyPlaceholder != null) table.setPlaceholder(emptyPlaceholder);
+            onLoaded.run();
+        }, error -> {
+            if (expected != generation) return;
+            loading = false;
+            onError.accept(error);
+        });
+    }
+
+    private Paging.Sort requestedSort() {
+        if (!table.getSortOrder().isEmpty()) {
+            TableColumn<T, ?> column = table.getSortOrder().get(0);
+            String key = sortKeys.get(column);
+            if (key != null) {
+                return new Paging.Sort(key, column.getSortType() == TableColumn.SortType.ASCENDING);
+            }
+        }
+        return defaultSort;
+    }
+
+    private static boolean sameSort(Paging.Sort a, Paging.Sort b) {
+        return a != null && b != null && a.key.equals(b.key) && a.ascending == b.ascending;
+    }
+
+    private void attachScrollListener() {
+        VirtualFlow<?> flow = flow();
+        if (flow == null || flow.getProperties().containsKey(PagedTableSource.class)) return;
+        flow.getProperties().put(PagedTableSource.class, Boolean.TRUE);
+        flow.positionProperty().addListener((obs, oldPos, newPos) -> {
+            double pos = newPos.doubleValue();
+            if (pos >= 1 - EDGE) {
+                loadNext();
+            } else if (pos <= EDGE) {
+                loadPrevious();
+            }
+        });
+    }
+
+    private int firstVisibleIndex() {
+        VirtualFlow<?> flow = flow();
+        IndexedCell<?> cell = flow != null ? flow.getFirstVisibleCell() : null;
+        return cell != null ? cell.getIndex() : 0;
+    }
+
+    private VirtualFlow<?> flow() {
+        // the flow only exists once the skin has been created
+        return table.lookup(".virtual-flow") instanceof VirtualFlow<?> flow ? flow : null;
+    }
+}
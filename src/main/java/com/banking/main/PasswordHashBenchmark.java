@@ -0,0 +1,105 @@
+package com.banking.main;
+
+import com.banking.service.PasswordVerifier;
+import com.banking.util.PasswordUtil;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Benchmark harness for choosing banking.password.bcryptCost.
+ *
+ * For each BCrypt cost it times a single verification on an idle machine,
+ * then a login storm: the given number of logins arriving at once and
+ * queueing on a PasswordVerifier configured from the system properties,
+ * as the application's would be. It prints p50/p99/max login latency per
+ * cost and recommends the highest cost whose storm p99 is within the
+ * target. No database is needed.
+ *
+ * Usage: PasswordHashBenchmark [targetP99Ms] [concurrentLogins] [minCost maxCost]
+ *        (default: 1000 ms, 4 x verifier threads, costs 8 to 13)
+ */
+public class PasswordHashBenchmark {
+
+    private static final String PASSWORD = "correct horse battery staple";
+    private static final int SINGLE_ROUNDS = 10;
+
+    public static void main(String[] args) throws Exception {
+        long targetMs = args.length > 0 ? Long.parseLong(args[0]) : 1000;
+        PasswordVerifier.Config config = PasswordVerifier.Config.fromSystemProperties();
+        int threads = config.getThreads();
+        int logins = args.length > 1 ? Integer.parseInt(args[1]) : threads * 4;
+        int minCost = args.length > 3 ? Integer.parseInt(args[2]) : 8;
+        int maxCost = args.length > 3 ? Integer.parseInt(args[3]) : 13;
+
+        System.out.println("\n=== BCrypt cost vs login latency ===");
+        System.out.printf("verifier threads=%d, concurrent logins=%d, target p99=%d ms%n", threads, logins, targetMs);
+        System.out.printf("%6s | %12s | %10s | %10s | %10s | %9s%n", "cost", "single ms", "p50 ms", "p99 ms", "max ms", "rejected");
+
+        int recommended = -1;
+        for (int cost = minCost; cost <= maxCost; cost++) {
+            String hash = PasswordUtil.hashPassword(PASSWORD, cost);
+            PasswordUtil.verifyPassword(PASSWORD, hash); // warm-up
+
+            long t0 = System.nanoTime();
+            for (int i = 0; i < SINGLE_ROUNDS; i++) {
+                if (!PasswordUtil.verifyPassword(PASSWORD, hash)) throw new IllegalStateException("verification failed");
+            }
+            double singleMs = (System.nanoTime() - t0) / 1e6 / SINGLE_ROUNDS;
+
+            // queue must hold the whole storm so latency, not rejection, is measured
+            PasswordVerifier verifier = new PasswordVerifier(config.queueCapacity(Math.max(logins, 1)));
+            double[] latencies = storm(verifier, hash, logins);
+            long rejected = verifier.getStats().rejected;
+            verifier.shutdown();
+
+            double p99 = percentile(latencies, 0.99);
+            System.out.printf("%6d | %12.1f | %10.1f | %10.1f | %10.1f | %9d%n",
+                cost, singleMs, percentile(latencies, 0.50), p99, latencies[latencies.length - 1], rejected);
+            if (p99 > targetMs || rejected > 0) {
+                break; // higher costs only get slower
+            }
+            recommended = cost;
+        }
+
+        if (recommended < 0) {
+            System.out.println("⚠ Warning: no cost meets the target; add verifier threads or raise the target");
+        } else {
+            System.out.println("✓ Recommended: -Dbanking.password.bcryptCost=" + recommended
+                + " (current default " + PasswordUtil.DEFAULT_BCRYPT_COST + ")");
+        }
+    }
+
+    // Latency of each login, ms, sorted
+    private static double[] storm(PasswordVerifier verifier, String hash, int logins) throws Exception {
+        ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            List<Callable<Double>> tasks = new ArrayList<>();
+            for (int i = 0; i < logins; i++) {
+                tasks.add(() -> {
+                    long start = System.nanoTime();
+                    verifier.verify(PASSWORD, hash);
+                    return (System.nanoTime() - start) / 1e6;
+                });
+            }
+            double[] latencies = new double[logins];
+            int i = 0;
+            for (Future<Double> f : callers.invokeAll(tasks)) {
+                latencies[i++] = f.get();
+            }
+            Arrays.sort(latencies);
+            return latencies;
+        } finally {
+            callers.shutdown();
+        }
+    }
+
+    private static double percentile(double[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+}
@@ -0,0 +1,134 @@
+package com.banking.main;
+
+import com.banking.controller.AccountController;
+import com.banking.model.*;
+import com.banking.persistence.*;
+import com.banking.service.Bank;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Benchmark harness comparing how a transfer resolves its two accounts:
+ * the old scan over Bank.getAllAccounts() against the primary-key pair
+ * read now used by AccountController.transferFunds.
+ *
+ * Seeds BENCH_XFER_* accounts at increasing sizes and, at each size, times
+ * both lookups and a full transfer through the controller, printing the
+ * SQL statements and the mean time per operation. All seeded rows are
+ * removed at the end.
+ *
+ * Usage: TransferLookupBenchmark [size1 size2 ...]   (default: 100 1000 5000)
+ */
+public class TransferLookupBenchmark {
+
+    private static final String BENCH_CUSTOMER = "BENCH_XFER_CUST";
+    private static final int ROUNDS = 50;
+
+    public static void main(String[] args) throws Exception {
+        int[] sizes = args.length == 0 ? new int[] {100, 1000, 5000} : new int[args.length];
+        for (int i = 0; i < args.length; i++) sizes[i] = Integer.parseInt(args[i]);
+
+        Bank bank = new Bank("Benchmark Bank");
+        AccountController controller = new AccountController(bank);
+        ConnectionPool pool = DatabaseConnection.getInstance().getPool();
+
+        System.out.println("\n=== Transfer account lookup: scan vs primary key ===");
+        System.out.printf("%10s | %12s | %12s | %12s | %12s | %14s%n",
+            "accounts", "scan queries", "scan ms", "pk queries", "pk ms", "transfer ms");
+        try {
+            cleanup();
+            seedCustomer();
+            int seeded = 0;
+            for (int size : sizes) {
+                seedAccounts(seeded, size - seeded);
+                seeded = size;
+                String from = "BENCH_XFER_0";
+                String to = "BENCH_XFER_" + (size - 1);
+
+                long q0 = pool.getStats().statements;
+                long t0 = System.nanoTime();
+                for (int r = 0; r < ROUNDS; r++) {
+                    if (scan(bank, from, to) != 2) System.out.println("⚠ Warning: scan missed an account");
+                }
+                double scanMs = (System.nanoTime() - t0) / 1e6 / ROUNDS;
+                long scanQueries = (pool.getStats().statements - q0) / ROUNDS;
+
+                q0 = pool.getStats().statements;
+                t0 = System.nanoTime();
+                for (int r = 0; r < ROUNDS; r++) {
+                    if (bank.getAccountPair(from, to).size() != 2) System.out.println("⚠ Warning: pair read missed an account");
+                }
+                double pkMs = (System.nanoTime() - t0) / 1e6 / ROUNDS;
+                long pkQueries = (pool.getStats().statements - q0) / ROUNDS;
+
+                t0 = System.nanoTime();
+                for (int r = 0; r < ROUNDS; r++) {
+                    // alternate direction so balances stay put
+                    boolean ok = r % 2 == 0
+                        ? controller.transferFunds(from, to, 1.00, "benchmark")
+                        : controller.transferFunds(to, from, 1.00, "benchmark");
+                    if (!ok) System.out.println("⚠ Warning: benchmark transfer rejected");
+                }
+                double transferMs = (System.nanoTime() - t0) / 1e6 / ROUNDS;
+
+                System.out.printf("%10d | %12d | %12.2f | %12d | %12.2f | %14.2f%n",
+                    size, scanQueries, scanMs, pkQueries, pkMs, transferMs);
+            }
+        } finally {
+            bank.getAuditWriter().flush();
+            cleanup();
+            System.out.println(pool.getStats());
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Reproduces the previous transferFunds lookup: load every account and
+     * pick out the two wanted ones.
+     */
+    private static int scan(Bank bank, String from, String to) {
+        int found = 0;
+        for (Account account : bank.getAllAccounts()) {
+            if (account.getAccountId().equals(from) || account.getAccountId().equals(to)) found++;
+        }
+        return found;
+    }
+
+    private static void seedCustomer() throws SQLException {
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement ps = conn.prepareStatement(
+                 "INSERT INTO CUSTOMER (CUSTOMER_ID, FIRST_NAME, SURNAME, ADDRESS, PHONE_NUMBER, EMAIL, ROLE, APPROVED) VALUES (?, 'Bench', 'Mark', 'n/a', '0', ?, 'CUSTOMER', 1)")) {
+            ps.setString(1, BENCH_CUSTOMER);
+            ps.setString(2, "bench.transfer@bank.local");
+            ps.executeUpdate();
+        }
+    }
+
+    private static void seedAccounts(int from, int count) throws SQLException {
+        if (count <= 0) return;
+        try (Connection conn = DatabaseConnection.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement acc = conn.prepareStatement(
+                     "INSERT INTO ACCOUNT (ACCOUNT_NUMBER, ACCOUNT_TYPE, BALANCE, BRANCH, CUSTOMER_ID, DATE_OPENED) VALUES (?, 'Cheque Account', 100.0, 'Main Branch', ?, CURRENT_DATE)")) {
+                for (int i = from; i < from + count; i++) {
+                    acc.setString(1, "BENCH_XFER_" + i);
+                    acc.setString(2, BENCH_CUSTOMER);
+                    acc.addBatch();
+                }
+                acc.executeBatch();
+            }
+            conn.commit();
+        }
+    }
+
+    private static void cleanup() throws SQLException {
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM TRANSACTION WHERE ACCOUNT_NUMBER LIKE 'BENCH\\_XFER\\_%'");
+            stmt.executeUpdate("DELETE FROM ACCOUNT WHERE CUSTOMER_ID = '" + BENCH_CUSTOMER + "'");
+            stmt.executeUpdate("DELETE FROM CUSTOMER WHERE CUSTOMER_ID = '" + BENCH_CUSTOMER + "'");
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.banking.main;
+
+import com.banking.util.Log;
+import javafx.application.Platform;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Runs blocking work (controller and database calls) off the JavaFX
+ * application thread.
+ *
+ * Every task gets its own virtual thread; its result or failure is handed
+ * back on the FX thread with Platform.runLater. Tasks belong to the screen
+ * that started them, and enterScreen() cancels whatever the previous screen
+ * still has in flight: loads are interrupted, while actions (writes) are
+ * left to finish so a posting is never cut off half-way. Either way a
+ * cancelled task never calls back into a screen that is no longer shown.
+ */
+public class UiExecutor {
+
+    /** Handle to a submitted task. */
+    public static final class Handle {
+        private final boolean interruptible;
+        private volatile boolean cancelled;
+        private volatile Future<?> future;
+
+        private Handle(boolean interruptible) {
+            this.interruptible = interruptible;
+        }
+
+        public void cancel() {
+            cancelled = true;
+            Future<?> f = future;
+            if (f != null) f.cancel(interruptible);
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<Handle> screenTasks = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Start a new screen: cancel every task the previous one left running.
+     * Call on the FX thread before building the screen.
+     */
+    public void enterScreen() {
+        for (Handle handle : screenTasks) {
+            handle.cancel();
+        }
+        screenTasks.clear();
+    }
+
+    /**
+     * Read data for the current screen. Interrupted if the user navigates
+     * away before it finishes.
+     */
+    public <T> Handle load(Callable<T> work, Consumer<T> onResult, Consumer<Throwable> onError) {
+        return submit(true, work, onResult, onError);
+    }
+
+    /**
+     * Perform an action such as a deposit or an update. Runs to completion
+     * even if the user navigates away; only the callback is dropped.
+     */
+    public <T> Handle run(Callable<T> work, Consumer<T> onResult, Consumer<Throwable> onError) {
+        return submit(false, work, onResult, onError);
+    }
+
+    /**
+     * Background work with no screen attached (e.g. start-up seeding).
+     */
+    public Future<?> background(Runnable work) {
+        return executor.submit(work);
+    }
+
+    public void shutdown() {
+        enterScreen();
+        executor.shutdown();
+    }
+
+    private <T> Handle submit(boolean interruptible, Callable<T> work, Consumer<T> onResult, Consumer<Throwable> onError) {
+        Handle handle = new Handle(interruptible);
+        screenTasks.add(handle);
+        handle.future = executor.submit(() -> {
+            T result = null;
+            Throwable failure = null;
+            try {
+                result = work.call();
+            } catch (Throwable t) {
+                failure = t;
+            }
+            screenTasks.remove(handle);
+            if (handle.isCancelled()) {
+                return;
+            }
+            T value = result;
+            Throwable error = failure;
+            Platform.runLater(() -> {
+                if (handle.isCancelled()) return;
+                if (error == null) {
+                    if (onResult != null) onResult.accept(value);
+                } else {
+                    Log.error("✗ Background task failed: " + error.getMessage(), error);
+                    if (onError != null) onError.accept(error);
+                }
+            });
+        });
+        if (handle.isCancelled()) {
+            handle.future.cancel(interruptible);
+        }
+        return handle;
+    }
+}
@@ -9,19 +9,21 @@ import java.io.Serializable;
 import java.time.LocalDate;
 import java.util.*;
 
-public abstract class Account implements Serializable {
+public abstract class Account implements Serializable, Cloneable {
     private static final long serialVersionUID = 1L;
     
     protected String accountNumber;
-    protected double balance;
+    protected long balanceThebe;
     protected String branch;
     protected LocalDate dateOpened;
     protected Customer customer;
     protected List<Transaction> transactions;
+    // persisted history, read on demand; new postings stay in transactions until saved
+    protected transient TransactionHistory history = TransactionHistory.EMPTY;
     
     public Account(String accountNumber, Customer customer) {
         this.accountNumber = accountNumber;
-        this.balance = 0.0;
+        this.balanceThebe = 0;
         this.branch = "Main Branch";
         this.dateOpened = LocalDate.now();
         this.customer = customer;
@@ -80,14 +82,60 @@ public abstract class Account implements Serializable {
     
     // ==================== OTHER GETTER METHODS ====================
     
+    /**
+     * Exact balance in thebe (minor units)
+     */
+    public long getBalanceThebe() {
+        return balanceThebe;
+    }
+    
+    /**
+     * Set the balance in thebe as stored, without the account type's rules
+     * (e.g. a minimum balance); for loading and restoring committed values
+     */
+    public void setBalanceThebe(long balanceThebe) {
+        this.balanceThebe = balanceThebe;
+    }
+    
+    /**
+     * Monthly interest rate in parts per million; zero for accounts that do
+     * not earn interest
+     */
+    public long getInterestRatePpm() {
+        return 0;
+    }
+    
     public void addTransaction(Transaction transaction) {
         if (transaction != null && transaction.validateTransaction()) {
             transactions.add(transaction);
         }
     }
     
+    /**
+     * Every transaction for this account: the persisted history (newest
+     * first) followed by postings made on this copy that are not saved yet.
+     * This reads the full history; use getHistory() to page through it.
+     */
     public List<Transaction> getTransactions() {
-        return new ArrayList<>(transactions);
+        List<Transaction> all = new ArrayList<>(getHistory().loadAll());
+        Set<String> persisted = new HashSet<>();
+        for (Transaction t : all) {
+            persisted.add(t.getTransactionId());
+        }
+        for (Transaction t : transactions) {
+            if (!persisted.contains(t.getTransactionId())) {
+                all.add(t);
+            }
+        }
+        return all;
+    }
+    
+    public TransactionHistory getHistory() {
+        return history != null ? history : TransactionHistory.EMPTY;
+    }
+    
+    public void setHistory(TransactionHistory history) {
+        this.history = history;
     }
     
     public Customer getCustomer() {
@@ -102,9 +150,25 @@ public abstract class Account implements Serializable {
         this.dateOpened = dateOpened;
     }
     
+    /**
+     * Independent copy of this account and its owner, so changes to the copy
+     * (e.g. a posting that is later rejected) never show through to whoever
+     * holds the original.
+     */
+    public Account copy() {
+        try {
+            Account copy = (Account) super.clone();
+            copy.transactions = new ArrayList<>(transactions);
+            copy.customer = customer != null ? customer.copy() : null;
+            return copy;
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
     @Override
     public String toString() {
         return String.format("Account: %s | Balance: BWP %.2f | Type: %s",
-            accountNumber, balance, this.getClass().getSimpleName());
+            accountNumber, getBalance(), this.getClass().getSimpleName());
     }
 }
\ No newline at end of file
@@ -1,14 +1,16 @@
 package com.banking.model;
 
 import java.time.LocalDate;
+import com.banking.util.IdGenerator;
+import com.banking.util.Log;
 
 public class CertificateOfDepositAccount extends Account {
     private static final long serialVersionUID = 1L;
     private static final double MINIMUM_OPENING = 500.0;
     private static final double MONTHLY_INTEREST_RATE = 0.10; // 10% - highest interest rate
     
-    private double interestRate;
-    private double minimumBalance;
+    private long interestRatePpm;
+    private long minimumBalanceThebe;
     private LocalDate maturityDate;
     private int termMonths; // CD term in months
     private boolean isMature;
@@ -16,8 +18,8 @@ public class CertificateOfDepositAccount extends Account {
     
     public CertificateOfDepositAccount(String accountNumber, Customer customer, int termMonths) {
         super(accountNumber, customer);
-        this.interestRate = MONTHLY_INTEREST_RATE;
-        this.minimumBalance = MINIMUM_OPENING;
+        this.interestRatePpm = Money.toPpm(MONTHLY_INTEREST_RATE);
+        this.minimumBalanceThebe = Money.toThebe(MINIMUM_OPENING);
         this.termMonths = termMonths;
         this.maturityDate = LocalDate.now().plusMonths(termMonths);
         this.isMature = false;
@@ -31,28 +33,30 @@ public class CertificateOfDepositAccount extends Account {
     
     @Override
     public double getBalance() {
-        return balance;
+        return Money.toPula(balanceThebe);
     }
     
     @Override
     public void setBalance(double balance) {
-        if (balance >= minimumBalance) {
-            this.balance = balance;
+        long thebe = Money.toThebe(balance);
+        if (thebe >= minimumBalanceThebe) {
+            this.balanceThebe = thebe;
         }
     }
     
     @Override
     public boolean deposit(double amount) {
-        if (amount > 0) {
-            balance += amount;
-            String txnId = "CD_" + System.nanoTime();
-            Transaction txn = new Transaction(txnId, "DEPOSIT", amount, LocalDate.now(),
-                                             accountNumber, "SUCCESS");
+        long amountThebe = Money.toThebe(amount);
+        if (amountThebe > 0) {
+            balanceThebe += amountThebe;
+            String txnId = IdGenerator.next("CD_");
+            Transaction txn = Transaction.ofThebe(txnId, "DEPOSIT", amountThebe, LocalDate.now(),
+                                                 accountNumber, "SUCCESS");
             addTransaction(txn);
-            System.out.println("✓ Deposit successful. New balance: BWP " + String.format("%.2f", balance));
+            Log.debug(() -> "✓ Deposit successful. New balance: BWP " + Money.format(balanceThebe));
             return true;
         }
-        System.out.println("✗ Invalid deposit amount");
+        Log.warn("✗ Invalid deposit amount");
         return false;
     }
     
@@ -60,29 +64,30 @@ public class CertificateOfDepositAccount extends Account {
     public boolean withdraw(double amount) {
         // CDs typically have penalties for early withdrawal
         if (!isMature && LocalDate.now().isBefore(maturityDate)) {
-            System.out.println("✗ CD has not matured yet. Maturity date: " + maturityDate);
-            System.out.println("  Early withdrawal may incur penalties");
+            Log.warn(() -> "✗ CD has not matured yet. Maturity date: " + maturityDate
+                + "\n  Early withdrawal may incur penalties");
             return false;
         }
         
-        if (amount > 0 && (balance - amount) >= 0) {
-            balance -= amount;
-            String txnId = "CD_" + System.nanoTime();
-            Transaction txn = new Transaction(txnId, "WITHDRAWAL", amount, LocalDate.now(),
-                                             accountNumber, "SUCCESS");
+        long amountThebe = Money.toThebe(amount);
+        if (amountThebe > 0 && balanceThebe - amountThebe >= 0) {
+            balanceThebe -= amountThebe;
+            String txnId = IdGenerator.next("CD_");
+            Transaction txn = Transaction.ofThebe(txnId, "WITHDRAWAL", amountThebe, LocalDate.now(),
+                                                 accountNumber, "SUCCESS");
             addTransaction(txn);
-            System.out.println("✓ Withdrawal successful. New balance: BWP " + String.format("%.2f", balance));
+            Log.debug(() -> "✓ Withdrawal successful. New balance: BWP " + Money.format(balanceThebe));
             return true;
         }
-        System.out.println("✗ Insufficient funds");
+        Log.warn("✗ Insufficient funds");
         return false;
     }
     
     @Override
     public void payInterest() {
-        if (balance > 0) {
-            double interest = balance * interestRate;
-            balance += interest;
+        if (balanceThebe > 0) {
+            long interestThebe = Money.interest(balanceThebe, interestRatePpm);
+            balanceThebe += interestThebe;
             lastInterestDate = LocalDate.now();
             
             // Check if CD has matured
@@ -90,15 +95,15 @@ public class CertificateOfDepositAccount extends Account {
                 isMature = true;
             }
             
-            String txnId = "INT_" + System.nanoTime();
-            Transaction txn = new Transaction(txnId, "INTEREST", interest, LocalDate.now(),
-                                             accountNumber, "SUCCESS");
+            String txnId = IdGenerator.next("INT_");
+            Transaction txn = Transaction.ofThebe(txnId, "INTEREST", interestThebe, LocalDate.now(),
+                                                 accountNumber, "SUCCESS");
             addTransaction(txn);
-            System.out.println("✓ Interest paid: BWP " + String.format("%.2f", interest) + 
-                             ". New balance: BWP " + String.format("%.2f", balance));
+            Log.debug(() -> "✓ Interest paid: BWP " + Money.format(interestThebe) + 
+                             ". New balance: BWP " + Money.format(balanceThebe));
             
             if (isMature) {
-                System.out.println("  ℹ CD has matured and can now be withdrawn");
+                Log.debug("  ℹ CD has matured and can now be withdrawn");
             }
         }
     }
@@ -107,21 +112,24 @@ public class CertificateOfDepositAccount extends Account {
     public String getAccountDetails() {
         String status = isMature ? "MATURE" : "ACTIVE";
         return String.format("Certificate of Deposit (CD): %s\nBalance: BWP %.2f\nInterest Rate: %.2f%%\nMinimum Balance: BWP %.2f\nTerm: %d months\nMaturity Date: %s\nStatus: %s",
-            accountNumber, balance, interestRate * 100, minimumBalance, termMonths, maturityDate, status);
+            accountNumber, getBalance(), getInterestRate() * 100, getMinimumBalance(), termMonths, maturityDate, status);
     }
     
     @Override
     public void updateBalance(double amount) {
-        if ((balance + amount) >= minimumBalance) {
-            balance += amount;
+        long amountThebe = Money.toThebe(amount);
+        if (balanceThebe + amountThebe >= minimumBalanceThebe) {
+            balanceThebe += amountThebe;
         }
     }
     
-    public double getInterestRate() { return interestRate; }
-    public double getMinimumBalance() { return minimumBalance; }
+    public double getInterestRate() { return Money.fromPpm(interestRatePpm); }
+    public long getInterestRatePpm() { return interestRatePpm; }
+    public double getMinimumBalance() { return Money.toPula(minimumBalanceThebe); }
+    public long getMinimumBalanceThebe() { return minimumBalanceThebe; }
     public LocalDate getMaturityDate() { return maturityDate; }
     public LocalDate getLastInterestDate() { return lastInterestDate; }
-    public void setInterestRate(double rate) { this.interestRate = rate; }
+    public void setInterestRate(double rate) { this.interestRatePpm = Money.toPpm(rate); }
     public int getTermMonths() { return termMonths; }
     public boolean isMature() { return isMature; }
     public static double getMinimumOpening() { return MINIMUM_OPENING; }
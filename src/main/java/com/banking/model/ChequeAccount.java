@@ -1,6 +1,8 @@
 package com.banking.model;
 
 import java.time.LocalDate;
+import com.banking.util.IdGenerator;
+import com.banking.util.Log;
 
 public class ChequeAccount extends Account {
     private static final long serialVersionUID = 1L;
@@ -24,60 +26,63 @@ public class ChequeAccount extends Account {
     
     @Override
     public double getBalance() {
-        return balance;
+        return Money.toPula(balanceThebe);
     }
     
     @Override
     public void setBalance(double balance) {
-        if (balance >= 0) {
-            this.balance = balance;
+        long thebe = Money.toThebe(balance);
+        if (thebe >= 0) {
+            this.balanceThebe = thebe;
         }
     }
     
     @Override
     public boolean deposit(double amount) {
-        if (amount > 0) {
-            balance += amount;
-            String txnId = "CHQ_" + System.nanoTime();
-            Transaction txn = new Transaction(txnId, "DEPOSIT", amount, LocalDate.now(),
-                                             accountNumber, "SUCCESS");
+        long amountThebe = Money.toThebe(amount);
+        if (amountThebe > 0) {
+            balanceThebe += amountThebe;
+            String txnId = IdGenerator.next("CHQ_");
+            Transaction txn = Transaction.ofThebe(txnId, "DEPOSIT", amountThebe, LocalDate.now(),
+                                                 accountNumber, "SUCCESS");
             addTransaction(txn);
-            System.out.println("✓ Deposit successful. New balance: BWP " + String.format("%.2f", balance));
+            Log.debug(() -> "✓ Deposit successful. New balance: BWP " + Money.format(balanceThebe));
             return true;
         }
-        System.out.println("✗ Invalid deposit amount");
+        Log.warn("✗ Invalid deposit amount");
         return false;
     }
     
     @Override
     public boolean withdraw(double amount) {
-        if (amount > 0 && amount <= balance) {
-            balance -= amount;
-            String txnId = "CHQ_" + System.nanoTime();
-            Transaction txn = new Transaction(txnId, "WITHDRAWAL", amount, LocalDate.now(),
-                                             accountNumber, "SUCCESS");
+        long amountThebe = Money.toThebe(amount);
+        if (amountThebe > 0 && amountThebe <= balanceThebe) {
+            balanceThebe -= amountThebe;
+            String txnId = IdGenerator.next("CHQ_");
+            Transaction txn = Transaction.ofThebe(txnId, "WITHDRAWAL", amountThebe, LocalDate.now(),
+                                                 accountNumber, "SUCCESS");
             addTransaction(txn);
-            System.out.println("✓ Withdrawal successful. New balance: BWP " + String.format("%.2f", balance));
+            Log.debug(() -> "✓ Withdrawal successful. New balance: BWP " + Money.format(balanceThebe));
             return true;
         }
-        System.out.println("✗ Insufficient funds or invalid amount");
+        Log.warn("✗ Insufficient funds or invalid amount");
         return false;
     }
     
     @Override
     public void payInterest() {
-        System.out.println("ℹ Cheque accounts do not earn interest");
+        Log.debug("ℹ Cheque accounts do not earn interest");
     }
     
     @Override
     public String getAccountDetails() {
         return String.format("Cheque Account: %s\nBalance: BWP %.2f\nEmployer: %s\nAddress: %s",
-            accountNumber, balance, employer, companyAddress);
+            accountNumber, getBalance(), employer, companyAddress);
     }
     
     @Override
     public void updateBalance(double amount) {
-        balance += amount;
+        balanceThebe += Money.toThebe(amount);
     }
     
     public String getEmployer() { return employer; }
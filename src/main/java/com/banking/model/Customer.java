@@ -4,8 +4,9 @@ import java.io.Serializable;
 import java.time.LocalDate;
 import java.util.*;
 import com.banking.main.Role;
+import com.banking.util.Log;
 
-public class Customer implements Serializable {
+public class Customer implements Serializable, Cloneable {
     private static final long serialVersionUID = 1L;
     
     private String customerId;
@@ -70,7 +71,7 @@ public class Customer implements Serializable {
     public void addAccount(Account account) {
         if (account != null && !accounts.contains(account)) {
             accounts.add(account);
-            System.out.println("✓ Account " + account.getAccountNumber() + " added successfully");
+            Log.debug(() -> "✓ Account " + account.getAccountNumber() + " added successfully");
         }
     }
     
@@ -86,17 +87,17 @@ public class Customer implements Serializable {
     }
     
     public void displayCustomerInfo() {
-        System.out.println("\n========== CUSTOMER INFORMATION ==========");
-        System.out.println("Customer ID: " + customerId);
-        System.out.println("Name: " + firstName + " " + surname);
-        System.out.println("Address: " + address);
-        System.out.println("Phone: " + phoneNumber);
-        System.out.println("Email: " + email);
-        System.out.println("Date of Birth: " + dateOfBirth);
-        System.out.println("Total Accounts: " + accounts.size());
         double totalBalance = accounts.stream().mapToDouble(Account::getBalance).sum();
-        System.out.println("Total Balance: BWP " + String.format("%.2f", totalBalance));
-        System.out.println("=========================================\n");
+        Log.info(() -> "\n========== CUSTOMER INFORMATION ==========\n"
+            + "Customer ID: " + customerId + "\n"
+            + "Name: " + firstName + " " + surname + "\n"
+            + "Address: " + address + "\n"
+            + "Phone: " + phoneNumber + "\n"
+            + "Email: " + email + "\n"
+            + "Date of Birth: " + dateOfBirth + "\n"
+            + "Total Accounts: " + accounts.size() + "\n"
+            + "Total Balance: BWP " + String.format("%.2f", totalBalance) + "\n"
+            + "=========================================\n");
     }
     
     // Getters
@@ -117,4 +118,20 @@ public class Customer implements Serializable {
     public void setPhoneNumber(String phoneNumber) { this.phoneNumber = phoneNumber; }
     public void setDateOfBirth(LocalDate dateOfBirth) { this.dateOfBirth = dateOfBirth; }
     public void setRole(Role role) { this.role = role; }
+    
+    /**
+     * Independent copy of this customer and its accounts
+     */
+    public Customer copy() {
+        try {
+            Customer copy = (Customer) super.clone();
+            copy.accounts = new ArrayList<>(accounts.size());
+            for (Account account : accounts) {
+                copy.accounts.add(account.copy());
+            }
+            return copy;
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,113 @@
+package com.banking.model;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point BWP amount held as a whole number of thebe (1 pula = 100 thebe).
+ *
+ * The static helpers work on raw {@code long} thebe values so the posting and
+ * interest code can do exact arithmetic without allocating; instances are
+ * only needed where a value object is convenient. Interest rates are carried
+ * as parts per million (0.05 = 50_000 ppm) so interest is exact integer math
+ * rounded half-up to the nearest thebe.
+ */
+public final class Money implements Comparable<Money>, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public static final int SCALE = 2;
+    public static final long THEBE_PER_PULA = 100;
+    public static final long PPM = 1_000_000;
+    public static final Money ZERO = new Money(0);
+
+    private final long thebe;
+
+    private Money(long thebe) {
+        this.thebe = thebe;
+    }
+
+    public static Money ofThebe(long thebe) {
+        return thebe == 0 ? ZERO : new Money(thebe);
+    }
+
+    public static Money of(double pula) {
+        return ofThebe(toThebe(pula));
+    }
+
+    public long getThebe() { return thebe; }
+    public double toPula() { return toPula(thebe); }
+    public Money plus(Money other) { return ofThebe(Math.addExact(thebe, other.thebe)); }
+    public Money minus(Money other) { return ofThebe(Math.subtractExact(thebe, other.thebe)); }
+    public boolean isPositive() { return thebe > 0; }
+
+    // ==================== PRIMITIVE HELPERS ====================
+
+    /** Convert a pula amount to thebe, rounding to the nearest thebe. */
+    public static long toThebe(double pula) {
+        return Math.round(pula * THEBE_PER_PULA);
+    }
+
+    public static double toPula(long thebe) {
+        return thebe / (double) THEBE_PER_PULA;
+    }
+
+    /** Convert a fractional rate (e.g. 0.05) to parts per million. */
+    public static long toPpm(double rate) {
+        return Math.round(rate * PPM);
+    }
+
+    public static double fromPpm(long ppm) {
+        return ppm / (double) PPM;
+    }
+
+    /**
+     * Interest on a balance for one period, rounded half-up to the nearest
+     * thebe. Non-positive balances earn nothing.
+     */
+    public static long interest(long balanceThebe, long ratePpm) {
+        if (balanceThebe <= 0 || ratePpm <= 0) return 0;
+        return (Math.multiplyExact(balanceThebe, ratePpm) + PPM / 2) / PPM;
+    }
+
+    /** JDBC boundary: thebe to a DECIMAL(19,2) value. */
+    public static BigDecimal toDecimal(long thebe) {
+        return BigDecimal.valueOf(thebe, SCALE);
+    }
+
+    /** JDBC boundary: ppm rate to a DECIMAL(9,6) value. */
+    public static BigDecimal rateToDecimal(long ppm) {
+        return BigDecimal.valueOf(ppm, 6);
+    }
+
+    /** JDBC boundary: DECIMAL column value (null treated as zero) to thebe. */
+    public static long fromDecimal(BigDecimal value) {
+        if (value == null) return 0;
+        return value.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /** Plain two-decimal string, e.g. "1234.50". */
+    public static String format(long thebe) {
+        return toDecimal(thebe).toPlainString();
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(thebe, other.thebe);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money && ((Money) o).thebe == thebe;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(thebe);
+    }
+
+    @Override
+    public String toString() {
+        return "BWP " + format(thebe);
+    }
+}
@@ -1,22 +1,24 @@
 package com.banking.model;
 
 import java.time.LocalDate;
+import com.banking.util.IdGenerator;
+import com.banking.util.Log;
 
 public class MoneyMarketAccount extends Account {
     private static final long serialVersionUID = 1L;
     private static final double MINIMUM_OPENING = 1000.0;
     private static final double MONTHLY_INTEREST_RATE = 0.08; // 8% - higher than savings
     
-    private double interestRate;
-    private double minimumBalance;
+    private long interestRatePpm;
+    private long minimumBalanceThebe;
     private LocalDate lastInterestDate;
     private int withdrawalLimitPerMonth;
     private int withdrawalsThisMonth;
     
     public MoneyMarketAccount(String accountNumber, Customer customer) {
         super(accountNumber, customer);
-        this.interestRate = MONTHLY_INTEREST_RATE;
-        this.minimumBalance = MINIMUM_OPENING;
+        this.interestRatePpm = Money.toPpm(MONTHLY_INTEREST_RATE);
+        this.minimumBalanceThebe = Money.toThebe(MINIMUM_OPENING);
         this.lastInterestDate = LocalDate.now();
         this.withdrawalLimitPerMonth = 6;
         this.withdrawalsThisMonth = 0;
@@ -29,85 +31,91 @@ public class MoneyMarketAccount extends Account {
     
     @Override
     public double getBalance() {
-        return balance;
+        return Money.toPula(balanceThebe);
     }
     
     @Override
     public void setBalance(double balance) {
-        if (balance >= minimumBalance) {
-            this.balance = balance;
+        long thebe = Money.toThebe(balance);
+        if (thebe >= minimumBalanceThebe) {
+            this.balanceThebe = thebe;
         }
     }
     
     @Override
     public boolean deposit(double amount) {
-        if (amount > 0) {
-            balance += amount;
-            String txnId = "MMA_" + System.nanoTime();
-            Transaction txn = new Transaction(txnId, "DEPOSIT", amount, LocalDate.now(),
-                                             accountNumber, "SUCCESS");
+        long amountThebe = Money.toThebe(amount);
+        if (amountThebe > 0) {
+            balanceThebe += amountThebe;
+            String txnId = IdGenerator.next("MMA_");
+            Transaction txn = Transaction.ofThebe(txnId, "DEPOSIT", amountThebe, LocalDate.now(),
+                                                 accountNumber, "SUCCESS");
             addTransaction(txn);
-            System.out.println("✓ Deposit successful. New balance: BWP " + String.format("%.2f", balance));
+            Log.debug(() -> "✓ Deposit successful. New balance: BWP " + Money.format(balanceThebe));
             return true;
         }
-        System.out.println("✗ Invalid deposit amount");
+        Log.warn("✗ Invalid deposit amount");
         return false;
     }
     
     @Override
     public boolean withdraw(double amount) {
         if (withdrawalsThisMonth >= withdrawalLimitPerMonth) {
-            System.out.println("✗ Withdrawal limit reached for this month (limit: " + withdrawalLimitPerMonth + ")");
+            Log.warn(() -> "✗ Withdrawal limit reached for this month (limit: " + withdrawalLimitPerMonth + ")");
             return false;
         }
         
-        if (amount > 0 && (balance - amount) >= minimumBalance) {
-            balance -= amount;
+        long amountThebe = Money.toThebe(amount);
+        if (amountThebe > 0 && balanceThebe - amountThebe >= minimumBalanceThebe) {
+            balanceThebe -= amountThebe;
             withdrawalsThisMonth++;
-            String txnId = "MMA_" + System.nanoTime();
-            Transaction txn = new Transaction(txnId, "WITHDRAWAL", amount, LocalDate.now(),
-                                             accountNumber, "SUCCESS");
+            String txnId = IdGenerator.next("MMA_");
+            Transaction txn = Transaction.ofThebe(txnId, "WITHDRAWAL", amountThebe, LocalDate.now(),
+                                                 accountNumber, "SUCCESS");
             addTransaction(txn);
-            System.out.println("✓ Withdrawal successful. New balance: BWP " + String.format("%.2f", balance));
+            Log.debug(() -> "✓ Withdrawal successful. New balance: BWP " + Money.format(balanceThebe));
             return true;
         }
-        System.out.println("✗ Insufficient funds or would fall below minimum balance");
+        Log.warn("✗ Insufficient funds or would fall below minimum balance");
         return false;
     }
     
     @Override
     public void payInterest() {
-        if (balance > 0) {
-            double interest = balance * interestRate;
-            balance += interest;
+        if (balanceThebe > 0) {
+            long interestThebe = Money.interest(balanceThebe, interestRatePpm);
+            balanceThebe += interestThebe;
             lastInterestDate = LocalDate.now();
             withdrawalsThisMonth = 0; // Reset withdrawal count monthly
-            String txnId = "INT_" + System.nanoTime();
-            Transaction txn = new Transaction(txnId, "INTEREST", interest, LocalDate.now(),
-                                             accountNumber, "SUCCESS");
+            String txnId = IdGenerator.next("INT_");
+            Transaction txn = Transaction.ofThebe(txnId, "INTEREST", interestThebe, LocalDate.now(),
+                                                 accountNumber, "SUCCESS");
             addTransaction(txn);
-            System.out.println("✓ Interest paid: BWP " + String.format("%.2f", interest) + 
-                             ". New balance: BWP " + String.format("%.2f", balance));
+            Log.debug(() -> "✓ Interest paid: BWP " + Money.format(interestThebe) + 
+                             ". New balance: BWP " + Money.format(balanceThebe));
         }
     }
     
     @Override
     public String getAccountDetails() {
         return String.format("Money Market Account: %s\nBalance: BWP %.2f\nInterest Rate: %.2f%%\nMinimum Balance: BWP %.2f\nWithdrawals this month: %d/%d",
-            accountNumber, balance, interestRate * 100, minimumBalance, withdrawalsThisMonth, withdrawalLimitPerMonth);
+            accountNumber, getBalance(), getInterestRate() * 100, getMinimumBalance(), withdrawalsThisMonth, withdrawalLimitPerMonth);
     }
     
     @Override
     public void updateBalance(double amount) {
-        if ((balance + amount) >= minimumBalance) {
-            balance += amount;
+        long amountThebe = Money.toThebe(amount);
+        if (balanceThebe + amountThebe >= minimumBalanceThebe) {
+            balanceThebe += amountThebe;
         }
     }
     
-    public double getInterestRate() { return interestRate; }
-    public double getMinimumBalance() { return minimumBalance; }
+    public double getInterestRate() { return Money.fromPpm(interestRatePpm); }
+    public long getInterestRatePpm() { return interestRatePpm; }
+    public double getMinimumBalance() { return Money.toPula(minimumBalanceThebe); }
+    public long getMinimumBalanceThebe() { return minimumBalanceThebe; }
     public LocalDate getLastInterestDate() { return lastInterestDate; }
-    public void setInterestRate(double rate) { this.interestRate = rate; }
+    public void setInterestRate(double rate) { this.interestRatePpm = Money.toPpm(rate); }
     public int getWithdrawalLimitPerMonth() { return withdrawalLimitPerMonth; }
     public int getWithdrawalsThisMonth() { return withdrawalsThisMonth; }
     public static double getMinimumOpening() { return MINIMUM_OPENING; }
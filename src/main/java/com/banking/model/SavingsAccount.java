@@ -1,17 +1,19 @@
 package com.banking.model;
 
 import java.time.LocalDate;
+import com.banking.util.IdGenerator;
+import com.banking.util.Log;
 
 public class SavingsAccount extends Account {
     private static final long serialVersionUID = 1L;
     private static final double MONTHLY_INTEREST_RATE = 0.0005; // 0.05%
     
-    private double interestRate;
+    private long interestRatePpm;
     private LocalDate lastInterestDate;
     
     public SavingsAccount(String accountNumber, Customer customer) {
         super(accountNumber, customer);
-        this.interestRate = MONTHLY_INTEREST_RATE;
+        this.interestRatePpm = Money.toPpm(MONTHLY_INTEREST_RATE);
         this.lastInterestDate = LocalDate.now();
     }
     
@@ -22,66 +24,70 @@ public class SavingsAccount extends Account {
     
     @Override
     public double getBalance() {
-        return balance;
+        return Money.toPula(balanceThebe);
     }
     
     @Override
     public void setBalance(double balance) {
-        if (balance >= 0) {
-            this.balance = balance;
+        long thebe = Money.toThebe(balance);
+        if (thebe >= 0) {
+            this.balanceThebe = thebe;
         }
     }
     
     @Override
     public boolean deposit(double amount) {
-        if (amount > 0) {
-            balance += amount;
-            String txnId = "SAV_" + System.nanoTime();
-            Transaction txn = new Transaction(txnId, "DEPOSIT", amount, LocalDate.now(),
-                                             accountNumber, "SUCCESS");
+        long amountThebe = Money.toThebe(amount);
+        if (amountThebe > 0) {
+            balanceThebe += amountThebe;
+            String txnId = IdGenerator.next("SAV_");
+            Transaction txn = Transaction.ofThebe(txnId, "DEPOSIT", amountThebe, LocalDate.now(),
+                                                 accountNumber, "SUCCESS");
             addTransaction(txn);
-            System.out.println("✓ Deposit successful. New balance: BWP " + String.format("%.2f", balance));
+            Log.debug(() -> "✓ Deposit successful. New balance: BWP " + Money.format(balanceThebe));
             return true;
         }
-        System.out.println("✗ Invalid deposit amount");
+        Log.warn("✗ Invalid deposit amount");
         return false;
     }
     
     @Override
     public boolean withdraw(double amount) {
-        System.out.println("✗ Withdrawals are not allowed on Savings Accounts");
+        Log.warn("✗ Withdrawals are not allowed on Savings Accounts");
         return false;
     }
     
     @Override
     public void payInterest() {
-        if (balance > 0) {
-            double interest = balance * interestRate;
-            balance += interest;
+        if (balanceThebe > 0) {
+            long interestThebe = Money.interest(balanceThebe, interestRatePpm);
+            balanceThebe += interestThebe;
             lastInterestDate = LocalDate.now();
-            String txnId = "INT_" + System.nanoTime();
-            Transaction txn = new Transaction(txnId, "INTEREST", interest, LocalDate.now(),
-                                             accountNumber, "SUCCESS");
+            String txnId = IdGenerator.next("INT_");
+            Transaction txn = Transaction.ofThebe(txnId, "INTEREST", interestThebe, LocalDate.now(),
+                                                 accountNumber, "SUCCESS");
             addTransaction(txn);
-            System.out.println("✓ Interest paid: BWP " + String.format("%.4f", interest) + 
-                             ". New balance: BWP " + String.format("%.2f", balance));
+            Log.debug(() -> "✓ Interest paid: BWP " + Money.format(interestThebe) + 
+                             ". New balance: BWP " + Money.format(balanceThebe));
         }
     }
     
     @Override
     public String getAccountDetails() {
         return String.format("Savings Account: %s\nBalance: BWP %.2f\nInterest Rate: %.4f%%\nNo Withdrawals Allowed",
-            accountNumber, balance, interestRate * 100);
+            accountNumber, getBalance(), getInterestRate() * 100);
     }
     
     @Override
     public void updateBalance(double amount) {
-        if (amount > 0) {
-            balance += amount;
+        long amountThebe = Money.toThebe(amount);
+        if (amountThebe > 0) {
+            balanceThebe += amountThebe;
         }
     }
     
-    public double getInterestRate() { return interestRate; }
+    public double getInterestRate() { return Money.fromPpm(interestRatePpm); }
+    public long getInterestRatePpm() { return interestRatePpm; }
     public LocalDate getLastInterestDate() { return lastInterestDate; }
-    public void setInterestRate(double rate) { this.interestRate = rate; }
+    public void setInterestRate(double rate) { this.interestRatePpm = Money.toPpm(rate); }
 }
@@ -9,7 +9,7 @@ public class Transaction implements Serializable {
     
     private String transactionId;
     private String transactionType;
-    private double amount;
+    private long amountThebe;
     private LocalDate date;
     private String accountNumber;
     private String status;
@@ -20,9 +20,16 @@ public class Transaction implements Serializable {
     
     public Transaction(String transactionId, String transactionType, double amount, 
                       LocalDate date, String accountNumber, String status) {
+        this(transactionId, transactionType, Money.toThebe(amount), date, accountNumber, status, true);
+    }
+    
+    // Thebe-based constructor; the marker argument keeps it distinct from the
+    // double overload so an int amount can never be mistaken for thebe
+    private Transaction(String transactionId, String transactionType, long amountThebe,
+                        LocalDate date, String accountNumber, String status, boolean exact) {
         this.transactionId = transactionId;
         this.transactionType = transactionType;
-        this.amount = amount;
+        this.amountThebe = amountThebe;
         this.date = date;
         this.accountNumber = accountNumber;
         this.status = status;
@@ -32,24 +39,33 @@ public class Transaction implements Serializable {
            this.denialReason = null;
     }
     
+    /**
+     * Create a transaction with an exact amount in thebe (minor units)
+     */
+    public static Transaction ofThebe(String transactionId, String transactionType, long amountThebe,
+                                      LocalDate date, String accountNumber, String status) {
+        return new Transaction(transactionId, transactionType, amountThebe, date, accountNumber, status, true);
+    }
+    
     public boolean processTransaction(double amount) {
         return amount > 0;
     }
     
     public boolean validateTransaction() {
-        return transactionId != null && amount > 0 && date != null;
+        return transactionId != null && amountThebe > 0 && date != null;
     }
     
     public String getTransactionDetails() {
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
         return String.format("[%s] Type: %s | Amount: BWP %.2f | Date: %s | Account: %s | Status: %s",
-            transactionId, transactionType, amount, date.format(formatter), accountNumber, status);
+            transactionId, transactionType, getAmount(), date.format(formatter), accountNumber, status);
     }
     
     // Getters and Setters
     public String getTransactionId() { return transactionId; }
     public String getTransactionType() { return transactionType; }
-    public double getAmount() { return amount; }
+    public double getAmount() { return Money.toPula(amountThebe); }
+    public long getAmountThebe() { return amountThebe; }
     public LocalDate getDate() { return date; }
     public String getAccountNumber() { return accountNumber; }
     public String getStatus() { return status; }
@@ -86,7 +102,7 @@ public class Transaction implements Serializable {
     
     public void setTransactionId(String transactionId) { this.transactionId = transactionId; }
     public void setTransactionType(String transactionType) { this.transactionType = transactionType; }
-    public void setAmount(double amount) { this.amount = amount; }
+    public void setAmount(double amount) { this.amountThebe = Money.toThebe(amount); }
     public void setDate(LocalDate date) { this.date = date; }
     public void setStatus(String status) { this.status = status; }
        public void setApprovalStatus(String approvalStatus) { this.approvalStatus = approvalStatus; }
@@ -0,0 +1,54 @@
+package com.banking.model;
+
+import com.banking.util.Paging;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lazy, newest-first view of an account's persisted transactions.
+ *
+ * Nothing is read until a page is asked for; each page is fetched by the
+ * loader with a keyset cursor on (date, transaction id), so walking a long
+ * history never holds more than one page at a time.
+ */
+public class TransactionHistory {
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    /** Fetches the page of transactions that come strictly before a cursor. */
+    @FunctionalInterface
+    public interface Loader {
+        Paging.Page<Transaction> load(Paging.Cursor before, int limit);
+    }
+
+    public static final TransactionHistory EMPTY = new TransactionHistory((before, limit) -> Paging.Page.empty());
+
+    private final Loader loader;
+
+    public TransactionHistory(Loader loader) {
+        this.loader = loader;
+    }
+
+    public Paging.Page<Transaction> page(Paging.Cursor before, int limit) {
+        return loader.load(before, limit);
+    }
+
+    public Paging.Page<Transaction> latest(int limit) {
+        return page(null, limit);
+    }
+
+    /**
+     * Read the whole history, newest first. Prefer page() for display;
+     * this exists for callers that genuinely need every row.
+     */
+    public List<Transaction> loadAll() {
+        List<Transaction> all = new ArrayList<>();
+        Paging.Cursor cursor = null;
+        do {
+            Paging.Page<Transaction> page = page(cursor, DEFAULT_PAGE_SIZE);
+            all.addAll(page.items);
+            cursor = page.next;
+        } while (cursor != null);
+        return all;
+    }
+}
@@ -1,53 +1,52 @@
 package com.banking.persistence;
 
 import com.banking.model.*;
+import com.banking.util.Log;
+import com.banking.util.Paging;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class AccountDAO {
-    private Connection connection;
-
-    public AccountDAO() {
-        this.connection = DatabaseConnection.getInstance().getConnection();
-    }
-
     // CREATE
     public boolean create(Account account) {
         String sql = "INSERT INTO ACCOUNT (ACCOUNT_NUMBER, ACCOUNT_TYPE, BALANCE, BRANCH, CUSTOMER_ID, DATE_OPENED, INTEREST_RATE, MINIMUM_BALANCE) " +
                      "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, account.getAccountNumber());
             pstmt.setString(2, account.getAccountType());
-            pstmt.setDouble(3, account.getBalance());
+            pstmt.setBigDecimal(3, Money.toDecimal(account.getBalanceThebe()));
             pstmt.setString(4, account.getBranch());
             pstmt.setString(5, account.getCustomer().getCustomerId());
             pstmt.setDate(6, java.sql.Date.valueOf(account.getDateOpened()));
 
             if (account instanceof SavingsAccount) {
                SavingsAccount sa = (SavingsAccount) account;
-               pstmt.setDouble(7, sa.getInterestRate());
-               pstmt.setDouble(8, 0.0);
+               pstmt.setBigDecimal(7, Money.rateToDecimal(sa.getInterestRatePpm()));
+               pstmt.setBigDecimal(8, Money.toDecimal(0));
             } else if (account instanceof InvestmentAccount) {
                InvestmentAccount ia = (InvestmentAccount) account;
-               pstmt.setDouble(7, ia.getInterestRate());
-               pstmt.setDouble(8, ia.getMinimumBalance());
+               pstmt.setBigDecimal(7, Money.rateToDecimal(ia.getInterestRatePpm()));
+               pstmt.setBigDecimal(8, Money.toDecimal(ia.getMinimumBalanceThebe()));
             } else {
-               pstmt.setDouble(7, 0.0);
-               pstmt.setDouble(8, 0.0);
+               pstmt.setBigDecimal(7, Money.rateToDecimal(0));
+               pstmt.setBigDecimal(8, Money.toDecimal(0));
             }
 
 
             int rows = pstmt.executeUpdate();
             if (rows > 0) {
-                System.out.println("✓ Account created: " + account.getAccountNumber());
+                Log.debug(() -> "✓ Account created: " + account.getAccountNumber());
                 return true;
             }
         } catch (SQLException e) {
-            System.out.println("✗ Error creating account: " + e.getMessage());
+            Log.error(() -> "✗ Error creating account: " + e.getMessage());
         }
         return false;
     }
@@ -55,7 +54,8 @@ public class AccountDAO {
     // READ
     public Account read(String accountNumber) {
         String sql = "SELECT * FROM ACCOUNT WHERE ACCOUNT_NUMBER = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, accountNumber);
             ResultSet rs = pstmt.executeQuery();
 
@@ -66,93 +66,287 @@ public class AccountDAO {
                 Account account = createAccountFromType(accountNumber, accountType, customer);
 
                 if (account != null) {
-                    account.setBalance(rs.getDouble("BALANCE"));
-                    // load persisted transactions for this account
-                    try {
-                        java.util.List<com.banking.model.Transaction> txns = new TransactionDAO().readByAccount(accountNumber);
-                        for (com.banking.model.Transaction t : txns) {
-                            account.addTransaction(t);
-                        }
-                        System.out.println("✓ Loaded " + txns.size() + " transactions for account " + accountNumber);
-                    } catch (Exception e) {
-                        System.out.println("⚠ Warning: could not load transactions for account " + accountNumber + ": " + e.getMessage());
-                    }
+                    account.setBalanceThebe(Money.fromDecimal(rs.getBigDecimal("BALANCE")));
+                    // history is read page by page when asked for, not with the balance
+                    account.setHistory(new TransactionDAO().historyFor(accountNumber));
                     return account;
                 }
             }
         } catch (SQLException e) {
-            System.out.println("✗ Error reading account: " + e.getMessage());
+            Log.error(() -> "✗ Error reading account: " + e.getMessage());
         }
         return null;
     }
 
     // READ ALL BY CUSTOMER
     public List<Account> readByCustomer(String customerId) {
-        List<Account> accounts = new ArrayList<>();
-        String sql;
-        
         // Special case: "*" means get all accounts
         if ("*".equals(customerId)) {
-            sql = "SELECT * FROM ACCOUNT";
-        } else {
-            sql = "SELECT * FROM ACCOUNT WHERE CUSTOMER_ID = ?";
-        }
-        
-        try {
-            if ("*".equals(customerId)) {
-                var stmt = connection.createStatement();
-                ResultSet rs = stmt.executeQuery(sql);
-                
+            return readAll(false);
+        }
+
+        List<Account> accounts = new ArrayList<>();
+        String sql = "SELECT * FROM ACCOUNT WHERE CUSTOMER_ID = ?";
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, customerId);
+            ResultSet rs = pstmt.executeQuery();
+            // load a shallow customer (avoid recursive loading of accounts)
+            Customer customer = new CustomerDAO().readShallow(customerId);
+            TransactionDAO transactionDAO = new TransactionDAO();
+
+            while (rs.next()) {
+                String accountNumber = rs.getString("ACCOUNT_NUMBER");
+                String accountType = rs.getString("ACCOUNT_TYPE");
+                Account account = createAccountFromType(accountNumber, accountType, customer);
+
+                if (account != null) {
+                    account.setBalanceThebe(Money.fromDecimal(rs.getBigDecimal("BALANCE")));
+                    account.setHistory(transactionDAO.historyFor(accountNumber));
+                    accounts.add(account);
+                }
+            }
+        } catch (SQLException e) {
+            Log.error(() -> "✗ Error reading accounts: " + e.getMessage());
+        }
+        return accounts;
+    }
+
+    // READ ALL (set-based)
+    /**
+     * Load every account together with its owner, and optionally its
+     * transactions, in a constant number of queries: one for the accounts,
+     * one for the owning customers and one for the transactions. The object
+     * graph is stitched together in memory. Without transactions, each
+     * account gets a lazy history instead.
+     */
+    public List<Account> readAll(boolean includeTransactions) {
+        List<Account> accounts = new ArrayList<>();
+        try (Connection connection = DatabaseConnection.getInstance().getConnection()) {
+            Map<String, Customer> owners = new HashMap<>();
+            try (var stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT * FROM CUSTOMER WHERE CUSTOMER_ID IN (SELECT CUSTOMER_ID FROM ACCOUNT)")) {
                 while (rs.next()) {
-                    String accountNumber = rs.getString("ACCOUNT_NUMBER");
-                    String accountType = rs.getString("ACCOUNT_TYPE");
-                    String custId = rs.getString("CUSTOMER_ID");
-                    // use a shallow customer load to avoid recursive account<->customer loading
-                    Customer customer = new CustomerDAO().readShallow(custId);
-                    Account account = createAccountFromType(accountNumber, accountType, customer);
+                    Customer c = CustomerDAO.mapShallow(rs);
+                    owners.put(c.getCustomerId(), c);
+                }
+            }
 
+            Map<String, Account> byNumber = new HashMap<>();
+            TransactionDAO transactionDAO = new TransactionDAO();
+            try (var stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT * FROM ACCOUNT")) {
+                while (rs.next()) {
+                    String accountNumber = rs.getString("ACCOUNT_NUMBER");
+                    Customer customer = owners.get(rs.getString("CUSTOMER_ID"));
+                    Account account = createAccountFromType(accountNumber, rs.getString("ACCOUNT_TYPE"), customer);
                     if (account != null) {
-                        account.setBalance(rs.getDouble("BALANCE"));
-                        // load persisted transactions for this account
-                        try {
-                            java.util.List<com.banking.model.Transaction> txns = new TransactionDAO().readByAccount(accountNumber);
-                            for (com.banking.model.Transaction t : txns) {
-                                account.addTransaction(t);
-                            }
-                        } catch (Exception e) {
-                            System.out.println("⚠ Warning: could not load transactions for account " + accountNumber + ": " + e.getMessage());
+                        account.setBalanceThebe(Money.fromDecimal(rs.getBigDecimal("BALANCE")));
+                        if (!includeTransactions) {
+                            account.setHistory(transactionDAO.historyFor(accountNumber));
                         }
                         accounts.add(account);
+                        byNumber.put(accountNumber, account);
                     }
                 }
-                stmt.close();
-            } else {
-                try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-                    pstmt.setString(1, customerId);
-                    ResultSet rs = pstmt.executeQuery();
-                    // load a shallow customer (avoid recursive loading of accounts)
-                    Customer customer = new CustomerDAO().readShallow(customerId);
+            }
 
+            if (includeTransactions && !byNumber.isEmpty()) {
+                try (var stmt = connection.createStatement();
+                     ResultSet rs = stmt.executeQuery("SELECT * FROM TRANSACTION ORDER BY ACCOUNT_NUMBER, TRANSACTION_DATE DESC, TRANSACTION_ID DESC")) {
                     while (rs.next()) {
-                        String accountNumber = rs.getString("ACCOUNT_NUMBER");
-                        String accountType = rs.getString("ACCOUNT_TYPE");
-                        Account account = createAccountFromType(accountNumber, accountType, customer);
-
+                        Account account = byNumber.get(rs.getString("ACCOUNT_NUMBER"));
                         if (account != null) {
-                            account.setBalance(rs.getDouble("BALANCE"));
-                            accounts.add(account);
+                            account.addTransaction(TransactionDAO.mapRow(rs));
                         }
                     }
                 }
             }
         } catch (SQLException e) {
-            System.out.println("✗ Error reading accounts: " + e.getMessage());
+            Log.error(() -> "✗ Error reading accounts: " + e.getMessage());
+        }
+        return accounts;
+    }
+
+    // READ PAIR
+    /**
+     * Load two accounts and their owners by primary key in one query, e.g.
+     * both sides of a transfer. Accounts that do not exist are simply
+     * absent from the map.
+     */
+    public Map<String, Account> readPair(String firstNumber, String secondNumber) {
+        Map<String, Account> accounts = new HashMap<>();
+        String sql = "SELECT a.ACCOUNT_NUMBER, a.ACCOUNT_TYPE, a.BALANCE, c.* FROM ACCOUNT a " +
+                     "JOIN CUSTOMER c ON c.CUSTOMER_ID = a.CUSTOMER_ID WHERE a.ACCOUNT_NUMBER IN (?, ?)";
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, firstNumber);
+            pstmt.setString(2, secondNumber);
+            TransactionDAO transactionDAO = new TransactionDAO();
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    String accountNumber = rs.getString("ACCOUNT_NUMBER");
+                    Customer customer = CustomerDAO.mapShallow(rs);
+                    Account account = createAccountFromType(accountNumber, rs.getString("ACCOUNT_TYPE"), customer);
+                    if (account != null) {
+                        account.setBalanceThebe(Money.fromDecimal(rs.getBigDecimal("BALANCE")));
+                        account.setHistory(transactionDAO.historyFor(accountNumber));
+                        accounts.put(accountNumber, account);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            Log.error(() -> "✗ Error reading accounts: " + e.getMessage());
         }
         return accounts;
     }
 
+    // READ PAGE
+    /** Sort keys accepted by page() and the column each orders by. */
+    public static final Map<String, String> PAGE_SORT_COLUMNS = Map.of(
+        "number", "a.ACCOUNT_NUMBER",
+        "type", "a.ACCOUNT_TYPE",
+        "balance", "a.BALANCE",
+        "opened", "a.DATE_OPENED");
+
+    /**
+     * One page of accounts with their owners in the requested order, after
+     * the cursor, in a single ACCOUNT/CUSTOMER join. Text, if given, is a
+     * substring match on the account number and the owner's names and email.
+     */
+    public Paging.Page<Account> page(Paging.Cursor after, int limit, Paging.Sort sort, String text) {
+        String column = Keyset.column(PAGE_SORT_COLUMNS, sort);
+        StringBuilder sql = new StringBuilder("SELECT a.ACCOUNT_NUMBER, a.ACCOUNT_TYPE, a.BALANCE, a.DATE_OPENED, c.*, ")
+            .append(column).append(" AS ").append(Keyset.SORT_VALUE)
+            .append(" FROM ACCOUNT a JOIN CUSTOMER c ON c.CUSTOMER_ID = a.CUSTOMER_ID WHERE 1=1");
+        List<Object> params = new ArrayList<>();
+        if (Keyset.notBlank(text)) {
+            String like = "%" + text.toLowerCase() + "%";
+            sql.append(" AND (LOWER(a.ACCOUNT_NUMBER) LIKE ? OR LOWER(c.FIRST_NAME) LIKE ? OR LOWER(c.SURNAME) LIKE ? OR LOWER(c.EMAIL) LIKE ?)");
+            for (int i = 0; i < 4; i++) params.add(like);
+        }
+        Keyset.appendAfter(sql, params, column, "a.ACCOUNT_NUMBER", sort.ascending, after);
+        Keyset.appendOrder(sql, params, column, "a.ACCOUNT_NUMBER", sort.ascending, limit);
+        TransactionDAO transactionDAO = new TransactionDAO();
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql.toString())) {
+            return Keyset.read(pstmt, params, limit, "ACCOUNT_NUMBER", rs -> {
+                String accountNumber = rs.getString("ACCOUNT_NUMBER");
+                Account account = createAccountFromType(accountNumber, rs.getString("ACCOUNT_TYPE"), CustomerDAO.mapShallow(rs));
+                if (account != null) {
+                    account.setBalanceThebe(Money.fromDecimal(rs.getBigDecimal("BALANCE")));
+                    account.setDateOpened(rs.getDate("DATE_OPENED").toLocalDate());
+                    account.setHistory(transactionDAO.historyFor(accountNumber));
+                }
+                return account;
+            });
+        } catch (SQLException e) {
+            Log.error(() -> "✗ Error reading account page: " + e.getMessage());
+        }
+        return Paging.Page.empty();
+    }
+
+    // READ NUMBERS BY CUSTOMER
+    /**
+     * Account numbers owned by each of the given customers, in one query.
+     * Customers without accounts are absent from the map.
+     */
+    public Map<String, List<String>> readNumbersByCustomer(List<String> customerIds) {
+        Map<String, List<String>> numbers = new HashMap<>();
+        if (customerIds.isEmpty()) return numbers;
+        String sql = "SELECT CUSTOMER_ID, ACCOUNT_NUMBER FROM ACCOUNT WHERE CUSTOMER_ID IN (" +
+                     String.join(",", java.util.Collections.nCopies(customerIds.size(), "?")) + ") ORDER BY ACCOUNT_NUMBER";
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            for (int i = 0; i < customerIds.size(); i++) {
+                pstmt.setString(i + 1, customerIds.get(i));
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    numbers.computeIfAbsent(rs.getString("CUSTOMER_ID"), k -> new ArrayList<>()).add(rs.getString("ACCOUNT_NUMBER"));
+                }
+            }
+        } catch (SQLException e) {
+            Log.error(() -> "✗ Error reading account numbers: " + e.getMessage());
+        }
+        return numbers;
+    }
+
+    // READ OWNER ID
+    /**
+     * Id of the customer who owns an account, or null if the account does
+     * not exist or cannot be read.
+     */
+    public String readOwnerId(String accountNumber) {
+        String sql = "SELECT CUSTOMER_ID FROM ACCOUNT WHERE ACCOUNT_NUMBER=?";
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, accountNumber);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getString("CUSTOMER_ID");
+                }
+            }
+        } catch (SQLException e) {
+            Log.error(() -> "✗ Error reading account owner: " + e.getMessage());
+        }
+        return null;
+    }
+
+    // READ BALANCE
+    /**
+     * Current committed balance in thebe, or null if the account does not
+     * exist or cannot be read.
+     */
+    public Long readBalance(String accountNumber) {
+        String sql = "SELECT BALANCE FROM ACCOUNT WHERE ACCOUNT_NUMBER=?";
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, accountNumber);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return Money.fromDecimal(rs.getBigDecimal("BALANCE"));
+                }
+            }
+        } catch (SQLException e) {
+            Log.error(() -> "✗ Error reading balance: " + e.getMessage());
+        }
+        return null;
+    }
+
+    /** Account count and balance total for one stored ACCOUNT_TYPE. */
+    public static class TypeTotals {
+        public final String accountType;
+        public final long count;
+        public final long balanceThebe;
+
+        public TypeTotals(String accountType, long count, long balanceThebe) {
+            this.accountType = accountType;
+            this.count = count;
+            this.balanceThebe = balanceThebe;
+        }
+    }
+
+    // READ TOTALS
+    /**
+     * Count and total balance per account type in a single GROUP BY.
+     */
+    public List<TypeTotals> readTotalsByType() throws SQLException {
+        List<TypeTotals> totals = new ArrayList<>();
+        String sql = "SELECT ACCOUNT_TYPE, COUNT(*) AS N, COALESCE(SUM(BALANCE), 0) AS TOTAL FROM ACCOUNT GROUP BY ACCOUNT_TYPE";
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                totals.add(new TypeTotals(rs.getString("ACCOUNT_TYPE"), rs.getLong("N"),
+                    Money.fromDecimal(rs.getBigDecimal("TOTAL"))));
+            }
+        }
+        return totals;
+    }
+
     // Helper to map stored ACCOUNT_TYPE strings to concrete Account instances
-    private Account createAccountFromType(String accountNumber, String accountType, Customer customer) {
+    static Account createAccountFromType(String accountNumber, String accountType, Customer customer) {
         if (accountType == null) return null;
         String at = accountType.toLowerCase();
 
@@ -162,6 +356,10 @@ public class AccountDAO {
             return new InvestmentAccount(accountNumber, customer);
         } else if (at.contains("cheque") || at.contains("check")) {
             return new ChequeAccount(accountNumber, customer, "", "");
+        } else if (at.contains("moneymarket") || at.contains("money market")) {
+            return new MoneyMarketAccount(accountNumber, customer);
+        } else if (at.contains("certificate") || at.equals("cd")) {
+            return new CertificateOfDepositAccount(accountNumber, customer, 12);
         }
         return null;
     }
@@ -169,17 +367,18 @@ public class AccountDAO {
     // UPDATE
     public boolean update(Account account) {
         String sql = "UPDATE ACCOUNT SET BALANCE=? WHERE ACCOUNT_NUMBER=?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setDouble(1, account.getBalance());
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setBigDecimal(1, Money.toDecimal(account.getBalanceThebe()));
             pstmt.setString(2, account.getAccountNumber());
 
             int rows = pstmt.executeUpdate();
             if (rows > 0) {
-                System.out.println("✓ Account updated: " + account.getAccountNumber());
+                Log.debug(() -> "✓ Account updated: " + account.getAccountNumber());
                 return true;
             }
         } catch (SQLException e) {
-            System.out.println("✗ Error updating account: " + e.getMessage());
+            Log.error(() -> "✗ Error updating account: " + e.getMessage());
         }
         return false;
     }
@@ -187,15 +386,16 @@ public class AccountDAO {
     // DELETE
     public boolean delete(String accountNumber) {
         String sql = "DELETE FROM ACCOUNT WHERE ACCOUNT_NUMBER=?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, accountNumber);
             int rows = pstmt.executeUpdate();
             if (rows > 0) {
-                System.out.println("✓ Account deleted: " + accountNumber);
+                Log.debug(() -> "✓ Account deleted: " + accountNumber);
                 return true;
             }
         } catch (SQLException e) {
-            System.out.println("✗ Error deleting account: " + e.getMessage());
+            Log.error(() -> "✗ Error deleting account: " + e.getMessage());
         }
         return false;
     }
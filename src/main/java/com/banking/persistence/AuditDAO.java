@@ -1,63 +1,160 @@
 package com.banking.persistence;
 
 import com.banking.model.AuditLog;
+import com.banking.util.Log;
+import com.banking.util.Paging;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.time.LocalDateTime;
+import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
 
 public class AuditDAO {
-    private Connection connection;
-
-    public AuditDAO() {
-        this.connection = DatabaseConnection.getInstance().getConnection();
-    }
+    private static final String INSERT_SQL =
+        "INSERT INTO AUDIT_LOG (ID, TIMESTAMP, ACTOR_ID, ACTOR_EMAIL, ACTION_TYPE, TARGET_TYPE, TARGET_ID, DETAILS, STATUS) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
 
     public boolean create(AuditLog log) {
-        String sql = "INSERT INTO AUDIT_LOG (ID, TIMESTAMP, ACTOR_ID, ACTOR_EMAIL, ACTION_TYPE, TARGET_TYPE, TARGET_ID, DETAILS, STATUS) " +
-                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setString(1, log.getId());
-            pstmt.setString(2, log.getTimestamp().toString());
-            pstmt.setString(3, log.getActorId());
-            pstmt.setString(4, log.getActorEmail());
-            pstmt.setString(5, log.getActionType());
-            pstmt.setString(6, log.getTargetType());
-            pstmt.setString(7, log.getTargetId());
-            pstmt.setString(8, log.getDetails());
-            pstmt.setString(9, log.getStatus());
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(INSERT_SQL)) {
+            bind(pstmt, log);
             int rows = pstmt.executeUpdate();
             return rows > 0;
         } catch (SQLException ex) {
-            System.out.println("✗ Error inserting audit log: " + ex.getMessage());
+            Log.error(() -> "✗ Error inserting audit log: " + ex.getMessage());
             return false;
         }
     }
 
+    /**
+     * Insert several entries with one JDBC batch in a single transaction.
+     *
+     * @throws SQLException if the batch fails; nothing is written
+     */
+    public void createBatch(List<AuditLog> logs) throws SQLException {
+        if (logs.isEmpty()) return;
+        try (Connection connection = DatabaseConnection.getInstance().getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement pstmt = connection.prepareStatement(INSERT_SQL)) {
+                for (AuditLog log : logs) {
+                    bind(pstmt, log);
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+                connection.commit();
+            } catch (SQLException ex) {
+                connection.rollback();
+                throw ex;
+            }
+        }
+    }
+
+    private void bind(PreparedStatement pstmt, AuditLog log) throws SQLException {
+        pstmt.setString(1, log.getId());
+        pstmt.setTimestamp(2, Timestamp.valueOf(log.getTimestamp()));
+        pstmt.setString(3, log.getActorId());
+        pstmt.setString(4, log.getActorEmail());
+        pstmt.setString(5, log.getActionType());
+        pstmt.setString(6, log.getTargetType());
+        pstmt.setString(7, log.getTargetId());
+        pstmt.setString(8, log.getDetails());
+        pstmt.setString(9, log.getStatus());
+    }
+
     public List<AuditLog> readAll() {
         List<AuditLog> logs = new ArrayList<>();
-        String sql = "SELECT * FROM AUDIT_LOG ORDER BY TIMESTAMP DESC";
-        try (var stmt = connection.createStatement()) {
-            ResultSet rs = stmt.executeQuery(sql);
+        String sql = "SELECT * FROM AUDIT_LOG ORDER BY TIMESTAMP DESC, ID DESC";
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             var stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
             while (rs.next()) {
-                AuditLog l = new AuditLog();
-                l.setId(rs.getString("ID"));
-                try { l.setTimestamp(LocalDateTime.parse(rs.getString("TIMESTAMP"))); } catch (Exception e) { l.setTimestamp(LocalDateTime.now()); }
-                l.setActorId(rs.getString("ACTOR_ID"));
-                l.setActorEmail(rs.getString("ACTOR_EMAIL"));
-                l.setActionType(rs.getString("ACTION_TYPE"));
-                l.setTargetType(rs.getString("TARGET_TYPE"));
-                l.setTargetId(rs.getString("TARGET_ID"));
-                l.setDetails(rs.getString("DETAILS"));
-                l.setStatus(rs.getString("STATUS"));
-                logs.add(l);
+                logs.add(mapRow(rs));
             }
         } catch (SQLException ex) {
-            System.out.println("✗ Error reading audit logs: " + ex.getMessage());
+            Log.error(() -> "✗ Error reading audit logs: " + ex.getMessage());
         }
         return logs;
     }
+
+    /**
+     * Optional filters; null or blank fields are ignored. Actor and target
+     * match exactly (and use their indexes); text is a substring match on
+     * actor email, action, target and details.
+     */
+    public static class Filter {
+        public String actorId;
+        public String targetId;
+        public String actionType;
+        public String text;
+
+        public Filter actorId(String v) { this.actorId = v; return this; }
+        public Filter targetId(String v) { this.targetId = v; return this; }
+        public Filter actionType(String v) { this.actionType = v; return this; }
+        public Filter text(String v) { this.text = v; return this; }
+    }
+
+    /**
+     * Read entries newest first, starting after the cursor. Uses keyset
+     * pagination on (TIMESTAMP, ID) so every page costs the same however
+     * deep the reader has scrolled.
+     */
+    public Paging.Page<AuditLog> page(Paging.Cursor cursor, int limit, Filter filter) {
+        return page(cursor, limit, filter, true);
+    }
+
+    /**
+     * Read entries newest or oldest first, starting after the cursor; both
+     * directions walk the same (TIMESTAMP, ID) index.
+     */
+    public Paging.Page<AuditLog> page(Paging.Cursor cursor, int limit, Filter filter, boolean newestFirst) {
+        boolean ascending = !newestFirst;
+        StringBuilder sql = new StringBuilder("SELECT l.*, l.TIMESTAMP AS ").append(Keyset.SORT_VALUE)
+            .append(" FROM AUDIT_LOG l WHERE 1=1");
+        List<Object> params = new ArrayList<>();
+        if (filter != null) {
+            if (Keyset.notBlank(filter.actorId)) {
+                sql.append(" AND l.ACTOR_ID = ?");
+                params.add(filter.actorId);
+            }
+            if (Keyset.notBlank(filter.targetId)) {
+                sql.append(" AND l.TARGET_ID = ?");
+                params.add(filter.targetId);
+            }
+            if (Keyset.notBlank(filter.actionType)) {
+                sql.append(" AND l.ACTION_TYPE = ?");
+                params.add(filter.actionType);
+            }
+            if (Keyset.notBlank(filter.text)) {
+                String like = "%" + filter.text.toLowerCase() + "%";
+                sql.append(" AND (LOWER(l.ACTOR_EMAIL) LIKE ? OR LOWER(l.ACTION_TYPE) LIKE ? OR LOWER(l.TARGET_ID) LIKE ? OR LOWER(l.DETAILS) LIKE ?)");
+                for (int i = 0; i < 4; i++) params.add(like);
+            }
+        }
+        Keyset.appendAfter(sql, params, "l.TIMESTAMP", "l.ID", ascending, cursor);
+        Keyset.appendOrder(sql, params, "l.TIMESTAMP", "l.ID", ascending, limit);
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql.toString())) {
+            return Keyset.read(pstmt, params, limit, "ID", AuditDAO::mapRow);
+        } catch (SQLException ex) {
+            Log.error(() -> "✗ Error reading audit logs: " + ex.getMessage());
+        }
+        return Paging.Page.empty();
+    }
+
+    private static AuditLog mapRow(ResultSet rs) throws SQLException {
+        AuditLog l = new AuditLog();
+        l.setId(rs.getString("ID"));
+        Timestamp ts = rs.getTimestamp("TIMESTAMP");
+        l.setTimestamp(ts != null ? ts.toLocalDateTime() : null);
+        l.setActorId(rs.getString("ACTOR_ID"));
+        l.setActorEmail(rs.getString("ACTOR_EMAIL"));
+        l.setActionType(rs.getString("ACTION_TYPE"));
+        l.setTargetType(rs.getString("TARGET_TYPE"));
+        l.setTargetId(rs.getString("TARGET_ID"));
+        l.setDetails(rs.getString("DETAILS"));
+        l.setStatus(rs.getString("STATUS"));
+        return l;
+    }
 }
@@ -0,0 +1,414 @@
+package com.banking.persistence;
+
+import com.banking.util.Log;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Small built-in JDBC connection pool.
+ *
+ * Connections are handed out as proxies whose close() returns the physical
+ * connection to the pool. Idle connections are validated on borrow, evicted
+ * after the idle timeout (never below the minimum size) and connections held
+ * longer than the leak threshold are reported together with the stack of the
+ * code that borrowed them.
+ */
+public final class ConnectionPool {
+
+    /**
+     * Pool settings. Every value can be overridden with a system property
+     * (see {@link #fromSystemProperties(String, String, String)}).
+     */
+    public static class Config {
+        String url;
+        String user;
+        String password;
+        int minSize = 2;
+        int maxSize = 10;
+        long borrowTimeoutMillis = 30_000;
+        int validationTimeoutSeconds = 2;
+        long idleTimeoutMillis = 10 * 60_000;
+        long leakDetectionThresholdMillis = 60_000;
+        long housekeepingIntervalMillis = 30_000;
+
+        public Config(String url, String user, String password) {
+            this.url = url;
+            this.user = user;
+            this.password = password;
+        }
+
+        public Config minSize(int v) { this.minSize = v; return this; }
+        public Config maxSize(int v) { this.maxSize = v; return this; }
+        public Config borrowTimeoutMillis(long v) { this.borrowTimeoutMillis = v; return this; }
+        public Config validationTimeoutSeconds(int v) { this.validationTimeoutSeconds = v; return this; }
+        public Config idleTimeoutMillis(long v) { this.idleTimeoutMillis = v; return this; }
+        public Config leakDetectionThresholdMillis(long v) { this.leakDetectionThresholdMillis = v; return this; }
+        public Config housekeepingIntervalMillis(long v) { this.housekeepingIntervalMillis = v; return this; }
+
+        /**
+         * Build a config from banking.db.* and banking.pool.* system properties,
+         * falling back to the given connection defaults.
+         */
+        public static Config fromSystemProperties(String defaultUrl, String defaultUser, String defaultPassword) {
+            return fromProperties(System.getProperties(), defaultUrl, defaultUser, defaultPassword);
+        }
+
+        /**
+         * Same as {@link #fromSystemProperties(String, String, String)}, reading
+         * the banking.db.* and banking.pool.* keys from the given properties.
+         */
+        public static Config fromProperties(Properties props, String defaultUrl, String defaultUser, String defaultPassword) {
+            Config c = new Config(
+                props.getProperty("banking.db.url", defaultUrl),
+                props.getProperty("banking.db.user", defaultUser),
+                props.getProperty("banking.db.password", defaultPassword));
+            c.minSize = intValue(props, "banking.pool.minSize", c.minSize);
+            c.maxSize = intValue(props, "banking.pool.maxSize", c.maxSize);
+            c.borrowTimeoutMillis = longValue(props, "banking.pool.borrowTimeoutMs", c.borrowTimeoutMillis);
+            c.validationTimeoutSeconds = intValue(props, "banking.pool.validationTimeoutSec", c.validationTimeoutSeconds);
+            c.idleTimeoutMillis = longValue(props, "banking.pool.idleTimeoutMs", c.idleTimeoutMillis);
+            c.leakDetectionThresholdMillis = longValue(props, "banking.pool.leakDetectionThresholdMs", c.leakDetectionThresholdMillis);
+            c.housekeepingIntervalMillis = longValue(props, "banking.pool.housekeepingIntervalMs", c.housekeepingIntervalMillis);
+            return c;
+        }
+
+        private static int intValue(Properties props, String key, int fallback) {
+            String v = props.getProperty(key);
+            return v == null || v.isBlank() ? fallback : Integer.parseInt(v.trim());
+        }
+
+        private static long longValue(Properties props, String key, long fallback) {
+            String v = props.getProperty(key);
+            return v == null || v.isBlank() ? fallback : Long.parseLong(v.trim());
+        }
+    }
+
+    /**
+     * Point-in-time view of the pool counters.
+     */
+    public static class Stats {
+        public final int total;
+        public final int idle;
+        public final int inUse;
+        public final long borrows;
+        public final long borrowTimeouts;
+        public final long averageBorrowWaitMicros;
+        public final long maxBorrowWaitMicros;
+        public final long created;
+        public final long validationFailures;
+        public final long idleEvictions;
+        public final long leaksDetected;
+        public final long statements;
+
+        Stats(int total, int idle, int inUse, long borrows, long borrowTimeouts, long averageBorrowWaitMicros,
+              long maxBorrowWaitMicros, long created, long validationFailures, long idleEvictions, long leaksDetected,
+              long statements) {
+            this.total = total;
+            this.idle = idle;
+            this.inUse = inUse;
+            this.borrows = borrows;
+            this.borrowTimeouts = borrowTimeouts;
+            this.averageBorrowWaitMicros = averageBorrowWaitMicros;
+            this.maxBorrowWaitMicros = maxBorrowWaitMicros;
+            this.created = created;
+            this.validationFailures = validationFailures;
+            this.idleEvictions = idleEvictions;
+            this.leaksDetected = leaksDetected;
+            this.statements = statements;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Pool[total=%d, idle=%d, inUse=%d, borrows=%d, timeouts=%d, avgWait=%dus, maxWait=%dus, created=%d, invalid=%d, evicted=%d, leaks=%d, statements=%d]",
+                total, idle, inUse, borrows, borrowTimeouts, averageBorrowWaitMicros, maxBorrowWaitMicros,
+                created, validationFailures, idleEvictions, leaksDetected, statements);
+        }
+    }
+
+    /** A physical connection plus the bookkeeping the pool needs for it. */
+    private static class PooledEntry {
+        final Connection physical;
+        volatile long lastReturnedAt;
+        volatile long borrowedAt;
+        volatile Throwable borrowSite;
+        volatile boolean leakReported;
+
+        PooledEntry(Connection physical) {
+            this.physical = physical;
+            this.lastReturnedAt = System.currentTimeMillis();
+        }
+    }
+
+    private final Config config;
+    private final LinkedBlockingDeque<PooledEntry> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledEntry> inUse = ConcurrentHashMap.newKeySet();
+    private final Semaphore permits;
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private final ScheduledExecutorService housekeeper;
+
+    private final LongAdder borrows = new LongAdder();
+    private final LongAdder borrowWaitNanos = new LongAdder();
+    private final AtomicLong maxBorrowWaitNanos = new AtomicLong();
+    private final LongAdder borrowTimeouts = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder validationFailures = new LongAdder();
+    private final LongAdder idleEvictions = new LongAdder();
+    private final LongAdder leaksDetected = new LongAdder();
+    private final LongAdder statements = new LongAdder();
+
+    public ConnectionPool(Config config) throws SQLException {
+        if (config.maxSize < 1 || config.minSize < 0 || config.minSize > config.maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + config.minSize + ", max=" + config.maxSize);
+        }
+        this.config = config;
+        this.permits = new Semaphore(config.maxSize, true);
+        for (int i = 0; i < config.minSize; i++) {
+            idle.offerLast(new PooledEntry(openPhysical()));
+        }
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        housekeeper.scheduleWithFixedDelay(this::housekeep, config.housekeepingIntervalMillis,
+            config.housekeepingIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrow a connection. The caller must close() it (try-with-resources) to
+     * hand it back to the pool.
+     */
+    public Connection borrow() throws SQLException {
+        if (closed.get()) {
+            throw new SQLException("Connection pool is closed");
+        }
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(config.borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                borrowTimeouts.increment();
+                throw new SQLException("Timed out after " + config.borrowTimeoutMillis + "ms waiting for a database connection " + getStats());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+        long waited = System.nanoTime() - start;
+        borrows.increment();
+        borrowWaitNanos.add(waited);
+        maxBorrowWaitNanos.accumulateAndGet(waited, Math::max);
+
+        try {
+            PooledEntry entry = takeValidIdle();
+            if (entry == null) {
+                entry = new PooledEntry(openPhysical());
+            }
+            entry.borrowedAt = System.currentTimeMillis();
+            entry.leakReported = false;
+            entry.borrowSite = config.leakDetectionThresholdMillis > 0 ? new Throwable("Connection borrowed here") : null;
+            inUse.add(entry);
+            return wrap(entry);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private PooledEntry takeValidIdle() {
+        PooledEntry entry;
+        // LIFO: the most recently returned connection is the least likely to have gone stale
+        while ((entry = idle.pollFirst()) != null) {
+            if (isValid(entry)) {
+                return entry;
+            }
+            validationFailures.increment();
+            discard(entry);
+        }
+        return null;
+    }
+
+    private boolean isValid(PooledEntry entry) {
+        try {
+            return !entry.physical.isClosed() && entry.physical.isValid(config.validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private Connection openPhysical() throws SQLException {
+        Connection c = DriverManager.getConnection(config.url, config.user, config.password);
+        totalConnections.incrementAndGet();
+        created.increment();
+        return c;
+    }
+
+    private void discard(PooledEntry entry) {
+        totalConnections.decrementAndGet();
+        try {
+            entry.physical.close();
+        } catch (SQLException ignored) {}
+    }
+
+    private void release(PooledEntry entry) {
+        inUse.remove(entry);
+        entry.borrowSite = null;
+        boolean reusable = !closed.get();
+        try {
+            if (reusable && entry.physical.isClosed()) {
+                reusable = false;
+            }
+            if (reusable && !entry.physical.getAutoCommit()) {
+                // never leak an open transaction to the next borrower
+                entry.physical.rollback();
+                entry.physical.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            reusable = false;
+        }
+        if (reusable) {
+            entry.lastReturnedAt = System.currentTimeMillis();
+            idle.offerFirst(entry);
+        } else {
+            discard(entry);
+        }
+        permits.release();
+    }
+
+    private Connection wrap(PooledEntry entry) {
+        InvocationHandler handler = new InvocationHandler() {
+            private final AtomicBoolean returned = new AtomicBoolean(false);
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                String name = method.getName();
+                switch (name) {
+                    case "close":
+                        if (returned.compareAndSet(false, true)) {
+                            release(entry);
+                        }
+                        return null;
+                    case "isClosed":
+                        return returned.get() || entry.physical.isClosed();
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "PooledConnection[" + entry.physical + "]";
+                    case "createStatement":
+                    case "prepareStatement":
+                    case "prepareCall":
+                        statements.increment();
+                        break;
+                    default:
+                        break;
+                }
+                if (returned.get()) {
+                    throw new SQLException("Connection has already been returned to the pool");
+                }
+                try {
+                    return method.invoke(entry.physical, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(),
+            new Class<?>[] { Connection.class }, handler);
+    }
+
+    /**
+     * Periodic maintenance: idle eviction, refill to the minimum size and
+     * leak reporting.
+     */
+    void housekeep() {
+        if (closed.get()) return;
+        long now = System.currentTimeMillis();
+
+        if (config.idleTimeoutMillis > 0) {
+            for (PooledEntry entry : idle) {
+                if (totalConnections.get() <= config.minSize) break;
+                if (now - entry.lastReturnedAt > config.idleTimeoutMillis && idle.remove(entry)) {
+                    idleEvictions.increment();
+                    discard(entry);
+                }
+            }
+        }
+
+        while (totalConnections.get() < config.minSize && !closed.get()) {
+            try {
+                idle.offerLast(new PooledEntry(openPhysical()));
+            } catch (SQLException e) {
+                Log.warn(() -> "⚠ Warning: could not refill connection pool: " + e.getMessage());
+                break;
+            }
+        }
+
+        if (config.leakDetectionThresholdMillis > 0) {
+            for (PooledEntry entry : inUse) {
+                if (!entry.leakReported && now - entry.borrowedAt > config.leakDetectionThresholdMillis) {
+                    entry.leakReported = true;
+                    leaksDetected.increment();
+                    long heldFor = now - entry.borrowedAt;
+                    Throwable site = entry.borrowSite;
+                    Log.warn(() -> {
+                        String message = "⚠ Warning: possible connection leak, held for " + heldFor + "ms";
+                        if (site == null) return message;
+                        StringWriter trace = new StringWriter();
+                        site.printStackTrace(new PrintWriter(trace));
+                        return message + "\n" + trace;
+                    });
+                }
+            }
+        }
+    }
+
+    public Stats getStats() {
+        long n = borrows.sum();
+        return new Stats(
+            totalConnections.get(),
+            idle.size(),
+            inUse.size(),
+            n,
+            borrowTimeouts.sum(),
+            n == 0 ? 0 : borrowWaitNanos.sum() / n / 1_000,
+            maxBorrowWaitNanos.get() / 1_000,
+            created.sum(),
+            validationFailures.sum(),
+            idleEvictions.sum(),
+            leaksDetected.sum(),
+            statements.sum());
+    }
+
+    /**
+     * Close every idle connection and stop housekeeping. Connections still in
+     * use are closed as they are returned.
+     */
+    public void close() {
+        if (!closed.compareAndSet(false, true)) return;
+        housekeeper.shutdownNow();
+        PooledEntry entry;
+        while ((entry = idle.pollFirst()) != null) {
+            discard(entry);
+        }
+    }
+}
@@ -2,25 +2,24 @@ package com.banking.persistence;
 
 import com.banking.model.Customer;
 import com.banking.model.Account;
+import com.banking.util.Log;
+import com.banking.util.Paging;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class CustomerDAO {
-    private Connection connection;
-
-    public CustomerDAO() {
-        this.connection = DatabaseConnection.getInstance().getConnection();
-    }
-
     // CREATE
     public boolean create(Customer customer) {
         String sql = "INSERT INTO CUSTOMER (CUSTOMER_ID, FIRST_NAME, SURNAME, ADDRESS, PHONE_NUMBER, EMAIL, PASSWORD_HASH, ROLE, APPROVED, SUSPENDED, DATE_OF_BIRTH) " +
                      "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, customer.getCustomerId());
             pstmt.setString(2, customer.getFirstName());
             pstmt.setString(3, customer.getSurname());
@@ -35,11 +34,11 @@ public class CustomerDAO {
 
             int rows = pstmt.executeUpdate();
             if (rows > 0) {
-                System.out.println("✓ Customer created: " + customer.getCustomerId());
+                Log.debug(() -> "✓ Customer created: " + customer.getCustomerId());
                 return true;
             }
         } catch (SQLException e) {
-            System.out.println("✗ Error creating customer: " + e.getMessage());
+            Log.error(() -> "✗ Error creating customer: " + e.getMessage());
         }
         return false;
     }
@@ -47,7 +46,8 @@ public class CustomerDAO {
     // READ
     public Customer read(String customerId) {
         String sql = "SELECT * FROM CUSTOMER WHERE CUSTOMER_ID = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, customerId);
             ResultSet rs = pstmt.executeQuery();
 
@@ -99,7 +99,7 @@ public class CustomerDAO {
                 return customer;
             }
         } catch (SQLException e) {
-            System.out.println("✗ Error reading customer: " + e.getMessage());
+            Log.error(() -> "✗ Error reading customer: " + e.getMessage());
         }
         return null;
     }
@@ -107,106 +107,147 @@ public class CustomerDAO {
     // READ shallow (no accounts) - helper to avoid recursive loads
     public Customer readShallow(String customerId) {
         String sql = "SELECT * FROM CUSTOMER WHERE CUSTOMER_ID = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, customerId);
             ResultSet rs = pstmt.executeQuery();
 
             if (rs.next()) {
-                String roleStr = null;
-                try { roleStr = rs.getString("ROLE"); } catch (Exception ex) { roleStr = "CUSTOMER"; }
-                com.banking.main.Role role = com.banking.main.Role.CUSTOMER;
-                if (roleStr != null) {
-                    try {
-                        role = com.banking.main.Role.valueOf(roleStr);
-                    } catch (Exception ex) {
-                        for (com.banking.main.Role r : com.banking.main.Role.values()) {
-                            if (r.getDisplayName().equalsIgnoreCase(roleStr) || r.name().equalsIgnoreCase(roleStr)) {
-                                role = r;
-                                break;
-                            }
-                        }
-                    }
-                }
-
-                boolean approved = true;
-                try { approved = rs.getInt("APPROVED") == 1; } catch (Exception ex) { approved = true; }
-
-                String passwordHash = "";
-                try { passwordHash = rs.getString("PASSWORD_HASH"); } catch (Exception ex) { passwordHash = ""; }
+                return mapShallow(rs);
+            }
+        } catch (SQLException e) {
+            Log.error(() -> "✗ Error reading customer (shallow): " + e.getMessage());
+        }
+        return null;
+    }
 
-                Customer customer = new Customer(
-                    rs.getString("CUSTOMER_ID"),
-                    rs.getString("FIRST_NAME"),
-                    rs.getString("SURNAME"),
-                    rs.getString("ADDRESS"),
-                    rs.getString("PHONE_NUMBER"),
-                    rs.getString("EMAIL"),
-                    passwordHash,
-                    role
-                );
-                try { customer.setDateOfBirth(rs.getDate("DATE_OF_BIRTH").toLocalDate()); } catch (Exception ex) {}
-                customer.setApproved(approved);
+    // READ by email (shallow) - single lookup on the unique EMAIL index
+    public Customer findByEmail(String email) {
+        String sql = "SELECT * FROM CUSTOMER WHERE EMAIL = ?";
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, email);
+            ResultSet rs = pstmt.executeQuery();
 
-                return customer;
+            if (rs.next()) {
+                return mapShallow(rs);
             }
         } catch (SQLException e) {
-            System.out.println("✗ Error reading customer (shallow): " + e.getMessage());
+            Log.error(() -> "✗ Error reading customer by email: " + e.getMessage());
         }
         return null;
     }
 
-    // READ ALL
-    public List<Customer> readAll() {
-        List<Customer> customers = new ArrayList<>();
-        String sql = "SELECT * FROM CUSTOMER";
-        try (var stmt = connection.createStatement()) {
-            ResultSet rs = stmt.executeQuery(sql);
-            while (rs.next()) {
-                String roleStr = null;
-                try { roleStr = rs.getString("ROLE"); } catch (Exception ex) { roleStr = "CUSTOMER"; }
-                com.banking.main.Role role = com.banking.main.Role.CUSTOMER;
-                if (roleStr != null) {
-                    try {
-                        role = com.banking.main.Role.valueOf(roleStr);
-                    } catch (Exception ex) {
-                        for (com.banking.main.Role r : com.banking.main.Role.values()) {
-                            if (r.getDisplayName().equalsIgnoreCase(roleStr) || r.name().equalsIgnoreCase(roleStr)) {
-                                role = r;
-                                break;
-                            }
-                        }
+    // Map the current CUSTOMER row without loading accounts
+    static Customer mapShallow(ResultSet rs) throws SQLException {
+        String roleStr = null;
+        try { roleStr = rs.getString("ROLE"); } catch (Exception ex) { roleStr = "CUSTOMER"; }
+        com.banking.main.Role role = com.banking.main.Role.CUSTOMER;
+        if (roleStr != null) {
+            try {
+                role = com.banking.main.Role.valueOf(roleStr);
+            } catch (Exception ex) {
+                for (com.banking.main.Role r : com.banking.main.Role.values()) {
+                    if (r.getDisplayName().equalsIgnoreCase(roleStr) || r.name().equalsIgnoreCase(roleStr)) {
+                        role = r;
+                        break;
                     }
                 }
+            }
+        }
 
-                boolean approved = true;
-                try { approved = rs.getInt("APPROVED") == 1; } catch (Exception ex) { approved = true; }
+        boolean approved = true;
+        try { approved = rs.getInt("APPROVED") == 1; } catch (Exception ex) { approved = true; }
 
-                String passwordHash = "";
-                try { passwordHash = rs.getString("PASSWORD_HASH"); } catch (Exception ex) { passwordHash = ""; }
+        String passwordHash = "";
+        try { passwordHash = rs.getString("PASSWORD_HASH"); } catch (Exception ex) { passwordHash = ""; }
 
-                Customer customer = new Customer(
-                    rs.getString("CUSTOMER_ID"),
-                    rs.getString("FIRST_NAME"),
-                    rs.getString("SURNAME"),
-                    rs.getString("ADDRESS"),
-                    rs.getString("PHONE_NUMBER"),
-                    rs.getString("EMAIL"),
-                    passwordHash,
-                    role
-                );
-                try { customer.setDateOfBirth(rs.getDate("DATE_OF_BIRTH").toLocalDate()); } catch (Exception ex) {}
-                customer.setApproved(approved);
+        Customer customer = new Customer(
+            rs.getString("CUSTOMER_ID"),
+            rs.getString("FIRST_NAME"),
+            rs.getString("SURNAME"),
+            rs.getString("ADDRESS"),
+            rs.getString("PHONE_NUMBER"),
+            rs.getString("EMAIL"),
+            passwordHash,
+            role
+        );
+        try { customer.setDateOfBirth(rs.getDate("DATE_OF_BIRTH").toLocalDate()); } catch (Exception ex) {}
+        customer.setApproved(approved);
 
-                // attempt to load accounts
-                try {
-                    List<Account> accounts = new AccountDAO().readByCustomer(customer.getCustomerId());
-                    for (Account a : accounts) customer.addAccount(a);
-                } catch (Exception ex) {}
+        return customer;
+    }
+
+    // COUNT
+    public long count() throws SQLException {
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = connection.prepareStatement("SELECT COUNT(*) FROM CUSTOMER");
+             ResultSet rs = pstmt.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    // READ PAGE
+    /** Sort keys accepted by page() and the column each orders by. */
+    public static final Map<String, String> PAGE_SORT_COLUMNS = Map.of(
+        "id", "CUSTOMER_ID",
+        "name", "SURNAME",
+        "email", "EMAIL");
+
+    /**
+     * One page of customers (without accounts) in the requested order,
+     * after the cursor. Text, if given, is a substring match on ID, names
+     * and email.
+     */
+    public Paging.Page<Customer> page(Paging.Cursor after, int limit, Paging.Sort sort, String text) {
+        String column = Keyset.column(PAGE_SORT_COLUMNS, sort);
+        StringBuilder sql = new StringBuilder("SELECT *, ").append(column).append(" AS ").append(Keyset.SORT_VALUE)
+            .append(" FROM CUSTOMER WHERE 1=1");
+        List<Object> params = new ArrayList<>();
+        if (Keyset.notBlank(text)) {
+            String like = "%" + text.toLowerCase() + "%";
+            sql.append(" AND (LOWER(CUSTOMER_ID) LIKE ? OR LOWER(FIRST_NAME) LIKE ? OR LOWER(SURNAME) LIKE ? OR LOWER(EMAIL) LIKE ?)");
+            for (int i = 0; i < 4; i++) params.add(like);
+        }
+        Keyset.appendAfter(sql, params, column, "CUSTOMER_ID", sort.ascending, after);
+        Keyset.appendOrder(sql, params, column, "CUSTOMER_ID", sort.ascending, limit);
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql.toString())) {
+            return Keyset.read(pstmt, params, limit, "CUSTOMER_ID", CustomerDAO::mapShallow);
+        } catch (SQLException e) {
+            Log.error(() -> "✗ Error reading customer page: " + e.getMessage());
+        }
+        return Paging.Page.empty();
+    }
 
-                customers.add(customer);
+    // READ ALL
+    /**
+     * Every customer with their accounts, in a constant number of queries:
+     * the customers, then all accounts with one set-based read, grouped by
+     * owner in memory.
+     */
+    public List<Customer> readAll() {
+        List<Customer> customers = new ArrayList<>();
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             var stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT * FROM CUSTOMER")) {
+            while (rs.next()) {
+                customers.add(mapShallow(rs));
             }
         } catch (SQLException e) {
-            System.out.println("✗ Error reading all customers: " + e.getMessage());
+            Log.error(() -> "✗ Error reading all customers: " + e.getMessage());
+            return customers;
+        }
+
+        Map<String, Customer> byId = new HashMap<>();
+        for (Customer customer : customers) {
+            byId.put(customer.getCustomerId(), customer);
+        }
+        for (Account account : new AccountDAO().readAll(false)) {
+            Customer owner = account.getCustomer() != null ? byId.get(account.getCustomer().getCustomerId()) : null;
+            if (owner != null) {
+                owner.addAccount(account);
+            }
         }
         return customers;
     }
@@ -215,7 +256,8 @@ public class CustomerDAO {
     public boolean update(Customer customer) {
         String sql = "UPDATE CUSTOMER SET FIRST_NAME=?, SURNAME=?, ADDRESS=?, PHONE_NUMBER=?, EMAIL=?, PASSWORD_HASH=?, DATE_OF_BIRTH=?, ROLE=?, APPROVED=?, SUSPENDED=? " +
                      "WHERE CUSTOMER_ID=?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, customer.getFirstName());
             pstmt.setString(2, customer.getSurname());
             pstmt.setString(3, customer.getAddress());
@@ -230,11 +272,11 @@ public class CustomerDAO {
 
             int rows = pstmt.executeUpdate();
             if (rows > 0) {
-                System.out.println("✓ Customer updated: " + customer.getCustomerId());
+                Log.debug(() -> "✓ Customer updated: " + customer.getCustomerId());
                 return true;
             }
         } catch (SQLException e) {
-            System.out.println("✗ Error updating customer: " + e.getMessage());
+            Log.error(() -> "✗ Error updating customer: " + e.getMessage());
         }
         return false;
     }
@@ -242,15 +284,16 @@ public class CustomerDAO {
     // DELETE
     public boolean delete(String customerId) {
         String sql = "DELETE FROM CUSTOMER WHERE CUSTOMER_ID=?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, customerId);
             int rows = pstmt.executeUpdate();
             if (rows > 0) {
-                System.out.println("✓ Customer deleted: " + customerId);
+                Log.debug(() -> "✓ Customer deleted: " + customerId);
                 return true;
             }
         } catch (SQLException e) {
-            System.out.println("✗ Error deleting customer: " + e.getMessage());
+            Log.error(() -> "✗ Error deleting customer: " + e.getMessage());
         }
         return false;
     }
@@ -0,0 +1,98 @@
+package com.banking.persistence;
+
+import com.banking.util.Log;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+/**
+ * Which database to connect to.
+ *
+ * Settings come from resources/config/application.properties (or the file
+ * named by banking.config), and any banking.* system property overrides the
+ * file. banking.db.profile picks the defaults:
+ *
+ *   mysql    - the MySQL server at 127.0.0.1:3306 (default)
+ *   embedded - an in-process H2 database in MySQL mode, held in memory for
+ *              the life of the JVM. Nothing needs to be running; the schema
+ *              is created on first connect. Used by the test suite.
+ *
+ * banking.db.url, banking.db.user, banking.db.password and banking.db.driver
+ * replace the profile's defaults, e.g. to keep an embedded database in a
+ * file with jdbc:h2:./data/banking;MODE=MySQL.
+ */
+public class DataSourceConfig {
+
+    public enum Profile {
+        MYSQL("jdbc:mysql://127.0.0.1:3306/banking_system?allowPublicKeyRetrieval=true&useSSL=false&serverTimezone=UTC&rewriteBatchedStatements=true",
+              "root", "", "com.mysql.cj.jdbc.Driver"),
+        EMBEDDED("jdbc:h2:mem:banking_system;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                 "sa", "", "org.h2.Driver");
+
+        final String url;
+        final String user;
+        final String password;
+        final String driver;
+
+        Profile(String url, String user, String password, String driver) {
+            this.url = url;
+            this.user = user;
+            this.password = password;
+            this.driver = driver;
+        }
+    }
+
+    public static final String DEFAULT_CONFIG_FILE = "resources/config/application.properties";
+
+    private final Profile profile;
+    private final String driver;
+    private final Properties properties;
+
+    DataSourceConfig(Properties properties) {
+        this.properties = properties;
+        this.profile = Profile.valueOf(properties.getProperty("banking.db.profile", "mysql").trim().toUpperCase());
+        this.driver = properties.getProperty("banking.db.driver", profile.driver);
+    }
+
+    /**
+     * Read the configuration file, if there is one, then apply system
+     * property overrides.
+     */
+    public static DataSourceConfig load() {
+        Properties props = new Properties();
+        Path file = Paths.get(System.getProperty("banking.config", DEFAULT_CONFIG_FILE));
+        if (Files.isRegularFile(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                props.load(in);
+            } catch (IOException e) {
+                Log.warn(() -> "⚠ Warning: could not read " + file + ": " + e.getMessage());
+            }
+        }
+        for (String key : System.getProperties().stringPropertyNames()) {
+            if (key.startsWith("banking.")) {
+                props.setProperty(key, System.getProperty(key));
+            }
+        }
+        return new DataSourceConfig(props);
+    }
+
+    public Profile getProfile() {
+        return profile;
+    }
+
+    public boolean isEmbedded() {
+        return profile == Profile.EMBEDDED;
+    }
+
+    public String getDriver() {
+        return driver;
+    }
+
+    /** Pool settings for this datasource, with banking.pool.* applied. */
+    public ConnectionPool.Config poolConfig() {
+        return ConnectionPool.Config.fromProperties(properties, profile.url, profile.user, profile.password);
+    }
+}
@@ -1,47 +1,83 @@
 package com.banking.persistence;
 
+import com.banking.util.Log;
 import java.sql.*;
 
+/**
+ * Process-wide entry point to the database. Hands out pooled connections;
+ * callers borrow one per operation and close it to return it to the pool.
+ */
 public class DatabaseConnection {
-    private static DatabaseConnection instance;
-    private Connection connection;
-    private static final String DB_URL = "jdbc:mysql://127.0.0.1:3306/banking_system?allowPublicKeyRetrieval=true&useSSL=false&serverTimezone=UTC";
-    private static final String DB_USER = "root";
-    private static final String DB_PASSWORD = "";
+    private static volatile DatabaseConnection instance;
+    private final DataSourceConfig config;
+    private final ConnectionPool pool;
 
     private DatabaseConnection() {
+        this.config = DataSourceConfig.load();
         try {
-            Class.forName("com.mysql.cj.jdbc.Driver");
-            this.connection = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-            System.out.println("✓ Connected to MySQL Database successfully");
+            Class.forName(config.getDriver());
+            ConnectionPool.Config poolConfig = config.poolConfig();
+            if (!config.isEmbedded()) {
+                createDatabase(poolConfig);
+            }
+            this.pool = new ConnectionPool(poolConfig);
+            Log.info(() -> "✓ Connected to " + (config.isEmbedded() ? "embedded" : "MySQL") + " database successfully");
         } catch (ClassNotFoundException e) {
-            System.out.println("✗ MySQL JDBC Driver not found");
+            Log.error(() -> "✗ JDBC driver not found: " + config.getDriver());
             throw new RuntimeException(e);
         } catch (SQLException e) {
-            System.out.println("✗ Connection failed: " + e.getMessage());
+            Log.error(() -> "✗ Connection failed: " + e.getMessage());
             throw new RuntimeException(e);
         }
     }
 
+    // A fresh server has no banking_system yet and the pool's URL selects it,
+    // so create it first; the migrations then build the tables inside it
+    private static void createDatabase(ConnectionPool.Config poolConfig) {
+        try {
+            String database = SchemaMigrator.createDatabase(poolConfig.url, poolConfig.user, poolConfig.password);
+            if (database != null) {
+                Log.debug(() -> "✓ Database " + database + " ready");
+            }
+        } catch (SQLException e) {
+            String[] parts = SchemaMigrator.splitDatabase(poolConfig.url);
+            Log.error(() -> "✗ Could not create the database: " + e.getMessage()
+                + "\n  Create it as an administrator with: CREATE DATABASE IF NOT EXISTS " + parts[1] + ";"
+                + "\n  then restart; the tables are created on start-up.");
+        }
+    }
+
     public static DatabaseConnection getInstance() {
-        if (instance == null) {
-            instance = new DatabaseConnection();
+        DatabaseConnection local = instance;
+        if (local == null) {
+            synchronized (DatabaseConnection.class) {
+                local = instance;
+                if (local == null) {
+                    local = new DatabaseConnection();
+                    instance = local;
+                }
+            }
         }
-        return instance;
+        return local;
     }
 
-    public Connection getConnection() {
-        return connection;
+    /**
+     * Borrow a connection from the pool. Close it when done.
+     */
+    public Connection getConnection() throws SQLException {
+        return pool.borrow();
+    }
+
+    public DataSourceConfig getConfig() {
+        return config;
+    }
+
+    public ConnectionPool getPool() {
+        return pool;
     }
 
     public void closeConnection() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-                System.out.println("✓ Database connection closed");
-            }
-        } catch (SQLException e) {
-            System.out.println("✗ Error closing: " + e.getMessage());
-        }
+        pool.close();
+        Log.info("✓ Database connection pool closed");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,300 @@
+package com.banking.persistence;
+
+import com.banking.model.Account;
+import com.banking.model.Money;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Storage for month-end interest runs: reads accounts in keyset pages and
+ * posts each page (balances, INTEREST rows and the run checkpoint) as one
+ * database transaction, so a run interrupted part-way resumes after the
+ * last committed page without paying any account twice.
+ */
+public class InterestRunDAO {
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+
+    private static final String PAGE_SQL =
+        "SELECT ACCOUNT_NUMBER, ACCOUNT_TYPE, BALANCE FROM ACCOUNT WHERE ACCOUNT_NUMBER > ? " +
+        "ORDER BY ACCOUNT_NUMBER LIMIT ?";
+
+    private static final String CREDIT_SQL =
+        "UPDATE ACCOUNT SET BALANCE = BALANCE + ?, LAST_INTEREST_DATE = ? WHERE ACCOUNT_NUMBER = ?";
+
+    private static final String INSERT_TXN_SQL =
+        "INSERT INTO TRANSACTION (TRANSACTION_ID, TRANSACTION_TYPE, AMOUNT, TRANSACTION_DATE, ACCOUNT_NUMBER, STATUS) " +
+        "VALUES (?, 'INTEREST', ?, ?, ?, 'SUCCESS')";
+
+    private static final String ADVANCE_SQL =
+        "UPDATE INTEREST_RUN SET LAST_ACCOUNT_NUMBER = ?, ACCOUNTS_PROCESSED = ACCOUNTS_PROCESSED + ?, " +
+        "TOTAL_INTEREST = TOTAL_INTEREST + ?, UPDATED_AT = CURRENT_TIMESTAMP WHERE RUN_ID = ?";
+
+    private static final String INSERT_INTEREST_SET_SQL =
+        "INSERT INTO TRANSACTION (TRANSACTION_ID, TRANSACTION_TYPE, AMOUNT, TRANSACTION_DATE, ACCOUNT_NUMBER, STATUS) " +
+        "SELECT CONCAT(?, ACCOUNT_NUMBER), 'INTEREST', ROUND(BALANCE * ?, 2), ?, ACCOUNT_NUMBER, 'SUCCESS' " +
+        "FROM ACCOUNT WHERE ACCOUNT_TYPE = ? AND ROUND(BALANCE * ?, 2) > 0";
+
+    private static final String CREDIT_SET_SQL =
+        "UPDATE ACCOUNT SET BALANCE = BALANCE + ROUND(BALANCE * ?, 2), LAST_INTEREST_DATE = ? " +
+        "WHERE ACCOUNT_TYPE = ? AND ROUND(BALANCE * ?, 2) > 0";
+
+    /** One account as read for an interest run. */
+    public static class AccountRow {
+        public final String accountNumber;
+        public final String accountType;
+        public final long balanceThebe;
+
+        AccountRow(String accountNumber, String accountType, long balanceThebe) {
+            this.accountNumber = accountNumber;
+            this.accountType = accountType;
+            this.balanceThebe = balanceThebe;
+        }
+    }
+
+    /** Interest to credit to one account. */
+    public static class Posting {
+        public final String accountNumber;
+        public final long interestThebe;
+
+        public Posting(String accountNumber, long interestThebe) {
+            this.accountNumber = accountNumber;
+            this.interestThebe = interestThebe;
+        }
+    }
+
+    /** Progress of a run as last committed. */
+    public static class Checkpoint {
+        public final String runId;
+        public final String status;
+        public final String lastAccountNumber;
+        public final int accountsProcessed;
+        public final long totalInterestThebe;
+
+        Checkpoint(String runId, String status, String lastAccountNumber, int accountsProcessed, long totalInterestThebe) {
+            this.runId = runId;
+            this.status = status;
+            this.lastAccountNumber = lastAccountNumber;
+            this.accountsProcessed = accountsProcessed;
+            this.totalInterestThebe = totalInterestThebe;
+        }
+
+        public boolean isCompleted() {
+            return STATUS_COMPLETED.equals(status);
+        }
+    }
+
+    /**
+     * Interest rate (ppm) for a stored ACCOUNT_TYPE, taken from the account
+     * class so the run and payInterest() agree. Unknown types earn nothing.
+     */
+    public static long rateForType(String accountType) {
+        Account prototype = AccountDAO.createAccountFromType(null, accountType, null);
+        return prototype != null ? prototype.getInterestRatePpm() : 0;
+    }
+
+    /**
+     * @return the checkpoint for a run, or null if the run never started
+     */
+    public Checkpoint readCheckpoint(String runId) throws SQLException {
+        String sql = "SELECT * FROM INTEREST_RUN WHERE RUN_ID = ?";
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, runId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next()) return null;
+                return new Checkpoint(runId, rs.getString("STATUS"), rs.getString("LAST_ACCOUNT_NUMBER"),
+                    rs.getInt("ACCOUNTS_PROCESSED"), Money.fromDecimal(rs.getBigDecimal("TOTAL_INTEREST")));
+            }
+        }
+    }
+
+    public void startRun(String runId) throws SQLException {
+        String sql = "INSERT INTO INTEREST_RUN (RUN_ID, STATUS, LAST_ACCOUNT_NUMBER) VALUES (?, ?, '')";
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, runId);
+            pstmt.setString(2, STATUS_RUNNING);
+            pstmt.executeUpdate();
+        }
+    }
+
+    public void completeRun(String runId) throws SQLException {
+        String sql = "UPDATE INTEREST_RUN SET STATUS = ?, UPDATED_AT = CURRENT_TIMESTAMP WHERE RUN_ID = ?";
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, STATUS_COMPLETED);
+            pstmt.setString(2, runId);
+            pstmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Distinct ACCOUNT_TYPE values currently stored.
+     */
+    public List<String> readAccountTypes() throws SQLException {
+        List<String> types = new ArrayList<>();
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = connection.prepareStatement("SELECT DISTINCT ACCOUNT_TYPE FROM ACCOUNT");
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                types.add(rs.getString(1));
+            }
+        }
+        return types;
+    }
+
+    /**
+     * Pay a whole run in SQL without reading accounts into memory: per
+     * account type, one INSERT ... SELECT of the INTEREST rows and one
+     * UPDATE of the balances, using the same rounded amount, all in a single
+     * transaction together with the completed checkpoint row.
+     *
+     * @param ratesByType ppm rate per stored ACCOUNT_TYPE; types missing or at zero are skipped
+     * @return the completed checkpoint
+     * @throws SQLException on failure (nothing is applied), including when the run already exists
+     */
+    public Checkpoint postSetBased(String runId, LocalDate postingDate, Map<String, Long> ratesByType) throws SQLException {
+        String idPrefix = "INT_" + runId.replace("-", "") + "_";
+        java.sql.Date sqlDate = java.sql.Date.valueOf(postingDate);
+        try (Connection connection = DatabaseConnection.getInstance().getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                // claim the run first so a concurrent or repeated run fails on the primary key
+                try (PreparedStatement claim = connection.prepareStatement(
+                        "INSERT INTO INTEREST_RUN (RUN_ID, STATUS, LAST_ACCOUNT_NUMBER) VALUES (?, ?, NULL)")) {
+                    claim.setString(1, runId);
+                    claim.setString(2, STATUS_RUNNING);
+                    claim.executeUpdate();
+                }
+                int accounts = 0;
+                try (PreparedStatement insert = connection.prepareStatement(INSERT_INTEREST_SET_SQL);
+                     PreparedStatement credit = connection.prepareStatement(CREDIT_SET_SQL)) {
+                    for (Map.Entry<String, Long> type : ratesByType.entrySet()) {
+                        if (type.getValue() == null || type.getValue() <= 0) continue;
+                        BigDecimal rate = Money.rateToDecimal(type.getValue());
+                        // ledger rows first, from the balances before the credit
+                        insert.setString(1, idPrefix);
+                        insert.setBigDecimal(2, rate);
+                        insert.setDate(3, sqlDate);
+                        insert.setString(4, type.getKey());
+                        insert.setBigDecimal(5, rate);
+                        int inserted = insert.executeUpdate();
+
+                        credit.setBigDecimal(1, rate);
+                        credit.setDate(2, sqlDate);
+                        credit.setString(3, type.getKey());
+                        credit.setBigDecimal(4, rate);
+                        int credited = credit.executeUpdate();
+                        if (inserted != credited) {
+                            throw new SQLException("Interest rows (" + inserted + ") and credits (" + credited +
+                                ") differ for " + type.getKey());
+                        }
+                        accounts += credited;
+                    }
+                }
+                long total = 0;
+                try (PreparedStatement sum = connection.prepareStatement(
+                        "SELECT COALESCE(SUM(AMOUNT), 0) FROM TRANSACTION WHERE TRANSACTION_ID LIKE ?")) {
+                    sum.setString(1, idPrefix + "%");
+                    try (ResultSet rs = sum.executeQuery()) {
+                        if (rs.next()) total = Money.fromDecimal(rs.getBigDecimal(1));
+                    }
+                }
+                try (PreparedStatement done = connection.prepareStatement(
+                        "UPDATE INTEREST_RUN SET STATUS = ?, ACCOUNTS_PROCESSED = ?, TOTAL_INTEREST = ?, " +
+                        "UPDATED_AT = CURRENT_TIMESTAMP WHERE RUN_ID = ?")) {
+                    done.setString(1, STATUS_COMPLETED);
+                    done.setInt(2, accounts);
+                    done.setBigDecimal(3, Money.toDecimal(total));
+                    done.setString(4, runId);
+                    done.executeUpdate();
+                }
+                connection.commit();
+                return new Checkpoint(runId, STATUS_COMPLETED, null, accounts, total);
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Read the next page of accounts after the given account number, in
+     * account-number order. Only the columns the run needs are selected.
+     */
+    public List<AccountRow> readPage(String afterAccountNumber, int limit) throws SQLException {
+        List<AccountRow> rows = new ArrayList<>(limit);
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(PAGE_SQL)) {
+            pstmt.setString(1, afterAccountNumber == null ? "" : afterAccountNumber);
+            pstmt.setInt(2, limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(new AccountRow(rs.getString("ACCOUNT_NUMBER"), rs.getString("ACCOUNT_TYPE"),
+                        Money.fromDecimal(rs.getBigDecimal("BALANCE"))));
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Credit a page of postings and advance the checkpoint in one transaction.
+     * Balances are credited relative to their current value, so postings made
+     * while the run is in progress are not overwritten.
+     *
+     * @param lastAccountNumber last account of the page, whether or not it earned interest
+     * @param accountsInPage    number of accounts the page covered
+     */
+    public void postPage(String runId, LocalDate postingDate, List<Posting> postings,
+                         String lastAccountNumber, int accountsInPage) throws SQLException {
+        String datePart = runId.replace("-", "");
+        java.sql.Date sqlDate = java.sql.Date.valueOf(postingDate);
+        long pageInterest = 0;
+        try (Connection connection = DatabaseConnection.getInstance().getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                if (!postings.isEmpty()) {
+                    try (PreparedStatement credit = connection.prepareStatement(CREDIT_SQL);
+                         PreparedStatement insert = connection.prepareStatement(INSERT_TXN_SQL)) {
+                        for (Posting p : postings) {
+                            credit.setBigDecimal(1, Money.toDecimal(p.interestThebe));
+                            credit.setDate(2, sqlDate);
+                            credit.setString(3, p.accountNumber);
+                            credit.addBatch();
+
+                            // deterministic id: a page replayed after a crash hits the primary key
+                            insert.setString(1, "INT_" + datePart + "_" + p.accountNumber);
+                            insert.setBigDecimal(2, Money.toDecimal(p.interestThebe));
+                            insert.setDate(3, sqlDate);
+                            insert.setString(4, p.accountNumber);
+                            insert.addBatch();
+                            pageInterest += p.interestThebe;
+                        }
+                        credit.executeBatch();
+                        insert.executeBatch();
+                    }
+                }
+                try (PreparedStatement advance = connection.prepareStatement(ADVANCE_SQL)) {
+                    advance.setString(1, lastAccountNumber);
+                    advance.setInt(2, accountsInPage);
+                    advance.setBigDecimal(3, Money.toDecimal(pageInterest));
+                    advance.setString(4, runId);
+                    advance.executeUpdate();
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.banking.persistence;
+
+import com.banking.util.Paging;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keyset pagination over a sortable column with a unique tie-breaker.
+ *
+ * A page is everything strictly after the last row already shown, in the
+ * requested order, so reading page N costs the same as reading page 1. The
+ * cursor carries that row's sort value and primary key. DAOs expose their
+ * sortable columns as a map from sort key to column; only those columns
+ * reach the SQL, and each should be NOT NULL and indexed together with
+ * the tie-breaker.
+ */
+public final class Keyset {
+    /** Column alias under which DAOs select the current sort value. */
+    static final String SORT_VALUE = "SORT_VALUE";
+
+    private Keyset() {}
+
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    /**
+     * Column for a sort key, from the DAO's whitelist.
+     *
+     * @throws IllegalArgumentException if the key is not sortable
+     */
+    static String column(Map<String, String> sortColumns, Paging.Sort sort) {
+        String column = sortColumns.get(sort.key);
+        if (column == null) {
+            throw new IllegalArgumentException("Unsupported sort key: " + sort.key);
+        }
+        return column;
+    }
+
+    /** Append the "after the cursor" predicate; nothing for the first page. */
+    static void appendAfter(StringBuilder sql, List<Object> params, String column, String keyColumn, boolean ascending, Paging.Cursor after) {
+        if (after == null) return;
+        String op = ascending ? ">" : "<";
+        if (column.equals(keyColumn)) {
+            sql.append(" AND ").append(keyColumn).append(' ').append(op).append(" ?");
+            params.add(after.key);
+        } else {
+            sql.append(" AND (").append(column).append(' ').append(op).append(" ?")
+               .append(" OR (").append(column).append(" = ? AND ").append(keyColumn).append(' ').append(op).append(" ?))");
+            params.add(after.value);
+            params.add(after.value);
+            params.add(after.key);
+        }
+    }
+
+    /** Append ORDER BY and a LIMIT one past the page, to tell whether more exist. */
+    static void appendOrder(StringBuilder sql, List<Object> params, String column, String keyColumn, boolean ascending, int limit) {
+        String dir = ascending ? " ASC" : " DESC";
+        sql.append(" ORDER BY ").append(column).append(dir);
+        if (!column.equals(keyColumn)) {
+            sql.append(", ").append(keyColumn).append(dir);
+        }
+        sql.append(" LIMIT ?");
+        params.add(limit + 1);
+    }
+
+    /**
+     * Bind the parameters, run the query and cut the page. The query must
+     * select the sort column as SORT_VALUE and the key column under keyLabel.
+     * Rows the mapper returns null for (e.g. an unknown account type) are
+     * left out, but the cursor still moves past them.
+     */
+    static <T> Paging.Page<T> read(PreparedStatement pstmt, List<Object> params, int limit, String keyLabel, RowMapper<T> mapper) throws SQLException {
+        for (int i = 0; i < params.size(); i++) {
+            pstmt.setObject(i + 1, params.get(i));
+        }
+        List<T> items = new ArrayList<>();
+        Paging.Cursor last = null;
+        boolean more = false;
+        int rows = 0;
+        try (ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                if (rows == limit) {
+                    more = true;
+                    break;
+                }
+                rows++;
+                T item = mapper.map(rs);
+                if (item != null) {
+                    items.add(item);
+                }
+                last = new Paging.Cursor(rs.getObject(SORT_VALUE), rs.getString(keyLabel));
+            }
+        }
+        return new Paging.Page<>(items, more ? last : null);
+    }
+
+    static boolean notBlank(String s) {
+        return s != null && !s.isBlank();
+    }
+}
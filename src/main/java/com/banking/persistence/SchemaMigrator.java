@@ -0,0 +1,326 @@
+package com.banking.persistence;
+
+import com.banking.util.Log;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Brings the schema up to date with numbered migrations.
+ *
+ * SCHEMA_VERSION records every migration applied, with when and how long
+ * it took. On start the runner reads the highest recorded version and
+ * applies only the migrations after it, each once, in order; an up-to-date
+ * database costs a single query. Migrations check the catalog before
+ * changing it (a column that already exists is not added again), so a
+ * database built by the old unversioned start-up code is adopted by
+ * running them all once.
+ *
+ * Migrations run inside the database named in the connection URL; on a
+ * fresh MySQL server {@link #createDatabase} creates it first.
+ *
+ * New schema changes go at the end of {@link #MIGRATIONS} with the next
+ * version number. Never edit or renumber one that has shipped.
+ */
+public class SchemaMigrator {
+
+    @FunctionalInterface
+    interface Step {
+        void apply(Connection connection, Statement stmt) throws SQLException;
+    }
+
+    static final class Migration {
+        final int version;
+        final String description;
+        final Step step;
+
+        Migration(int version, String description, Step step) {
+            this.version = version;
+            this.description = description;
+            this.step = step;
+        }
+    }
+
+    private static final String CREATE_VERSION_TABLE =
+        "CREATE TABLE IF NOT EXISTS SCHEMA_VERSION (" +
+            "VERSION INT PRIMARY KEY," +
+            "DESCRIPTION VARCHAR(200) NOT NULL," +
+            "APPLIED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+            "DURATION_MS BIGINT NOT NULL)";
+
+    static final List<Migration> MIGRATIONS = List.of(
+        new Migration(1, "Core tables", (c, stmt) -> {
+            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS CUSTOMER (" +
+                "CUSTOMER_ID VARCHAR(50) PRIMARY KEY," +
+                "FIRST_NAME VARCHAR(100) NOT NULL," +
+                "SURNAME VARCHAR(100) NOT NULL," +
+                "ADDRESS VARCHAR(255) NOT NULL," +
+                "PHONE_NUMBER VARCHAR(20) NOT NULL," +
+                "EMAIL VARCHAR(100) NOT NULL," +
+                "DATE_OF_BIRTH DATE," +
+                "CREATED_DATE TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS ACCOUNT (" +
+                "ACCOUNT_NUMBER VARCHAR(50) PRIMARY KEY," +
+                "ACCOUNT_TYPE VARCHAR(20) NOT NULL," +
+                "BALANCE DECIMAL(19,2) NOT NULL DEFAULT 0.00," +
+                "BRANCH VARCHAR(100) NOT NULL," +
+                "CUSTOMER_ID VARCHAR(50) NOT NULL," +
+                "DATE_OPENED DATE NOT NULL," +
+                "LAST_INTEREST_DATE DATE," +
+                "EMPLOYER VARCHAR(100)," +
+                "EMPLOYER_ADDRESS VARCHAR(255)," +
+                "INTEREST_RATE DECIMAL(9,6)," +
+                "MINIMUM_BALANCE DECIMAL(19,2)," +
+                "FOREIGN KEY (CUSTOMER_ID) REFERENCES CUSTOMER(CUSTOMER_ID)," +
+                "CREATED_DATE TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS TRANSACTION (" +
+                "TRANSACTION_ID VARCHAR(50) PRIMARY KEY," +
+                "TRANSACTION_TYPE VARCHAR(20) NOT NULL," +
+                "AMOUNT DECIMAL(19,2) NOT NULL," +
+                "TRANSACTION_DATE DATE NOT NULL," +
+                "ACCOUNT_NUMBER VARCHAR(50) NOT NULL," +
+                "STATUS VARCHAR(20) NOT NULL," +
+                "CREATED_TIMESTAMP TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+                "FOREIGN KEY (ACCOUNT_NUMBER) REFERENCES ACCOUNT(ACCOUNT_NUMBER))");
+            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS AUDIT_LOG (" +
+                "ID VARCHAR(100) PRIMARY KEY," +
+                "TIMESTAMP DATETIME(6) NOT NULL," +
+                "ACTOR_ID VARCHAR(50)," +
+                "ACTOR_EMAIL VARCHAR(100)," +
+                "ACTION_TYPE VARCHAR(100)," +
+                "TARGET_TYPE VARCHAR(50)," +
+                "TARGET_ID VARCHAR(100)," +
+                "DETAILS TEXT," +
+                "CREATED_TIMESTAMP TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS INTEREST_RUN (" +
+                "RUN_ID VARCHAR(20) PRIMARY KEY," +
+                "STATUS VARCHAR(20) NOT NULL," +
+                "LAST_ACCOUNT_NUMBER VARCHAR(50)," +
+                "ACCOUNTS_PROCESSED INT NOT NULL DEFAULT 0," +
+                "TOTAL_INTEREST DECIMAL(19,2) NOT NULL DEFAULT 0.00," +
+                "STARTED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+                "UPDATED_AT TIMESTAMP NULL)");
+        }),
+        new Migration(2, "CUSTOMER login and approval columns", (c, stmt) -> {
+            addColumn(c, stmt, "CUSTOMER", "PASSWORD_HASH", "VARCHAR(255)");
+            addColumn(c, stmt, "CUSTOMER", "ROLE", "VARCHAR(20) DEFAULT 'CUSTOMER'");
+            addColumn(c, stmt, "CUSTOMER", "APPROVED", "TINYINT(1) DEFAULT 0");
+            addColumn(c, stmt, "CUSTOMER", "SUSPENDED", "TINYINT(1) DEFAULT 0");
+        }),
+        new Migration(3, "TRANSACTION approval columns", (c, stmt) -> {
+            addColumn(c, stmt, "TRANSACTION", "APPROVAL_STATUS", "VARCHAR(20) DEFAULT 'PENDING'");
+            addColumn(c, stmt, "TRANSACTION", "APPROVER_ID", "INT NULL");
+            addColumn(c, stmt, "TRANSACTION", "APPROVAL_DATE", "DATE NULL");
+            addColumn(c, stmt, "TRANSACTION", "DENIAL_REASON", "VARCHAR(255) NULL");
+        }),
+        new Migration(4, "AUDIT_LOG.STATUS column", (c, stmt) ->
+            addColumn(c, stmt, "AUDIT_LOG", "STATUS", "VARCHAR(50) DEFAULT 'LOGGED'")),
+        new Migration(5, "AUDIT_LOG.TIMESTAMP as DATETIME(6)", (c, stmt) -> {
+            // was an ISO-8601 VARCHAR
+            String type = columnType(c, "AUDIT_LOG", "TIMESTAMP");
+            if (type != null && type.toUpperCase().contains("CHAR")) {
+                stmt.executeUpdate("UPDATE AUDIT_LOG SET TIMESTAMP = REPLACE(LEFT(TIMESTAMP, 26), 'T', ' ')");
+                stmt.executeUpdate("ALTER TABLE AUDIT_LOG MODIFY TIMESTAMP DATETIME(6) NOT NULL");
+            }
+        }),
+        new Migration(6, "Money columns as DECIMAL", (c, stmt) -> {
+            // were DOUBLE in older schemas
+            modifyUnlessDecimal(c, stmt, "ACCOUNT", "BALANCE", "DECIMAL(19,2) NOT NULL DEFAULT 0.00");
+            modifyUnlessDecimal(c, stmt, "ACCOUNT", "INTEREST_RATE", "DECIMAL(9,6)");
+            modifyUnlessDecimal(c, stmt, "ACCOUNT", "MINIMUM_BALANCE", "DECIMAL(19,2)");
+            modifyUnlessDecimal(c, stmt, "TRANSACTION", "AMOUNT", "DECIMAL(19,2) NOT NULL");
+        }),
+        new Migration(7, "Account and transaction lookup indexes", (c, stmt) -> {
+            createIndex(c, stmt, "idx_customer_id", "ACCOUNT", "CUSTOMER_ID", false);
+            createIndex(c, stmt, "idx_txn_account_date", "TRANSACTION", "ACCOUNT_NUMBER, TRANSACTION_DATE, TRANSACTION_ID", false);
+            // superseded by idx_txn_account_date, which also serves the foreign key
+            dropIndex(c, stmt, "idx_account_number", "TRANSACTION");
+            if (!indexExists(c, "CUSTOMER", "idx_customer_email")) {
+                requireNoDuplicates(stmt, "CUSTOMER", "EMAIL");
+            }
+            createIndex(c, stmt, "idx_customer_email", "CUSTOMER", "EMAIL", true);
+        }),
+        new Migration(8, "Audit log indexes", (c, stmt) -> {
+            createIndex(c, stmt, "idx_audit_ts_id", "AUDIT_LOG", "TIMESTAMP, ID", false);
+            createIndex(c, stmt, "idx_audit_actor_ts", "AUDIT_LOG", "ACTOR_ID, TIMESTAMP", false);
+            createIndex(c, stmt, "idx_audit_target_ts", "AUDIT_LOG", "TARGET_ID, TIMESTAMP", false);
+            // superseded by idx_audit_ts_id
+            dropIndex(c, stmt, "idx_audit_ts", "AUDIT_LOG");
+        }),
+        new Migration(9, "Keyset paging indexes", (c, stmt) -> {
+            createIndex(c, stmt, "idx_customer_surname", "CUSTOMER", "SURNAME, CUSTOMER_ID", false);
+            createIndex(c, stmt, "idx_account_type", "ACCOUNT", "ACCOUNT_TYPE, ACCOUNT_NUMBER", false);
+            createIndex(c, stmt, "idx_account_balance", "ACCOUNT", "BALANCE, ACCOUNT_NUMBER", false);
+            createIndex(c, stmt, "idx_account_opened", "ACCOUNT", "DATE_OPENED, ACCOUNT_NUMBER", false);
+        })
+    );
+
+    private final List<Migration> migrations;
+
+    public SchemaMigrator() {
+        this(MIGRATIONS);
+    }
+
+    SchemaMigrator(List<Migration> migrations) {
+        this.migrations = migrations;
+    }
+
+    /**
+     * Create the database a MySQL URL names, if it does not exist yet, by
+     * connecting to the server without selecting a database. Needs the
+     * CREATE privilege; otherwise create the database by hand with
+     * CREATE DATABASE banking_system.
+     *
+     * @return the database name, or null if the URL names none
+     */
+    public static String createDatabase(String url, String user, String password) throws SQLException {
+        String[] parts = splitDatabase(url);
+        if (parts == null) return null;
+        try (Connection server = DriverManager.getConnection(parts[0], user, password);
+             Statement stmt = server.createStatement()) {
+            stmt.executeUpdate("CREATE DATABASE IF NOT EXISTS `" + parts[1] + "`");
+        }
+        return parts[1];
+    }
+
+    /**
+     * Split jdbc:mysql://host:port/db?params into the server URL
+     * (jdbc:mysql://host:port/?params) and the database name, or null if
+     * there is no plain database name in the path.
+     */
+    static String[] splitDatabase(String url) {
+        int hosts = url.indexOf("//");
+        if (hosts < 0) return null;
+        int slash = url.indexOf('/', hosts + 2);
+        if (slash < 0) return null;
+        int query = url.indexOf('?', slash);
+        String database = url.substring(slash + 1, query < 0 ? url.length() : query);
+        if (!database.matches("[A-Za-z0-9_$]+")) return null;
+        return new String[] { url.substring(0, slash + 1) + (query < 0 ? "" : url.substring(query)), database };
+    }
+
+    /** Latest version this build knows about. */
+    public int latestVersion() {
+        return migrations.isEmpty() ? 0 : migrations.get(migrations.size() - 1).version;
+    }
+
+    /**
+     * Apply every migration newer than the recorded version.
+     *
+     * @return the migrations applied, empty if the schema was up to date
+     * @throws SQLException if a migration fails; the ones before it stay recorded
+     */
+    public List<Integer> migrate(Connection connection) throws SQLException {
+        int current = currentVersion(connection);
+        if (current >= latestVersion()) {
+            return Collections.emptyList();
+        }
+        List<Integer> applied = new ArrayList<>();
+        try (Statement stmt = connection.createStatement()) {
+            for (Migration m : migrations) {
+                if (m.version <= current) continue;
+                long start = System.nanoTime();
+                m.step.apply(connection, stmt);
+                long millis = (System.nanoTime() - start) / 1_000_000;
+                record(connection, m, millis);
+                applied.add(m.version);
+                Log.info(() -> "✓ Migration " + m.version + " (" + m.description + ") applied in " + millis + " ms");
+            }
+        }
+        return applied;
+    }
+
+    /** Highest version recorded, or 0 for a database that has never been migrated. */
+    public int currentVersion(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT MAX(VERSION) FROM SCHEMA_VERSION")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        } catch (SQLException e) {
+            if (tableExists(connection, "SCHEMA_VERSION")) throw e;
+        }
+        try (Statement stmt = connection.createStatement()) {
+            stmt.executeUpdate(CREATE_VERSION_TABLE);
+        }
+        return 0;
+    }
+
+    private static void record(Connection connection, Migration m, long millis) throws SQLException {
+        try (PreparedStatement pstmt = connection.prepareStatement(
+                "INSERT INTO SCHEMA_VERSION (VERSION, DESCRIPTION, DURATION_MS) VALUES (?, ?, ?)")) {
+            pstmt.setInt(1, m.version);
+            pstmt.setString(2, m.description);
+            pstmt.setLong(3, millis);
+            pstmt.executeUpdate();
+        }
+    }
+
+    private static void addColumn(Connection c, Statement stmt, String table, String column, String definition) throws SQLException {
+        if (columnType(c, table, column) == null) {
+            stmt.executeUpdate("ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition);
+        }
+    }
+
+    private static void modifyUnlessDecimal(Connection c, Statement stmt, String table, String column, String definition) throws SQLException {
+        String type = columnType(c, table, column);
+        if (type != null && !type.toUpperCase().contains("DECIMAL")) {
+            stmt.executeUpdate("ALTER TABLE " + table + " MODIFY " + column + " " + definition);
+        }
+    }
+
+    private static void createIndex(Connection c, Statement stmt, String name, String table, String columns, boolean unique) throws SQLException {
+        if (!indexExists(c, table, name)) {
+            stmt.executeUpdate("CREATE " + (unique ? "UNIQUE " : "") + "INDEX " + name + " ON " + table + "(" + columns + ")");
+        }
+    }
+
+    // fail with the offending values before a UNIQUE index would fail on them
+    private static void requireNoDuplicates(Statement stmt, String table, String column) throws SQLException {
+        List<String> duplicates = new ArrayList<>();
+        try (ResultSet rs = stmt.executeQuery("SELECT " + column + ", COUNT(*) FROM " + table + " WHERE " + column +
+                " IS NOT NULL GROUP BY " + column + " HAVING COUNT(*) > 1 ORDER BY " + column)) {
+            while (rs.next()) {
+                duplicates.add(rs.getString(1) + " (" + rs.getInt(2) + " rows)");
+            }
+        }
+        if (!duplicates.isEmpty()) {
+            throw new SQLException("Duplicate " + table + "." + column + " values must be resolved before they can be made unique: " +
+                String.join(", ", duplicates));
+        }
+    }
+
+    private static void dropIndex(Connection c, Statement stmt, String name, String table) throws SQLException {
+        if (indexExists(c, table, name)) {
+            stmt.executeUpdate("DROP INDEX " + name + " ON " + table);
+        }
+    }
+
+    // SQL type name of a column, or null if it does not exist
+    static String columnType(Connection connection, String table, String column) throws SQLException {
+        try (ResultSet rs = connection.getMetaData().getColumns(connection.getCatalog(), null, table, column)) {
+            return rs.next() ? rs.getString("TYPE_NAME") : null;
+        }
+    }
+
+    private static boolean tableExists(Connection connection, String table) throws SQLException {
+        try (ResultSet rs = connection.getMetaData().getTables(connection.getCatalog(), null, table, null)) {
+            return rs.next();
+        }
+    }
+
+    private static boolean indexExists(Connection connection, String table, String index) throws SQLException {
+        DatabaseMetaData meta = connection.getMetaData();
+        try (ResultSet rs = meta.getIndexInfo(connection.getCatalog(), null, table, false, false)) {
+            while (rs.next()) {
+                if (index.equalsIgnoreCase(rs.getString("INDEX_NAME"))) return true;
+            }
+        }
+        return false;
+    }
+}
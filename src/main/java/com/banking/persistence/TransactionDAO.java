@@ -1,39 +1,39 @@
 package com.banking.persistence;
 
+import com.banking.model.Money;
 import com.banking.model.Transaction;
+import com.banking.model.TransactionHistory;
+import com.banking.util.Log;
+import com.banking.util.Paging;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 public class TransactionDAO {
-    private Connection connection;
-
-    public TransactionDAO() {
-        this.connection = DatabaseConnection.getInstance().getConnection();
-    }
-
     // CREATE
     public boolean create(Transaction transaction) {
         String sql = "INSERT INTO TRANSACTION (TRANSACTION_ID, TRANSACTION_TYPE, AMOUNT, TRANSACTION_DATE, ACCOUNT_NUMBER, STATUS) " +
                      "VALUES (?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, transaction.getTransactionId());
             pstmt.setString(2, transaction.getTransactionType());
-            pstmt.setDouble(3, transaction.getAmount());
+            pstmt.setBigDecimal(3, Money.toDecimal(transaction.getAmountThebe()));
             pstmt.setDate(4, java.sql.Date.valueOf(transaction.getDate()));
             pstmt.setString(5, transaction.getAccountNumber());
             pstmt.setString(6, transaction.getStatus());
 
             int rows = pstmt.executeUpdate();
             if (rows > 0) {
-                System.out.println("✓ Transaction recorded: " + transaction.getTransactionId());
+                Log.debug(() -> "✓ Transaction recorded: " + transaction.getTransactionId());
                 return true;
             }
         } catch (SQLException e) {
-            System.out.println("✗ Error creating transaction: " + e.getMessage());
+            Log.error(() -> "✗ Error creating transaction: " + e.getMessage());
         }
         return false;
     }
@@ -41,22 +41,16 @@ public class TransactionDAO {
     // READ
     public Transaction read(String transactionId) {
         String sql = "SELECT * FROM TRANSACTION WHERE TRANSACTION_ID = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, transactionId);
             ResultSet rs = pstmt.executeQuery();
 
             if (rs.next()) {
-                return new Transaction(
-                    rs.getString("TRANSACTION_ID"),
-                    rs.getString("TRANSACTION_TYPE"),
-                    rs.getDouble("AMOUNT"),
-                    rs.getDate("TRANSACTION_DATE").toLocalDate(),
-                    rs.getString("ACCOUNT_NUMBER"),
-                    rs.getString("STATUS")
-                );
+                return mapRow(rs);
             }
         } catch (SQLException e) {
-            System.out.println("✗ Error reading transaction: " + e.getMessage());
+            Log.error(() -> "✗ Error reading transaction: " + e.getMessage());
         }
         return null;
     }
@@ -64,42 +58,112 @@ public class TransactionDAO {
     // READ ALL BY ACCOUNT
     public List<Transaction> readByAccount(String accountNumber) {
         List<Transaction> transactions = new ArrayList<>();
-        String sql = "SELECT * FROM TRANSACTION WHERE ACCOUNT_NUMBER = ? ORDER BY TRANSACTION_DATE DESC";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        String sql = "SELECT * FROM TRANSACTION WHERE ACCOUNT_NUMBER = ? ORDER BY TRANSACTION_DATE DESC, TRANSACTION_ID DESC";
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, accountNumber);
             ResultSet rs = pstmt.executeQuery();
 
             while (rs.next()) {
-                Transaction txn = new Transaction(
-                    rs.getString("TRANSACTION_ID"),
-                    rs.getString("TRANSACTION_TYPE"),
-                    rs.getDouble("AMOUNT"),
-                    rs.getDate("TRANSACTION_DATE").toLocalDate(),
-                    rs.getString("ACCOUNT_NUMBER"),
-                    rs.getString("STATUS")
-                );
-                transactions.add(txn);
+                transactions.add(mapRow(rs));
             }
         } catch (SQLException e) {
-            System.out.println("✗ Error reading transactions: " + e.getMessage());
+            Log.error(() -> "✗ Error reading transactions: " + e.getMessage());
         }
         return transactions;
     }
 
+    // READ PAGE BY ACCOUNT
+    /**
+     * One page of an account's transactions, newest first, strictly before
+     * the cursor (null for the newest). Served by the
+     * (ACCOUNT_NUMBER, TRANSACTION_DATE, TRANSACTION_ID) index, so the cost
+     * depends on the page size rather than the length of the history.
+     */
+    public Paging.Page<Transaction> readByAccount(String accountNumber, Paging.Cursor before, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT t.*, t.TRANSACTION_DATE AS ").append(Keyset.SORT_VALUE)
+            .append(" FROM TRANSACTION t WHERE t.ACCOUNT_NUMBER = ?");
+        List<Object> params = new ArrayList<>();
+        params.add(accountNumber);
+        Keyset.appendAfter(sql, params, "t.TRANSACTION_DATE", "t.TRANSACTION_ID", false, before);
+        Keyset.appendOrder(sql, params, "t.TRANSACTION_DATE", "t.TRANSACTION_ID", false, limit);
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql.toString())) {
+            return Keyset.read(pstmt, params, limit, "TRANSACTION_ID", TransactionDAO::mapRow);
+        } catch (SQLException e) {
+            Log.error(() -> "✗ Error reading transactions: " + e.getMessage());
+        }
+        return Paging.Page.empty();
+    }
+
+    // READ PAGE BY CUSTOMER
+    /** Sort keys accepted by readByCustomer() and the column each orders by. */
+    public static final Map<String, String> PAGE_SORT_COLUMNS = Map.of(
+        "date", "t.TRANSACTION_DATE",
+        "amount", "t.AMOUNT",
+        "type", "t.TRANSACTION_TYPE");
+
+    /**
+     * One page of the transactions on all of a customer's accounts, in the
+     * requested order, after the cursor. Text, if given, is a substring
+     * match on the type, account number and status.
+     */
+    public Paging.Page<Transaction> readByCustomer(String customerId, Paging.Cursor after, int limit, Paging.Sort sort, String text) {
+        String column = Keyset.column(PAGE_SORT_COLUMNS, sort);
+        StringBuilder sql = new StringBuilder("SELECT t.*, ").append(column).append(" AS ").append(Keyset.SORT_VALUE)
+            .append(" FROM TRANSACTION t JOIN ACCOUNT a ON a.ACCOUNT_NUMBER = t.ACCOUNT_NUMBER WHERE a.CUSTOMER_ID = ?");
+        List<Object> params = new ArrayList<>();
+        params.add(customerId);
+        if (Keyset.notBlank(text)) {
+            String like = "%" + text.toLowerCase() + "%";
+            sql.append(" AND (LOWER(t.TRANSACTION_TYPE) LIKE ? OR LOWER(t.ACCOUNT_NUMBER) LIKE ? OR LOWER(t.STATUS) LIKE ?)");
+            for (int i = 0; i < 3; i++) params.add(like);
+        }
+        Keyset.appendAfter(sql, params, column, "t.TRANSACTION_ID", sort.ascending, after);
+        Keyset.appendOrder(sql, params, column, "t.TRANSACTION_ID", sort.ascending, limit);
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql.toString())) {
+            return Keyset.read(pstmt, params, limit, "TRANSACTION_ID", TransactionDAO::mapRow);
+        } catch (SQLException e) {
+            Log.error(() -> "✗ Error reading transaction page: " + e.getMessage());
+        }
+        return Paging.Page.empty();
+    }
+
+    /**
+     * Lazy history for an account; nothing is read until a page is requested.
+     */
+    public TransactionHistory historyFor(String accountNumber) {
+        return new TransactionHistory((before, limit) -> readByAccount(accountNumber, before, limit));
+    }
+
+    // Map the current TRANSACTION row
+    static Transaction mapRow(ResultSet rs) throws SQLException {
+        return Transaction.ofThebe(
+            rs.getString("TRANSACTION_ID"),
+            rs.getString("TRANSACTION_TYPE"),
+            Money.fromDecimal(rs.getBigDecimal("AMOUNT")),
+            rs.getDate("TRANSACTION_DATE").toLocalDate(),
+            rs.getString("ACCOUNT_NUMBER"),
+            rs.getString("STATUS")
+        );
+    }
+
     // UPDATE
     public boolean updateStatus(String transactionId, String newStatus) {
         String sql = "UPDATE TRANSACTION SET STATUS=? WHERE TRANSACTION_ID=?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, newStatus);
             pstmt.setString(2, transactionId);
 
             int rows = pstmt.executeUpdate();
             if (rows > 0) {
-                System.out.println("✓ Transaction status updated");
+                Log.debug("✓ Transaction status updated");
                 return true;
             }
         } catch (SQLException e) {
-            System.out.println("✗ Error updating transaction: " + e.getMessage());
+            Log.error(() -> "✗ Error updating transaction: " + e.getMessage());
         }
         return false;
     }
@@ -107,19 +171,20 @@ public class TransactionDAO {
     // UPDATE (full transaction object) - used for approval workflow
     public boolean update(Transaction transaction) {
         String sql = "UPDATE TRANSACTION SET TRANSACTION_TYPE=?, AMOUNT=?, STATUS=? WHERE TRANSACTION_ID=?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, transaction.getTransactionType());
-            pstmt.setDouble(2, transaction.getAmount());
+            pstmt.setBigDecimal(2, Money.toDecimal(transaction.getAmountThebe()));
             pstmt.setString(3, transaction.getStatus());
             pstmt.setString(4, transaction.getTransactionId());
 
             int rows = pstmt.executeUpdate();
             if (rows > 0) {
-                System.out.println("✓ Transaction updated: " + transaction.getTransactionId());
+                Log.debug(() -> "✓ Transaction updated: " + transaction.getTransactionId());
                 return true;
             }
         } catch (SQLException e) {
-            System.out.println("✗ Error updating transaction: " + e.getMessage());
+            Log.error(() -> "✗ Error updating transaction: " + e.getMessage());
         }
         return false;
     }
@@ -127,15 +192,16 @@ public class TransactionDAO {
     // DELETE
     public boolean delete(String transactionId) {
         String sql = "DELETE FROM TRANSACTION WHERE TRANSACTION_ID=?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, transactionId);
             int rows = pstmt.executeUpdate();
             if (rows > 0) {
-                System.out.println("✓ Transaction deleted");
+                Log.debug("✓ Transaction deleted");
                 return true;
             }
         } catch (SQLException e) {
-            System.out.println("✗ Error deleting transaction: " + e.getMessage());
+            Log.error(() -> "✗ Error deleting transaction: " + e.getMessage());
         }
         return false;
     }
@@ -0,0 +1,160 @@
+package com.banking.persistence;
+
+import com.banking.model.Money;
+import com.banking.model.Transaction;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Posts a transfer as one database transaction: both account rows locked
+ * by primary key, both balance changes in a single guarded UPDATE, then
+ * both TRANSACTION rows in one batch. Single-account deposits and
+ * withdrawals are posted the same way with one relative UPDATE.
+ */
+public class TransferDAO {
+
+    // Debits the source and credits the target in one statement. The source
+    // row only matches while it can cover the amount plus its floor, so an
+    // insufficient balance shows up as fewer than two updated rows.
+    private static final String MOVE_FUNDS_SQL =
+        "UPDATE ACCOUNT SET BALANCE = CASE WHEN ACCOUNT_NUMBER = ? THEN BALANCE - ? ELSE BALANCE + ? END " +
+        "WHERE ACCOUNT_NUMBER IN (?, ?) AND (ACCOUNT_NUMBER <> ? OR BALANCE >= ?)";
+
+    // Locks both rows up front, in key order, so concurrent transfers over
+    // the same pair queue here instead of deadlocking inside the UPDATE
+    private static final String LOCK_ACCOUNTS_SQL =
+        "SELECT ACCOUNT_NUMBER FROM ACCOUNT WHERE ACCOUNT_NUMBER IN (?, ?) ORDER BY ACCOUNT_NUMBER FOR UPDATE";
+
+    // Relative single-account postings; a debit only matches while the
+    // account can cover the amount plus its floor
+    private static final String CREDIT_SQL =
+        "UPDATE ACCOUNT SET BALANCE = BALANCE + ? WHERE ACCOUNT_NUMBER = ?";
+    private static final String DEBIT_SQL =
+        "UPDATE ACCOUNT SET BALANCE = BALANCE - ? WHERE ACCOUNT_NUMBER = ? AND BALANCE >= ?";
+    private static final String READ_BALANCE_SQL =
+        "SELECT BALANCE FROM ACCOUNT WHERE ACCOUNT_NUMBER = ?";
+
+    private static final String INSERT_TXN_SQL =
+        "INSERT INTO TRANSACTION (TRANSACTION_ID, TRANSACTION_TYPE, AMOUNT, TRANSACTION_DATE, ACCOUNT_NUMBER, STATUS) " +
+        "VALUES (?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Move funds and record both legs atomically.
+     *
+     * @param amountThebe amount to move, in thebe
+     * @param floorThebe balance (in thebe) the source account must keep after the debit
+     * @return true if committed, false if the source could not cover the
+     *         amount or an account does not exist (nothing is written)
+     * @throws SQLException on database failure; the transaction is rolled back
+     */
+    public boolean post(String fromAccountNumber, String toAccountNumber, long amountThebe, long floorThebe,
+                        Transaction debit, Transaction credit) throws SQLException {
+        try (Connection connection = DatabaseConnection.getInstance().getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                try (PreparedStatement lock = connection.prepareStatement(LOCK_ACCOUNTS_SQL)) {
+                    lock.setString(1, fromAccountNumber);
+                    lock.setString(2, toAccountNumber);
+                    int found = 0;
+                    try (ResultSet rs = lock.executeQuery()) {
+                        while (rs.next()) found++;
+                    }
+                    if (found != 2) {
+                        connection.rollback();
+                        return false;
+                    }
+                }
+                try (PreparedStatement move = connection.prepareStatement(MOVE_FUNDS_SQL)) {
+                    move.setString(1, fromAccountNumber);
+                    move.setBigDecimal(2, Money.toDecimal(amountThebe));
+                    move.setBigDecimal(3, Money.toDecimal(amountThebe));
+                    move.setString(4, fromAccountNumber);
+                    move.setString(5, toAccountNumber);
+                    move.setString(6, fromAccountNumber);
+                    move.setBigDecimal(7, Money.toDecimal(Math.addExact(amountThebe, floorThebe)));
+                    if (move.executeUpdate() != 2) {
+                        connection.rollback();
+                        return false;
+                    }
+                }
+                try (PreparedStatement insert = connection.prepareStatement(INSERT_TXN_SQL)) {
+                    addTransaction(insert, debit);
+                    addTransaction(insert, credit);
+                    insert.executeBatch();
+                }
+                connection.commit();
+                return true;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Credit or debit one account and record the transaction atomically.
+     * The balance changes relative to the stored value, so interest or
+     * postings committed meanwhile by anyone else are kept.
+     *
+     * @param deltaThebe amount to add (positive) or take (negative), in thebe
+     * @param floorThebe balance (in thebe) the account must keep after a debit
+     * @return the committed balance in thebe, or null if a debit could not be
+     *         covered or the account does not exist (nothing is written)
+     * @throws SQLException on database failure; the transaction is rolled back
+     */
+    public Long post(String accountNumber, long deltaThebe, long floorThebe, Transaction transaction) throws SQLException {
+        try (Connection connection = DatabaseConnection.getInstance().getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                int updated;
+                if (deltaThebe >= 0) {
+                    try (PreparedStatement credit = connection.prepareStatement(CREDIT_SQL)) {
+                        credit.setBigDecimal(1, Money.toDecimal(deltaThebe));
+                        credit.setString(2, accountNumber);
+                        updated = credit.executeUpdate();
+                    }
+                } else {
+                    long amountThebe = Math.negateExact(deltaThebe);
+                    try (PreparedStatement debit = connection.prepareStatement(DEBIT_SQL)) {
+                        debit.setBigDecimal(1, Money.toDecimal(amountThebe));
+                        debit.setString(2, accountNumber);
+                        debit.setBigDecimal(3, Money.toDecimal(Math.addExact(amountThebe, floorThebe)));
+                        updated = debit.executeUpdate();
+                    }
+                }
+                if (updated != 1) {
+                    connection.rollback();
+                    return null;
+                }
+                try (PreparedStatement insert = connection.prepareStatement(INSERT_TXN_SQL)) {
+                    addTransaction(insert, transaction);
+                    insert.executeBatch();
+                }
+                Long balance = null;
+                try (PreparedStatement read = connection.prepareStatement(READ_BALANCE_SQL)) {
+                    read.setString(1, accountNumber);
+                    try (ResultSet rs = read.executeQuery()) {
+                        if (rs.next()) balance = Money.fromDecimal(rs.getBigDecimal("BALANCE"));
+                    }
+                }
+                connection.commit();
+                return balance;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private void addTransaction(PreparedStatement pstmt, Transaction t) throws SQLException {
+        pstmt.setString(1, t.getTransactionId());
+        pstmt.setString(2, t.getTransactionType());
+        pstmt.setBigDecimal(3, Money.toDecimal(t.getAmountThebe()));
+        pstmt.setDate(4, java.sql.Date.valueOf(t.getDate()));
+        pstmt.setString(5, t.getAccountNumber());
+        pstmt.setString(6, t.getStatus());
+        pstmt.addBatch();
+    }
+}
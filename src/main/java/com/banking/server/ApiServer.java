@@ -0,0 +1,627 @@
+package com.banking.server;
+
+import com.banking.controller.AccountController;
+import com.banking.controller.LoginController;
+import com.banking.controller.TransactionController;
+import com.banking.main.Role;
+import com.banking.model.Account;
+import com.banking.model.Customer;
+import com.banking.model.Money;
+import com.banking.model.Transaction;
+import com.banking.service.Bank;
+import com.banking.service.SessionManager;
+import com.banking.util.Log;
+import com.banking.util.Paging;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Headless HTTP/JSON front end for the bank, on the JDK's built-in server.
+ *
+ * Every request runs on its own virtual thread, so a request blocked on
+ * the database or the password verifier holds no platform thread. Reads
+ * (and the login check) get requestTimeoutMillis; past that the client
+ * gets a 503 and the work is interrupted. Writes are never cut off: a
+ * deposit abandoned halfway would leave the client guessing whether it was
+ * posted, so they run to the end and report what really happened.
+ * Responses are streamed with JsonWriter.
+ * Each endpoint records its latency in a LatencyHistogram, which an admin
+ * can read from GET /api/metrics.
+ *
+ * Clients log in with POST /api/login and send the returned token as
+ * "Authorization: Bearer &lt;token&gt;". Customers may act on their own
+ * accounts only; tellers and admins on any account.
+ *
+ * Nothing here touches JavaFX, so the server runs with only the database
+ * driver, H2 and spring-security-crypto on the classpath.
+ */
+public class ApiServer {
+
+    /**
+     * Server settings, overridable with banking.http.* system properties.
+     */
+    public static class Config {
+        int port = 8080;
+        long requestTimeoutMillis = 10_000;
+        int maxBodyBytes = 64 * 1024;
+        int readTimeoutSeconds = 30;
+
+        public Config port(int v) { this.port = v; return this; }
+        public Config requestTimeoutMillis(long v) { this.requestTimeoutMillis = v; return this; }
+        public Config maxBodyBytes(int v) { this.maxBodyBytes = v; return this; }
+        public Config readTimeoutSeconds(int v) { this.readTimeoutSeconds = v; return this; }
+
+        public static Config fromSystemProperties() {
+            Config c = new Config();
+            c.port = Integer.getInteger("banking.http.port", c.port);
+            c.requestTimeoutMillis = Long.getLong("banking.http.timeoutMs", c.requestTimeoutMillis);
+            c.maxBodyBytes = Integer.getInteger("banking.http.maxBodyBytes", c.maxBodyBytes);
+            c.readTimeoutSeconds = Integer.getInteger("banking.http.readTimeoutSec", c.readTimeoutSeconds);
+            return c;
+        }
+    }
+
+    /** Ends a request with the given status and error message. */
+    static class ApiException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    /** Writes a response body. */
+    interface Body {
+        void write(JsonWriter json) throws IOException;
+    }
+
+    /** Status and body of a completed endpoint call. */
+    static final class Reply {
+        final int status;
+        final Body body;
+
+        Reply(int status, Body body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+
+    /** One incoming call, as an endpoint sees it. */
+    final class Call {
+        final HttpExchange exchange;
+        final Map<String, Object> body;
+        final String pathParam;
+
+        Call(HttpExchange exchange, Map<String, Object> body, String pathParam) {
+            this.exchange = exchange;
+            this.body = body;
+            this.pathParam = pathParam;
+        }
+
+        SessionManager.Session session() {
+            String header = exchange.getRequestHeaders().getFirst("Authorization");
+            String token = header != null && header.startsWith("Bearer ") ? header.substring(7).trim() : null;
+            SessionManager.Session session = login.getSession(token);
+            if (session == null) throw new ApiException(401, "Not logged in or session expired");
+            return session;
+        }
+
+        String string(String name) {
+            Object value = body.get(name);
+            if (value == null) throw new ApiException(400, "Missing field: " + name);
+            if (!(value instanceof String)) throw new ApiException(400, "Field must be a string: " + name);
+            return (String) value;
+        }
+
+        String optionalString(String name) {
+            Object value = body.get(name);
+            return value instanceof String ? (String) value : null;
+        }
+
+        /** A positive amount with at most two decimal places. */
+        double amount(String name) {
+            Object value = body.get(name);
+            if (!(value instanceof BigDecimal)) throw new ApiException(400, "Field must be a number: " + name);
+            BigDecimal amount = (BigDecimal) value;
+            if (amount.signum() <= 0 || amount.stripTrailingZeros().scale() > Money.SCALE) {
+                throw new ApiException(400, "Amount must be positive with at most two decimals: " + name);
+            }
+            return amount.doubleValue();
+        }
+
+        int queryInt(String name, int fallback, int max) {
+            String value = query(name);
+            if (value == null) return fallback;
+            try {
+                return Math.max(1, Math.min(max, Integer.parseInt(value)));
+            } catch (NumberFormatException e) {
+                throw new ApiException(400, "Not a number: " + name);
+            }
+        }
+
+        /** A query parameter's decoded value, or null if it is absent. */
+        String query(String name) {
+            // split the raw query, so an encoded '&' or '=' inside a value stays part of it
+            String query = exchange.getRequestURI().getRawQuery();
+            if (query == null) return null;
+            try {
+                for (String pair : query.split("&")) {
+                    int eq = pair.indexOf('=');
+                    if (eq >= 0 && URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8).equals(name)) {
+                        return URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+                    }
+                }
+            } catch (IllegalArgumentException e) {
+                throw new ApiException(400, "Badly encoded query");
+            }
+            return null;
+        }
+
+        /** A history cursor as written by historyCursor(), or null for the newest page. */
+        Paging.Cursor cursor(String name) {
+            String value = query(name);
+            if (value == null || value.isEmpty()) return null;
+            int split = value.indexOf('_');
+            try {
+                if (split < 0) throw new IllegalArgumentException();
+                return new Paging.Cursor(Date.valueOf(value.substring(0, split)), value.substring(split + 1));
+            } catch (IllegalArgumentException e) {
+                throw new ApiException(400, "Not a cursor: " + name);
+            }
+        }
+    }
+
+    interface Endpoint {
+        Reply handle(Call call) throws Exception;
+    }
+
+    private static final class Route {
+        final String method;
+        final String[] segments;
+        final String name;
+        // whether the request timeout may cut the endpoint off; never for writes
+        final boolean timed;
+        final Endpoint endpoint;
+        final LatencyHistogram latency = new LatencyHistogram();
+
+        Route(String method, String pattern, Endpoint endpoint) {
+            this(method, pattern, "GET".equals(method), endpoint);
+        }
+
+        Route(String method, String pattern, boolean timed, Endpoint endpoint) {
+            this.method = method;
+            this.segments = pattern.substring(1).split("/");
+            this.name = method + " " + pattern;
+            this.timed = timed;
+            this.endpoint = endpoint;
+        }
+
+        // null if the path does not match; the {param} segment's value (or "") if it does
+        String match(String[] path) {
+            if (path.length != segments.length) return null;
+            String param = "";
+            for (int i = 0; i < path.length; i++) {
+                if (segments[i].startsWith("{")) {
+                    param = path[i];
+                } else if (!segments[i].equals(path[i])) {
+                    return null;
+                }
+            }
+            return param;
+        }
+    }
+
+    private final Config config;
+    private final Bank bank;
+    private final LoginController login;
+    private final AccountController accounts;
+    private final TransactionController transactions;
+    private final List<Route> routes = new ArrayList<>();
+    private final LatencyHistogram unmatched = new LatencyHistogram();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private ExecutorService requestThreads;
+    private ExecutorService workThreads;
+    private HttpServer server;
+
+    public ApiServer(Bank bank, Config config) {
+        this.config = config;
+        this.bank = bank;
+        this.login = new LoginController(bank);
+        this.accounts = new AccountController(bank);
+        this.transactions = new TransactionController(bank);
+
+        // a login changes nothing until the password check has passed
+        routes.add(new Route("POST", "/api/login", true, this::login));
+        routes.add(new Route("POST", "/api/logout", this::logout));
+        routes.add(new Route("GET", "/api/session", this::session));
+        routes.add(new Route("GET", "/api/accounts", this::listAccounts));
+        routes.add(new Route("POST", "/api/accounts", this::openAccount));
+        routes.add(new Route("GET", "/api/accounts/{number}/transactions", this::accountTransactions));
+        routes.add(new Route("GET", "/api/transactions", this::recentTransactions));
+        routes.add(new Route("POST", "/api/deposits", this::deposit));
+        routes.add(new Route("POST", "/api/withdrawals", this::withdraw));
+        routes.add(new Route("POST", "/api/transfers", this::transfer));
+        routes.add(new Route("GET", "/api/metrics", this::metrics));
+    }
+
+    /**
+     * Bind the port and start serving. Returns once the server is listening.
+     */
+    public synchronized void start() throws IOException {
+        if (server != null) return;
+        // the JDK server's own limit on reading a request; read once, before its first use in the JVM
+        if (System.getProperty("sun.net.httpserver.maxReqTime") == null) {
+            System.setProperty("sun.net.httpserver.maxReqTime", Integer.toString(config.readTimeoutSeconds));
+        }
+        requestThreads = Executors.newVirtualThreadPerTaskExecutor();
+        workThreads = Executors.newVirtualThreadPerTaskExecutor();
+        server = HttpServer.create(new InetSocketAddress(config.port), 0);
+        server.setExecutor(requestThreads);
+        server.createContext("/api/", this::dispatch);
+        server.start();
+        Log.info(() -> "✓ API server listening on port " + getPort());
+    }
+
+    /**
+     * Stop accepting requests, give running ones a second to finish, then
+     * release the threads. Writes still running get up to
+     * requestTimeoutMillis more before they are interrupted.
+     */
+    public synchronized void stop() {
+        if (server == null) return;
+        server.stop(1);
+        workThreads.shutdown();
+        try {
+            workThreads.awaitTermination(config.requestTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        workThreads.shutdownNow();
+        requestThreads.shutdownNow();
+        server = null;
+        Log.info("✓ API server stopped");
+    }
+
+    public int getPort() {
+        HttpServer s = server;
+        return s != null ? s.getAddress().getPort() : config.port;
+    }
+
+    /**
+     * Latency of each endpoint so far, keyed by "METHOD /path".
+     */
+    public Map<String, LatencyHistogram.Snapshot> getLatencies() {
+        Map<String, LatencyHistogram.Snapshot> latencies = new LinkedHashMap<>();
+        for (Route route : routes) {
+            latencies.put(route.name, route.latency.snapshot());
+        }
+        latencies.put("unmatched", unmatched.snapshot());
+        return latencies;
+    }
+
+    // ==================== DISPATCH ====================
+
+    private void dispatch(HttpExchange exchange) {
+        long start = System.nanoTime();
+        LatencyHistogram latency = unmatched;
+        try (exchange) {
+            String[] path = exchange.getRequestURI().getPath().substring(1).split("/");
+            Route route = null;
+            String param = null;
+            boolean pathKnown = false;
+            for (Route candidate : routes) {
+                String p = candidate.match(path);
+                if (p == null) continue;
+                pathKnown = true;
+                if (candidate.method.equals(exchange.getRequestMethod())) {
+                    route = candidate;
+                    param = p;
+                    break;
+                }
+            }
+            if (route == null) {
+                send(exchange, error(pathKnown ? 405 : 404, pathKnown ? "Method not allowed" : "No such endpoint"));
+                return;
+            }
+            latency = route.latency;
+            send(exchange, run(route, exchange, param));
+        } catch (IOException e) {
+            Log.debug(() -> "⚠ Could not send API response: " + e.getMessage());
+        } finally {
+            latency.record(System.nanoTime() - start);
+        }
+    }
+
+    // Run the endpoint on a work thread so a slow read can be abandoned at the timeout
+    private Reply run(Route route, HttpExchange exchange, String param) {
+        Map<String, Object> body;
+        try {
+            body = "POST".equals(exchange.getRequestMethod()) ? JsonReader.parseObject(readBody(exchange)) : Map.of();
+        } catch (ApiException e) {
+            return error(e.status, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return error(400, e.getMessage());
+        } catch (IOException e) {
+            return error(400, "Could not read request body");
+        }
+        Call call = new Call(exchange, body, param);
+        Future<Reply> work = workThreads.submit(() -> route.endpoint.handle(call));
+        try {
+            return route.timed ? work.get(config.requestTimeoutMillis, TimeUnit.MILLISECONDS) : work.get();
+        } catch (TimeoutException e) {
+            work.cancel(true);
+            timeouts.increment();
+            Log.warn(() -> "⚠ " + route.name + " timed out after " + config.requestTimeoutMillis + " ms");
+            return error(503, "Request timed out");
+        } catch (InterruptedException e) {
+            if (route.timed) work.cancel(true);
+            Thread.currentThread().interrupt();
+            return error(503, "Server shutting down");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ApiException) {
+                ApiException api = (ApiException) cause;
+                return error(api.status, api.getMessage());
+            }
+            failures.increment();
+            Log.error(() -> "✗ " + route.name + " failed: " + cause);
+            return error(500, "Internal error");
+        }
+    }
+
+    private String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] bytes = in.readNBytes(config.maxBodyBytes + 1);
+            if (bytes.length > config.maxBodyBytes) {
+                throw new ApiException(413, "Request body larger than " + config.maxBodyBytes + " bytes");
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    private void send(HttpExchange exchange, Reply reply) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        // length 0: chunked, so the body streams as it is encoded
+        exchange.sendResponseHeaders(reply.status, 0);
+        try (JsonWriter json = new JsonWriter(new BufferedWriter(
+                new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8)))) {
+            reply.body.write(json);
+        }
+    }
+
+    private static Reply ok(Body body) {
+        return new Reply(200, body);
+    }
+
+    private static Reply error(int status, String message) {
+        return new Reply(status, json -> json.beginObject().field("error", message).endObject());
+    }
+
+    // ==================== ENDPOINTS ====================
+
+    private Reply login(Call call) {
+        String source = call.exchange.getRemoteAddress().getAddress().getHostAddress();
+        String token = login.login(call.string("email"), call.string("password"), source);
+        if (token == null) throw new ApiException(401, "Login refused");
+        SessionManager.Session session = login.getSession(token);
+        return ok(json -> {
+            json.beginObject();
+            json.field("token", token);
+            writeSession(json, session);
+            json.endObject();
+        });
+    }
+
+    private Reply logout(Call call) {
+        SessionManager.Session session = call.session();
+        login.logout(session.getToken());
+        return ok(json -> json.beginObject().field("loggedOut", true).endObject());
+    }
+
+    private Reply session(Call call) {
+        SessionManager.Session session = call.session();
+        return ok(json -> {
+            json.beginObject();
+            writeSession(json, session);
+            json.endObject();
+        });
+    }
+
+    private Reply listAccounts(Call call) {
+        SessionManager.Session session = call.session();
+        List<Account> list = accounts.getUserAccounts(session.getCustomerId());
+        return ok(json -> {
+            json.beginArray();
+            for (Account account : list) writeAccount(json, account);
+            json.endArray();
+        });
+    }
+
+    private Reply openAccount(Call call) {
+        SessionManager.Session session = call.session();
+        Customer customer = bank.getCustomerById(session.getCustomerId());
+        if (customer == null) throw new ApiException(404, "Customer not found");
+        String type = call.string("type").toLowerCase();
+        Account account;
+        switch (type) {
+            case "savings":
+                account = accounts.openSavingsAccount(customer);
+                break;
+            case "investment":
+                account = accounts.openInvestmentAccount(customer, call.amount("initialDeposit"));
+                break;
+            case "cheque":
+                account = accounts.openChequeAccount(customer, call.string("employerName"), call.string("employerAddress"));
+                break;
+            default:
+                throw new ApiException(400, "Unknown account type: " + type);
+        }
+        if (account == null) throw new ApiException(422, "Account could not be opened");
+        session.addAccount(account.getAccountNumber());
+        return new Reply(201, json -> writeAccount(json, account));
+    }
+
+    // One page of the account's history, newest first; the reply's "next" goes in ?before= for the page after
+    private Reply accountTransactions(Call call) {
+        Account account = authorizedAccount(call.session(), call.pathParam);
+        Paging.Page<Transaction> page = bank.getTransactionHistory(account.getAccountNumber(),
+            call.cursor("before"), call.queryInt("limit", 50, 500));
+        return ok(json -> {
+            json.beginObject().name("transactions").beginArray();
+            for (Transaction t : page.items) writeTransaction(json, t);
+            json.endArray()
+                .field("next", page.hasMore() ? historyCursor(page.next) : null)
+                .endObject();
+        });
+    }
+
+    // "<date>_<transaction id>": the cursor's DATE sort value and key. IDs contain '_' (TXN_, INT_, ...)
+    // but dates do not, so cursor() splits at the first one
+    private static String historyCursor(Paging.Cursor cursor) {
+        return cursor.value + "_" + cursor.key;
+    }
+
+    private Reply recentTransactions(Call call) {
+        SessionManager.Session session = call.session();
+        List<Transaction> recent = accounts.getRecentTransactionHistory(session.getCustomerId(), call.queryInt("limit", 20, 500));
+        return ok(json -> {
+            json.beginArray();
+            for (Transaction t : recent) writeTransaction(json, t);
+            json.endArray();
+        });
+    }
+
+    private Reply deposit(Call call) {
+        Account account = authorizedAccount(call.session(), call.string("account"));
+        if (!transactions.processDeposit(account, call.amount("amount"))) {
+            throw new ApiException(422, "Deposit was not accepted");
+        }
+        return ok(json -> writeAccount(json, account));
+    }
+
+    private Reply withdraw(Call call) {
+        Account account = authorizedAccount(call.session(), call.string("account"));
+        if (!transactions.processWithdrawal(account, call.amount("amount"))) {
+            throw new ApiException(422, "Withdrawal was not accepted");
+        }
+        return ok(json -> writeAccount(json, account));
+    }
+
+    private Reply transfer(Call call) {
+        SessionManager.Session session = call.session();
+        String from = call.string("from");
+        String to = call.string("to");
+        double amount = call.amount("amount");
+        String description = call.optionalString("description");
+        boolean done = isStaff(session)
+            ? accounts.transferFunds(from, to, amount, description)
+            : accounts.transferFunds(session.getCustomerId(), from, to, amount, description);
+        if (!done) throw new ApiException(422, "Transfer was not completed");
+        return ok(json -> json.beginObject().field("transferred", true).endObject());
+    }
+
+    private Reply metrics(Call call) {
+        if (call.session().getRole() != Role.ADMIN) throw new ApiException(403, "Admins only");
+        Map<String, LatencyHistogram.Snapshot> latencies = getLatencies();
+        SessionManager.Stats sessions = login.getSessionStats();
+        return ok(json -> {
+            json.beginObject();
+            json.name("sessions").beginObject()
+                .field("active", sessions.active)
+                .field("created", sessions.created)
+                .field("expired", sessions.expired)
+                .field("loggedOut", sessions.loggedOut)
+                .endObject();
+            json.field("timeouts", timeouts.sum());
+            json.field("failures", failures.sum());
+            json.name("endpoints").beginObject();
+            for (Map.Entry<String, LatencyHistogram.Snapshot> e : latencies.entrySet()) {
+                LatencyHistogram.Snapshot s = e.getValue();
+                json.name(e.getKey()).beginObject()
+                    .field("count", s.count)
+                    .field("meanMicros", s.meanMicros)
+                    .field("p50Micros", s.p50Micros)
+                    .field("p90Micros", s.p90Micros)
+                    .field("p99Micros", s.p99Micros)
+                    .field("maxMicros", s.maxMicros)
+                    .endObject();
+            }
+            json.endObject();
+            json.endObject();
+        });
+    }
+
+    // ==================== HELPERS ====================
+
+    private static boolean isStaff(SessionManager.Session session) {
+        return session.getRole() == Role.TELLER || session.getRole() == Role.ADMIN;
+    }
+
+    // The account, if the session may act on it; the owner is looked up only when the session does not list it
+    private Account authorizedAccount(SessionManager.Session session, String accountNumber) {
+        if (accountNumber == null || accountNumber.isEmpty()) throw new ApiException(400, "Missing account number");
+        if (!isStaff(session) && !session.ownsAccount(accountNumber)) {
+            Customer owner = bank.getAccountOwner(accountNumber);
+            if (owner == null || !owner.getCustomerId().equals(session.getCustomerId())) {
+                throw new ApiException(404, "Account not found");
+            }
+            session.addAccount(accountNumber);
+        }
+        Account account = bank.getAccount(accountNumber);
+        if (account == null) throw new ApiException(404, "Account not found");
+        return account;
+    }
+
+    private static void writeSession(JsonWriter json, SessionManager.Session session) throws IOException {
+        json.field("customerId", session.getCustomerId());
+        json.field("email", session.getEmail());
+        json.field("role", session.getRole() != null ? session.getRole().name() : null);
+        json.field("expiresAt", session.getExpiresAt());
+    }
+
+    private static void writeAccount(JsonWriter json, Account account) throws IOException {
+        json.beginObject()
+            .field("accountNumber", account.getAccountNumber())
+            .field("type", account.getAccountType())
+            .field("balance", Money.toDecimal(account.getBalanceThebe()))
+            .field("branch", account.getBranch())
+            .field("dateOpened", account.getDateOpened() != null ? account.getDateOpened().toString() : null)
+            .endObject();
+    }
+
+    private static void writeTransaction(JsonWriter json, Transaction t) throws IOException {
+        json.beginObject()
+            .field("transactionId", t.getTransactionId())
+            .field("type", t.getTransactionType())
+            .field("amount", Money.toDecimal(t.getAmountThebe()))
+            .field("date", t.getDate() != null ? t.getDate().toString() : null)
+            .field("accountNumber", t.getAccountNumber())
+            .field("status", t.getStatus())
+            .endObject();
+    }
+}
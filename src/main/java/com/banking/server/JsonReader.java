@@ -0,0 +1,130 @@
+package com.banking.server;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Parses the flat JSON objects the API accepts as request bodies.
+ *
+ * Only what the endpoints need is supported: one object whose members are
+ * strings, numbers, booleans or null. Numbers are read as BigDecimal so
+ * amounts keep their exact decimal value. Anything else is rejected with
+ * an IllegalArgumentException describing where parsing stopped.
+ */
+public final class JsonReader {
+
+    private final String text;
+    private int pos;
+
+    private JsonReader(String text) {
+        this.text = text;
+    }
+
+    /**
+     * Parse a body such as {"email":"a@b.com","amount":12.50}. An empty body
+     * is read as an empty object.
+     */
+    public static Map<String, Object> parseObject(String text) {
+        Map<String, Object> members = new LinkedHashMap<>();
+        if (text == null || text.isBlank()) {
+            return members;
+        }
+        JsonReader reader = new JsonReader(text);
+        reader.expect('{');
+        if (!reader.consume('}')) {
+            do {
+                String name = reader.string();
+                reader.expect(':');
+                members.put(name, reader.value());
+            } while (reader.consume(','));
+            reader.expect('}');
+        }
+        reader.skipWhitespace();
+        if (reader.pos != text.length()) {
+            throw reader.error("trailing content");
+        }
+        return members;
+    }
+
+    private Object value() {
+        skipWhitespace();
+        if (pos >= text.length()) throw error("value expected");
+        char c = text.charAt(pos);
+        if (c == '"') return string();
+        if (c == '-' || (c >= '0' && c <= '9')) return number();
+        if (text.startsWith("true", pos)) { pos += 4; return Boolean.TRUE; }
+        if (text.startsWith("false", pos)) { pos += 5; return Boolean.FALSE; }
+        if (text.startsWith("null", pos)) { pos += 4; return null; }
+        throw error("only strings, numbers, booleans and null are accepted");
+    }
+
+    private BigDecimal number() {
+        int start = pos;
+        while (pos < text.length() && "+-0123456789.eE".indexOf(text.charAt(pos)) >= 0) pos++;
+        try {
+            return new BigDecimal(text.substring(start, pos));
+        } catch (NumberFormatException e) {
+            pos = start;
+            throw error("malformed number");
+        }
+    }
+
+    private String string() {
+        skipWhitespace();
+        if (pos >= text.length() || text.charAt(pos) != '"') throw error("string expected");
+        pos++;
+        StringBuilder sb = new StringBuilder();
+        while (pos < text.length()) {
+            char c = text.charAt(pos++);
+            if (c == '"') return sb.toString();
+            if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+            if (pos >= text.length()) break;
+            char e = text.charAt(pos++);
+            switch (e) {
+                case '"': case '\\': case '/': sb.append(e); break;
+                case 'b': sb.append('\b'); break;
+                case 'f': sb.append('\f'); break;
+                case 'n': sb.append('\n'); break;
+                case 'r': sb.append('\r'); break;
+                case 't': sb.append('\t'); break;
+                case 'u':
+                    if (pos + 4 > text.length()) throw error("bad unicode escape");
+                    try {
+                        sb.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                    } catch (NumberFormatException ex) {
+                        throw error("bad unicode escape");
+                    }
+                    pos += 4;
+                    break;
+                default:
+                    throw error("bad escape");
+            }
+        }
+        throw error("unterminated string");
+    }
+
+    private void expect(char c) {
+        if (!consume(c)) throw error("'" + c + "' expected");
+    }
+
+    private boolean consume(char c) {
+        skipWhitespace();
+        if (pos < text.length() && text.charAt(pos) == c) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private void skipWhitespace() {
+        while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) pos++;
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("Malformed JSON at offset " + pos + ": " + message);
+    }
+}
@@ -0,0 +1,171 @@
+package com.banking.server;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+
+/**
+ * Minimal streaming JSON encoder.
+ *
+ * Values are written straight to the underlying writer as they are
+ * produced, so a response listing many rows never exists as one string.
+ * The writer only tracks where commas go; callers are trusted to open and
+ * close objects and arrays in a valid order.
+ */
+public class JsonWriter implements AutoCloseable {
+
+    private static final int MAX_DEPTH = 32;
+
+    private final Writer out;
+    // per nesting level: has anything been written at this level yet
+    private final boolean[] started = new boolean[MAX_DEPTH];
+    private int depth;
+    private boolean afterName;
+
+    public JsonWriter(Writer out) {
+        this.out = out;
+    }
+
+    public JsonWriter beginObject() throws IOException {
+        open('{');
+        return this;
+    }
+
+    public JsonWriter endObject() throws IOException {
+        close('}');
+        return this;
+    }
+
+    public JsonWriter beginArray() throws IOException {
+        open('[');
+        return this;
+    }
+
+    public JsonWriter endArray() throws IOException {
+        close(']');
+        return this;
+    }
+
+    public JsonWriter name(String name) throws IOException {
+        separate();
+        string(name);
+        out.write(':');
+        afterName = true;
+        return this;
+    }
+
+    public JsonWriter value(String value) throws IOException {
+        separate();
+        if (value == null) {
+            out.write("null");
+        } else {
+            string(value);
+        }
+        return this;
+    }
+
+    public JsonWriter value(long value) throws IOException {
+        separate();
+        out.write(Long.toString(value));
+        return this;
+    }
+
+    public JsonWriter value(boolean value) throws IOException {
+        separate();
+        out.write(value ? "true" : "false");
+        return this;
+    }
+
+    public JsonWriter value(BigDecimal value) throws IOException {
+        separate();
+        out.write(value == null ? "null" : value.toPlainString());
+        return this;
+    }
+
+    public JsonWriter value(double value) throws IOException {
+        separate();
+        out.write(Double.isFinite(value) ? Double.toString(value) : "null");
+        return this;
+    }
+
+    /** Shorthand for name(name).value(value). */
+    public JsonWriter field(String name, String value) throws IOException {
+        return name(name).value(value);
+    }
+
+    public JsonWriter field(String name, long value) throws IOException {
+        return name(name).value(value);
+    }
+
+    public JsonWriter field(String name, boolean value) throws IOException {
+        return name(name).value(value);
+    }
+
+    public JsonWriter field(String name, BigDecimal value) throws IOException {
+        return name(name).value(value);
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void open(char bracket) throws IOException {
+        separate();
+        out.write(bracket);
+        if (++depth >= MAX_DEPTH) {
+            throw new IllegalStateException("JSON nested too deeply");
+        }
+        started[depth] = false;
+    }
+
+    private void close(char bracket) throws IOException {
+        if (depth == 0) {
+            throw new IllegalStateException("Nothing open to close with " + bracket);
+        }
+        depth--;
+        out.write(bracket);
+    }
+
+    // Comma before every value but the first at its level, except right after a name
+    private void separate() throws IOException {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (started[depth]) {
+            out.write(',');
+        }
+        started[depth] = true;
+    }
+
+    private void string(String s) throws IOException {
+        out.write('"');
+        int from = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            String escape;
+            switch (c) {
+                case '"': escape = "\\\""; break;
+                case '\\': escape = "\\\\"; break;
+                case '\n': escape = "\\n"; break;
+                case '\r': escape = "\\r"; break;
+                case '\t': escape = "\\t"; break;
+                default:
+                    // control characters, and the line separators JavaScript rejects in strings
+                    escape = c < 0x20 || c == '\u2028' || c == '\u2029' ? String.format("\\u%04x", (int) c) : null;
+            }
+            if (escape != null) {
+                out.write(s, from, i - from);
+                out.write(escape);
+                from = i + 1;
+            }
+        }
+        out.write(s, from, s.length() - from);
+        out.write('"');
+    }
+}
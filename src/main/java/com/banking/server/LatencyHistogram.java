@@ -0,0 +1,88 @@
+package com.banking.server;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with power-of-two microsecond buckets.
+ *
+ * Bucket i counts latencies in [2^(i-1), 2^i) microseconds (bucket 0 is
+ * under 1 us), so percentiles are reported as the upper bound of the
+ * bucket they fall in: at most twice the true value, which is plenty to
+ * tell a 2 ms endpoint from a 200 ms one. Recording is two LongAdder
+ * increments and a max update, cheap enough for every request.
+ */
+public class LatencyHistogram {
+
+    private static final int BUCKETS = 40;
+
+    /**
+     * Point-in-time view of one histogram.
+     */
+    public static class Snapshot {
+        public final long count;
+        public final long meanMicros;
+        public final long p50Micros;
+        public final long p90Micros;
+        public final long p99Micros;
+        public final long maxMicros;
+
+        Snapshot(long count, long meanMicros, long p50Micros, long p90Micros, long p99Micros, long maxMicros) {
+            this.count = count;
+            this.meanMicros = meanMicros;
+            this.p50Micros = p50Micros;
+            this.p90Micros = p90Micros;
+            this.p99Micros = p99Micros;
+            this.maxMicros = maxMicros;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Latency[count=%d, mean=%dus, p50<=%dus, p90<=%dus, p99<=%dus, max=%dus]",
+                count, meanMicros, p50Micros, p90Micros, p99Micros, maxMicros);
+        }
+    }
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder totalMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) buckets[i] = new LongAdder();
+    }
+
+    public void record(long nanos) {
+        long micros = Math.max(0, nanos / 1000);
+        int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+        buckets[bucket].increment();
+        totalMicros.add(micros);
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            count += counts[i];
+        }
+        long max = maxMicros.get();
+        return new Snapshot(count, count == 0 ? 0 : totalMicros.sum() / count,
+            percentile(counts, count, 0.50, max), percentile(counts, count, 0.90, max),
+            percentile(counts, count, 0.99, max), max);
+    }
+
+    private static long percentile(long[] counts, long count, double p, long max) {
+        if (count == 0) return 0;
+        long rank = (long) Math.ceil(p * count);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                // upper bound of the bucket, but never above what was actually seen
+                return Math.min(max, (1L << i) - 1);
+            }
+        }
+        return max;
+    }
+}
@@ -0,0 +1,100 @@
+package com.banking.service;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializes postings per account without a global lock.
+ *
+ * Account numbers hash onto a fixed set of lock stripes, so two postings on
+ * the same account always run one after the other while unrelated accounts
+ * almost never wait on each other. Operations on two accounts take both
+ * stripes in ascending stripe order, so opposing transfers cannot deadlock.
+ */
+public class AccountLockManager {
+    private static final int DEFAULT_STRIPES = Integer.getInteger("banking.locks.stripes", 256);
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+    private final LongAdder contended = new LongAdder();
+
+    public AccountLockManager() {
+        this(DEFAULT_STRIPES);
+    }
+
+    /**
+     * @param stripeCount number of locks; rounded up to a power of two
+     */
+    public AccountLockManager(int stripeCount) {
+        int size = 1;
+        while (size < stripeCount) {
+            size <<= 1;
+        }
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * Run an action while holding the lock for one account.
+     */
+    public <T> T withLock(String accountNumber, Supplier<T> action) {
+        ReentrantLock lock = stripes[stripeFor(accountNumber)];
+        acquire(lock);
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Run an action while holding the locks for two accounts. The stripes
+     * are always taken lowest index first; if both accounts share a stripe
+     * it is taken once.
+     */
+    public <T> T withLocks(String firstAccount, String secondAccount, Supplier<T> action) {
+        int a = stripeFor(firstAccount);
+        int b = stripeFor(secondAccount);
+        if (a == b) {
+            return withLock(firstAccount, action);
+        }
+        ReentrantLock lower = stripes[Math.min(a, b)];
+        ReentrantLock upper = stripes[Math.max(a, b)];
+        acquire(lower);
+        try {
+            acquire(upper);
+            try {
+                return action.get();
+            } finally {
+                upper.unlock();
+            }
+        } finally {
+            lower.unlock();
+        }
+    }
+
+    int stripeFor(String accountNumber) {
+        Objects.requireNonNull(accountNumber, "accountNumber");
+        int h = accountNumber.hashCode();
+        // spread the high bits so numbers sharing a long prefix still scatter
+        h ^= (h >>> 16);
+        return h & mask;
+    }
+
+    private void acquire(ReentrantLock lock) {
+        if (!lock.tryLock()) {
+            contended.increment();
+            lock.lock();
+        }
+    }
+
+    public int getStripeCount() { return stripes.length; }
+
+    /** Number of acquisitions that had to wait for another posting. */
+    public long getContendedCount() { return contended.sum(); }
+}
@@ -0,0 +1,459 @@
+package com.banking.service;
+
+import com.banking.model.AuditLog;
+import com.banking.persistence.AuditDAO;
+import com.banking.util.Log;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Writes audit entries off the request path.
+ *
+ * Callers enqueue entries on a bounded queue; a background thread writes
+ * them with JDBC batch inserts whenever a batch fills or the flush interval
+ * passes. When the queue is full the overflow policy decides: BLOCK waits
+ * for space, DROP discards the entry and counts it, SPILL appends it to a
+ * local file that is replayed into the database on the next start or
+ * close. Batches that fail to insert are spilled the same way. Replay
+ * removes each batch from the file once it commits; entries the database
+ * rejects outright are moved to a quarantine file next to it. A shutdown
+ * hook drains the queue before the JVM exits.
+ */
+public class AuditWriter {
+
+    public enum Overflow { BLOCK, DROP, SPILL }
+
+    /**
+     * Writer settings, overridable with banking.audit.* system properties.
+     */
+    public static class Config {
+        boolean async = true;
+        int queueCapacity = 10_000;
+        int batchSize = 200;
+        long flushIntervalMillis = 200;
+        Overflow overflow = Overflow.BLOCK;
+        Path spillFile = Paths.get(System.getProperty("java.io.tmpdir"), "banking-audit-spill.log");
+        // null puts it beside the spill file
+        Path quarantineFile;
+
+        public Config async(boolean v) { this.async = v; return this; }
+        public Config queueCapacity(int v) { this.queueCapacity = v; return this; }
+        public Config batchSize(int v) { this.batchSize = v; return this; }
+        public Config flushIntervalMillis(long v) { this.flushIntervalMillis = v; return this; }
+        public Config overflow(Overflow v) { this.overflow = v; return this; }
+        public Config spillFile(Path v) { this.spillFile = v; return this; }
+        public Config quarantineFile(Path v) { this.quarantineFile = v; return this; }
+
+        public static Config fromSystemProperties() {
+            Config c = new Config();
+            c.async = Boolean.parseBoolean(System.getProperty("banking.audit.async", "true"));
+            c.queueCapacity = Integer.getInteger("banking.audit.queueCapacity", c.queueCapacity);
+            c.batchSize = Integer.getInteger("banking.audit.batchSize", c.batchSize);
+            c.flushIntervalMillis = Long.getLong("banking.audit.flushIntervalMs", c.flushIntervalMillis);
+            c.overflow = Overflow.valueOf(System.getProperty("banking.audit.overflow", c.overflow.name()));
+            String spill = System.getProperty("banking.audit.spillFile");
+            if (spill != null) c.spillFile = Paths.get(spill);
+            String quarantine = System.getProperty("banking.audit.quarantineFile");
+            if (quarantine != null) c.quarantineFile = Paths.get(quarantine);
+            return c;
+        }
+    }
+
+    /**
+     * Point-in-time view of the writer counters.
+     */
+    public static class Stats {
+        public final int queueDepth;
+        public final long submitted;
+        public final long written;
+        public final long dropped;
+        public final long spilled;
+        public final long quarantined;
+        public final long batches;
+        public final long averageFlushMicros;
+        public final long maxFlushMicros;
+
+        Stats(int queueDepth, long submitted, long written, long dropped, long spilled, long quarantined, long batches,
+              long averageFlushMicros, long maxFlushMicros) {
+            this.queueDepth = queueDepth;
+            this.submitted = submitted;
+            this.written = written;
+            this.dropped = dropped;
+            this.spilled = spilled;
+            this.quarantined = quarantined;
+            this.batches = batches;
+            this.averageFlushMicros = averageFlushMicros;
+            this.maxFlushMicros = maxFlushMicros;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Audit[queued=%d, submitted=%d, written=%d, dropped=%d, spilled=%d, quarantined=%d, batches=%d, avgFlush=%dus, maxFlush=%dus]",
+                queueDepth, submitted, written, dropped, spilled, quarantined, batches, averageFlushMicros, maxFlushMicros);
+        }
+    }
+
+    private static volatile AuditWriter instance;
+
+    private final Config config;
+    private final AuditDAO auditDAO;
+    private final BlockingQueue<AuditLog> queue;
+    // held while a batch is written, so flush() and the writer thread never interleave
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Thread writerThread;
+    private volatile boolean running = true;
+
+    // entries accepted onto the queue and not yet written or spilled
+    private final AtomicLong unwritten = new AtomicLong();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder spilled = new LongAdder();
+    private final LongAdder quarantined = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder flushMicros = new LongAdder();
+    private final AtomicLong maxFlushMicros = new AtomicLong();
+
+    public AuditWriter(AuditDAO auditDAO, Config config) {
+        this.auditDAO = auditDAO;
+        this.config = config;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, config.queueCapacity));
+        replaySpill();
+        if (config.async) {
+            writerThread = new Thread(this::runWriter, "audit-writer");
+            writerThread.setDaemon(true);
+            writerThread.start();
+        } else {
+            writerThread = null;
+        }
+    }
+
+    /**
+     * Process-wide writer configured from system properties. Drained by a
+     * shutdown hook.
+     */
+    public static AuditWriter getInstance() {
+        AuditWriter local = instance;
+        if (local == null) {
+            synchronized (AuditWriter.class) {
+                local = instance;
+                if (local == null) {
+                    local = new AuditWriter(new AuditDAO(), Config.fromSystemProperties());
+                    AuditWriter writer = local;
+                    Runtime.getRuntime().addShutdownHook(new Thread(writer::close, "audit-writer-shutdown"));
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    /**
+     * Queue an entry for writing.
+     *
+     * @return false if the entry was dropped because the queue was full
+     */
+    public boolean submit(AuditLog log) {
+        if (log == null) return false;
+        submitted.increment();
+        if (writerThread == null || !running) {
+            writeBatch(List.of(log));
+            return true;
+        }
+        unwritten.incrementAndGet();
+        if (queue.offer(log)) {
+            return true;
+        }
+        unwritten.decrementAndGet();
+        switch (config.overflow) {
+            case BLOCK:
+                try {
+                    unwritten.incrementAndGet();
+                    queue.put(log);
+                    return true;
+                } catch (InterruptedException e) {
+                    unwritten.decrementAndGet();
+                    Thread.currentThread().interrupt();
+                    spill(List.of(log));
+                    return true;
+                }
+            case SPILL:
+                spill(List.of(log));
+                return true;
+            default:
+                dropped.increment();
+                return false;
+        }
+    }
+
+    /**
+     * Write everything queued so far before returning. Used before reading
+     * the audit log back so readers see their own entries.
+     */
+    public void flush() {
+        List<AuditLog> batch = new ArrayList<>(config.batchSize);
+        while (queue.drainTo(batch, config.batchSize) > 0) {
+            writeQueued(batch);
+        }
+        // the writer thread may still hold a batch it took before we drained
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (unwritten.get() > 0 && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Stop the background thread and durably write whatever is still queued.
+     */
+    public void close() {
+        if (!running) return;
+        running = false;
+        if (writerThread != null) {
+            writerThread.interrupt();
+            try {
+                writerThread.join(5_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+        replaySpill();
+    }
+
+    public Stats getStats() {
+        long b = batches.sum();
+        return new Stats(queue.size(), submitted.sum(), written.sum(), dropped.sum(), spilled.sum(), quarantined.sum(), b,
+            b == 0 ? 0 : flushMicros.sum() / b, maxFlushMicros.get());
+    }
+
+    private void runWriter() {
+        List<AuditLog> batch = new ArrayList<>(config.batchSize);
+        while (running) {
+            try {
+                AuditLog first = queue.poll(config.flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                // give a burst a moment to fill the batch before writing
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.flushIntervalMillis);
+                while (batch.size() < config.batchSize) {
+                    queue.drainTo(batch, config.batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= config.batchSize || remaining <= 0) break;
+                    AuditLog next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // close() interrupts us; write what we hold and let close() drain the rest
+            }
+            if (!batch.isEmpty()) {
+                writeQueued(batch);
+            }
+        }
+    }
+
+    // Write a batch taken off the queue and clear it
+    private void writeQueued(List<AuditLog> batch) {
+        writeBatch(batch);
+        unwritten.addAndGet(-batch.size());
+        batch.clear();
+    }
+
+    private void writeBatch(List<AuditLog> batch) {
+        writeLock.lock();
+        try {
+            long start = System.nanoTime();
+            auditDAO.createBatch(batch);
+            long micros = (System.nanoTime() - start) / 1_000;
+            written.add(batch.size());
+            batches.increment();
+            flushMicros.add(micros);
+            maxFlushMicros.accumulateAndGet(micros, Math::max);
+        } catch (SQLException e) {
+            Log.error(() -> "✗ Error writing audit batch of " + batch.size() + ": " + e.getMessage());
+            spill(batch);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // ==================== SPILL FILE ====================
+
+    private synchronized void spill(List<AuditLog> logs) {
+        try (BufferedWriter out = Files.newBufferedWriter(config.spillFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (AuditLog log : logs) {
+                out.write(encode(log));
+                out.newLine();
+            }
+            spilled.add(logs.size());
+        } catch (IOException e) {
+            Log.error(() -> "✗ Could not spill " + logs.size() + " audit entries: " + e.getMessage());
+            dropped.add(logs.size());
+        }
+    }
+
+    // Write spilled entries to the database a batch at a time, rewriting the
+    // file without each batch once it commits, so a later failure never makes
+    // the next replay insert the same rows again
+    private synchronized void replaySpill() {
+        if (config.spillFile == null || !Files.exists(config.spillFile)) return;
+        long replayed = 0;
+        try {
+            List<String> lines = new ArrayList<>(Files.readAllLines(config.spillFile, StandardCharsets.UTF_8));
+            lines.removeIf(String::isEmpty);
+            while (!lines.isEmpty()) {
+                List<String> batch = lines.subList(0, Math.min(lines.size(), config.batchSize));
+                int count = replayBatch(batch);
+                written.add(count);
+                replayed += count;
+                batch.clear();
+                rewriteSpill(lines);
+            }
+            Files.deleteIfExists(config.spillFile);
+        } catch (IOException | SQLException e) {
+            Log.warn(() -> "⚠ Warning: spilled audit entries not replayed yet: " + e.getMessage());
+        }
+        if (replayed > 0) {
+            long count = replayed;
+            Log.info(() -> "✓ Replayed " + count + " spilled audit entries");
+        }
+    }
+
+    // Insert one batch of spilled lines, returning how many rows were written.
+    // A batch the database rejects on a constraint is retried row by row:
+    // duplicates of rows already written are skipped, the rest quarantined.
+    // Any other failure propagates and leaves the batch in the spill file.
+    private int replayBatch(List<String> lines) throws IOException, SQLException {
+        List<AuditLog> logs = new ArrayList<>(lines.size());
+        List<String> rejected = new ArrayList<>();
+        for (String line : lines) {
+            try {
+                logs.add(decode(line));
+            } catch (RuntimeException e) {
+                rejected.add(line);
+            }
+        }
+        try {
+            auditDAO.createBatch(logs);
+            quarantine(rejected);
+            return logs.size();
+        } catch (SQLException e) {
+            if (!isConstraintViolation(e)) throw e;
+        }
+        int count = 0;
+        for (AuditLog log : logs) {
+            try {
+                auditDAO.createBatch(List.of(log));
+                count++;
+            } catch (SQLException e) {
+                if (!isConstraintViolation(e)) throw e;
+                if (!isDuplicateKey(e)) rejected.add(encode(log));
+            }
+        }
+        quarantine(rejected);
+        return count;
+    }
+
+    private void rewriteSpill(List<String> remaining) throws IOException {
+        if (remaining.isEmpty()) {
+            Files.deleteIfExists(config.spillFile);
+            return;
+        }
+        Path temp = config.spillFile.resolveSibling(config.spillFile.getFileName() + ".tmp");
+        Files.write(temp, remaining, StandardCharsets.UTF_8);
+        Files.move(temp, config.spillFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void quarantine(List<String> lines) throws IOException {
+        if (lines.isEmpty()) return;
+        Path file = config.quarantineFile != null ? config.quarantineFile
+            : config.spillFile.resolveSibling(config.spillFile.getFileName() + ".quarantine");
+        Files.write(file, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        quarantined.add(lines.size());
+        Log.error(() -> "✗ Moved " + lines.size() + " unwritable audit entries to " + file);
+    }
+
+    // Integrity constraint violations (SQLState class 23): retrying the same row never helps
+    private static boolean isConstraintViolation(SQLException e) {
+        String state = e.getSQLState();
+        return state != null && state.startsWith("23");
+    }
+
+    private static boolean isDuplicateKey(SQLException e) {
+        return "23505".equals(e.getSQLState()) || e.getErrorCode() == 1062;
+    }
+
+    // One entry per line: tab-separated fields with \\, \t, \n, \r escaped and \0 for null
+    static String encode(AuditLog log) {
+        String[] fields = { log.getId(), log.getTimestamp() == null ? null : log.getTimestamp().toString(),
+            log.getActorId(), log.getActorEmail(), log.getActionType(), log.getTargetType(),
+            log.getTargetId(), log.getDetails(), log.getStatus() };
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) sb.append('\t');
+            String f = fields[i];
+            if (f == null) {
+                sb.append("\\0");
+                continue;
+            }
+            for (int j = 0; j < f.length(); j++) {
+                char c = f.charAt(j);
+                switch (c) {
+                    case '\\': sb.append("\\\\"); break;
+                    case '\t': sb.append("\\t"); break;
+                    case '\n': sb.append("\\n"); break;
+                    case '\r': sb.append("\\r"); break;
+                    default: sb.append(c);
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    static AuditLog decode(String line) {
+        String[] fields = line.split("\t", -1);
+        String[] v = new String[9];
+        for (int i = 0; i < v.length && i < fields.length; i++) {
+            v[i] = unescape(fields[i]);
+        }
+        return new AuditLog(v[0], v[2], v[3], v[4], v[5], v[6], v[7], v[8],
+            v[1] == null ? null : LocalDateTime.parse(v[1]));
+    }
+
+    private static String unescape(String f) {
+        if (f.equals("\\0")) return null;
+        StringBuilder sb = new StringBuilder(f.length());
+        for (int i = 0; i < f.length(); i++) {
+            char c = f.charAt(i);
+            if (c == '\\' && i + 1 < f.length()) {
+                char n = f.charAt(++i);
+                sb.append(n == 't' ? '\t' : n == 'n' ? '\n' : n == 'r' ? '\r' : n);
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
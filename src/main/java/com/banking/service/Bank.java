@@ -2,38 +2,72 @@ package com.banking.service;
 
 import com.banking.model.*;
 import com.banking.persistence.*;
+import com.banking.util.IdGenerator;
+import com.banking.util.Log;
+import com.banking.util.Paging;
 import java.util.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.UUID;
+import java.time.YearMonth;
 
 public class Bank {
     private String bankName;
     private DatabaseManager dbManager;
+    private final AccountLockManager accountLocks = new AccountLockManager();
+    private final TransferService transferService = new TransferService(accountLocks);
+    private final InterestRunEngine interestEngine = new InterestRunEngine();
+    private final AuditWriter auditWriter = AuditWriter.getInstance();
+    private final BankStatistics statistics = BankStatistics.getInstance();
+    private final SessionManager sessions = SessionManager.getInstance();
+    // read-through caches; every write through this bank invalidates what it touched
+    private final BoundedCache<String, Account> accountCache;
+    private final BoundedCache<String, List<Account>> customerAccountsCache;
+    private final BoundedCache<String, Customer> customerCache;
+    private final BoundedCache<String, List<Customer>> allCustomersCache;
+    // account number -> owning customer id; the customer itself comes from customerCache
+    private final BoundedCache<String, String> accountOwnerCache;
+    private static final String ALL_CUSTOMERS = "*";
     
     public Bank(String bankName) {
+        this(bankName, BoundedCache.Config.fromSystemProperties());
+    }
+    
+    public Bank(String bankName, BoundedCache.Config cacheConfig) {
         this.bankName = bankName;
         this.dbManager = new DatabaseManager();
+        // callers change what they get (postings, profile edits), so every read hands out a copy
+        this.accountCache = new BoundedCache<>("accounts", cacheConfig, Account::copy);
+        this.customerAccountsCache = new BoundedCache<>("customerAccounts", cacheConfig, Bank::copyAccounts);
+        this.customerCache = new BoundedCache<>("customers", cacheConfig, Customer::copy);
+        this.allCustomersCache = new BoundedCache<>("allCustomers", cacheConfig, Bank::copyCustomers);
+        this.accountOwnerCache = new BoundedCache<>("accountOwners", cacheConfig);
+        // interest runs credit balances in SQL, so drop every cached balance after each commit
+        interestEngine.addPostingListener(this::invalidateAllAccounts);
+        interestEngine.addPostingListener(statistics::markStale);
     }
     
     public void addCustomer(Customer customer) {
         if (customer != null) {
             if (dbManager.saveCustomer(customer)) {
-                System.out.println("✓ Customer " + customer.getCustomerId() + " saved to database");
+                invalidateCustomer(customer.getCustomerId());
+                statistics.customerAdded();
+                Log.debug(() -> "✓ Customer " + customer.getCustomerId() + " saved to database");
             }
         }
     }
     
     public Account openAccount(Customer customer, String accountType) {
         if (customer == null) {
-            System.out.println("✗ Customer not found");
+            Log.warn("✗ Customer not found");
             return null;
         }
         
         // Ensure customer is in database
         Customer dbCustomer = dbManager.getCustomer(customer.getCustomerId());
         if (dbCustomer == null) {
-            dbManager.saveCustomer(customer);
+            if (dbManager.saveCustomer(customer)) {
+                statistics.customerAdded();
+            }
             dbCustomer = customer;
         }
         
@@ -52,7 +86,7 @@ public class Bank {
                 account = new ChequeAccount(accountNumber, dbCustomer, "", "");
                 break;
             default:
-                System.out.println("✗ Unknown account type");
+                Log.warn("✗ Unknown account type");
                 return null;
         }
         
@@ -60,103 +94,360 @@ public class Bank {
             account.setDateOpened(LocalDate.now());
             if (dbManager.saveAccount(account)) {
                 dbCustomer.addAccount(account);
-                System.out.println("✓ " + accountType + " account " + accountNumber + " saved to database");
+                invalidateCustomer(dbCustomer.getCustomerId());
+                statistics.accountOpened(account.getAccountType(), account.getBalanceThebe());
+                Log.debug(() -> "✓ " + accountType + " account " + accountNumber + " saved to database");
             }
         }
         
         return account;
     }
     
-    public void processMonthlyInterest() {
-        System.out.println("\n--- Processing Monthly Interest ---");
-        List<Account> accounts = getAllAccounts();
-        for (Account account : accounts) {
-            account.payInterest();
-            dbManager.updateAccount(account);
-        }
+    /**
+     * Pay this month's interest on every account. Safe to call again: a run
+     * that was interrupted resumes, and a completed month is not paid twice.
+     */
+    public InterestRunEngine.Result processMonthlyInterest() {
+        Log.info("\n--- Processing Monthly Interest ---");
+        return interestEngine.run(YearMonth.now());
     }
     
     public Customer getCustomerById(String customerId) {
-        return dbManager.getCustomer(customerId);
+        return customerCache.get(customerId, dbManager::getCustomer);
     }
     
+    /**
+     * Look up a customer by email with a single query on the unique
+     * idx_customer_email index. The returned customer is shallow: accounts
+     * are not attached.
+     */
     public Customer getCustomerByEmail(String email) {
-        List<Customer> customers = dbManager.getAllCustomers();
-        return customers.stream()
-            .filter(c -> c.getEmail().equals(email))
-            .findFirst()
-            .orElse(null);
+        if (email == null) return null;
+        return dbManager.findCustomerByEmail(email);
     }
 
     public boolean updateCustomer(Customer customer) {
-        return dbManager.updateCustomer(customer);
+        boolean updated = dbManager.updateCustomer(customer);
+        if (customer != null) {
+            invalidateCustomer(customer.getCustomerId());
+            if (updated) sessions.refreshCustomer(customer);
+        }
+        return updated;
     }
     
     public boolean deleteCustomer(String customerId) {
-        return dbManager.deleteCustomer(customerId);
+        boolean deleted = dbManager.deleteCustomer(customerId);
+        invalidateCustomer(customerId);
+        if (deleted) {
+            statistics.customerRemoved();
+            sessions.invalidateCustomer(customerId);
+        }
+        return deleted;
     }
-    
+
     private String generateAccountNumber(String type) {
-        return type.substring(0, 3).toUpperCase() + "_" + System.nanoTime();
+        return IdGenerator.next(type.substring(0, 3).toUpperCase() + "_");
     }
     
     public List<Customer> getAllCustomers() {
-        return dbManager.getAllCustomers();
+        List<Customer> customers = allCustomersCache.get(ALL_CUSTOMERS, k -> dbManager.getAllCustomers());
+        return customers != null ? customers : new ArrayList<>();
     }
     
+    /**
+     * Get every account with its owner. Transactions are not attached; use
+     * getTransactionHistory for a single account's history.
+     */
     public List<Account> getAllAccounts() {
-        return dbManager.getCustomerAccounts("*");
+        return dbManager.getAllAccounts(false);
+    }
+
+    /**
+     * One page of accounts with their owners, read straight from the
+     * database in the requested order. Pass the previous page's next
+     * cursor to continue, or null for the first page.
+     */
+    public Paging.Page<Account> getAccountPage(Paging.Cursor after, int limit, Paging.Sort sort, String filter) {
+        return dbManager.getAccountPage(after, limit, sort, filter);
+    }
+
+    /**
+     * One page of customers, without their accounts, in the requested order.
+     */
+    public Paging.Page<Customer> getCustomerPage(Paging.Cursor after, int limit, Paging.Sort sort, String filter) {
+        return dbManager.getCustomerPage(after, limit, sort, filter);
+    }
+
+    /**
+     * Account numbers for each of the given customers, in one query.
+     */
+    public Map<String, List<String>> getAccountNumbersByCustomer(List<String> customerIds) {
+        return dbManager.getAccountNumbersByCustomer(customerIds);
+    }
+
+    /**
+     * One page of the transactions across all of a customer's accounts.
+     */
+    public Paging.Page<Transaction> getCustomerTransactionPage(String customerId, Paging.Cursor after, int limit, Paging.Sort sort, String filter) {
+        return dbManager.getCustomerTransactionPage(customerId, after, limit, sort, filter);
     }
     
     /**
      * Get all accounts - workaround to fetch all accounts from all customers
      */
     public List<Account> getAllAccountsForCustomer(String customerId) {
-        return dbManager.getCustomerAccounts(customerId);
+        List<Account> accounts = customerAccountsCache.get(customerId, dbManager::getCustomerAccounts);
+        return accounts != null ? accounts : new ArrayList<>();
     }
     
+    /**
+     * Transfer funds atomically: both balances and both transaction records
+     * are committed together or not at all.
+     */
+    public boolean transfer(Account fromAccount, Account toAccount, double amount) {
+        try {
+            boolean moved = transferService.transfer(fromAccount, toAccount, amount);
+            if (moved) {
+                long thebe = Money.toThebe(amount);
+                statistics.balanceChanged(fromAccount.getAccountType(), -thebe);
+                statistics.balanceChanged(toAccount.getAccountType(), thebe);
+            }
+            return moved;
+        } finally {
+            invalidateAccount(fromAccount);
+            invalidateAccount(toAccount);
+        }
+    }
+
+    /**
+     * Post a deposit (positive delta) or withdrawal (negative delta) and its
+     * transaction record in one database transaction, relative to the stored
+     * balance. Call while holding the account's lock.
+     */
+    public boolean post(Account account, long deltaThebe, Transaction transaction) {
+        try {
+            boolean posted = transferService.post(account, deltaThebe, transaction);
+            if (posted) {
+                statistics.balanceChanged(account.getAccountType(), deltaThebe);
+            }
+            return posted;
+        } finally {
+            invalidateAccount(account);
+        }
+    }
+
+    public TransferService getTransferService() {
+        return transferService;
+    }
+
+    public InterestRunEngine getInterestEngine() {
+        return interestEngine;
+    }
+
+    /**
+     * Per-account locks shared by every posting path in this bank.
+     */
+    public AccountLockManager getAccountLocks() {
+        return accountLocks;
+    }
+
+    /**
+     * Reload an account's balance from the database so a posting starts from
+     * the committed value rather than whatever this copy last saw. Call while
+     * holding the account's lock.
+     */
+    public void refreshBalance(Account account) {
+        Long thebe = dbManager.getAccountBalance(account.getAccountNumber());
+        if (thebe != null) {
+            account.setBalanceThebe(thebe);
+        }
+    }
+
     public void recordTransaction(Transaction transaction) {
         dbManager.saveTransaction(transaction);
     }
 
     /**
-     * Persist updates to an account
+     * Persist updates to an account whose balance the caller changed by a
+     * known amount; the statistics take the delta as transfer() reports it.
+     */
+    public boolean updateAccount(Account account, long deltaThebe) {
+        boolean updated = dbManager.updateAccount(account);
+        invalidateAccount(account);
+        if (updated) {
+            statistics.balanceChanged(account.getAccountType(), deltaThebe);
+        }
+        return updated;
+    }
+
+    /**
+     * Persist updates to an account. The balance change is not known here,
+     * so the statistics reload on their next snapshot.
      */
     public boolean updateAccount(Account account) {
-        return dbManager.updateAccount(account);
+        boolean updated = dbManager.updateAccount(account);
+        invalidateAccount(account);
+        if (updated) {
+            statistics.markStale();
+        }
+        return updated;
     }
     
     public List<Transaction> getTransactionHistory(String accountNumber) {
         return dbManager.getAccountTransactions(accountNumber);
     }
 
+    /**
+     * One page of an account's history, newest first; pass the previous
+     * page's next cursor to continue, or null to start from the newest.
+     */
+    public Paging.Page<Transaction> getTransactionHistory(String accountNumber, Paging.Cursor before, int limit) {
+        return dbManager.getAccountTransactionPage(accountNumber, before, limit);
+    }
+
     /**
      * Get a single account by account number
      */
     public Account getAccount(String accountNumber) {
-        return dbManager.getAccount(accountNumber);
+        return accountCache.get(accountNumber, dbManager::getAccount);
+    }
+    
+    /**
+     * Read two accounts fresh from the database by primary key in one round
+     * trip, bypassing the cache, for use in a posting. Missing accounts are
+     * absent from the map.
+     */
+    public Map<String, Account> getAccountPair(String firstNumber, String secondNumber) {
+        return dbManager.getAccountPair(firstNumber, secondNumber);
     }
     
     /**
      * Delete an account by account number
      */
     public boolean deleteAccount(String accountNumber) {
-        return dbManager.deleteAccount(accountNumber);
+        String ownerId = accountOwnerCache.get(accountNumber, dbManager::getAccountOwnerId);
+        Account existing = dbManager.getAccount(accountNumber);
+        boolean deleted = dbManager.deleteAccount(accountNumber);
+        accountOwnerCache.invalidate(accountNumber);
+        accountCache.invalidate(accountNumber);
+        if (deleted && existing != null) {
+            statistics.accountClosed(existing.getAccountType(), existing.getBalanceThebe());
+        }
+        if (deleted) {
+            sessions.removeAccount(ownerId, accountNumber);
+        }
+        if (ownerId != null) {
+            invalidateCustomer(ownerId);
+        } else {
+            invalidateAllCustomers();
+        }
+        return deleted;
+    }
+
+    private static List<Account> copyAccounts(List<Account> accounts) {
+        List<Account> copies = new ArrayList<>(accounts.size());
+        for (Account account : accounts) copies.add(account.copy());
+        return copies;
+    }
+
+    private static List<Customer> copyCustomers(List<Customer> customers) {
+        List<Customer> copies = new ArrayList<>(customers.size());
+        for (Customer customer : customers) copies.add(customer.copy());
+        return copies;
+    }
+
+    // Drop an account and every cached aggregate that embeds it
+    private void invalidateAccount(Account account) {
+        if (account == null) return;
+        accountCache.invalidate(account.getAccountNumber());
+        Customer owner = account.getCustomer();
+        if (owner != null && owner.getCustomerId() != null) {
+            invalidateCustomer(owner.getCustomerId());
+        } else {
+            invalidateAllCustomers();
+        }
+    }
+
+    private void invalidateCustomer(String customerId) {
+        customerCache.invalidate(customerId);
+        customerAccountsCache.invalidate(customerId);
+        allCustomersCache.invalidateAll();
+    }
+
+    private void invalidateAllCustomers() {
+        customerCache.invalidateAll();
+        customerAccountsCache.invalidateAll();
+        allCustomersCache.invalidateAll();
+    }
+
+    private void invalidateAllAccounts() {
+        accountCache.invalidateAll();
+        invalidateAllCustomers();
+    }
+
+    /**
+     * Running bank-wide counts and balances for the admin dashboard.
+     */
+    public BankStatistics getStatistics() {
+        return statistics;
     }
 
     /**
-     * Record an audit log entry.
+     * Hit/miss/eviction counters for each cache.
+     */
+    public List<BoundedCache.Stats> getCacheStats() {
+        return List.of(accountCache.getStats(), customerAccountsCache.getStats(),
+            customerCache.getStats(), allCustomersCache.getStats(), accountOwnerCache.getStats());
+    }
+
+    /**
+     * Resolve the customer who owns an account. The owner's id is served from
+     * memory after the first lookup and the customer from the customer cache,
+     * so posting paths do not scan customers to find the actor.
+     */
+    public Customer getAccountOwner(String accountNumber) {
+        String customerId = accountOwnerCache.get(accountNumber, dbManager::getAccountOwnerId);
+        return customerId != null ? getCustomerById(customerId) : null;
+    }
+
+    /**
+     * Record an audit log entry. The entry is queued and written in the
+     * background; returns false only if it had to be dropped.
      */
     public boolean logAction(String actorId, String actorEmail, String actionType, String targetType, String targetId, String details, String status) {
         com.banking.model.AuditLog log = new com.banking.model.AuditLog(
-            UUID.randomUUID().toString(), actorId, actorEmail, actionType, targetType, targetId, details, status, LocalDateTime.now()
+            IdGenerator.nextId(), actorId, actorEmail, actionType, targetType, targetId, details, status, LocalDateTime.now()
         );
-        return dbManager.saveAuditLog(log);
+        return auditWriter.submit(log);
     }
 
     public java.util.List<com.banking.model.AuditLog> getAuditLogs() {
+        // make entries still queued visible to the reader
+        auditWriter.flush();
         return dbManager.getAllAuditLogs();
     }
+
+    /**
+     * One page of audit entries, newest first. Pass the previous page's
+     * next cursor to continue; null starts from the newest entry.
+     */
+    public Paging.Page<AuditLog> getAuditLogPage(Paging.Cursor cursor, int limit, AuditDAO.Filter filter) {
+        return getAuditLogPage(cursor, limit, filter, true);
+    }
+
+    /**
+     * One page of audit entries, newest or oldest first.
+     */
+    public Paging.Page<AuditLog> getAuditLogPage(Paging.Cursor cursor, int limit, AuditDAO.Filter filter, boolean newestFirst) {
+        if (cursor == null) {
+            auditWriter.flush();
+        }
+        return dbManager.getAuditLogPage(cursor, limit, filter, newestFirst);
+    }
+
+    public AuditWriter getAuditWriter() {
+        return auditWriter;
+    }
     
     public String getBankName() { return bankName; }
 }
@@ -0,0 +1,234 @@
+package com.banking.service;
+
+import com.banking.model.Money;
+import com.banking.persistence.AccountDAO;
+import com.banking.persistence.CustomerDAO;
+import com.banking.util.Log;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bank-wide counts and balance totals kept as running aggregates.
+ *
+ * The totals are loaded once with a single GROUP BY ACCOUNT_TYPE query and
+ * then moved by the events Bank reports as it writes: customers added or
+ * removed, accounts opened or closed, and balance changes. Reading a
+ * snapshot does not touch the database. Changes Bank cannot describe
+ * precisely (interest runs credit balances in SQL) mark the totals stale,
+ * and the next snapshot reloads them. A background reconcile repeats the
+ * query on an interval to correct drift, e.g. from writes made by another
+ * process or racing the reload itself.
+ */
+public final class BankStatistics {
+    private static final long RECONCILE_INTERVAL_MS = Long.getLong("banking.stats.reconcileMs", 300_000);
+
+    /** Count and balance total for one account type. */
+    public static class TypeTotals {
+        public static final TypeTotals ZERO = new TypeTotals(0, 0);
+
+        public final long count;
+        public final long balanceThebe;
+
+        TypeTotals(long count, long balanceThebe) {
+            this.count = count;
+            this.balanceThebe = balanceThebe;
+        }
+
+        public double getBalance() {
+            return Money.toPula(balanceThebe);
+        }
+    }
+
+    /**
+     * Point-in-time view of the aggregates.
+     */
+    public static class Snapshot {
+        public final long customers;
+        public final long accounts;
+        public final long totalBalanceThebe;
+        public final Map<String, TypeTotals> byType;
+        public final LocalDateTime reconciledAt;
+
+        Snapshot(long customers, Map<String, TypeTotals> byType, LocalDateTime reconciledAt) {
+            long accounts = 0;
+            long balance = 0;
+            for (TypeTotals t : byType.values()) {
+                accounts += t.count;
+                balance += t.balanceThebe;
+            }
+            this.customers = customers;
+            this.accounts = accounts;
+            this.totalBalanceThebe = balance;
+            this.byType = Collections.unmodifiableMap(byType);
+            this.reconciledAt = reconciledAt;
+        }
+
+        /** Totals for a stored account type, e.g. "Savings Account". */
+        public TypeTotals forType(String accountType) {
+            return byType.getOrDefault(accountType, TypeTotals.ZERO);
+        }
+
+        public double getTotalBalance() {
+            return Money.toPula(totalBalanceThebe);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Stats[customers=%d, accounts=%d, balance=BWP %s, types=%d]",
+                customers, accounts, Money.format(totalBalanceThebe), byType.size());
+        }
+    }
+
+    private static final class Totals {
+        final LongAdder count = new LongAdder();
+        final LongAdder balanceThebe = new LongAdder();
+    }
+
+    // replaced as a whole on reconcile so readers never see a half-loaded state
+    private static final class State {
+        final Map<String, Totals> byType = new ConcurrentHashMap<>();
+        final LongAdder customers = new LongAdder();
+        final LocalDateTime reconciledAt = LocalDateTime.now();
+    }
+
+    private static volatile BankStatistics instance;
+
+    private final AccountDAO accountDAO;
+    private final CustomerDAO customerDAO;
+    private final Object reconcileLock = new Object();
+    private volatile State state;
+    private volatile boolean stale;
+
+    public BankStatistics(AccountDAO accountDAO, CustomerDAO customerDAO, long reconcileIntervalMillis) {
+        this.accountDAO = accountDAO;
+        this.customerDAO = customerDAO;
+        if (reconcileIntervalMillis > 0) {
+            ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "bank-stats-reconcile");
+                t.setDaemon(true);
+                return t;
+            });
+            scheduler.scheduleWithFixedDelay(() -> {
+                if (state != null) reconcile();
+            }, reconcileIntervalMillis, reconcileIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Process-wide statistics, reconciled every banking.stats.reconcileMs.
+     */
+    public static BankStatistics getInstance() {
+        BankStatistics local = instance;
+        if (local == null) {
+            synchronized (BankStatistics.class) {
+                local = instance;
+                if (local == null) {
+                    local = new BankStatistics(new AccountDAO(), new CustomerDAO(), RECONCILE_INTERVAL_MS);
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    /**
+     * Current totals; reloads them first only if they were never loaded or
+     * have been marked stale.
+     */
+    public Snapshot snapshot() {
+        if (state == null || stale) {
+            reconcile();
+        }
+        State current = state;
+        if (current == null) {
+            return new Snapshot(0, new TreeMap<>(), null);
+        }
+        Map<String, TypeTotals> byType = new TreeMap<>();
+        current.byType.forEach((type, t) -> byType.put(type, new TypeTotals(t.count.sum(), t.balanceThebe.sum())));
+        return new Snapshot(current.customers.sum(), byType, current.reconciledAt);
+    }
+
+    /**
+     * Reload the totals from the database.
+     *
+     * @return false if the query failed; the previous totals are kept
+     */
+    public boolean reconcile() {
+        synchronized (reconcileLock) {
+            // cleared before reading, so a markStale() during the queries survives to the next snapshot
+            stale = false;
+            try {
+                State fresh = new State();
+                for (AccountDAO.TypeTotals t : accountDAO.readTotalsByType()) {
+                    Totals totals = new Totals();
+                    totals.count.add(t.count);
+                    totals.balanceThebe.add(t.balanceThebe);
+                    fresh.byType.put(t.accountType, totals);
+                }
+                fresh.customers.add(customerDAO.count());
+                state = fresh;
+                return true;
+            } catch (SQLException e) {
+                stale = true;
+                Log.warn(() -> "⚠ Warning: could not reconcile bank statistics: " + e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    public void customerAdded() {
+        State current = state;
+        if (current != null) current.customers.increment();
+    }
+
+    public void customerRemoved() {
+        State current = state;
+        if (current != null) current.customers.decrement();
+    }
+
+    public void accountOpened(String accountType, long balanceThebe) {
+        Totals totals = totalsFor(accountType);
+        if (totals != null) {
+            totals.count.increment();
+            totals.balanceThebe.add(balanceThebe);
+        }
+    }
+
+    public void accountClosed(String accountType, long balanceThebe) {
+        Totals totals = totalsFor(accountType);
+        if (totals != null) {
+            totals.count.decrement();
+            totals.balanceThebe.add(-balanceThebe);
+        }
+    }
+
+    public void balanceChanged(String accountType, long deltaThebe) {
+        Totals totals = totalsFor(accountType);
+        if (totals != null && deltaThebe != 0) {
+            totals.balanceThebe.add(deltaThebe);
+        }
+    }
+
+    /**
+     * Balances changed in ways that were not reported one by one; the next
+     * snapshot reloads from the database.
+     */
+    public void markStale() {
+        stale = true;
+    }
+
+    // null until the first load: there is nothing to adjust yet
+    private Totals totalsFor(String accountType) {
+        State current = state;
+        if (current == null || accountType == null) return null;
+        return current.byType.computeIfAbsent(accountType, t -> new Totals());
+    }
+}
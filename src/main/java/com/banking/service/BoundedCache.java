@@ -0,0 +1,185 @@
+package com.banking.service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Size- and age-bounded read-through cache.
+ *
+ * Values are loaded by the caller's function on a miss and kept until they
+ * expire, are pushed out as the least recently used entry, or are
+ * invalidated. Loads run outside the cache lock; a load that overlaps an
+ * invalidation is returned to its caller but not cached, so a write can
+ * never be hidden by a read that started before it. Null results are not
+ * cached. When disabled every call goes straight to the loader.
+ *
+ * Values that callers may modify are cached with a copier: every get then
+ * returns a fresh copy, so the cached instance itself is never handed out
+ * and cannot pick up changes that were not committed.
+ */
+public class BoundedCache<K, V> {
+
+    /**
+     * Cache settings, overridable with banking.cache.* system properties.
+     */
+    public static class Config {
+        boolean enabled = true;
+        int maxEntries = 10_000;
+        long ttlMillis = 30_000;
+
+        public Config enabled(boolean v) { this.enabled = v; return this; }
+        public Config maxEntries(int v) { this.maxEntries = v; return this; }
+        public Config ttlMillis(long v) { this.ttlMillis = v; return this; }
+
+        public static Config fromSystemProperties() {
+            Config c = new Config();
+            c.enabled = Boolean.parseBoolean(System.getProperty("banking.cache.enabled", "true"));
+            c.maxEntries = Integer.getInteger("banking.cache.maxEntries", c.maxEntries);
+            c.ttlMillis = Long.getLong("banking.cache.ttlMs", c.ttlMillis);
+            return c;
+        }
+    }
+
+    /**
+     * Point-in-time view of the cache counters.
+     */
+    public static class Stats {
+        public final String name;
+        public final int size;
+        public final long hits;
+        public final long misses;
+        public final long evictions;
+        public final long invalidations;
+
+        Stats(String name, int size, long hits, long misses, long evictions, long invalidations) {
+            this.name = name;
+            this.size = size;
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.invalidations = invalidations;
+        }
+
+        public double getHitRatio() {
+            long lookups = hits + misses;
+            return lookups > 0 ? (double) hits / lookups : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Cache[%s: size=%d, hits=%d, misses=%d, hitRatio=%.2f, evictions=%d, invalidations=%d]",
+                name, size, hits, misses, getHitRatio(), evictions, invalidations);
+        }
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final long expiresAt;
+
+        Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final String name;
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final UnaryOperator<V> copier;
+    private final Map<K, Entry<V>> entries;
+    // bumped by every invalidation; a load only caches if it did not change meanwhile
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public BoundedCache(String name, Config config) {
+        this(name, config, UnaryOperator.identity());
+    }
+
+    public BoundedCache(String name, Config config, UnaryOperator<V> copier) {
+        this.name = name;
+        this.copier = copier;
+        this.enabled = config.enabled;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(config.ttlMillis);
+        int maxEntries = config.maxEntries;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<K, Entry<V>>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        });
+    }
+
+    /**
+     * Get the value for a key, loading it with the given function on a miss.
+     */
+    public V get(K key, Function<K, V> loader) {
+        if (!enabled || key == null) {
+            return loader.apply(key);
+        }
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            if (System.nanoTime() - entry.expiresAt < 0) {
+                hits.increment();
+                return copier.apply(entry.value);
+            }
+            if (entries.remove(key, entry)) {
+                evictions.increment();
+            }
+        }
+        misses.increment();
+        long seen = generation.get();
+        V value = loader.apply(key);
+        if (value != null) {
+            synchronized (entries) {
+                if (generation.get() == seen) {
+                    entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+                    // the caller must not hold the instance that is now cached
+                    return copier.apply(value);
+                }
+            }
+        }
+        return value;
+    }
+
+    public void invalidate(K key) {
+        if (key == null) return;
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.remove(key);
+        }
+        invalidations.increment();
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.clear();
+        }
+        invalidations.increment();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public Stats getStats() {
+        return new Stats(name, entries.size(), hits.sum(), misses.sum(), evictions.sum(), invalidations.sum());
+    }
+}
@@ -0,0 +1,265 @@
+package com.banking.service;
+
+import com.banking.model.Money;
+import com.banking.persistence.InterestRunDAO;
+import com.banking.persistence.InterestRunDAO.AccountRow;
+import com.banking.persistence.InterestRunDAO.Checkpoint;
+import com.banking.persistence.InterestRunDAO.Posting;
+import com.banking.util.Log;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Month-end interest run.
+ *
+ * Accounts are streamed in keyset pages of ACCOUNT_NUMBER rather than loaded
+ * all at once. Within a page, rows are grouped by account type and each
+ * group's interest is computed by its own fork/join task; the page is then
+ * written with JDBC batches and committed together with the run checkpoint.
+ * A run is identified by its period (e.g. "2026-10"): starting a run that
+ * was interrupted resumes after the last committed page, and starting one
+ * that already completed does nothing.
+ *
+ * In SET_BASED mode the run never reads accounts into memory: each account
+ * type is paid with one INSERT ... SELECT and one UPDATE in a single
+ * transaction. That is valid because the rate depends only on the account
+ * type; the per-account path stays the reference implementation.
+ */
+public class InterestRunEngine {
+    public enum Mode { PAGED, SET_BASED }
+
+    private static final Mode DEFAULT_MODE = Mode.valueOf(System.getProperty("banking.interest.mode", "PAGED"));
+    private static final int DEFAULT_PAGE_SIZE = Integer.getInteger("banking.interest.pageSize", 1000);
+    // rows per fork/join leaf; smaller groups are computed inline
+    private static final int SPLIT_THRESHOLD = 256;
+
+    private final InterestRunDAO dao;
+    private final ForkJoinPool pool;
+    private final int pageSize;
+    private final Map<String, Long> ratesByType = new ConcurrentHashMap<>();
+    private final List<Runnable> postingListeners = new CopyOnWriteArrayList<>();
+
+    public InterestRunEngine() {
+        this(new InterestRunDAO(), ForkJoinPool.commonPool(), DEFAULT_PAGE_SIZE);
+    }
+
+    public InterestRunEngine(InterestRunDAO dao, ForkJoinPool pool, int pageSize) {
+        this.dao = dao;
+        this.pool = pool;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Register a callback run after every commit that changed balances, so
+     * callers holding cached accounts can drop them.
+     */
+    public void addPostingListener(Runnable listener) {
+        postingListeners.add(listener);
+    }
+
+    private void firePosted() {
+        for (Runnable listener : postingListeners) {
+            listener.run();
+        }
+    }
+
+    /** Outcome of a run. */
+    public static class Result {
+        public final String runId;
+        public final boolean completed;
+        public final boolean alreadyCompleted;
+        public final int accountsProcessed;
+        public final long totalInterestThebe;
+        public final double seconds;
+
+        Result(String runId, boolean completed, boolean alreadyCompleted, int accountsProcessed,
+               long totalInterestThebe, double seconds) {
+            this.runId = runId;
+            this.completed = completed;
+            this.alreadyCompleted = alreadyCompleted;
+            this.accountsProcessed = accountsProcessed;
+            this.totalInterestThebe = totalInterestThebe;
+            this.seconds = seconds;
+        }
+
+        public double getAccountsPerSecond() {
+            return seconds > 0 ? accountsProcessed / seconds : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Interest run %s: %s, %d accounts, BWP %s paid, %.1f accounts/sec",
+                runId, completed ? "completed" : "incomplete", accountsProcessed,
+                Money.format(totalInterestThebe), getAccountsPerSecond());
+        }
+    }
+
+    /**
+     * Pay interest for a month, posting on the last day of that month, in
+     * the mode set by banking.interest.mode.
+     */
+    public Result run(YearMonth period) {
+        if (DEFAULT_MODE == Mode.SET_BASED) {
+            return runSetBased(period.toString(), period.atEndOfMonth());
+        }
+        return run(period.toString(), period.atEndOfMonth());
+    }
+
+    /**
+     * Pay interest for a run entirely in SQL. All-or-nothing: a failed run
+     * leaves no trace and can simply be started again.
+     */
+    public Result runSetBased(String runId, LocalDate postingDate) {
+        long start = System.nanoTime();
+        try {
+            Checkpoint checkpoint = dao.readCheckpoint(runId);
+            if (checkpoint != null && checkpoint.isCompleted()) {
+                Log.info(() -> "ℹ Interest run " + runId + " already completed (" + checkpoint.accountsProcessed + " accounts)");
+                return new Result(runId, true, true, 0, 0, 0);
+            }
+            if (checkpoint != null) {
+                // a paged attempt left a partial run; only the paged path can finish it
+                Log.info(() -> "ℹ Interest run " + runId + " is partly done; resuming page by page");
+                return run(runId, postingDate);
+            }
+            Map<String, Long> rates = new LinkedHashMap<>();
+            for (String type : dao.readAccountTypes()) {
+                rates.put(type, ratesByType.computeIfAbsent(type, InterestRunDAO::rateForType));
+            }
+            Checkpoint done = dao.postSetBased(runId, postingDate, rates);
+            firePosted();
+            Result result = new Result(runId, true, false, done.accountsProcessed, done.totalInterestThebe,
+                (System.nanoTime() - start) / 1e9);
+            Log.info(() -> "✓ " + result);
+            return result;
+        } catch (SQLException e) {
+            Log.error(() -> "✗ Interest run " + runId + " failed: " + e.getMessage());
+            return new Result(runId, false, false, 0, 0, (System.nanoTime() - start) / 1e9);
+        }
+    }
+
+    /**
+     * Pay interest for a run, resuming it if an earlier attempt stopped part-way.
+     * Accounts counted are those covered by this call, not earlier attempts.
+     */
+    public Result run(String runId, LocalDate postingDate) {
+        long start = System.nanoTime();
+        int processed = 0;
+        long paid = 0;
+        try {
+            Checkpoint checkpoint = dao.readCheckpoint(runId);
+            if (checkpoint != null && checkpoint.isCompleted()) {
+                Log.info(() -> "ℹ Interest run " + runId + " already completed (" + checkpoint.accountsProcessed + " accounts)");
+                return new Result(runId, true, true, 0, 0, 0);
+            }
+            String after = "";
+            if (checkpoint == null) {
+                dao.startRun(runId);
+            } else {
+                after = checkpoint.lastAccountNumber;
+                Log.info(() -> "ℹ Resuming interest run " + runId + " after " + checkpoint.accountsProcessed + " accounts");
+            }
+
+            List<AccountRow> page;
+            while (!(page = dao.readPage(after, pageSize)).isEmpty()) {
+                List<Posting> postings = computePage(page);
+                after = page.get(page.size() - 1).accountNumber;
+                dao.postPage(runId, postingDate, postings, after, page.size());
+                firePosted();
+
+                processed += page.size();
+                for (Posting p : postings) paid += p.interestThebe;
+                double seconds = (System.nanoTime() - start) / 1e9;
+                if (Log.isEnabled(Log.Level.INFO)) {
+                    Log.info(String.format("⏳ Interest run %s: %d accounts, %.0f accounts/sec",
+                        runId, processed, seconds > 0 ? processed / seconds : 0.0));
+                }
+                if (page.size() < pageSize) break;
+            }
+            dao.completeRun(runId);
+            Result result = new Result(runId, true, false, processed, paid, (System.nanoTime() - start) / 1e9);
+            Log.info(() -> "✓ " + result);
+            return result;
+        } catch (SQLException e) {
+            // everything up to the last committed page stays applied; run again to resume
+            Log.error(() -> "✗ Interest run " + runId + " stopped: " + e.getMessage());
+            return new Result(runId, false, false, processed, paid, (System.nanoTime() - start) / 1e9);
+        }
+    }
+
+    /**
+     * Compute the interest for one page. Each account type is handled by its
+     * own fork/join task; postings come back in page order.
+     */
+    List<Posting> computePage(List<AccountRow> page) {
+        Map<String, List<Integer>> byType = new LinkedHashMap<>();
+        for (int i = 0; i < page.size(); i++) {
+            byType.computeIfAbsent(page.get(i).accountType, t -> new ArrayList<>()).add(i);
+        }
+
+        long[] interest = new long[page.size()];
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (Map.Entry<String, List<Integer>> group : byType.entrySet()) {
+            long ratePpm = ratesByType.computeIfAbsent(group.getKey(), InterestRunDAO::rateForType);
+            if (ratePpm <= 0) continue;
+            int[] indexes = group.getValue().stream().mapToInt(Integer::intValue).toArray();
+            tasks.add(pool.submit(new InterestTask(page, indexes, 0, indexes.length, ratePpm, interest)));
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+
+        List<Posting> postings = new ArrayList<>();
+        for (int i = 0; i < interest.length; i++) {
+            if (interest[i] > 0) {
+                postings.add(new Posting(page.get(i).accountNumber, interest[i]));
+            }
+        }
+        return postings;
+    }
+
+    // Interest for one account type's slice of a page; writes disjoint slots of the result array
+    private static class InterestTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<AccountRow> page;
+        private final int[] indexes;
+        private final int from;
+        private final int to;
+        private final long ratePpm;
+        private final long[] interest;
+
+        InterestTask(List<AccountRow> page, int[] indexes, int from, int to, long ratePpm, long[] interest) {
+            this.page = page;
+            this.indexes = indexes;
+            this.from = from;
+            this.to = to;
+            this.ratePpm = ratePpm;
+            this.interest = interest;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    int row = indexes[i];
+                    interest[row] = Money.interest(page.get(row).balanceThebe, ratePpm);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new InterestTask(page, indexes, from, mid, ratePpm, interest),
+                      new InterestTask(page, indexes, mid, to, ratePpm, interest));
+        }
+    }
+}
@@ -0,0 +1,407 @@
+package com.banking.service;
+
+import com.banking.model.AuditLog;
+import com.banking.util.IdGenerator;
+import com.banking.util.Log;
+import com.banking.util.TimerWheel;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Rate limits login attempts per email and per source before any password
+ * is checked.
+ *
+ * Each key has a token bucket: an attempt takes a token and tokens refill
+ * at a steady rate. Emptying a bucket locks the key out for a period that
+ * doubles with every lockout (up to a cap) until the key has been quiet
+ * long enough to be forgotten. While either key is locked out an attempt is
+ * refused by tryAcquire() from memory alone, without touching the database
+ * or the password hasher. Bucket state is swapped with
+ * compare-and-set; nothing blocks.
+ *
+ * A timer wheel revisits each bucket when it may have changed: it closes
+ * ended lockouts, writing one audit entry per lockout with the number of
+ * attempts refused during it, and drops buckets that have been idle for a
+ * while. At most maxTracked emails and maxTracked sources are held; a new
+ * key at the bound takes the place of the longest-idle key of its kind
+ * that is not locked out. Only if every key probed is locked out do new
+ * keys share one overflow bucket per kind, which keeps limiting them
+ * together rather than not at all.
+ */
+public final class LoginThrottle {
+    // oldest keys of a kind looked at for one to evict at the bound
+    private static final int EVICTION_PROBES = 16;
+
+    /**
+     * Throttle settings, overridable with banking.login.* system properties.
+     */
+    public static class Config {
+        int emailBurst = 5;
+        long emailRefillMillis = 60_000;
+        int sourceBurst = 20;
+        long sourceRefillMillis = 3_000;
+        long lockoutMillis = 30_000;
+        long maxLockoutMillis = 15 * 60_000;
+        long idleMillis = 30 * 60_000;
+        int maxTracked = 100_000;
+        long tickMillis = 1_000;
+        int wheelSlots = 64;
+
+        /** Attempts an email may make in a burst, and the time to earn one back. */
+        public Config email(int burst, long refillMillis) { this.emailBurst = burst; this.emailRefillMillis = refillMillis; return this; }
+        /** Attempts a source may make in a burst, and the time to earn one back. */
+        public Config source(int burst, long refillMillis) { this.sourceBurst = burst; this.sourceRefillMillis = refillMillis; return this; }
+        public Config lockoutMillis(long v) { this.lockoutMillis = v; return this; }
+        public Config maxLockoutMillis(long v) { this.maxLockoutMillis = v; return this; }
+        public Config idleMillis(long v) { this.idleMillis = v; return this; }
+        public Config maxTracked(int v) { this.maxTracked = v; return this; }
+        public Config tickMillis(long v) { this.tickMillis = v; return this; }
+
+        public static Config fromSystemProperties() {
+            Config c = new Config();
+            c.emailBurst = Integer.getInteger("banking.login.emailBurst", c.emailBurst);
+            c.emailRefillMillis = Long.getLong("banking.login.emailRefillMs", c.emailRefillMillis);
+            c.sourceBurst = Integer.getInteger("banking.login.sourceBurst", c.sourceBurst);
+            c.sourceRefillMillis = Long.getLong("banking.login.sourceRefillMs", c.sourceRefillMillis);
+            c.lockoutMillis = Long.getLong("banking.login.lockoutMs", c.lockoutMillis);
+            c.maxLockoutMillis = Long.getLong("banking.login.maxLockoutMs", c.maxLockoutMillis);
+            c.idleMillis = Long.getLong("banking.login.idleMs", c.idleMillis);
+            c.maxTracked = Integer.getInteger("banking.login.maxTracked", c.maxTracked);
+            c.tickMillis = Long.getLong("banking.login.wheelTickMs", c.tickMillis);
+            return c;
+        }
+    }
+
+    /** Result of tryAcquire(). */
+    public static class Decision {
+        static final Decision ALLOWED = new Decision(true, 0);
+
+        public final boolean allowed;
+        public final long retryAfterMillis;
+
+        Decision(boolean allowed, long retryAfterMillis) {
+            this.allowed = allowed;
+            this.retryAfterMillis = retryAfterMillis;
+        }
+    }
+
+    /**
+     * Point-in-time view of the throttle counters.
+     */
+    public static class Stats {
+        public final int tracked;
+        public final long allowed;
+        public final long throttled;
+        public final long lockouts;
+
+        Stats(int tracked, long allowed, long throttled, long lockouts) {
+            this.tracked = tracked;
+            this.allowed = allowed;
+            this.throttled = throttled;
+            this.lockouts = lockouts;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("LoginThrottle[tracked=%d, allowed=%d, throttled=%d, lockouts=%d]",
+                tracked, allowed, throttled, lockouts);
+        }
+    }
+
+    // immutable; replaced as a whole with compare-and-set
+    private static final class State {
+        final double tokens;
+        final long refilledAt;
+        final long lockedUntil;
+        final int lockouts;
+
+        State(double tokens, long refilledAt, long lockedUntil, int lockouts) {
+            this.tokens = tokens;
+            this.refilledAt = refilledAt;
+            this.lockedUntil = lockedUntil;
+            this.lockouts = lockouts;
+        }
+    }
+
+    private final class Bucket {
+        final String key;
+        final int burst;
+        final long refillMillis;
+        final AtomicReference<State> state;
+        volatile long lastSeen;
+        // attempts refused during the current lockout, reported when it ends
+        final LongAdder refused = new LongAdder();
+        final AtomicBoolean lockoutOpen = new AtomicBoolean();
+        volatile long lockoutStartedAt;
+        // absolute wheel tick the bucket is due at, -1 when not on the wheel; entries for other ticks are stale
+        volatile long dueTick = -1;
+
+        Bucket(String key, int burst, long refillMillis, long now) {
+            this.key = key;
+            this.burst = burst;
+            this.refillMillis = refillMillis;
+            this.state = new AtomicReference<>(new State(burst, now, 0, 0));
+            this.lastSeen = now;
+        }
+    }
+
+    private static volatile LoginThrottle instance;
+
+    private final Config config;
+    private final LongSupplier clock;
+    private final Consumer<AuditLog> audit;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    // tracked keys of each kind, oldest first; each guarded by itself
+    private final Map<String, Bucket> trackedEmails = new LinkedHashMap<>();
+    private final Map<String, Bucket> trackedSources = new LinkedHashMap<>();
+    private final TimerWheel<Bucket> wheel;
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder lockouts = new LongAdder();
+
+    public LoginThrottle(Config config, Consumer<AuditLog> audit) {
+        this(config, audit, System::currentTimeMillis);
+        if (config.tickMillis > 0) {
+            ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "login-throttle-wheel");
+                t.setDaemon(true);
+                return t;
+            });
+            scheduler.scheduleWithFixedDelay(this::advance, config.tickMillis, config.tickMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    LoginThrottle(Config config, Consumer<AuditLog> audit, LongSupplier clock) {
+        this.config = config;
+        this.audit = audit;
+        this.clock = clock;
+        this.wheel = new TimerWheel<>(config.wheelSlots, config.tickMillis, clock.getAsLong());
+    }
+
+    /**
+     * Process-wide throttle configured from system properties; lockouts go
+     * to the shared audit writer.
+     */
+    public static LoginThrottle getInstance() {
+        LoginThrottle local = instance;
+        if (local == null) {
+            synchronized (LoginThrottle.class) {
+                local = instance;
+                if (local == null) {
+                    local = new LoginThrottle(Config.fromSystemProperties(), entry -> AuditWriter.getInstance().submit(entry));
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    /**
+     * Take a token for a login attempt from the email's and the source's
+     * buckets. A refused attempt should be rejected without checking the
+     * password.
+     */
+    public Decision tryAcquire(String email, String source) {
+        long now = clock.getAsLong();
+        Bucket byEmail = bucket("email:", normalize(email), config.emailBurst, config.emailRefillMillis, now);
+        Bucket bySource = bucket("source:", normalize(source), config.sourceBurst, config.sourceRefillMillis, now);
+
+        // fast path: a key already locked out refuses without spending anything
+        long wait = Math.max(lockedFor(byEmail, now), lockedFor(bySource, now));
+        if (wait > 0) {
+            refuse(byEmail, now);
+            refuse(bySource, now);
+            throttled.increment();
+            return new Decision(false, wait);
+        }
+        // the email's token is spent only on attempts its source lets through
+        wait = take(bySource, now);
+        if (wait == 0) {
+            wait = take(byEmail, now);
+        }
+        if (wait > 0) {
+            throttled.increment();
+            return new Decision(false, wait);
+        }
+        allowed.increment();
+        return Decision.ALLOWED;
+    }
+
+    /**
+     * A login for this email succeeded: refill its bucket and forget its
+     * lockout history. The source's bucket is left as it is.
+     */
+    public void onSuccess(String email) {
+        Bucket b = buckets.get("email:" + normalize(email));
+        if (b != null) {
+            long now = clock.getAsLong();
+            State s = b.state.get();
+            if (s.lockedUntil <= now) {
+                b.state.compareAndSet(s, new State(b.burst, now, 0, 0));
+            }
+        }
+    }
+
+    public Stats getStats() {
+        return new Stats(buckets.size(), allowed.sum(), throttled.sum(), lockouts.sum());
+    }
+
+    /**
+     * Turn the wheel up to the current time, visiting the buckets due in
+     * each slot passed. Runs on the wheel thread every tick.
+     */
+    void advance() {
+        wheel.advance(clock.getAsLong(), (b, tick) -> {
+            if (b.dueTick != tick) return; // rescheduled since; the newer entry stands
+            if (buckets.get(b.key) != b) return; // evicted to make room
+            b.dueTick = -1;
+            visit(b);
+        });
+    }
+
+    private void visit(Bucket b) {
+        long now = clock.getAsLong();
+        State s = b.state.get();
+        if (s.lockedUntil > now) {
+            schedule(b, s.lockedUntil);
+            return;
+        }
+        closeLockout(b, now);
+        if (now - b.lastSeen >= config.idleMillis) {
+            if (buckets.remove(b.key, b)) {
+                Map<String, Bucket> tracked = tracked(b.key);
+                synchronized (tracked) {
+                    tracked.remove(b.key, b);
+                }
+            }
+        } else {
+            schedule(b, b.lastSeen + config.idleMillis);
+        }
+    }
+
+    private Bucket bucket(String kind, String id, int burst, long refillMillis, long now) {
+        String key = kind + id;
+        Bucket b = buckets.get(key);
+        if (b == null) {
+            b = track(kind, key, burst, refillMillis, now);
+        }
+        b.lastSeen = now;
+        if (b.dueTick < 0) {
+            schedule(b, now + config.idleMillis);
+        }
+        return b;
+    }
+
+    // Register a new key, at the bound in place of an evicted one or else in the kind's overflow bucket
+    private Bucket track(String kind, String key, int burst, long refillMillis, long now) {
+        Map<String, Bucket> tracked = tracked(key);
+        synchronized (tracked) {
+            Bucket b = buckets.get(key);
+            if (b != null) return b;
+            if (tracked.size() >= config.maxTracked && !evictIdlest(tracked, now)) {
+                return buckets.computeIfAbsent(kind + "*", k -> new Bucket(k, burst, refillMillis, now));
+            }
+            b = new Bucket(key, burst, refillMillis, now);
+            tracked.put(key, b);
+            buckets.put(key, b);
+            return b;
+        }
+    }
+
+    // Drop the longest-idle of the oldest keys that is not locked out; false if all of them are
+    private boolean evictIdlest(Map<String, Bucket> tracked, long now) {
+        Bucket idlest = null;
+        int probes = 0;
+        for (Bucket b : tracked.values()) {
+            if (probes++ == EVICTION_PROBES) break;
+            // evicting a locked-out key would lift its lockout
+            if (b.state.get().lockedUntil > now) continue;
+            if (idlest == null || b.lastSeen < idlest.lastSeen) idlest = b;
+        }
+        if (idlest == null) return false;
+        tracked.remove(idlest.key);
+        buckets.remove(idlest.key, idlest);
+        closeLockout(idlest, now);
+        return true;
+    }
+
+    private Map<String, Bucket> tracked(String key) {
+        return key.startsWith("email:") ? trackedEmails : trackedSources;
+    }
+
+    private long lockedFor(Bucket b, long now) {
+        return Math.max(0, b.state.get().lockedUntil - now);
+    }
+
+    private void refuse(Bucket b, long now) {
+        if (b.state.get().lockedUntil > now) b.refused.increment();
+    }
+
+    // Take a token; returns 0 on success, or how long the new or current lockout lasts
+    private long take(Bucket b, long now) {
+        while (true) {
+            State s = b.state.get();
+            if (s.lockedUntil > now) {
+                b.refused.increment();
+                return s.lockedUntil - now;
+            }
+            double tokens = Math.min(b.burst, s.tokens + (double) (now - s.refilledAt) / b.refillMillis);
+            if (tokens >= 1) {
+                if (b.state.compareAndSet(s, new State(tokens - 1, now, s.lockedUntil, s.lockouts))) return 0;
+                continue;
+            }
+            long duration = Math.min(config.maxLockoutMillis, config.lockoutMillis << Math.min(s.lockouts, 20));
+            State locked = new State(tokens, now, now + duration, s.lockouts + 1);
+            if (b.state.compareAndSet(s, locked)) {
+                openLockout(b, now, locked);
+                return duration;
+            }
+        }
+    }
+
+    private void openLockout(Bucket b, long now, State locked) {
+        // a lockout following straight on from the last may start before the wheel has closed it
+        closeLockout(b, now);
+        b.refused.reset();
+        b.refused.increment();
+        b.lockoutStartedAt = now;
+        b.lockoutOpen.set(true);
+        lockouts.increment();
+        Log.warn(() -> "⚠ Login lockout #" + locked.lockouts + " for " + b.key + " ("
+            + (locked.lockedUntil - now) / 1000 + "s); " + getStats());
+        schedule(b, locked.lockedUntil);
+    }
+
+    private void closeLockout(Bucket b, long now) {
+        if (!b.lockoutOpen.getAndSet(false)) return;
+        State s = b.state.get();
+        String details = "Refused " + b.refused.sumThenReset() + " login attempts during lockout #" + s.lockouts
+            + " (" + (now - b.lockoutStartedAt) / 1000 + "s)";
+        try {
+            audit.accept(new AuditLog(IdGenerator.nextId(), null, null, "LOGIN_LOCKOUT",
+                b.key.startsWith("email:") ? "CUSTOMER" : "SOURCE", b.key.substring(b.key.indexOf(':') + 1),
+                details, "BLOCKED", LocalDateTime.now()));
+        } catch (RuntimeException e) {
+            Log.warn(() -> "⚠ Warning: could not audit login lockout: " + e.getMessage());
+        }
+    }
+
+    private void schedule(Bucket b, long dueMillis) {
+        b.dueTick = wheel.schedule(b, dueMillis);
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
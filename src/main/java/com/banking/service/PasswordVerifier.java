@@ -0,0 +1,204 @@
+package com.banking.service;
+
+import com.banking.util.PasswordUtil;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Checks login passwords on a small dedicated pool.
+ *
+ * BCrypt is deliberately slow, so a burst of logins must not take every
+ * core from the rest of the application. Verifications run on a fixed
+ * number of threads behind a bounded queue; when the queue is full the
+ * login is refused straight away as busy instead of piling up. A
+ * successful check against a legacy or under-cost hash also produces the
+ * replacement hash on the same pool, for the caller to store.
+ */
+public class PasswordVerifier {
+
+    public enum Outcome { MATCH, MISMATCH, BUSY }
+
+    /**
+     * Verifier settings, overridable with banking.password.* system properties.
+     */
+    public static class Config {
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        int queueCapacity = 64;
+        long timeoutMillis = 10_000;
+
+        public Config threads(int v) { this.threads = v; return this; }
+        public Config queueCapacity(int v) { this.queueCapacity = v; return this; }
+        public Config timeoutMillis(long v) { this.timeoutMillis = v; return this; }
+
+        public int getThreads() { return Math.max(1, threads); }
+
+        public static Config fromSystemProperties() {
+            Config c = new Config();
+            c.threads = Integer.getInteger("banking.password.verifyThreads", c.threads);
+            c.queueCapacity = Integer.getInteger("banking.password.verifyQueue", c.queueCapacity);
+            c.timeoutMillis = Long.getLong("banking.password.verifyTimeoutMs", c.timeoutMillis);
+            return c;
+        }
+    }
+
+    /** Outcome of one check, with the hash to store if it should be upgraded. */
+    public static class Result {
+        public final Outcome outcome;
+        public final String upgradedHash;
+
+        Result(Outcome outcome, String upgradedHash) {
+            this.outcome = outcome;
+            this.upgradedHash = upgradedHash;
+        }
+
+        public boolean matches() {
+            return outcome == Outcome.MATCH;
+        }
+    }
+
+    /**
+     * Point-in-time view of the verifier counters.
+     */
+    public static class Stats {
+        public final int queueDepth;
+        public final int active;
+        public final long completed;
+        public final long rejected;
+        public final long rehashed;
+        public final long averageWaitMicros;
+        public final long maxWaitMicros;
+        public final long averageVerifyMicros;
+
+        Stats(int queueDepth, int active, long completed, long rejected, long rehashed,
+              long averageWaitMicros, long maxWaitMicros, long averageVerifyMicros) {
+            this.queueDepth = queueDepth;
+            this.active = active;
+            this.completed = completed;
+            this.rejected = rejected;
+            this.rehashed = rehashed;
+            this.averageWaitMicros = averageWaitMicros;
+            this.maxWaitMicros = maxWaitMicros;
+            this.averageVerifyMicros = averageVerifyMicros;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("PasswordVerifier[queued=%d, active=%d, completed=%d, rejected=%d, rehashed=%d, avgWait=%dus, maxWait=%dus, avgVerify=%dus]",
+                queueDepth, active, completed, rejected, rehashed, averageWaitMicros, maxWaitMicros, averageVerifyMicros);
+        }
+    }
+
+    private static volatile PasswordVerifier instance;
+
+    private final Config config;
+    private final ThreadPoolExecutor executor;
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder rehashed = new LongAdder();
+    private final LongAdder waitMicros = new LongAdder();
+    private final AtomicLong maxWaitMicros = new AtomicLong();
+    private final LongAdder verifyMicros = new LongAdder();
+
+    public PasswordVerifier(Config config) {
+        this.config = config;
+        AtomicInteger n = new AtomicInteger();
+        int threads = config.getThreads();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, config.queueCapacity)), r -> {
+                Thread t = new Thread(r, "password-verify-" + n.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Process-wide verifier configured from system properties.
+     */
+    public static PasswordVerifier getInstance() {
+        PasswordVerifier local = instance;
+        if (local == null) {
+            synchronized (PasswordVerifier.class) {
+                local = instance;
+                if (local == null) {
+                    local = new PasswordVerifier(Config.fromSystemProperties());
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    /**
+     * Check a password against its stored hash, blocking the caller until
+     * the pool gets to it.
+     */
+    public Result verify(String plainPassword, String storedHash) {
+        long queuedAt = System.nanoTime();
+        Future<Result> future;
+        try {
+            future = executor.submit(() -> check(plainPassword, storedHash, queuedAt));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            return new Result(Outcome.BUSY, null);
+        }
+        try {
+            return future.get(config.timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            return new Result(Outcome.BUSY, null);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            return new Result(Outcome.BUSY, null);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password verification failed", e.getCause());
+        }
+    }
+
+    private Result check(String plainPassword, String storedHash, long queuedAt) {
+        long start = System.nanoTime();
+        long waited = (start - queuedAt) / 1000;
+        waitMicros.add(waited);
+        maxWaitMicros.accumulateAndGet(waited, Math::max);
+        try {
+            if (!PasswordUtil.verifyPassword(plainPassword, storedHash)) {
+                return new Result(Outcome.MISMATCH, null);
+            }
+            String upgraded = null;
+            if (PasswordUtil.needsRehash(storedHash)) {
+                upgraded = PasswordUtil.hashPassword(plainPassword);
+                rehashed.increment();
+            }
+            return new Result(Outcome.MATCH, upgraded);
+        } finally {
+            verifyMicros.add((System.nanoTime() - start) / 1000);
+            completed.increment();
+        }
+    }
+
+    public Stats getStats() {
+        long n = completed.sum();
+        return new Stats(
+            executor.getQueue().size(),
+            executor.getActiveCount(),
+            n,
+            rejected.sum(),
+            rehashed.sum(),
+            n == 0 ? 0 : waitMicros.sum() / n,
+            maxWaitMicros.get(),
+            n == 0 ? 0 : verifyMicros.sum() / n);
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,341 @@
+package com.banking.service;
+
+import com.banking.main.Role;
+import com.banking.model.Customer;
+import com.banking.util.Log;
+import com.banking.util.TimerWheel;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Logged-in sessions, keyed by an opaque random token.
+ *
+ * A session caches what authorization checks need about its customer:
+ * the role and the numbers of the accounts the customer owns, so an
+ * ownership check is a set lookup rather than a query. A session ends on
+ * logout, after idleMillis without use, or absoluteMillis after login,
+ * whichever comes first. Expired sessions are refused on lookup straight
+ * away and removed by a timer wheel, which visits each session once per
+ * deadline instead of scanning the whole map.
+ */
+public final class SessionManager {
+
+    private static final int TOKEN_BYTES = 32;
+
+    /**
+     * Session settings, overridable with banking.session.* system properties.
+     */
+    public static class Config {
+        long idleMillis = 30 * 60_000;
+        long absoluteMillis = 12 * 60 * 60_000;
+        long tickMillis = 1_000;
+        int wheelSlots = 256;
+
+        public Config idleMillis(long v) { this.idleMillis = v; return this; }
+        public Config absoluteMillis(long v) { this.absoluteMillis = v; return this; }
+        public Config tickMillis(long v) { this.tickMillis = v; return this; }
+
+        public static Config fromSystemProperties() {
+            Config c = new Config();
+            c.idleMillis = Long.getLong("banking.session.idleMs", c.idleMillis);
+            c.absoluteMillis = Long.getLong("banking.session.absoluteMs", c.absoluteMillis);
+            c.tickMillis = Long.getLong("banking.session.wheelTickMs", c.tickMillis);
+            return c;
+        }
+    }
+
+    /**
+     * One login. The token is the only handle a client holds; it is never
+     * logged.
+     */
+    public static class Session {
+        private final String token;
+        private final String customerId;
+        private volatile String email;
+        private volatile Role role;
+        private final Set<String> accountNumbers = ConcurrentHashMap.newKeySet();
+        private final long createdAt;
+        private final long expiresAt;
+        private volatile long lastAccess;
+
+        Session(String token, Customer customer, Collection<String> accountNumbers, long now, long absoluteMillis) {
+            this.token = token;
+            this.customerId = customer.getCustomerId();
+            this.email = customer.getEmail();
+            this.role = customer.getRole();
+            this.accountNumbers.addAll(accountNumbers);
+            this.createdAt = now;
+            this.expiresAt = now + absoluteMillis;
+            this.lastAccess = now;
+        }
+
+        public String getToken() { return token; }
+        public String getCustomerId() { return customerId; }
+        public String getEmail() { return email; }
+        public Role getRole() { return role; }
+        public long getCreatedAt() { return createdAt; }
+        public long getExpiresAt() { return expiresAt; }
+        public long getLastAccess() { return lastAccess; }
+
+        /**
+         * Whether the account is one this session's customer owned when it
+         * was last seen. A miss is not a refusal: the account may have been
+         * opened since login.
+         */
+        public boolean ownsAccount(String accountNumber) {
+            return accountNumber != null && accountNumbers.contains(accountNumber);
+        }
+
+        public void addAccount(String accountNumber) {
+            if (accountNumber != null) accountNumbers.add(accountNumber);
+        }
+
+        long deadline(long idleMillis) {
+            return Math.min(expiresAt, lastAccess + idleMillis);
+        }
+    }
+
+    /**
+     * Point-in-time view of the session counters.
+     */
+    public static class Stats {
+        public final int active;
+        public final long created;
+        public final long expired;
+        public final long loggedOut;
+
+        Stats(int active, long created, long expired, long loggedOut) {
+            this.active = active;
+            this.created = created;
+            this.expired = expired;
+            this.loggedOut = loggedOut;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("SessionManager[active=%d, created=%d, expired=%d, loggedOut=%d]",
+                active, created, expired, loggedOut);
+        }
+    }
+
+    private static volatile SessionManager instance;
+
+    private final Config config;
+    private final LongSupplier clock;
+    private final SecureRandom random = new SecureRandom();
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    // customerId -> tokens of that customer's sessions
+    private final Map<String, Set<String>> byCustomer = new ConcurrentHashMap<>();
+    private final TimerWheel<Session> wheel;
+    private final LongAdder created = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder loggedOut = new LongAdder();
+
+    public SessionManager(Config config) {
+        this(config, System::currentTimeMillis);
+        if (config.tickMillis > 0) {
+            ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "session-expiry-wheel");
+                t.setDaemon(true);
+                return t;
+            });
+            scheduler.scheduleWithFixedDelay(this::advance, config.tickMillis, config.tickMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    SessionManager(Config config, LongSupplier clock) {
+        this.config = config;
+        this.clock = clock;
+        this.wheel = new TimerWheel<>(config.wheelSlots, config.tickMillis, clock.getAsLong());
+    }
+
+    /**
+     * Process-wide session store configured from system properties.
+     */
+    public static SessionManager getInstance() {
+        SessionManager local = instance;
+        if (local == null) {
+            synchronized (SessionManager.class) {
+                local = instance;
+                if (local == null) {
+                    local = new SessionManager(Config.fromSystemProperties());
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    /**
+     * Start a session for a customer who has just authenticated.
+     *
+     * @param accountNumbers the accounts the customer owns now
+     */
+    public Session create(Customer customer, Collection<String> accountNumbers) {
+        long now = clock.getAsLong();
+        Session session = new Session(newToken(), customer, accountNumbers, now, config.absoluteMillis);
+        sessions.put(session.token, session);
+        // add inside compute so a concurrent remove() cannot drop the set under us
+        byCustomer.compute(session.customerId, (id, tokens) -> {
+            Set<String> set = tokens != null ? tokens : ConcurrentHashMap.<String>newKeySet();
+            set.add(session.token);
+            return set;
+        });
+        created.increment();
+        schedule(session, session.deadline(config.idleMillis));
+        return session;
+    }
+
+    /**
+     * The live session for a token, marking it used; null if the token is
+     * unknown, logged out or expired.
+     */
+    public Session get(String token) {
+        if (token == null) return null;
+        Session session = sessions.get(token);
+        if (session == null) return null;
+        long now = clock.getAsLong();
+        if (now >= session.deadline(config.idleMillis)) {
+            // the wheel will get to it, but it must not be usable meanwhile
+            if (remove(session)) expired.increment();
+            return null;
+        }
+        session.lastAccess = now;
+        return session;
+    }
+
+    /**
+     * Any live session of the customer, for callers that identify the user
+     * by customer ID rather than by token; null if none.
+     */
+    public Session findByCustomer(String customerId) {
+        if (customerId == null) return null;
+        Set<String> tokens = byCustomer.get(customerId);
+        if (tokens == null) return null;
+        for (String token : tokens) {
+            Session session = get(token);
+            if (session != null) return session;
+        }
+        return null;
+    }
+
+    /**
+     * End a session. Returns false if it had already ended.
+     */
+    public boolean invalidate(String token) {
+        Session session = token == null ? null : sessions.get(token);
+        if (session != null && remove(session)) {
+            loggedOut.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * End every session of a customer, e.g. when the customer is deleted.
+     */
+    public void invalidateCustomer(String customerId) {
+        if (customerId == null) return;
+        Set<String> tokens = byCustomer.get(customerId);
+        if (tokens == null) return;
+        for (String token : new ArrayList<>(tokens)) {
+            invalidate(token);
+        }
+    }
+
+    /**
+     * Bring the cached role and email of a customer's sessions up to date
+     * after the customer record changed.
+     */
+    public void refreshCustomer(Customer customer) {
+        if (customer == null) return;
+        Set<String> tokens = byCustomer.get(customer.getCustomerId());
+        if (tokens == null) return;
+        for (String token : tokens) {
+            Session session = sessions.get(token);
+            if (session != null) {
+                session.role = customer.getRole();
+                session.email = customer.getEmail();
+            }
+        }
+    }
+
+    /**
+     * Drop a closed account from its owner's sessions, or from every
+     * session if the owner is not known.
+     */
+    public void removeAccount(String customerId, String accountNumber) {
+        if (accountNumber == null) return;
+        if (customerId == null) {
+            for (Session session : sessions.values()) {
+                session.accountNumbers.remove(accountNumber);
+            }
+            return;
+        }
+        Set<String> tokens = byCustomer.get(customerId);
+        if (tokens == null) return;
+        for (String token : tokens) {
+            Session session = sessions.get(token);
+            if (session != null) session.accountNumbers.remove(accountNumber);
+        }
+    }
+
+    public int activeCount() {
+        return sessions.size();
+    }
+
+    public Stats getStats() {
+        return new Stats(sessions.size(), created.sum(), expired.sum(), loggedOut.sum());
+    }
+
+    /**
+     * Turn the wheel up to the current time, expiring the sessions whose
+     * deadline has passed and rescheduling those used since they were
+     * queued. Runs on the wheel thread every tick.
+     */
+    void advance() {
+        long before = expired.sum();
+        wheel.advance(clock.getAsLong(), (session, tick) -> {
+            if (sessions.get(session.token) != session) return; // already ended
+            long deadline = session.deadline(config.idleMillis);
+            if (clock.getAsLong() >= deadline) {
+                if (remove(session)) expired.increment();
+            } else {
+                schedule(session, deadline);
+            }
+        });
+        long count = expired.sum() - before;
+        if (count > 0) {
+            Log.debug(() -> "ℹ Expired " + count + " sessions; " + getStats());
+        }
+    }
+
+    private boolean remove(Session session) {
+        if (!sessions.remove(session.token, session)) return false;
+        byCustomer.computeIfPresent(session.customerId, (id, tokens) -> {
+            tokens.remove(session.token);
+            return tokens.isEmpty() ? null : tokens;
+        });
+        return true;
+    }
+
+    private void schedule(Session session, long dueMillis) {
+        wheel.schedule(session, dueMillis);
+    }
+
+    private String newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
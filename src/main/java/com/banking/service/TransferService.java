@@ -0,0 +1,169 @@
+package com.banking.service;
+
+import com.banking.model.*;
+import com.banking.persistence.TransferDAO;
+import com.banking.util.IdGenerator;
+import com.banking.util.Log;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Executes account-to-account transfers.
+ *
+ * Business rules (withdrawal restrictions, minimum balances) are checked on
+ * the in-memory accounts first; the posting itself is a single database
+ * transaction whose guarded UPDATE re-checks the balance, so a concurrent
+ * withdrawal can never overdraw the source. Deadlock victims are retried.
+ * Both accounts are locked for the whole transfer so concurrent postings in
+ * this process see a consistent pair of balances. Single-account deposits
+ * and withdrawals are posted through here too, with the same guard.
+ */
+public class TransferService {
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final TransferDAO transferDAO;
+    private final AccountLockManager locks;
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+
+    public TransferService() {
+        this(new TransferDAO(), new AccountLockManager());
+    }
+
+    public TransferService(AccountLockManager locks) {
+        this(new TransferDAO(), locks);
+    }
+
+    public TransferService(TransferDAO transferDAO, AccountLockManager locks) {
+        this.transferDAO = transferDAO;
+        this.locks = locks;
+    }
+
+    /**
+     * Transfer funds between two accounts.
+     * On success the in-memory accounts reflect the new balances; on failure
+     * they are left as they were.
+     */
+    public boolean transfer(Account fromAccount, Account toAccount, double amount) {
+        if (fromAccount == null || toAccount == null || amount <= 0) {
+            Log.warn("✗ Invalid transfer parameters");
+            rejected.increment();
+            return false;
+        }
+        if (fromAccount.getAccountNumber().equals(toAccount.getAccountNumber())) {
+            Log.warn("✗ Cannot transfer to the same account");
+            rejected.increment();
+            return false;
+        }
+
+        long amountThebe = Money.toThebe(amount);
+        if (amountThebe <= 0) {
+            Log.warn("✗ Invalid transfer parameters");
+            rejected.increment();
+            return false;
+        }
+        return locks.withLocks(fromAccount.getAccountNumber(), toAccount.getAccountNumber(),
+            () -> transferLocked(fromAccount, toAccount, amount, amountThebe));
+    }
+
+    private boolean transferLocked(Account fromAccount, Account toAccount, double amount, long amountThebe) {
+        long fromBefore = fromAccount.getBalanceThebe();
+        long toBefore = toAccount.getBalanceThebe();
+        // apply the account-type rules in memory before touching the database
+        if (!fromAccount.withdraw(amount)) {
+            rejected.increment();
+            return false;
+        }
+        if (!toAccount.deposit(amount)) {
+            fromAccount.setBalanceThebe(fromBefore);
+            rejected.increment();
+            return false;
+        }
+
+        LocalDate today = LocalDate.now();
+        Transaction debit = Transaction.ofThebe(IdGenerator.next("TXN_"), "WITHDRAWAL", amountThebe, today,
+            fromAccount.getAccountNumber(), "SUCCESS");
+        Transaction credit = Transaction.ofThebe(IdGenerator.next("TXN_"), "DEPOSIT", amountThebe, today,
+            toAccount.getAccountNumber(), "SUCCESS");
+
+        boolean posted = false;
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                posted = transferDAO.post(fromAccount.getAccountNumber(), toAccount.getAccountNumber(),
+                    amountThebe, withdrawalFloor(fromAccount), debit, credit);
+                break;
+            } catch (SQLException e) {
+                if (isRetryable(e) && attempt < MAX_ATTEMPTS) {
+                    retries.increment();
+                    continue;
+                }
+                Log.error(() -> "✗ Transfer failed: " + e.getMessage());
+                break;
+            }
+        }
+
+        if (!posted) {
+            fromAccount.setBalanceThebe(fromBefore);
+            toAccount.setBalanceThebe(toBefore);
+            Log.warn("✗ Transfer not posted: insufficient funds or account missing");
+            rejected.increment();
+            return false;
+        }
+        completed.increment();
+        return true;
+    }
+
+    /**
+     * Post a deposit (positive delta) or withdrawal (negative delta) on one
+     * account together with its transaction record. The caller holds the
+     * account's lock and has already applied the account-type rules; the
+     * database re-checks the balance against the account's floor. On success
+     * the account holds the committed balance; on failure it is untouched.
+     */
+    public boolean post(Account account, long deltaThebe, Transaction transaction) {
+        long floor = deltaThebe < 0 ? withdrawalFloor(account) : 0;
+        Long balance = null;
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                balance = transferDAO.post(account.getAccountNumber(), deltaThebe, floor, transaction);
+                break;
+            } catch (SQLException e) {
+                if (isRetryable(e) && attempt < MAX_ATTEMPTS) {
+                    retries.increment();
+                    continue;
+                }
+                Log.error(() -> "✗ Posting failed: " + e.getMessage());
+                break;
+            }
+        }
+
+        if (balance == null) {
+            Log.warn("✗ Posting not applied: insufficient funds or account missing");
+            return false;
+        }
+        account.setBalanceThebe(balance);
+        return true;
+    }
+
+    // Balance (in thebe) the source account has to keep after a withdrawal
+    private long withdrawalFloor(Account account) {
+        if (account instanceof InvestmentAccount) {
+            return ((InvestmentAccount) account).getMinimumBalanceThebe();
+        } else if (account instanceof MoneyMarketAccount) {
+            return ((MoneyMarketAccount) account).getMinimumBalanceThebe();
+        }
+        return 0;
+    }
+
+    // Deadlock / serialization failures (SQLState class 40) and lock wait timeouts
+    private boolean isRetryable(SQLException e) {
+        String state = e.getSQLState();
+        return (state != null && state.startsWith("40")) || e.getErrorCode() == 1205 || e.getErrorCode() == 1213;
+    }
+
+    public long getCompletedCount() { return completed.sum(); }
+    public long getRejectedCount() { return rejected.sum(); }
+    public long getRetryCount() { return retries.sum(); }
+}
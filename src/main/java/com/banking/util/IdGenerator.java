@@ -0,0 +1,96 @@
+package com.banking.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered 64-bit IDs for customers, accounts, transactions and audit
+ * entries.
+ *
+ * Layout, high to low: 41 bits of milliseconds since 2024-01-01 UTC, 10 bits
+ * of node id and 12 bits of sequence. The timestamp and sequence share one
+ * AtomicLong updated with compare-and-set, so IDs from one generator are
+ * strictly increasing across threads without locking. More than 4096 IDs in
+ * a millisecond, or a clock that steps backwards, make the generator run
+ * ahead of the wall clock rather than repeat itself. Different processes
+ * must use different node ids (banking.node.id, 0-1023); without one, a
+ * value derived from the process id is used.
+ *
+ * The string form is 13 characters of Crockford base 32, fixed width, so it
+ * sorts in the same order as the number and new primary keys land at the
+ * end of the index instead of at random places in it.
+ */
+public final class IdGenerator {
+    static final long EPOCH_MILLIS = 1_704_067_200_000L;
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final int MAX_NODE = (1 << NODE_BITS) - 1;
+    static final int ENCODED_LENGTH = 13;
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final IdGenerator DEFAULT = new IdGenerator(defaultNodeId());
+
+    private final long node;
+    // (millis since epoch << SEQUENCE_BITS) | sequence, of the last ID handed out
+    private final AtomicLong last = new AtomicLong();
+
+    IdGenerator(int nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE + ": " + nodeId);
+        }
+        this.node = nodeId;
+    }
+
+    /** Next ID as a number. */
+    public static long nextLong() {
+        return DEFAULT.generate();
+    }
+
+    /** Next ID in string form. */
+    public static String nextId() {
+        return encode(DEFAULT.generate());
+    }
+
+    /** Next ID in string form after a type prefix, e.g. next("SAV_"). */
+    public static String next(String prefix) {
+        return prefix + encode(DEFAULT.generate());
+    }
+
+    long generate() {
+        long now = (System.currentTimeMillis() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        long prev;
+        long next;
+        do {
+            prev = last.get();
+            // a new millisecond starts at sequence 0; otherwise count on, borrowing from the next millisecond if needed
+            next = now > prev ? now : prev + 1;
+        } while (!last.compareAndSet(prev, next));
+        long millis = next >>> SEQUENCE_BITS;
+        long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+        return (millis << (NODE_BITS + SEQUENCE_BITS)) | (node << SEQUENCE_BITS) | sequence;
+    }
+
+    /** Fixed-width, order-preserving string form of an ID. */
+    public static String encode(long id) {
+        char[] out = new char[ENCODED_LENGTH];
+        for (int i = ENCODED_LENGTH - 1; i >= 0; i--) {
+            out[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(out);
+    }
+
+    /** When an ID was generated, in epoch milliseconds. */
+    public static long timestampMillis(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+
+    static int nodeId(long id) {
+        return (int) ((id >>> SEQUENCE_BITS) & MAX_NODE);
+    }
+
+    private static int defaultNodeId() {
+        Integer configured = Integer.getInteger("banking.node.id");
+        if (configured != null) return configured;
+        return (int) (ProcessHandle.current().pid() & MAX_NODE);
+    }
+}
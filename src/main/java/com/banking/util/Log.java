@@ -0,0 +1,172 @@
+package com.banking.util;
+
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Level-gated, asynchronous console logging.
+ *
+ * Callers hand a message to a fixed-size ring buffer and return; a daemon
+ * appender thread drains the buffer to the console. Messages below the
+ * threshold (banking.log.level, INFO by default) are rejected with a single
+ * comparison, and the Supplier overloads build the text only when the level
+ * is on, so concatenation and formatting cost nothing when disabled.
+ *
+ * Producers claim slots with a compare-and-set and never block: when the
+ * appender falls a whole buffer behind, new messages are dropped and
+ * counted, and the count is reported once the appender catches up. The
+ * buffer is flushed at JVM exit.
+ */
+public final class Log {
+
+    public enum Level { TRACE, DEBUG, INFO, WARN, ERROR, OFF }
+
+    private static final int CAPACITY = Integer.highestOneBit(Math.max(64, Integer.getInteger("banking.log.buffer", 8192)));
+    private static final int MASK = CAPACITY - 1;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private static final AtomicReferenceArray<String> slots = new AtomicReferenceArray<>(CAPACITY);
+    // next slot to claim, and next slot the appender will print
+    private static final AtomicLong tail = new AtomicLong();
+    private static final AtomicLong head = new AtomicLong();
+    private static final AtomicLong dropped = new AtomicLong();
+
+    private static volatile Level threshold = parseLevel(System.getProperty("banking.log.level"), Level.INFO);
+    private static volatile PrintStream out = System.out;
+    private static final Thread appender;
+
+    static {
+        appender = new Thread(Log::drainLoop, "banking-log-appender");
+        appender.setDaemon(true);
+        appender.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(Log::flush, "banking-log-flush"));
+    }
+
+    private Log() {}
+
+    public static boolean isEnabled(Level level) {
+        return level.compareTo(threshold) >= 0 && level != Level.OFF;
+    }
+
+    public static Level getLevel() {
+        return threshold;
+    }
+
+    public static void setLevel(Level level) {
+        threshold = level;
+    }
+
+    public static void trace(Supplier<String> message) { log(Level.TRACE, message); }
+
+    public static void debug(String message) { log(Level.DEBUG, message); }
+    public static void debug(Supplier<String> message) { log(Level.DEBUG, message); }
+
+    public static void info(String message) { log(Level.INFO, message); }
+    public static void info(Supplier<String> message) { log(Level.INFO, message); }
+
+    public static void warn(String message) { log(Level.WARN, message); }
+    public static void warn(Supplier<String> message) { log(Level.WARN, message); }
+
+    public static void error(String message) { log(Level.ERROR, message); }
+    public static void error(Supplier<String> message) { log(Level.ERROR, message); }
+
+    /** Error with the throwable's stack trace, formatted only when ERROR is on. */
+    public static void error(String message, Throwable thrown) {
+        log(Level.ERROR, () -> {
+            if (thrown == null) return message;
+            StringWriter trace = new StringWriter();
+            thrown.printStackTrace(new PrintWriter(trace));
+            return message + "\n" + trace;
+        });
+    }
+
+    public static void log(Level level, String message) {
+        if (isEnabled(level)) {
+            enqueue(message);
+        }
+    }
+
+    public static void log(Level level, Supplier<String> message) {
+        if (isEnabled(level)) {
+            enqueue(message.get());
+        }
+    }
+
+    /** Messages dropped so far because the buffer was full. */
+    public static long droppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Wait until everything logged before this call has been printed, or
+     * up to a second if the appender is stuck.
+     */
+    public static void flush() {
+        long target = tail.get();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (head.get() < target && System.nanoTime() < deadline) {
+            LockSupport.unpark(appender);
+            Thread.onSpinWait();
+        }
+        out.flush();
+    }
+
+    /** Redirect the appender, e.g. to capture output in a test. */
+    static void setOut(PrintStream stream) {
+        flush();
+        out = stream;
+    }
+
+    private static void enqueue(String message) {
+        long t;
+        do {
+            t = tail.get();
+            if (t - head.get() >= CAPACITY) {
+                dropped.incrementAndGet();
+                return;
+            }
+        } while (!tail.compareAndSet(t, t + 1));
+        slots.set((int) (t & MASK), message == null ? "null" : message);
+    }
+
+    private static void drainLoop() {
+        long reported = 0;
+        while (true) {
+            long h = head.get();
+            if (h == tail.get()) {
+                long lost = dropped.get();
+                if (lost != reported) {
+                    out.println("⚠ Warning: " + (lost - reported) + " log messages dropped");
+                    reported = lost;
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            int index = (int) (h & MASK);
+            String message = slots.get(index);
+            if (message == null) {
+                // slot claimed but not yet published
+                Thread.onSpinWait();
+                continue;
+            }
+            slots.set(index, null);
+            out.println(message);
+            head.set(h + 1);
+        }
+    }
+
+    static Level parseLevel(String value, Level fallback) {
+        if (value == null || value.isBlank()) return fallback;
+        try {
+            return Level.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return fallback;
+        }
+    }
+}
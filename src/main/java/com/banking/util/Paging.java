@@ -0,0 +1,61 @@
+package com.banking.util;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Cursor, order and page types for keyset pagination, shared by the model,
+ * the persistence layer and the screens that page through results. The SQL
+ * side lives in com.banking.persistence.Keyset.
+ */
+public final class Paging {
+
+    private Paging() {}
+
+    /**
+     * Position after the last row shown: its sort value and primary key.
+     * A null cursor means the first page.
+     */
+    public static class Cursor {
+        public final Object value;
+        public final String key;
+
+        public Cursor(Object value, String key) {
+            this.value = value;
+            this.key = key;
+        }
+    }
+
+    /** Requested order: a sort key the DAO understands and a direction. */
+    public static class Sort {
+        public final String key;
+        public final boolean ascending;
+
+        public Sort(String key, boolean ascending) {
+            this.key = key;
+            this.ascending = ascending;
+        }
+
+        public static Sort asc(String key) { return new Sort(key, true); }
+        public static Sort desc(String key) { return new Sort(key, false); }
+    }
+
+    /** One page of rows and the cursor for the next, null at the end. */
+    public static class Page<T> {
+        public final List<T> items;
+        public final Cursor next;
+
+        public Page(List<T> items, Cursor next) {
+            this.items = items;
+            this.next = next;
+        }
+
+        public boolean hasMore() {
+            return next != null;
+        }
+
+        public static <T> Page<T> empty() {
+            return new Page<>(Collections.emptyList(), null);
+        }
+    }
+}
@@ -1,44 +1,100 @@
 package com.banking.util;
 
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.util.Base64;
 
 /**
- * Utility class for password hashing using SHA-256.
- * NOTE: For production, use org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder
+ * Utility class for password hashing.
+ *
+ * New hashes are salted BCrypt at the work factor banking.password.bcryptCost
+ * (default 10; each step doubles the time). Hashes written before BCrypt
+ * were unsalted Base64 SHA-256; they still verify, and needsRehash() tells
+ * the caller to replace them once the plain password is at hand, i.e. on a
+ * successful login. See PasswordHashBenchmark for picking the cost.
  */
 public class PasswordUtil {
+    public static final int DEFAULT_BCRYPT_COST = 10;
+
+    private static final int BCRYPT_COST = Integer.getInteger("banking.password.bcryptCost", DEFAULT_BCRYPT_COST);
 
     /**
-     * Hash a plain-text password using SHA-256
+     * Hash a plain-text password with BCrypt at the configured cost
      * @param plainPassword The plain-text password
-     * @return Hashed password (Base64 encoded SHA-256)
+     * @return BCrypt hash including salt and cost
      */
     public static String hashPassword(String plainPassword) {
+        return hashPassword(plainPassword, BCRYPT_COST);
+    }
+
+    /**
+     * Hash a plain-text password with BCrypt at the given cost (4-31)
+     */
+    public static String hashPassword(String plainPassword, int cost) {
         if (plainPassword == null || plainPassword.isEmpty()) {
             throw new IllegalArgumentException("Password cannot be empty");
         }
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] hashedBytes = md.digest(plainPassword.getBytes());
-            return Base64.getEncoder().encodeToString(hashedBytes);
-        } catch (Exception e) {
-            throw new RuntimeException("Error hashing password", e);
-        }
+        return BCrypt.hashpw(plainPassword, BCrypt.gensalt(cost));
     }
 
     /**
      * Verify a plain-text password against a hashed password
      * @param plainPassword The plain-text password to verify
-     * @param hashedPassword The hashed password to compare against
+     * @param hashedPassword BCrypt hash, or a legacy SHA-256 hash
      * @return true if passwords match, false otherwise
      */
     public static boolean verifyPassword(String plainPassword, String hashedPassword) {
-        if (plainPassword == null || hashedPassword == null) {
+        if (plainPassword == null || hashedPassword == null || hashedPassword.isEmpty()) {
             return false;
         }
-        // For development: SHA-256 verification
-        return hashPassword(plainPassword).equals(hashedPassword);
+        if (isBCrypt(hashedPassword)) {
+            try {
+                return BCrypt.checkpw(plainPassword, hashedPassword);
+            } catch (IllegalArgumentException e) {
+                // malformed hash
+                return false;
+            }
+        }
+        return MessageDigest.isEqual(
+            legacySha256(plainPassword).getBytes(StandardCharsets.US_ASCII),
+            hashedPassword.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Whether a stored hash should be replaced: it is a legacy SHA-256 hash
+     * or BCrypt at a lower cost than configured.
+     */
+    public static boolean needsRehash(String hashedPassword) {
+        if (hashedPassword == null || !isBCrypt(hashedPassword)) {
+            return true;
+        }
+        return costOf(hashedPassword) < BCRYPT_COST;
+    }
+
+    // "$2a$10$..." -> 10, or -1 if the hash is not BCrypt
+    static int costOf(String hashedPassword) {
+        if (!isBCrypt(hashedPassword) || hashedPassword.length() < 7) return -1;
+        try {
+            return Integer.parseInt(hashedPassword.substring(4, 6));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static boolean isBCrypt(String hashedPassword) {
+        return hashedPassword.startsWith("$2a$") || hashedPassword.startsWith("$2b$") || hashedPassword.startsWith("$2y$");
+    }
+
+    // Format used before BCrypt: Base64 of an unsalted SHA-256 digest
+    static String legacySha256(String plainPassword) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            byte[] hashedBytes = md.digest(plainPassword.getBytes());
+            return Base64.getEncoder().encodeToString(hashedBytes);
+        } catch (Exception e) {
+            throw new RuntimeException("Error hashing password", e);
+        }
     }
 
     /**
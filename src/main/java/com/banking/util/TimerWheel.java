@@ -0,0 +1,81 @@
+package com.banking.util;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Hashed timer wheel for coarse deadlines.
+ *
+ * Time is cut into ticks of tickMillis; an element due at some tick goes
+ * in slot (tick mod slots), so scheduling is one queue append and turning
+ * the wheel only looks at the slots passed. An element due more than a
+ * full turn ahead stays in its slot until the turn it is due on. Any
+ * thread may schedule; advance() is meant for a single timer thread.
+ *
+ * The wheel never cancels: an owner that reschedules something should
+ * remember the tick schedule() returned and ignore visits for other ticks.
+ */
+public final class TimerWheel<T> {
+
+    /** Called for each element whose tick has come. */
+    @FunctionalInterface
+    public interface Visitor<T> {
+        void visit(T element, long tick);
+    }
+
+    private static final class Entry<T> {
+        final T element;
+        final long tick;
+
+        Entry(T element, long tick) {
+            this.element = element;
+            this.tick = tick;
+        }
+    }
+
+    private final long tickMillis;
+    private final Queue<Entry<T>>[] slots;
+    // next tick to visit
+    private volatile long position;
+
+    @SuppressWarnings("unchecked")
+    public TimerWheel(int slots, long tickMillis, long nowMillis) {
+        this.tickMillis = Math.max(1, tickMillis);
+        this.slots = (Queue<Entry<T>>[]) new Queue<?>[Math.max(1, slots)];
+        for (int i = 0; i < this.slots.length; i++) this.slots[i] = new ConcurrentLinkedQueue<>();
+        this.position = nowMillis / this.tickMillis;
+    }
+
+    /**
+     * Queue an element for the first tick at or after dueMillis, but never
+     * behind the wheel, where it would wait a whole turn.
+     *
+     * @return the tick the element will be visited at
+     */
+    public long schedule(T element, long dueMillis) {
+        long tick = Math.max(position, (dueMillis + tickMillis - 1) / tickMillis);
+        slots[(int) (tick % slots.length)].add(new Entry<>(element, tick));
+        return tick;
+    }
+
+    /**
+     * Visit every element due up to nowMillis, slot by slot. The visitor may
+     * schedule again, including the element it was given.
+     */
+    public void advance(long nowMillis, Visitor<T> visitor) {
+        long target = nowMillis / tickMillis;
+        for (long tick = position; tick <= target; tick++) {
+            Queue<Entry<T>> slot = slots[(int) (tick % slots.length)];
+            for (int n = slot.size(); n > 0; n--) {
+                Entry<T> entry = slot.poll();
+                if (entry == null) break;
+                if (entry.tick > tick) {
+                    slot.add(entry); // due on a later turn of the wheel
+                } else {
+                    visitor.visit(entry.element, entry.tick);
+                }
+            }
+            position = tick + 1;
+        }
+    }
+}
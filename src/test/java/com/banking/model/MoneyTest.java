@@ -0,0 +1,68 @@
+package com.banking.model;
+
+import com.banking.main.Role;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+
+public class MoneyTest {
+
+    @Test
+    public void repeatedSmallDepositsDoNotDrift() {
+        Customer customer = new Customer("TEST_MONEY", "Money", "Test", "1 Money St", "000", "money@example.com", Role.CUSTOMER);
+        Account account = new ChequeAccount("CHQ_MONEY", customer, "Employer", "Address");
+
+        // 0.1 has no exact binary representation; a double balance drifts here
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(account.deposit(0.10));
+        }
+        assertEquals(10_000L, account.getBalanceThebe(), "1000 x 0.10 should be exactly 100.00");
+        assertEquals(100.00, account.getBalance());
+    }
+
+    @Test
+    public void interestRoundsHalfUpToTheNearestThebe() {
+        // 5% of 10.10 = 0.505 -> 0.51
+        assertEquals(51L, Money.interest(1010, Money.toPpm(0.05)));
+        // 0.05% of 1000.00 = 0.50
+        assertEquals(50L, Money.interest(100_000, Money.toPpm(0.0005)));
+        assertEquals(0L, Money.interest(-100, Money.toPpm(0.05)), "Negative balances earn nothing");
+    }
+
+    @Test
+    public void decimalRoundTripIsExact() {
+        long thebe = 123_456_789_01L;
+        BigDecimal decimal = Money.toDecimal(thebe);
+        assertEquals("123456789.01", decimal.toPlainString());
+        assertEquals(thebe, Money.fromDecimal(decimal));
+        assertEquals(0L, Money.fromDecimal(null));
+        assertEquals(1235L, Money.fromDecimal(new BigDecimal("12.345")), "Extra scale rounds half-up");
+    }
+
+    @Test
+    public void compoundedInterestMatchesDecimalReference() {
+        Customer customer = new Customer("TEST_MONEY", "Money", "Test", "1 Money St", "000", "money@example.com", Role.CUSTOMER);
+        InvestmentAccount account = new InvestmentAccount("INV_MONEY", customer);
+        account.setBalance(1000.00);
+
+        BigDecimal expected = new BigDecimal("1000.00");
+        for (int month = 0; month < 120; month++) {
+            account.payInterest();
+            expected = expected.add(expected.multiply(new BigDecimal("0.05")).setScale(2, java.math.RoundingMode.HALF_UP));
+        }
+        assertEquals(Money.fromDecimal(expected), account.getBalanceThebe());
+    }
+
+    @Test
+    public void storedBalanceIsLoadedExactlyWhateverTheMinimum() {
+        Customer customer = new Customer("TEST_MONEY", "Money", "Test", "1 Money St", "000", "money@example.com", Role.CUSTOMER);
+        InvestmentAccount account = new InvestmentAccount("INV_MONEY", customer);
+        account.setBalance(1000.00);
+
+        account.setBalance(10.00);
+        assertEquals(100_000L, account.getBalanceThebe(), "The business setter keeps the minimum balance");
+        account.setBalanceThebe(1_001L);
+        assertEquals(1_001L, account.getBalanceThebe(), "A committed balance is taken as stored");
+    }
+}
@@ -0,0 +1,141 @@
+package com.banking.persistence;
+
+import com.banking.model.*;
+import com.banking.service.Bank;
+import com.banking.service.BankFixture;
+import com.banking.main.Role;
+import com.banking.util.Paging;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+public class KeysetPagingTest {
+
+    private Bank bank;
+    private BankFixture fixture;
+
+    @BeforeEach
+    public void setUp() {
+        bank = new Bank("Test Bank");
+        fixture = new BankFixture(bank);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        // Clean up test data to avoid leaving rows in the database
+        fixture.cleanUp();
+    }
+
+    private Customer addCustomer(String id, String surname) {
+        return fixture.addCustomer(new Customer(id, "Keyset", surname, "1 Page Rd", "000", id.toLowerCase() + "@keyset.example.com", Role.CUSTOMER));
+    }
+
+    private Account openAccount(Customer customer, double balance) {
+        return fixture.openAccount(customer, "savings", balance);
+    }
+
+    private static <T> List<T> walk(PageReader<T> reader, Paging.Sort sort, int pageSize) {
+        List<T> all = new ArrayList<>();
+        Paging.Cursor cursor = null;
+        do {
+            Paging.Page<T> page = reader.read(cursor, pageSize, sort);
+            assertTrue(page.items.size() <= pageSize);
+            all.addAll(page.items);
+            cursor = page.next;
+        } while (cursor != null);
+        return all;
+    }
+
+    @FunctionalInterface
+    private interface PageReader<T> {
+        Paging.Page<T> read(Paging.Cursor after, int limit, Paging.Sort sort);
+    }
+
+    @Test
+    public void accountPagesFollowServerSortAndFilterWithoutGapsOrRepeats() {
+        Customer first = addCustomer("TEST_KS_A", "Alpha");
+        Customer second = addCustomer("TEST_KS_B", "Bravo");
+        // repeated balances make the account number break ties
+        double[] balances = {50, 10, 50, 30, 10, 70, 50};
+        for (int i = 0; i < balances.length; i++) {
+            openAccount(i % 2 == 0 ? first : second, balances[i]);
+        }
+
+        List<Account> byBalance = walk((after, limit, sort) -> bank.getAccountPage(after, limit, sort, "keyset.example.com"),
+            Paging.Sort.desc("balance"), 3);
+        assertEquals(balances.length, byBalance.size(), "Filter should match exactly the test accounts");
+        List<Account> expected = new ArrayList<>(byBalance);
+        expected.sort(Comparator.comparingLong(Account::getBalanceThebe).reversed()
+            .thenComparing(Comparator.comparing(Account::getAccountNumber).reversed()));
+        assertEquals(expected.stream().map(Account::getAccountNumber).toList(),
+            byBalance.stream().map(Account::getAccountNumber).toList(), "Balance descending, ties by number");
+        assertEquals(balances.length, byBalance.stream().map(Account::getAccountNumber).distinct().count());
+        assertNotNull(byBalance.get(0).getCustomer(), "Owner is joined in");
+
+        List<Account> byNumber = walk((after, limit, sort) -> bank.getAccountPage(after, limit, sort, "keyset.example.com"),
+            Paging.Sort.asc("number"), 2);
+        List<String> numbers = byNumber.stream().map(Account::getAccountNumber).toList();
+        assertEquals(numbers.stream().sorted().toList(), numbers);
+
+        assertThrows(IllegalArgumentException.class, () -> bank.getAccountPage(null, 5, Paging.Sort.asc("BALANCE; DROP TABLE ACCOUNT"), null));
+    }
+
+    @Test
+    public void customerAndTransactionPagesWalkToTheEnd() {
+        String[] surnames = {"Delta", "Alpha", "Charlie", "Alpha", "Bravo"};
+        for (int i = 0; i < surnames.length; i++) {
+            addCustomer("TEST_KS_C" + i, surnames[i]);
+        }
+        List<Customer> customers = walk((after, limit, sort) -> bank.getCustomerPage(after, limit, sort, "keyset.example.com"),
+            Paging.Sort.asc("name"), 2);
+        assertEquals(List.of("Alpha", "Alpha", "Bravo", "Charlie", "Delta"), customers.stream().map(Customer::getSurname).toList());
+        assertEquals(5, customers.stream().map(Customer::getCustomerId).distinct().count());
+
+        Customer owner = customers.get(0);
+        Account account = openAccount(owner, 0);
+        LocalDate day = LocalDate.of(2026, 2, 1);
+        for (int i = 0; i < 5; i++) {
+            bank.recordTransaction(Transaction.ofThebe("KS_" + account.getAccountNumber() + "_" + i, "DEPOSIT", 100 * (i % 3), day, account.getAccountNumber(), "COMPLETED"));
+        }
+        List<Transaction> byAmount = walk((after, limit, sort) -> bank.getCustomerTransactionPage(owner.getCustomerId(), after, limit, sort, null),
+            Paging.Sort.asc("amount"), 2);
+        assertEquals(List.of(0L, 0L, 100L, 100L, 200L), byAmount.stream().map(Transaction::getAmountThebe).toList());
+        assertEquals(5, byAmount.stream().map(Transaction::getTransactionId).distinct().count());
+    }
+
+    @Test
+    public void rowsTheMapperSkipsStillMoveTheCursor() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:keyset_" + System.nanoTime() + ";MODE=MySQL", "sa", "");
+             Statement stmt = connection.createStatement()) {
+            stmt.executeUpdate("CREATE TABLE ROWS_T (ID VARCHAR(10) PRIMARY KEY)");
+            stmt.executeUpdate("INSERT INTO ROWS_T VALUES ('A'), ('B'), ('C'), ('D')");
+            List<String> seen = new ArrayList<>();
+            Paging.Cursor cursor = null;
+            int pages = 0;
+            do {
+                StringBuilder sql = new StringBuilder("SELECT ID, ID AS ").append(Keyset.SORT_VALUE).append(" FROM ROWS_T WHERE 1=1");
+                List<Object> params = new ArrayList<>();
+                Keyset.appendAfter(sql, params, "ID", "ID", true, cursor);
+                Keyset.appendOrder(sql, params, "ID", "ID", true, 2);
+                try (PreparedStatement pstmt = connection.prepareStatement(sql.toString())) {
+                    // B stands for a row that cannot be mapped, e.g. an unknown account type
+                    Paging.Page<String> page = Keyset.read(pstmt, params, 2, "ID", rs -> "B".equals(rs.getString("ID")) ? null : rs.getString("ID"));
+                    assertFalse(page.items.contains(null));
+                    seen.addAll(page.items);
+                    cursor = page.next;
+                }
+                pages++;
+            } while (cursor != null);
+            assertEquals(List.of("A", "C", "D"), seen);
+            assertEquals(2, pages);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.banking.persistence;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class SchemaMigratorTest {
+
+    private Connection connection;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        // a private embedded database per test, separate from the one the other tests share
+        connection = DriverManager.getConnection("jdbc:h2:mem:migrator_" + System.nanoTime() + ";MODE=MySQL", "sa", "");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            System.out.println("⚠ Cleanup warning: Could not close test database");
+        }
+    }
+
+    private List<Integer> recordedVersions() throws SQLException {
+        List<Integer> versions = new ArrayList<>();
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT VERSION FROM SCHEMA_VERSION ORDER BY VERSION")) {
+            while (rs.next()) versions.add(rs.getInt(1));
+        }
+        return versions;
+    }
+
+    @Test
+    public void freshDatabaseIsMigratedOnceAndThenLeftAlone() throws SQLException {
+        SchemaMigrator migrator = new SchemaMigrator();
+        List<Integer> applied = migrator.migrate(connection);
+
+        assertEquals(migrator.latestVersion(), applied.size(), "Every migration should run on an empty database");
+        assertEquals(applied, recordedVersions());
+        assertNotNull(SchemaMigrator.columnType(connection, "CUSTOMER", "APPROVED"));
+        assertNotNull(SchemaMigrator.columnType(connection, "INTEREST_RUN", "RUN_ID"));
+
+        assertTrue(migrator.migrate(connection).isEmpty(), "Nothing to do when up to date");
+        assertEquals(applied, recordedVersions());
+    }
+
+    @Test
+    public void legacyDatabaseIsAdoptedAndUpgraded() throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            // shape of a database created before the approval columns, DECIMAL money and DATETIME audit times
+            stmt.executeUpdate("CREATE TABLE CUSTOMER (CUSTOMER_ID VARCHAR(50) PRIMARY KEY, FIRST_NAME VARCHAR(100) NOT NULL," +
+                " SURNAME VARCHAR(100) NOT NULL, ADDRESS VARCHAR(255) NOT NULL, PHONE_NUMBER VARCHAR(20) NOT NULL," +
+                " EMAIL VARCHAR(100) NOT NULL, ROLE VARCHAR(20) DEFAULT 'CUSTOMER')");
+            stmt.executeUpdate("CREATE TABLE ACCOUNT (ACCOUNT_NUMBER VARCHAR(50) PRIMARY KEY, ACCOUNT_TYPE VARCHAR(20) NOT NULL," +
+                " BALANCE DOUBLE NOT NULL, BRANCH VARCHAR(100) NOT NULL, CUSTOMER_ID VARCHAR(50) NOT NULL, DATE_OPENED DATE NOT NULL," +
+                " INTEREST_RATE DOUBLE, MINIMUM_BALANCE DOUBLE)");
+            stmt.executeUpdate("CREATE TABLE AUDIT_LOG (ID VARCHAR(100) PRIMARY KEY, TIMESTAMP VARCHAR(40) NOT NULL, ACTOR_ID VARCHAR(50)," +
+                " ACTOR_EMAIL VARCHAR(100), ACTION_TYPE VARCHAR(100), TARGET_TYPE VARCHAR(50), TARGET_ID VARCHAR(100), DETAILS TEXT)");
+            stmt.executeUpdate("INSERT INTO CUSTOMER (CUSTOMER_ID, FIRST_NAME, SURNAME, ADDRESS, PHONE_NUMBER, EMAIL) VALUES ('C1', 'Old', 'Row', 'x', '0', 'old@example.com')");
+            stmt.executeUpdate("INSERT INTO ACCOUNT VALUES ('A1', 'Savings Account', 12.5, 'Main', 'C1', DATE '2020-01-01', 0.025, NULL)");
+            stmt.executeUpdate("INSERT INTO AUDIT_LOG (ID, TIMESTAMP) VALUES ('L1', '2024-05-06T07:08:09.123456789')");
+            stmt.executeUpdate("CREATE INDEX idx_audit_ts ON AUDIT_LOG(TIMESTAMP)");
+        }
+
+        new SchemaMigrator().migrate(connection);
+
+        assertTrue(SchemaMigrator.columnType(connection, "ACCOUNT", "BALANCE").toUpperCase().contains("DECIMAL"));
+        assertFalse(SchemaMigrator.columnType(connection, "AUDIT_LOG", "TIMESTAMP").toUpperCase().contains("CHAR"));
+        assertNotNull(SchemaMigrator.columnType(connection, "CUSTOMER", "PASSWORD_HASH"));
+        assertNotNull(SchemaMigrator.columnType(connection, "TRANSACTION", "APPROVAL_STATUS"));
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT A.BALANCE, L.TIMESTAMP FROM ACCOUNT A, AUDIT_LOG L")) {
+            assertTrue(rs.next());
+            assertEquals(0, new BigDecimal("12.50").compareTo(rs.getBigDecimal(1)), "Existing rows keep their values");
+            assertEquals("2024-05-06T07:08:09.123456", rs.getTimestamp(2).toLocalDateTime().toString());
+        }
+    }
+
+    @Test
+    public void duplicateEmailsStopTheMigrationAndAreListed() throws SQLException {
+        SchemaMigrator migrator = new SchemaMigrator();
+        try (Statement stmt = connection.createStatement()) {
+            stmt.executeUpdate("CREATE TABLE CUSTOMER (CUSTOMER_ID VARCHAR(50) PRIMARY KEY, FIRST_NAME VARCHAR(100) NOT NULL," +
+                " SURNAME VARCHAR(100) NOT NULL, ADDRESS VARCHAR(255) NOT NULL, PHONE_NUMBER VARCHAR(20) NOT NULL," +
+                " EMAIL VARCHAR(100) NOT NULL, DATE_OF_BIRTH DATE)");
+            for (String id : new String[] {"C1", "C2", "C3"}) {
+                stmt.executeUpdate("INSERT INTO CUSTOMER (CUSTOMER_ID, FIRST_NAME, SURNAME, ADDRESS, PHONE_NUMBER, EMAIL)" +
+                    " VALUES ('" + id + "', 'Twin', 'Row', 'x', '0', '" + (id.equals("C3") ? "solo" : "twin") + "@example.com')");
+            }
+        }
+
+        SQLException e = assertThrows(SQLException.class, () -> migrator.migrate(connection));
+        assertTrue(e.getMessage().contains("twin@example.com (2 rows)"), e.getMessage());
+        assertFalse(e.getMessage().contains("solo@example.com"), e.getMessage());
+        assertFalse(recordedVersions().contains(7), "The failed migration is not recorded");
+
+        try (Statement stmt = connection.createStatement()) {
+            stmt.executeUpdate("UPDATE CUSTOMER SET EMAIL = 'twin2@example.com' WHERE CUSTOMER_ID = 'C2'");
+        }
+        migrator.migrate(connection);
+        assertEquals(migrator.latestVersion(), Collections.max(recordedVersions()));
+    }
+
+    @Test
+    public void databaseNameIsSplitFromTheServerUrl() {
+        assertArrayEquals(new String[] {"jdbc:mysql://127.0.0.1:3306/?useSSL=false&serverTimezone=UTC", "banking_system"},
+            SchemaMigrator.splitDatabase("jdbc:mysql://127.0.0.1:3306/banking_system?useSSL=false&serverTimezone=UTC"));
+        assertArrayEquals(new String[] {"jdbc:mysql://db/", "bank"}, SchemaMigrator.splitDatabase("jdbc:mysql://db/bank"));
+        assertNull(SchemaMigrator.splitDatabase("jdbc:mysql://db:3306/"));
+        assertNull(SchemaMigrator.splitDatabase("jdbc:mysql://db:3306/bank`; DROP"));
+    }
+}
@@ -0,0 +1,79 @@
+package com.banking.persistence;
+
+import com.banking.model.*;
+import com.banking.service.Bank;
+import com.banking.main.Role;
+import com.banking.util.Paging;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TransactionHistoryTest {
+
+    private Bank bank;
+    private String testCustomerId;
+    private String testAccountNumber;
+
+    @BeforeEach
+    public void setUp() {
+        bank = new Bank("Test Bank");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        // Clean up test data to avoid leaving rows in the database
+        if (testAccountNumber != null) {
+            try {
+                bank.deleteAccount(testAccountNumber);
+            } catch (Exception e) {
+                System.out.println("⚠ Cleanup warning: Could not delete account " + testAccountNumber);
+            }
+        }
+        if (testCustomerId != null) {
+            try {
+                bank.deleteCustomer(testCustomerId);
+            } catch (Exception e) {
+                System.out.println("⚠ Cleanup warning: Could not delete customer " + testCustomerId);
+            }
+        }
+    }
+
+    @Test
+    public void historyPagesNewestFirstWithoutGapsOrRepeats() {
+        Customer customer = new Customer("TEST_HIST", "History", "Tester", "1 History Rd", "000", "history@example.com", Role.CUSTOMER);
+        bank.addCustomer(customer);
+        testCustomerId = customer.getCustomerId();
+        Account account = bank.openAccount(customer, "savings");
+        assertNotNull(account, "Account should be created");
+        testAccountNumber = account.getAccountNumber();
+
+        // several rows share a date so the transaction id breaks ties
+        LocalDate start = LocalDate.of(2026, 1, 1);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            String id = "HIST_" + testAccountNumber + "_" + String.format("%02d", i);
+            bank.recordTransaction(Transaction.ofThebe(id, "DEPOSIT", 100 + i, start.plusDays(i / 3), testAccountNumber, "COMPLETED"));
+            expected.add(0, id);
+        }
+
+        Account reloaded = bank.getAccount(testAccountNumber);
+        List<String> walked = new ArrayList<>();
+        Paging.Cursor cursor = null;
+        int pages = 0;
+        do {
+            Paging.Page<Transaction> page = reloaded.getHistory().page(cursor, 4);
+            assertTrue(page.items.size() <= 4);
+            page.items.forEach(t -> walked.add(t.getTransactionId()));
+            cursor = page.next;
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(expected, walked, "Pages should cover every row once, newest first");
+        assertEquals(3, pages);
+        assertEquals(expected.size(), reloaded.getTransactions().size(), "Full history is still available on demand");
+        assertEquals(4, bank.getTransactionHistory(testAccountNumber, null, 4).items.size());
+    }
+}
@@ -0,0 +1,175 @@
+package com.banking.server;
+
+import com.banking.main.Role;
+import com.banking.model.Account;
+import com.banking.model.Customer;
+import com.banking.service.Bank;
+import com.banking.service.BankFixture;
+import com.banking.util.PasswordUtil;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+
+public class ApiServerTest {
+
+    private Bank bank;
+    private ApiServer server;
+    private final HttpClient client = HttpClient.newHttpClient();
+    private BankFixture fixture;
+
+    @BeforeEach
+    public void setUp() {
+        bank = new Bank("Test Bank");
+        fixture = new BankFixture(bank);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (server != null) server.stop();
+        // Clean up test data to avoid leaving rows in the database
+        fixture.cleanUp();
+    }
+
+    @Test
+    public void customerLogsInAndWorksOnOwnAccountsOnly() throws Exception {
+        Customer dineo = addCustomer("TEST_API_D", "api.dineo@example.com", Role.CUSTOMER, 4);
+        Customer kabo = addCustomer("TEST_API_K", "api.kabo@example.com", Role.CUSTOMER, 4);
+        Account own = openAccount(dineo);
+        Account other = openAccount(kabo);
+        start(new ApiServer.Config().port(0));
+
+        assertEquals(401, call("GET", "/api/accounts", null, null).statusCode());
+        assertEquals(401, call("POST", "/api/login", null, "{\"email\":\"api.dineo@example.com\",\"password\":\"wrong\"}").statusCode());
+
+        HttpResponse<String> login = call("POST", "/api/login", null, "{\"email\":\"api.dineo@example.com\",\"password\":\"dineo-password\"}");
+        assertEquals(200, login.statusCode(), login.body());
+        Map<String, Object> session = JsonReader.parseObject(login.body());
+        String token = (String) session.get("token");
+        assertEquals(dineo.getCustomerId(), session.get("customerId"));
+        assertEquals("CUSTOMER", session.get("role"));
+
+        HttpResponse<String> listed = call("GET", "/api/accounts", token, null);
+        assertEquals(200, listed.statusCode());
+        assertTrue(listed.body().contains("\"accountNumber\":\"" + own.getAccountNumber() + "\""), listed.body());
+        assertFalse(listed.body().contains(other.getAccountNumber()));
+
+        HttpResponse<String> deposit = call("POST", "/api/deposits", token, "{\"account\":\"" + own.getAccountNumber() + "\",\"amount\":150.25}");
+        assertEquals(200, deposit.statusCode(), deposit.body());
+        assertEquals(new BigDecimal("150.25"), JsonReader.parseObject(deposit.body()).get("balance"));
+
+        assertEquals(400, call("POST", "/api/deposits", token, "{\"account\":\"" + own.getAccountNumber() + "\",\"amount\":1.005}").statusCode());
+        assertEquals(400, call("POST", "/api/deposits", token, "{\"account\":").statusCode());
+        assertEquals(404, call("POST", "/api/deposits", token, "{\"account\":\"" + other.getAccountNumber() + "\",\"amount\":5}").statusCode(),
+            "Someone else's account is indistinguishable from a missing one");
+        assertEquals(422, call("POST", "/api/transfers", token,
+            "{\"from\":\"" + other.getAccountNumber() + "\",\"to\":\"" + own.getAccountNumber() + "\",\"amount\":5}").statusCode());
+        HttpResponse<String> transfer = call("POST", "/api/transfers", token,
+            "{\"from\":\"" + own.getAccountNumber() + "\",\"to\":\"" + other.getAccountNumber() + "\",\"amount\":50,\"description\":\"rent\"}");
+        assertEquals(200, transfer.statusCode(), transfer.body());
+        assertEquals(100.25, bank.getAccount(own.getAccountNumber()).getBalance(), 0.001);
+
+        String historyPath = "/api/accounts/" + own.getAccountNumber() + "/transactions";
+        HttpResponse<String> newest = call("GET", historyPath + "?limit=1", token, null);
+        assertEquals(200, newest.statusCode(), newest.body());
+        assertTrue(newest.body().contains("\"amount\":50.00"), newest.body());
+        String next = (String) JsonReader.parseObject(newest.body().replaceFirst("\\[.*]", "null")).get("next");
+        assertNotNull(next, newest.body());
+        HttpResponse<String> older = call("GET", historyPath + "?limit=1&before=" + next.replace("_", "%5F"), token, null);
+        assertEquals(200, older.statusCode(), older.body());
+        assertTrue(older.body().contains("\"amount\":150.25") && older.body().endsWith("\"next\":null}"), older.body());
+        assertEquals(400, call("GET", historyPath + "?before=yesterday", token, null).statusCode());
+
+        assertEquals(403, call("GET", "/api/metrics", token, null).statusCode());
+        assertEquals(405, call("DELETE", "/api/accounts", token, null).statusCode());
+        assertEquals(404, call("GET", "/api/nothing", token, null).statusCode());
+
+        assertEquals(200, call("POST", "/api/logout", token, null).statusCode());
+        assertEquals(401, call("GET", "/api/accounts", token, null).statusCode());
+
+        Map<String, LatencyHistogram.Snapshot> latencies = server.getLatencies();
+        assertEquals(2, latencies.get("POST /api/login").count);
+        assertEquals(4, latencies.get("POST /api/deposits").count);
+        assertEquals(2, latencies.get("unmatched").count);
+    }
+
+    @Test
+    public void slowReadsAreCutOffButWritesRunToTheEnd() throws Exception {
+        addCustomer("TEST_API_ADMIN", "api.admin@example.com", Role.ADMIN, 4);
+        Account account = openAccount(addCustomer("TEST_API_SLOW", "api.slow@example.com", Role.CUSTOMER, 12));
+        start(new ApiServer.Config().port(0).requestTimeoutMillis(20));
+
+        // a cost-12 BCrypt check takes far longer than 20 ms
+        HttpResponse<String> slow = call("POST", "/api/login", null, "{\"email\":\"api.slow@example.com\",\"password\":\"slow-password\"}");
+        assertEquals(503, slow.statusCode());
+        assertEquals("Request timed out", JsonReader.parseObject(slow.body()).get("error"));
+
+        server.stop();
+        start(new ApiServer.Config().port(0));
+        String token = (String) JsonReader.parseObject(
+            call("POST", "/api/login", null, "{\"email\":\"api.admin@example.com\",\"password\":\"admin-password\"}").body()).get("token");
+        HttpResponse<String> metrics = call("GET", "/api/metrics", token, null);
+        assertEquals(200, metrics.statusCode(), metrics.body());
+        assertTrue(metrics.body().contains("\"POST /api/login\":{\"count\":1,"), metrics.body());
+        assertTrue(metrics.body().contains("\"sessions\":{\"active\":"), metrics.body());
+
+        // a deposit takes longer than 1 ms but is never abandoned halfway
+        server.stop();
+        start(new ApiServer.Config().port(0).requestTimeoutMillis(1));
+        HttpResponse<String> deposit = call("POST", "/api/deposits", token, "{\"account\":\"" + account.getAccountNumber() + "\",\"amount\":40}");
+        assertEquals(200, deposit.statusCode(), deposit.body());
+        assertEquals(40.0, bank.getAccount(account.getAccountNumber()).getBalance(), 0.001);
+    }
+
+    @Test
+    public void jsonRoundTripsThroughWriterAndReader() throws Exception {
+        StringWriter out = new StringWriter();
+        try (JsonWriter json = new JsonWriter(out)) {
+            json.beginObject()
+                .field("text", "quote \" slash \\ line\n tab\t bell\u0007")
+                .field("amount", new BigDecimal("12.50"))
+                .field("count", 3)
+                .field("flag", true)
+                .field("nothing", (String) null)
+                .endObject();
+        }
+        assertEquals("{\"text\":\"quote \\\" slash \\\\ line\\n tab\\t bell\\u0007\",\"amount\":12.50,\"count\":3,\"flag\":true,\"nothing\":null}", out.toString());
+        Map<String, Object> parsed = JsonReader.parseObject(out.toString());
+        assertEquals("quote \" slash \\ line\n tab\t bell\u0007", parsed.get("text"));
+        assertEquals(new BigDecimal("12.50"), parsed.get("amount"));
+        assertEquals(Boolean.TRUE, parsed.get("flag"));
+        assertTrue(parsed.containsKey("nothing"));
+        assertThrows(IllegalArgumentException.class, () -> JsonReader.parseObject("{\"nested\":{}}"));
+        assertThrows(IllegalArgumentException.class, () -> JsonReader.parseObject("{\"a\":1} extra"));
+    }
+
+    private void start(ApiServer.Config config) throws Exception {
+        server = new ApiServer(bank, config);
+        server.start();
+    }
+
+    private HttpResponse<String> call(String method, String path, String token, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path))
+            .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) request.header("Authorization", "Bearer " + token);
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private Customer addCustomer(String customerId, String email, Role role, int bcryptCost) {
+        String firstName = email.substring(email.indexOf('.') + 1, email.indexOf('@'));
+        Customer customer = new Customer(customerId, firstName, "Api", "1 Port Rd", "000", email, role);
+        customer.setPasswordHash(PasswordUtil.hashPassword(firstName + "-password", bcryptCost));
+        customer.setApproved(true);
+        return fixture.addCustomer(customer);
+    }
+
+    private Account openAccount(Customer customer) {
+        return fixture.openAccount(customer, "cheque");
+    }
+}
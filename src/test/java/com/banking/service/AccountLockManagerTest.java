@@ -0,0 +1,119 @@
+package com.banking.service;
+
+import com.banking.controller.TransactionController;
+import com.banking.model.*;
+import com.banking.main.Role;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+public class AccountLockManagerTest {
+
+    private static final int THREADS = 8;
+
+    private Bank bank;
+    private String testCustomerId;
+    private String testAccountNumber;
+
+    @AfterEach
+    public void tearDown() {
+        // Clean up test data to avoid leaving rows in the database
+        if (bank == null) return;
+        if (testAccountNumber != null) {
+            try {
+                bank.deleteAccount(testAccountNumber);
+            } catch (Exception e) {
+                System.out.println("⚠ Cleanup warning: Could not delete account " + testAccountNumber);
+            }
+        }
+        if (testCustomerId != null) {
+            try {
+                bank.deleteCustomer(testCustomerId);
+            } catch (Exception e) {
+                System.out.println("⚠ Cleanup warning: Could not delete customer " + testCustomerId);
+            }
+        }
+    }
+
+    @Test
+    public void opposingTransfersOnSharedAccountsConserveBalances() throws Exception {
+        // few stripes so unrelated accounts also collide and same-stripe pairs are exercised
+        AccountLockManager locks = new AccountLockManager(4);
+        Customer customer = new Customer("TEST_LOCKS", "Lock", "Test", "1 Lock St", "000", "locks@example.com", Role.CUSTOMER);
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Account account = new ChequeAccount("CHQ_LOCK_" + i, customer, "", "");
+            account.setBalance(500.00);
+            accounts.add(account);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                for (int i = 0; i < 500; i++) {
+                    Account from = accounts.get(rnd.nextInt(accounts.size()));
+                    Account to = accounts.get(rnd.nextInt(accounts.size()));
+                    if (from == to) continue;
+                    double amount = 1 + rnd.nextInt(20);
+                    locks.withLocks(from.getAccountNumber(), to.getAccountNumber(), () -> {
+                        if (from.withdraw(amount)) {
+                            to.deposit(amount);
+                        }
+                        return null;
+                    });
+                }
+            }));
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS), "Transfers should finish without deadlocking");
+        for (Future<?> f : futures) f.get();
+
+        long total = 0;
+        for (Account account : accounts) {
+            assertTrue(account.getBalanceThebe() >= 0, "No account may be overdrawn");
+            total += account.getBalanceThebe();
+        }
+        assertEquals(6 * 50_000L, total, "Transfers must neither create nor destroy money");
+        System.out.println("✓ Lock contention: " + locks.getContendedCount() + " waits on " + locks.getStripeCount() + " stripes");
+    }
+
+    @Test
+    public void concurrentDepositsFromSeparateSessionsAreNotLost() throws Exception {
+        bank = new Bank("Test Bank");
+        TransactionController controller = new TransactionController(bank);
+        Customer customer = new Customer("TEST_LOCK_DEP", "Lock", "Deposit", "1 Lock St", "000", "lock.deposit@example.com", Role.CUSTOMER);
+        bank.addCustomer(customer);
+        testCustomerId = customer.getCustomerId();
+        Account account = bank.openAccount(customer, "cheque");
+        assertNotNull(account, "Account should be created");
+        testAccountNumber = account.getAccountNumber();
+
+        int depositsPerThread = 25;
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                // each teller session works on its own copy of the account
+                Account session = bank.getAccount(testAccountNumber);
+                for (int i = 0; i < depositsPerThread; i++) {
+                    assertTrue(controller.processDeposit(session, 1.00));
+                }
+            }));
+        }
+        for (Future<?> f : futures) f.get();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(THREADS * depositsPerThread, bank.getAccount(testAccountNumber).getBalance(), 0.001,
+            "Every deposit should be reflected in the stored balance");
+    }
+}
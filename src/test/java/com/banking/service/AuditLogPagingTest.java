@@ -0,0 +1,77 @@
+package com.banking.service;
+
+import com.banking.model.AuditLog;
+import com.banking.persistence.AuditDAO;
+import com.banking.util.Paging;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+public class AuditLogPagingTest {
+
+    private Bank bank;
+
+    @BeforeEach
+    public void setUp() {
+        bank = new Bank("Test Bank");
+    }
+
+    @Test
+    public void pagesWalkEveryEntryNewestFirstWithoutGapsOrRepeats() throws SQLException {
+        String tag = "TEST_PAGE_" + System.nanoTime();
+        LocalDateTime base = LocalDateTime.of(2026, 3, 1, 12, 0);
+        List<AuditLog> logs = new ArrayList<>();
+        for (int i = 0; i < 23; i++) {
+            // pairs share a timestamp so the id tie-break is exercised
+            logs.add(new AuditLog(UUID.randomUUID().toString(), "TEST", "paging@example.com", tag,
+                "SYSTEM", "TEST", "entry " + i, "OK", base.plusSeconds(i / 2)));
+        }
+        new AuditDAO().createBatch(logs);
+
+        AuditDAO.Filter filter = new AuditDAO.Filter().actionType(tag);
+        Set<String> seen = new HashSet<>();
+        AuditLog previous = null;
+        Paging.Cursor cursor = null;
+        int pages = 0;
+        do {
+            Paging.Page<AuditLog> page = bank.getAuditLogPage(cursor, 5, filter);
+            assertTrue(page.items.size() <= 5);
+            for (AuditLog log : page.items) {
+                assertTrue(seen.add(log.getId()), "Entry returned twice: " + log.getId());
+                if (previous != null) {
+                    int byTime = log.getTimestamp().compareTo(previous.getTimestamp());
+                    assertTrue(byTime < 0 || (byTime == 0 && log.getId().compareTo(previous.getId()) < 0),
+                        "Entries should be newest first");
+                }
+                previous = log;
+            }
+            cursor = page.next;
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(23, seen.size(), "Every entry should be returned once");
+        assertEquals(5, pages);
+    }
+
+    @Test
+    public void textFilterMatchesDetailsCaseInsensitively() throws SQLException {
+        String tag = "TEST_FIND_" + System.nanoTime();
+        new AuditDAO().createBatch(List.of(
+            new AuditLog(UUID.randomUUID().toString(), "TEST", "find@example.com", tag,
+                "SYSTEM", "TEST", "Needle in " + tag, "OK", LocalDateTime.now()),
+            new AuditLog(UUID.randomUUID().toString(), "TEST", "find@example.com", tag,
+                "SYSTEM", "TEST", "haystack", "OK", LocalDateTime.now())));
+
+        Paging.Page<AuditLog> page = bank.getAuditLogPage(null, 10,
+            new AuditDAO.Filter().actionType(tag).text("NEEDLE"));
+        assertEquals(1, page.items.size());
+        assertNull(page.next);
+    }
+}
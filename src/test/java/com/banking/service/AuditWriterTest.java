@@ -0,0 +1,189 @@
+package com.banking.service;
+
+import com.banking.model.AuditLog;
+import com.banking.persistence.AuditDAO;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AuditWriterTest {
+
+    private AuditWriter writer;
+    private Path spillFile;
+    private Path quarantineFile;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        spillFile = Files.createTempFile("audit-spill", ".log");
+        Files.delete(spillFile);
+        quarantineFile = spillFile.resolveSibling(spillFile.getFileName() + ".quarantine");
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        if (writer != null) writer.close();
+        Files.deleteIfExists(spillFile);
+        Files.deleteIfExists(quarantineFile);
+    }
+
+    @Test
+    public void entriesAreWrittenInBatchesAndVisibleAfterFlush() {
+        // touch the bank once so the schema exists
+        new Bank("Test Bank");
+        writer = new AuditWriter(new AuditDAO(), new AuditWriter.Config()
+            .batchSize(50).flushIntervalMillis(20).spillFile(spillFile));
+        String tag = "TEST_AUDIT_" + System.nanoTime();
+        for (int i = 0; i < 300; i++) {
+            assertTrue(writer.submit(entry(tag)));
+        }
+        writer.flush();
+
+        AuditWriter.Stats stats = writer.getStats();
+        assertEquals(300, stats.written, "Every entry should be written");
+        assertTrue(stats.batches < 300, "Entries should be written in batches, not one by one");
+        long stored = new AuditDAO().readAll().stream().filter(l -> tag.equals(l.getActionType())).count();
+        assertEquals(300, stored);
+        System.out.println("✓ " + stats);
+    }
+
+    @Test
+    public void dropPolicyCountsEntriesThatDoNotFit() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingDAO dao = new RecordingDAO(release, false);
+        writer = new AuditWriter(dao, new AuditWriter.Config()
+            .queueCapacity(10).batchSize(5).flushIntervalMillis(5)
+            .overflow(AuditWriter.Overflow.DROP).spillFile(spillFile));
+
+        for (int i = 0; i < 100; i++) {
+            writer.submit(entry("DROP"));
+        }
+        release.countDown();
+        writer.flush();
+
+        AuditWriter.Stats stats = writer.getStats();
+        assertTrue(stats.dropped > 0, "A stalled writer with a small queue should drop");
+        assertEquals(100, stats.written + stats.dropped, "Every entry is either written or counted as dropped");
+        assertEquals(stats.written, dao.logs.size());
+    }
+
+    @Test
+    public void failedBatchesSpillToDiskAndReplayOnNextStart() throws Exception {
+        RecordingDAO failing = new RecordingDAO(null, true);
+        writer = new AuditWriter(failing, new AuditWriter.Config().batchSize(10).spillFile(spillFile));
+        for (int i = 0; i < 25; i++) {
+            writer.submit(entry("SPILL"));
+        }
+        writer.flush();
+        writer.close();
+        assertEquals(25, writer.getStats().spilled);
+        assertTrue(Files.exists(spillFile), "Entries should be on disk while the database is down");
+
+        RecordingDAO recovered = new RecordingDAO(null, false);
+        writer = new AuditWriter(recovered, new AuditWriter.Config().batchSize(10).spillFile(spillFile));
+        assertEquals(25, recovered.logs.size(), "Spilled entries should be replayed at start");
+        assertFalse(Files.exists(spillFile));
+    }
+
+    @Test
+    public void replayDropsCommittedBatchesFromTheFileAndQuarantinesRejectedRows() throws Exception {
+        writer = new AuditWriter(new RecordingDAO(null, true), new AuditWriter.Config().batchSize(10).spillFile(spillFile));
+        for (int i = 0; i < 25; i++) {
+            writer.submit(entry(i == 12 ? "POISON" : "SPILL"));
+        }
+        writer.close();
+        List<String> spilledLines = Files.readAllLines(spillFile);
+        assertEquals(25, spilledLines.size());
+
+        // the database goes away again after the first batch
+        ScriptedDAO dao = new ScriptedDAO();
+        dao.failFromCall = 2;
+        writer = new AuditWriter(dao, new AuditWriter.Config().batchSize(10).spillFile(spillFile));
+        writer.close();
+        assertEquals(10, dao.rows.size());
+        assertEquals(spilledLines.subList(10, 25), Files.readAllLines(spillFile), "Committed batch should be gone from the file");
+
+        // as if a crash hit between a commit and the rewrite: one line is already in the database
+        List<String> again = new ArrayList<>(spilledLines.subList(9, 25));
+        Files.write(spillFile, again);
+        dao.failFromCall = Integer.MAX_VALUE;
+        writer = new AuditWriter(dao, new AuditWriter.Config().batchSize(10).spillFile(spillFile));
+        assertEquals(24, dao.rows.size(), "Everything but the rejected row is written once");
+        assertFalse(Files.exists(spillFile));
+        List<String> quarantined = Files.readAllLines(quarantineFile);
+        assertEquals(1, quarantined.size());
+        assertEquals("POISON", AuditWriter.decode(quarantined.get(0)).getActionType());
+        assertEquals(1, writer.getStats().quarantined);
+    }
+
+    @Test
+    public void spillEncodingRoundTripsAwkwardValues() {
+        AuditLog log = new AuditLog("id-1", null, "a@b.c", "ACTION", "TARGET", "t\\1",
+            "line one\nline\ttwo\\end", "OK", LocalDateTime.of(2026, 1, 2, 3, 4, 5));
+        AuditLog back = AuditWriter.decode(AuditWriter.encode(log));
+        assertEquals(log.getId(), back.getId());
+        assertNull(back.getActorId());
+        assertEquals(log.getTargetId(), back.getTargetId());
+        assertEquals(log.getDetails(), back.getDetails());
+        assertEquals(log.getTimestamp(), back.getTimestamp());
+    }
+
+    private AuditLog entry(String actionType) {
+        return new AuditLog(UUID.randomUUID().toString(), "TEST", "audit@example.com", actionType,
+            "SYSTEM", "TEST", "test entry", "OK", LocalDateTime.now());
+    }
+
+    // Records batches in memory; can stall until released or fail every batch
+    private static class RecordingDAO extends AuditDAO {
+        final List<AuditLog> logs = Collections.synchronizedList(new ArrayList<>());
+        private final CountDownLatch release;
+        private final boolean fail;
+
+        RecordingDAO(CountDownLatch release, boolean fail) {
+            this.release = release;
+            this.fail = fail;
+        }
+
+        @Override
+        public void createBatch(List<AuditLog> batch) throws SQLException {
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (fail) throw new SQLException("database down");
+            logs.addAll(batch);
+        }
+    }
+
+    // Keeps rows by id like the real table: duplicate ids and POISON entries
+    // break a constraint, and every call from failFromCall on loses the connection
+    private static class ScriptedDAO extends AuditDAO {
+        final Map<String, AuditLog> rows = new ConcurrentHashMap<>();
+        volatile int failFromCall = Integer.MAX_VALUE;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public void createBatch(List<AuditLog> batch) throws SQLException {
+            if (calls.incrementAndGet() >= failFromCall) throw new SQLException("connection lost", "08S01");
+            for (AuditLog log : batch) {
+                if (rows.containsKey(log.getId())) throw new SQLException("duplicate key", "23505");
+                if ("POISON".equals(log.getActionType())) throw new SQLException("check constraint violated", "23000");
+            }
+            for (AuditLog log : batch) rows.put(log.getId(), log);
+        }
+    }
+}
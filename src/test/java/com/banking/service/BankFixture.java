@@ -0,0 +1,87 @@
+package com.banking.service;
+
+import com.banking.model.*;
+import com.banking.persistence.DatabaseConnection;
+import org.junit.jupiter.api.Assumptions;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Customers and accounts a test creates through a Bank, removed again by
+ * cleanUp() from the test's @AfterEach.
+ *
+ * An account's TRANSACTION rows are deleted before the account itself;
+ * the ledger's foreign key would otherwise keep the account, and with it
+ * the customer, in the database.
+ */
+public class BankFixture {
+
+    private static final String DELETE_TRANSACTIONS_SQL = "DELETE FROM TRANSACTION WHERE ACCOUNT_NUMBER = ?";
+
+    private final Bank bank;
+    private final List<String> customerIds = new ArrayList<>();
+    private final List<String> accountNumbers = new ArrayList<>();
+
+    public BankFixture(Bank bank) {
+        this.bank = bank;
+    }
+
+    /**
+     * Skip the calling test unless it runs against the embedded database,
+     * for tests that touch rows they did not create (e.g. bank-wide runs).
+     */
+    public static void assumeEmbedded() {
+        Assumptions.assumeTrue(DatabaseConnection.getInstance().getConfig().isEmbedded(),
+            "Needs the embedded database profile");
+    }
+
+    public Customer addCustomer(Customer customer) {
+        bank.addCustomer(customer);
+        customerIds.add(customer.getCustomerId());
+        return customer;
+    }
+
+    public Account openAccount(Customer customer, String type) {
+        Account account = bank.openAccount(customer, type);
+        assertNotNull(account, "Account should be created");
+        accountNumbers.add(account.getAccountNumber());
+        return account;
+    }
+
+    public Account openAccount(Customer customer, String type, double balance) {
+        Account account = openAccount(customer, type);
+        account.setBalance(balance);
+        assertTrue(bank.updateAccount(account));
+        return account;
+    }
+
+    public List<String> getAccountNumbers() {
+        return accountNumbers;
+    }
+
+    public void cleanUp() {
+        for (String accountNumber : accountNumbers) {
+            try (Connection connection = DatabaseConnection.getInstance().getConnection();
+                 PreparedStatement pstmt = connection.prepareStatement(DELETE_TRANSACTIONS_SQL)) {
+                pstmt.setString(1, accountNumber);
+                pstmt.executeUpdate();
+                bank.deleteAccount(accountNumber);
+            } catch (Exception e) {
+                System.out.println("⚠ Cleanup warning: Could not delete account " + accountNumber);
+            }
+        }
+        for (String customerId : customerIds) {
+            try {
+                bank.deleteCustomer(customerId);
+            } catch (Exception e) {
+                System.out.println("⚠ Cleanup warning: Could not delete customer " + customerId);
+            }
+        }
+        accountNumbers.clear();
+        customerIds.clear();
+    }
+}
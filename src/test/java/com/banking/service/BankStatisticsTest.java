@@ -0,0 +1,104 @@
+package com.banking.service;
+
+import com.banking.controller.TransactionController;
+import com.banking.main.Role;
+import com.banking.model.Account;
+import com.banking.model.Customer;
+import com.banking.model.Money;
+import com.banking.persistence.AccountDAO;
+import com.banking.persistence.CustomerDAO;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BankStatisticsTest {
+
+    private Bank bank;
+    private String testCustomerId;
+    private Account savings;
+    private Account cheque;
+
+    @BeforeEach
+    public void setUp() {
+        bank = new Bank("Test Bank");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        // Clean up test data to avoid leaving rows in the database
+        for (Account account : new Account[] {savings, cheque}) {
+            if (account == null) continue;
+            try {
+                bank.deleteAccount(account.getAccountNumber());
+            } catch (Exception e) {
+                System.out.println("⚠ Cleanup warning: Could not delete account " + account.getAccountNumber());
+            }
+        }
+        if (testCustomerId != null) {
+            try {
+                bank.deleteCustomer(testCustomerId);
+            } catch (Exception e) {
+                System.out.println("⚠ Cleanup warning: Could not delete customer " + testCustomerId);
+            }
+        }
+    }
+
+    @Test
+    public void runningTotalsFollowWritesAndMatchAReconcile() {
+        BankStatistics stats = bank.getStatistics();
+        assertTrue(stats.reconcile());
+        BankStatistics.Snapshot before = stats.snapshot();
+
+        Customer customer = new Customer("TEST_STATS", "Stats", "Tester", "1 Stats St", "000", "stats@example.com", Role.CUSTOMER);
+        bank.addCustomer(customer);
+        testCustomerId = customer.getCustomerId();
+        savings = bank.openAccount(customer, "savings");
+        cheque = bank.openAccount(customer, "cheque");
+        TransactionController controller = new TransactionController(bank);
+        assertTrue(controller.processDeposit(savings, 300.00));
+        assertTrue(controller.processDeposit(cheque, 100.00));
+        assertTrue(bank.transfer(bank.getAccount(cheque.getAccountNumber()), bank.getAccount(savings.getAccountNumber()), 40.00));
+
+        BankStatistics.Snapshot running = stats.snapshot();
+        assertEquals(before.customers + 1, running.customers);
+        assertEquals(before.accounts + 2, running.accounts);
+        assertEquals(before.totalBalanceThebe + Money.toThebe(400.00), running.totalBalanceThebe);
+        assertEquals(before.forType("Savings Account").balanceThebe + Money.toThebe(340.00),
+            running.forType("Savings Account").balanceThebe);
+
+        // interest is credited in SQL; the next snapshot reloads rather than drifting
+        assertTrue(bank.getInterestEngine().run("ST" + System.nanoTime(), LocalDate.now()).completed);
+        BankStatistics.Snapshot afterInterest = stats.snapshot();
+
+        assertTrue(stats.reconcile());
+        BankStatistics.Snapshot reconciled = stats.snapshot();
+        assertEquals(reconciled.customers, afterInterest.customers);
+        assertEquals(reconciled.accounts, afterInterest.accounts);
+        assertEquals(reconciled.totalBalanceThebe, afterInterest.totalBalanceThebe, "Running totals must agree with the GROUP BY");
+        System.out.println("✓ " + reconciled);
+    }
+
+    @Test
+    public void stalenessMarkedDuringAReconcileIsNotLost() {
+        AtomicInteger reads = new AtomicInteger();
+        BankStatistics[] stats = new BankStatistics[1];
+        CustomerDAO racing = new CustomerDAO() {
+            @Override
+            public long count() throws SQLException {
+                // e.g. an interest run committing while the totals are being read
+                if (reads.incrementAndGet() == 1) stats[0].markStale();
+                return super.count();
+            }
+        };
+        stats[0] = new BankStatistics(new AccountDAO(), racing, 0);
+
+        stats[0].snapshot();
+        stats[0].snapshot();
+        assertEquals(2, reads.get(), "The snapshot after the race must reload");
+        stats[0].snapshot();
+        assertEquals(2, reads.get(), "Then the totals are current again");
+    }
+}
@@ -0,0 +1,119 @@
+package com.banking.service;
+
+import com.banking.controller.TransactionController;
+import com.banking.main.Role;
+import com.banking.model.Account;
+import com.banking.model.Customer;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BoundedCacheTest {
+
+    private Bank bank;
+    private String testCustomerId;
+    private String testAccountNumber;
+
+    @AfterEach
+    public void tearDown() {
+        // Clean up test data to avoid leaving rows in the database
+        if (testAccountNumber != null) {
+            try {
+                bank.deleteAccount(testAccountNumber);
+            } catch (Exception e) {
+                System.out.println("⚠ Cleanup warning: Could not delete account " + testAccountNumber);
+            }
+        }
+        if (testCustomerId != null) {
+            try {
+                bank.deleteCustomer(testCustomerId);
+            } catch (Exception e) {
+                System.out.println("⚠ Cleanup warning: Could not delete customer " + testCustomerId);
+            }
+        }
+    }
+
+    @Test
+    public void loadsOnceAndEvictsLeastRecentlyUsedBeyondCapacity() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>("test", new BoundedCache.Config().maxEntries(2));
+        AtomicInteger loads = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            assertEquals("v1", cache.get(1, k -> { loads.incrementAndGet(); return "v" + k; }));
+        }
+        assertEquals(1, loads.get(), "Repeated reads should be served from the cache");
+
+        cache.get(2, k -> "v" + k);
+        cache.get(1, k -> "v" + k);
+        cache.get(3, k -> "v" + k);
+        BoundedCache.Stats stats = cache.getStats();
+        assertEquals(2, stats.size);
+        assertEquals(1, stats.evictions, "Key 2 was least recently used");
+        assertEquals(3, stats.hits);
+        assertEquals(3, stats.misses);
+    }
+
+    @Test
+    public void expiredAndInvalidatedEntriesAreReloaded() throws Exception {
+        BoundedCache<String, Integer> cache = new BoundedCache<>("test", new BoundedCache.Config().ttlMillis(20));
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("k", k -> loads.incrementAndGet());
+        Thread.sleep(40);
+        assertEquals(2, cache.get("k", k -> loads.incrementAndGet()), "Expired entry should be reloaded");
+        cache.invalidate("k");
+        assertEquals(3, cache.get("k", k -> loads.incrementAndGet()), "Invalidated entry should be reloaded");
+    }
+
+    @Test
+    public void loadOverlappingAnInvalidationIsNotCached() {
+        BoundedCache<String, String> cache = new BoundedCache<>("test", new BoundedCache.Config());
+        // the value read before a concurrent write must not outlive that write
+        assertEquals("stale", cache.get("k", k -> { cache.invalidate("k"); return "stale"; }));
+        assertEquals("fresh", cache.get("k", k -> "fresh"));
+    }
+
+    @Test
+    public void disabledCacheAlwaysLoads() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>("test", new BoundedCache.Config().enabled(false));
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("k", k -> loads.incrementAndGet());
+        cache.get("k", k -> loads.incrementAndGet());
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void bankWritesInvalidateCachedAccounts() {
+        bank = new Bank("Test Bank");
+        Customer customer = new Customer("TEST_CACHE", "Cache", "Tester", "1 Cache Ln", "000", "cache@example.com", Role.CUSTOMER);
+        bank.addCustomer(customer);
+        testCustomerId = customer.getCustomerId();
+        Account account = bank.openAccount(customer, "savings");
+        assertNotNull(account, "Account should be created");
+        testAccountNumber = account.getAccountNumber();
+
+        Account first = bank.getAccount(testAccountNumber);
+        long hits = bank.getCacheStats().get(0).hits;
+        Account second = bank.getAccount(testAccountNumber);
+        assertEquals(hits + 1, bank.getCacheStats().get(0).hits, "Second read should hit the cache");
+        assertNotSame(first, second, "Every read should get its own copy");
+        first.setBalance(999.00);
+        first.getCustomer().setEmail("changed@example.com");
+        assertEquals(0.00, bank.getAccount(testAccountNumber).getBalance(), 0.001, "Changing a copy must not reach the cache");
+        assertEquals("cache@example.com", bank.getAccount(testAccountNumber).getCustomer().getEmail());
+        assertEquals(1, bank.getAllAccountsForCustomer(testCustomerId).size());
+
+        Customer owner = bank.getAccountOwner(testAccountNumber);
+        assertEquals(testCustomerId, owner.getCustomerId());
+        owner.setEmail("changed@example.com");
+        assertEquals("cache@example.com", bank.getAccountOwner(testAccountNumber).getEmail(), "Owners are copies too");
+        customer.setPhoneNumber("111");
+        assertTrue(bank.updateCustomer(customer));
+        assertEquals("111", bank.getAccountOwner(testAccountNumber).getPhoneNumber(), "An update reaches the owner lookup");
+
+        assertTrue(new TransactionController(bank).processDeposit(account, 250.00));
+        assertEquals(250.00, bank.getAccount(testAccountNumber).getBalance(), 0.001, "Deposit should invalidate the cached balance");
+        assertEquals(250.00, bank.getAllAccountsForCustomer(testCustomerId).get(0).getBalance(), 0.001);
+        System.out.println("✓ " + bank.getCacheStats());
+    }
+}
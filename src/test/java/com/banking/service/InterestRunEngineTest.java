@@ -0,0 +1,149 @@
+package com.banking.service;
+
+import com.banking.model.*;
+import com.banking.main.Role;
+import com.banking.persistence.InterestRunDAO;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+public class InterestRunEngineTest {
+
+    private Bank bank;
+    private BankFixture fixture;
+    private Customer customer;
+
+    @BeforeEach
+    public void setUp() {
+        // every run pays interest on every account in the database
+        BankFixture.assumeEmbedded();
+        bank = new Bank("Test Bank");
+        fixture = new BankFixture(bank);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        // Clean up test data to avoid leaving rows in the database
+        if (fixture != null) fixture.cleanUp();
+    }
+
+    @Test
+    public void runPaysEachAccountOnceAtItsTypeRate() {
+        Account savings = open("savings", 1000.00);
+        Account investment = open("investment", 2000.00);
+        Account cheque = open("cheque", 500.00);
+
+        String runId = "T" + System.nanoTime();
+        InterestRunEngine.Result result = bank.getInterestEngine().run(runId, LocalDate.now());
+        assertTrue(result.completed, "Run should complete");
+        assertTrue(result.accountsProcessed >= 3, "Run should cover the test accounts");
+
+        assertEquals(1000.50, bank.getAccount(savings.getAccountNumber()).getBalance(), 0.001, "Savings earns 0.05%");
+        assertEquals(2100.00, bank.getAccount(investment.getAccountNumber()).getBalance(), 0.001, "Investment earns 5%");
+        assertEquals(500.00, bank.getAccount(cheque.getAccountNumber()).getBalance(), 0.001, "Cheque earns nothing");
+        assertEquals(1, interestCount(investment), "One INTEREST transaction per paid account");
+        assertEquals(0, interestCount(cheque));
+
+        // the same period again is a no-op
+        InterestRunEngine.Result again = bank.getInterestEngine().run(runId, LocalDate.now());
+        assertTrue(again.alreadyCompleted);
+        assertEquals(2100.00, bank.getAccount(investment.getAccountNumber()).getBalance(), 0.001);
+    }
+
+    @Test
+    public void interruptedRunResumesWithoutPayingTwice() {
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            accounts.add(open("investment", 1000.00));
+        }
+        String runId = "T" + System.nanoTime();
+
+        // one account per page, failing on the third commit
+        InterestRunDAO crashing = new InterestRunDAO() {
+            private int pages;
+            @Override
+            public void postPage(String id, LocalDate date, List<Posting> postings, String last, int count) throws SQLException {
+                if (++pages == 3) throw new SQLException("simulated crash");
+                super.postPage(id, date, postings, last, count);
+            }
+        };
+        InterestRunEngine.Result first = new InterestRunEngine(crashing, ForkJoinPool.commonPool(), 1).run(runId, LocalDate.now());
+        assertFalse(first.completed, "Run should stop at the failed page");
+
+        InterestRunEngine.Result resumed = new InterestRunEngine(new InterestRunDAO(), ForkJoinPool.commonPool(), 2).run(runId, LocalDate.now());
+        assertTrue(resumed.completed, "Resumed run should complete");
+        for (Account account : accounts) {
+            assertEquals(1050.00, bank.getAccount(account.getAccountNumber()).getBalance(), 0.001, "Each account paid exactly once");
+            assertEquals(1, interestCount(account));
+        }
+    }
+
+    @Test
+    public void setBasedAndPagedModesMatchThePerAccountReference() {
+        // balances chosen to hit half-up rounding and sub-thebe interest
+        String[] types = {"savings", "savings", "savings", "investment", "investment", "cheque"};
+        double[] balances = {10.10, 1234.57, 9.00, 777.77, 1000.01, 50.00};
+        List<Account> accounts = new ArrayList<>();
+        long[] referenceInterest = new long[types.length];
+        for (int i = 0; i < types.length; i++) {
+            Account account = open(types[i], balances[i]);
+            accounts.add(account);
+            Account reference = bank.getAccount(account.getAccountNumber());
+            long before = reference.getBalanceThebe();
+            reference.payInterest();
+            referenceInterest[i] = reference.getBalanceThebe() - before;
+        }
+
+        String pagedRun = "P" + System.nanoTime();
+        assertTrue(bank.getInterestEngine().run(pagedRun, LocalDate.now()).completed);
+        long[] pagedInterest = ledgerInterest(accounts, balances, pagedRun);
+
+        // put the balances back and pay the same month again, set-based
+        for (int i = 0; i < accounts.size(); i++) {
+            Account account = bank.getAccount(accounts.get(i).getAccountNumber());
+            account.setBalance(balances[i]);
+            assertTrue(bank.updateAccount(account));
+        }
+        String setRun = "S" + System.nanoTime();
+        assertTrue(bank.getInterestEngine().runSetBased(setRun, LocalDate.now()).completed);
+        long[] setInterest = ledgerInterest(accounts, balances, setRun);
+
+        assertArrayEquals(referenceInterest, pagedInterest, "Paged run must match payInterest()");
+        assertArrayEquals(referenceInterest, setInterest, "Set-based run must match payInterest()");
+    }
+
+    // Interest credited by a run per account; checks the ledger row matches the balance change
+    private long[] ledgerInterest(List<Account> accounts, double[] openingBalances, String runId) {
+        long[] interest = new long[accounts.size()];
+        for (int i = 0; i < accounts.size(); i++) {
+            String accountNumber = accounts.get(i).getAccountNumber();
+            long credited = bank.getAccount(accountNumber).getBalanceThebe() - Money.toThebe(openingBalances[i]);
+            String txnId = "INT_" + runId + "_" + accountNumber;
+            long posted = bank.getTransactionHistory(accountNumber).stream()
+                .filter(t -> txnId.equals(t.getTransactionId()))
+                .mapToLong(Transaction::getAmountThebe)
+                .sum();
+            assertEquals(credited, posted, "Ledger row must equal the balance change for " + accountNumber);
+            interest[i] = credited;
+        }
+        return interest;
+    }
+
+    private Account open(String type, double balance) {
+        if (customer == null) {
+            customer = fixture.addCustomer(new Customer("TEST_INT_RUN", "Interest", "Run", "1 Interest St", "000", "interest.run@example.com", Role.CUSTOMER));
+        }
+        return fixture.openAccount(bank.getCustomerById(customer.getCustomerId()), type, balance);
+    }
+
+    private long interestCount(Account account) {
+        return bank.getTransactionHistory(account.getAccountNumber()).stream()
+            .filter(t -> "INTEREST".equals(t.getTransactionType()))
+            .count();
+    }
+}
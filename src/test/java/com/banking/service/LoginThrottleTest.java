@@ -0,0 +1,137 @@
+package com.banking.service;
+
+import com.banking.controller.LoginController;
+import com.banking.main.Role;
+import com.banking.model.AuditLog;
+import com.banking.model.Customer;
+import com.banking.util.PasswordUtil;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class LoginThrottleTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private final List<AuditLog> audited = new CopyOnWriteArrayList<>();
+    private String testCustomerId;
+    private Bank bank;
+
+    @AfterEach
+    public void tearDown() {
+        if (testCustomerId != null) {
+            try {
+                bank.deleteCustomer(testCustomerId);
+            } catch (Exception e) {
+                System.out.println("⚠ Cleanup warning: Could not delete customer " + testCustomerId);
+            }
+        }
+    }
+
+    private LoginThrottle throttle(LoginThrottle.Config config) {
+        return new LoginThrottle(config.tickMillis(100), audited::add, clock::get);
+    }
+
+    @Test
+    public void lockoutsDoubleAndEachIsAuditedOnceWhenItEnds() {
+        LoginThrottle throttle = throttle(new LoginThrottle.Config()
+            .email(2, 60_000).source(100, 1).lockoutMillis(1_000).maxLockoutMillis(10_000));
+
+        assertTrue(throttle.tryAcquire("Victim@Example.com", "10.0.0.1").allowed);
+        assertTrue(throttle.tryAcquire("victim@example.com", "10.0.0.2").allowed);
+        LoginThrottle.Decision first = throttle.tryAcquire("victim@example.com", "10.0.0.3");
+        assertFalse(first.allowed, "Third attempt empties the email's bucket");
+        assertEquals(1_000, first.retryAfterMillis);
+        assertFalse(throttle.tryAcquire("victim@example.com", "10.0.0.4").allowed);
+        assertFalse(throttle.tryAcquire("victim@example.com", "10.0.0.5").allowed);
+        assertEquals(1, throttle.getStats().lockouts);
+
+        clock.addAndGet(500);
+        throttle.advance();
+        assertTrue(audited.isEmpty(), "Nothing is audited while the lockout lasts");
+
+        clock.addAndGet(500);
+        throttle.advance();
+        assertEquals(1, audited.size());
+        AuditLog entry = audited.get(0);
+        assertEquals("LOGIN_LOCKOUT", entry.getActionType());
+        assertEquals("CUSTOMER", entry.getTargetType());
+        assertEquals("victim@example.com", entry.getTargetId());
+        assertTrue(entry.getDetails().startsWith("Refused 3 login attempts during lockout #1"), entry.getDetails());
+
+        // no token has been earned back yet, so the next attempt locks out again for twice as long
+        LoginThrottle.Decision second = throttle.tryAcquire("victim@example.com", "10.0.0.6");
+        assertFalse(second.allowed);
+        assertEquals(2_000, second.retryAfterMillis);
+
+        clock.addAndGet(2_000);
+        throttle.advance();
+        assertEquals(2, audited.size());
+        assertTrue(audited.get(1).getDetails().startsWith("Refused 1 login attempts during lockout #2"));
+        assertEquals(2, throttle.getStats().lockouts);
+    }
+
+    @Test
+    public void trackedKeysAreBoundedAndForgottenWhenIdle() {
+        LoginThrottle throttle = throttle(new LoginThrottle.Config()
+            .email(1, 60_000).source(100, 1).maxTracked(2).idleMillis(5_000));
+
+        assertTrue(throttle.tryAcquire("a@example.com", "local").allowed);
+        assertTrue(throttle.tryAcquire("b@example.com", "local").allowed);
+        assertEquals(3, throttle.getStats().tracked, "Two emails and the source");
+
+        // at the bound a new email takes the place of the idlest one that is not locked out
+        assertTrue(throttle.tryAcquire("c@example.com", "local").allowed, "c gets a bucket of its own");
+        assertTrue(throttle.tryAcquire("a@example.com", "local").allowed, "a was forgotten and starts afresh");
+        assertEquals(3, throttle.getStats().tracked);
+
+        // only when every tracked email is locked out do new ones share the overflow bucket
+        assertFalse(throttle.tryAcquire("a@example.com", "local").allowed);
+        assertFalse(throttle.tryAcquire("c@example.com", "local").allowed);
+        assertTrue(throttle.tryAcquire("d@example.com", "local").allowed);
+        assertFalse(throttle.tryAcquire("e@example.com", "local").allowed, "e shares d's exhausted bucket");
+        assertEquals(4, throttle.getStats().tracked);
+
+        clock.addAndGet(60_000);
+        throttle.advance();
+        clock.addAndGet(60_000);
+        throttle.advance();
+        assertEquals(0, throttle.getStats().tracked);
+    }
+
+    @Test
+    public void emailTokenIsSpentOnlyWhenTheSourceAllowsTheAttempt() {
+        LoginThrottle throttle = throttle(new LoginThrottle.Config()
+            .email(2, 60_000).source(1, 60_000));
+
+        assertTrue(throttle.tryAcquire("victim@example.com", "10.0.0.1").allowed);
+        assertFalse(throttle.tryAcquire("victim@example.com", "10.0.0.1").allowed, "The source is out of tokens");
+        assertTrue(throttle.tryAcquire("victim@example.com", "10.0.0.2").allowed, "The refused attempt cost the email nothing");
+        assertFalse(throttle.tryAcquire("victim@example.com", "10.0.0.3").allowed);
+    }
+
+    @Test
+    public void lockedOutLoginIsRefusedEvenWithTheRightPassword() {
+        bank = new Bank("Test Bank");
+        testCustomerId = "TEST_THROTTLE";
+        Customer customer = new Customer(testCustomerId, "Locked", "Out", "1 Gate Rd", "000", "locked.out@example.com", Role.CUSTOMER);
+        customer.setPasswordHash(PasswordUtil.hashPassword("right-password", 4));
+        customer.setApproved(true);
+        bank.addCustomer(customer);
+
+        LoginThrottle throttle = throttle(new LoginThrottle.Config().email(2, 60_000).lockoutMillis(1_000));
+        LoginController login = new LoginController(bank, throttle);
+        assertFalse(login.authenticateUser("locked.out@example.com", "guess-1"));
+        assertFalse(login.authenticateUser("locked.out@example.com", "guess-2"));
+        assertFalse(login.authenticateUser("locked.out@example.com", "guess-3"));
+        assertFalse(login.authenticateUser("locked.out@example.com", "right-password"), "Refused before the password is checked");
+        assertEquals(2, throttle.getStats().allowed);
+
+        clock.addAndGet(60_000);
+        assertTrue(login.authenticateUser("locked.out@example.com", "right-password"));
+        assertTrue(login.authenticateUser("locked.out@example.com", "right-password"), "A success refills the bucket");
+        assertTrue(login.authenticateUser("locked.out@example.com", "right-password"));
+    }
+}
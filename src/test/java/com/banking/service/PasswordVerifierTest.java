@@ -0,0 +1,92 @@
+package com.banking.service;
+
+import com.banking.controller.LoginController;
+import com.banking.main.Role;
+import com.banking.model.Customer;
+import com.banking.util.PasswordUtil;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class PasswordVerifierTest {
+
+    private Bank bank;
+    private String testCustomerId;
+
+    @BeforeEach
+    public void setUp() {
+        bank = new Bank("Test Bank");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        // Clean up test data to avoid leaving rows in the database
+        if (testCustomerId != null) {
+            try {
+                bank.deleteCustomer(testCustomerId);
+            } catch (Exception e) {
+                System.out.println("⚠ Cleanup warning: Could not delete customer " + testCustomerId);
+            }
+        }
+    }
+
+    @Test
+    public void legacyHashStillLogsInAndIsUpgradedToBCrypt() throws Exception {
+        String password = "legacy-secret";
+        // the unsalted SHA-256 format written before BCrypt
+        String legacyHash = Base64.getEncoder().encodeToString(
+            MessageDigest.getInstance("SHA-256").digest(password.getBytes(StandardCharsets.UTF_8)));
+        testCustomerId = "TEST_PWD_LEGACY";
+        Customer customer = new Customer(testCustomerId, "Legacy", "Hash", "1 Old Rd", "000", "legacy.hash@example.com", Role.CUSTOMER);
+        customer.setPasswordHash(legacyHash);
+        customer.setApproved(true);
+        bank.addCustomer(customer);
+
+        LoginController login = new LoginController(bank);
+        assertFalse(login.authenticateUser("legacy.hash@example.com", "wrong-password"));
+        assertTrue(login.authenticateUser("legacy.hash@example.com", password));
+
+        String stored = bank.getCustomerById(testCustomerId).getPasswordHash();
+        assertTrue(stored.startsWith("$2"), "Hash should have been replaced with BCrypt");
+        assertFalse(PasswordUtil.needsRehash(stored));
+        assertTrue(new LoginController(bank).authenticateUser("legacy.hash@example.com", password), "Upgraded hash verifies");
+    }
+
+    @Test
+    public void saturatedVerifierRejectsInsteadOfQueueingWithoutBound() throws Exception {
+        PasswordVerifier verifier = new PasswordVerifier(new PasswordVerifier.Config().threads(1).queueCapacity(1));
+        String hash = PasswordUtil.hashPassword("storm", 10);
+        int logins = 6;
+        ExecutorService callers = Executors.newFixedThreadPool(logins);
+        try {
+            List<Future<PasswordVerifier.Result>> results = new ArrayList<>();
+            for (int i = 0; i < logins; i++) {
+                results.add(callers.submit(() -> verifier.verify("storm", hash)));
+            }
+            int matched = 0;
+            int busy = 0;
+            for (Future<PasswordVerifier.Result> f : results) {
+                PasswordVerifier.Outcome outcome = f.get().outcome;
+                if (outcome == PasswordVerifier.Outcome.MATCH) matched++;
+                if (outcome == PasswordVerifier.Outcome.BUSY) busy++;
+            }
+            PasswordVerifier.Stats stats = verifier.getStats();
+            assertTrue(matched >= 1, "At least the running check completes");
+            assertTrue(busy >= 1, "One thread and one queue slot cannot hold six logins");
+            assertEquals(logins, matched + busy);
+            assertEquals(busy, stats.rejected);
+            assertEquals(matched, stats.completed);
+        } finally {
+            callers.shutdown();
+            verifier.shutdown();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.banking.service;
+
+import com.banking.controller.AccountController;
+import com.banking.controller.LoginController;
+import com.banking.controller.TransactionController;
+import com.banking.main.Role;
+import com.banking.model.*;
+import com.banking.util.PasswordUtil;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SessionManagerTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private Bank bank;
+    private BankFixture fixture;
+
+    @AfterEach
+    public void tearDown() {
+        // Clean up test data to avoid leaving rows in the database
+        if (fixture != null) fixture.cleanUp();
+    }
+
+    @Test
+    public void sessionsEndWhenIdleOrTooOld() {
+        SessionManager sessions = new SessionManager(new SessionManager.Config()
+            .idleMillis(1_000).absoluteMillis(3_000).tickMillis(100), clock::get);
+        Customer customer = new Customer("TEST_SESSION", "Session", "Test", "1 Token St", "000", "session@example.com", Role.CUSTOMER);
+        SessionManager.Session busy = sessions.create(customer, List.of("SAV_1"));
+        SessionManager.Session idle = sessions.create(customer, List.of("SAV_1"));
+        assertNotEquals(busy.getToken(), idle.getToken());
+        assertEquals(Role.CUSTOMER, busy.getRole());
+        assertTrue(busy.ownsAccount("SAV_1"));
+        assertFalse(busy.ownsAccount("SAV_2"));
+
+        clock.addAndGet(800);
+        assertNotNull(sessions.get(busy.getToken()));
+        clock.addAndGet(400);
+        assertNull(sessions.get(idle.getToken()), "Unused for longer than the idle limit");
+        assertNotNull(sessions.get(busy.getToken()), "Use keeps a session alive");
+        assertSame(busy, sessions.findByCustomer("TEST_SESSION"));
+
+        clock.addAndGet(800);
+        sessions.advance();
+        assertEquals(1, sessions.activeCount(), "The wheel reschedules a session used since it was queued");
+        assertNotNull(sessions.get(busy.getToken()));
+
+        clock.addAndGet(800);
+        assertNotNull(sessions.get(busy.getToken()));
+        clock.addAndGet(200);
+        sessions.advance();
+        assertNull(sessions.get(busy.getToken()), "Use cannot extend a session past its absolute limit");
+        assertNull(sessions.findByCustomer("TEST_SESSION"));
+
+        SessionManager.Stats stats = sessions.getStats();
+        assertEquals(0, stats.active);
+        assertEquals(2, stats.created);
+        assertEquals(2, stats.expired);
+    }
+
+    @Test
+    public void expiredSessionsAreRemovedWithoutBeingLookedUp() {
+        SessionManager sessions = new SessionManager(new SessionManager.Config()
+            .idleMillis(1_000).tickMillis(10), clock::get);
+        Customer customer = new Customer("TEST_SESSION", "Session", "Test", "1 Token St", "000", "session@example.com", Role.CUSTOMER);
+        for (int i = 0; i < 50; i++) {
+            sessions.create(customer, List.of());
+            clock.addAndGet(10);
+        }
+        clock.addAndGet(980);
+        sessions.advance();
+        assertEquals(1, sessions.activeCount(), "Only the newest session is still inside its idle limit");
+        clock.addAndGet(10);
+        sessions.advance();
+        assertEquals(0, sessions.activeCount());
+        assertEquals(50, sessions.getStats().expired);
+    }
+
+    @Test
+    public void oneControllerServesSeveralCustomers() {
+        bank = new Bank("Test Bank");
+        fixture = new BankFixture(bank);
+        Customer alice = addCustomer("TEST_SESS_A", "session.alice@example.com");
+        Customer bob = addCustomer("TEST_SESS_B", "session.bob@example.com");
+        Account aliceAccount = openAccount(alice);
+        Account bobAccount = openAccount(bob);
+        assertTrue(new TransactionController(bank).processDeposit(aliceAccount, 100.00));
+
+        LoginController login = new LoginController(bank);
+        String aliceToken = login.login("session.alice@example.com", "alice-password", "10.0.0.1");
+        String bobToken = login.login("session.bob@example.com", "bob-password", "10.0.0.2");
+        assertNotNull(aliceToken);
+        assertNotNull(bobToken);
+        assertFalse(login.isLoggedIn(), "Server-style logins leave the desktop session alone");
+        assertEquals(alice.getCustomerId(), login.getSession(aliceToken).getCustomerId());
+        assertTrue(login.getSession(bobToken).ownsAccount(bobAccount.getAccountNumber()));
+
+        AccountController accounts = new AccountController(bank);
+        assertFalse(accounts.transferFunds(bob.getCustomerId(), aliceAccount.getAccountNumber(), bobAccount.getAccountNumber(), 10.00, "not bob's"));
+        assertTrue(accounts.transferFunds(alice.getCustomerId(), aliceAccount.getAccountNumber(), bobAccount.getAccountNumber(), 10.00, "to bob"));
+
+        login.logout(aliceToken);
+        assertNull(login.getSession(aliceToken));
+        assertNotNull(login.getSession(bobToken), "Logging one customer out leaves the other's session");
+
+        // an account opened after login is authorized by lookup and then remembered
+        Account opened = openAccount(bob);
+        assertFalse(login.getSession(bobToken).ownsAccount(opened.getAccountNumber()));
+        assertFalse(accounts.transferFunds(bob.getCustomerId(), opened.getAccountNumber(), aliceAccount.getAccountNumber(), 10.00, "empty"));
+        assertTrue(login.getSession(bobToken).ownsAccount(opened.getAccountNumber()));
+        assertTrue(bank.deleteAccount(opened.getAccountNumber()));
+        assertFalse(login.getSession(bobToken).ownsAccount(opened.getAccountNumber()), "Closed accounts leave the session");
+    }
+
+    @Test
+    public void deletingACustomerEndsTheirSessions() {
+        bank = new Bank("Test Bank");
+        fixture = new BankFixture(bank);
+        Customer carol = addCustomer("TEST_SESS_C", "session.carol@example.com");
+        LoginController login = new LoginController(bank);
+        assertTrue(login.authenticateUser("session.carol@example.com", "carol-password"));
+        assertEquals(carol.getCustomerId(), login.getCurrentCustomer().getCustomerId());
+
+        assertTrue(bank.deleteCustomer(carol.getCustomerId()));
+        assertFalse(login.isLoggedIn());
+        assertNull(login.getCurrentCustomer());
+    }
+
+    private Customer addCustomer(String customerId, String email) {
+        String firstName = email.substring(email.indexOf('.') + 1, email.indexOf('@'));
+        Customer customer = new Customer(customerId, firstName, "Session", "1 Token St", "000", email, Role.CUSTOMER);
+        customer.setPasswordHash(PasswordUtil.hashPassword(firstName + "-password", 4));
+        customer.setApproved(true);
+        return fixture.addCustomer(customer);
+    }
+
+    private Account openAccount(Customer customer) {
+        return fixture.openAccount(customer, "cheque");
+    }
+}
@@ -0,0 +1,92 @@
+package com.banking.service;
+
+import com.banking.model.*;
+import com.banking.main.Role;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+public class TransferServiceLoadTest {
+
+    private static final int ACCOUNTS = 4;
+    private static final int THREADS = 8;
+    private static final int TRANSFERS_PER_THREAD = 100;
+    private static final double OPENING_BALANCE = 1_000.00;
+
+    private Bank bank;
+    private BankFixture fixture;
+    private List<String> testAccountNumbers;
+
+    @BeforeEach
+    public void setUp() {
+        bank = new Bank("Test Bank");
+        fixture = new BankFixture(bank);
+        testAccountNumbers = fixture.getAccountNumbers();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        // Clean up test data to avoid leaving rows in the database
+        fixture.cleanUp();
+    }
+
+    @Test
+    public void concurrentTransfersConserveMoneyAndReportThroughput() throws Exception {
+        Customer customer = new Customer("TEST_XFER_LOAD", "Transfer", "Load", "1 Load St", "000", "transfer.load@example.com", Role.CUSTOMER);
+        fixture.addCustomer(customer);
+
+        for (int i = 0; i < ACCOUNTS; i++) {
+            fixture.openAccount(customer, "cheque", OPENING_BALANCE);
+        }
+        double totalBefore = totalBalance();
+
+        // few accounts, many threads: every transfer contends with the others
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                    int from = rnd.nextInt(ACCOUNTS);
+                    int to = (from + 1 + rnd.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+                    Account fromAccount = bank.getAccount(testAccountNumbers.get(from));
+                    Account toAccount = bank.getAccount(testAccountNumbers.get(to));
+                    bank.transfer(fromAccount, toAccount, 1 + rnd.nextInt(50));
+                }
+            }));
+        }
+        for (Future<?> f : futures) f.get();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        TransferService service = bank.getTransferService();
+        long attempts = (long) THREADS * TRANSFERS_PER_THREAD;
+        assertEquals(attempts, service.getCompletedCount() + service.getRejectedCount(), "Every transfer should complete or be rejected");
+        assertTrue(service.getCompletedCount() > 0, "Some transfers should complete");
+        assertEquals(totalBefore, totalBalance(), 0.001, "Transfers must neither create nor destroy money");
+        for (String accountNumber : testAccountNumbers) {
+            assertTrue(bank.getAccount(accountNumber).getBalance() >= 0, "No account may be overdrawn");
+        }
+
+        System.out.printf("✓ %d transfers (%d rejected, %d retried) in %.2fs: %.0f transfers/sec with %d threads on %d accounts%n",
+            service.getCompletedCount(), service.getRejectedCount(), service.getRetryCount(), seconds,
+            service.getCompletedCount() / seconds, THREADS, ACCOUNTS);
+    }
+
+    private double totalBalance() {
+        double total = 0;
+        for (String accountNumber : testAccountNumbers) {
+            total += bank.getAccount(accountNumber).getBalance();
+        }
+        return total;
+    }
+}
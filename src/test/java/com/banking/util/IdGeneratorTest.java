@@ -0,0 +1,66 @@
+package com.banking.util;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class IdGeneratorTest {
+
+    @Test
+    public void idsAreUniqueAcrossThreadsAndIncreasingWithinEach() throws Exception {
+        IdGenerator generator = new IdGenerator(7);
+        int threads = 8;
+        int perThread = 20_000;
+        Set<Long> seen = ConcurrentHashMap.newKeySet();
+        List<Thread> workers = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                long previous = Long.MIN_VALUE;
+                for (int i = 0; i < perThread; i++) {
+                    long id = generator.generate();
+                    if (id <= previous || !seen.add(id)) {
+                        synchronized (failures) {
+                            failures.add(new AssertionError("Repeated or out-of-order id " + id));
+                        }
+                        return;
+                    }
+                    previous = id;
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) worker.join();
+
+        assertTrue(failures.isEmpty(), () -> failures.get(0).getMessage());
+        assertEquals(threads * perThread, seen.size());
+        long any = seen.iterator().next();
+        assertEquals(7, IdGenerator.nodeId(any));
+        assertTrue(Math.abs(IdGenerator.timestampMillis(any) - System.currentTimeMillis()) < 60_000,
+            "Timestamp bits should hold the generation time");
+    }
+
+    @Test
+    public void encodingIsFixedWidthAndSortsLikeTheNumber() {
+        IdGenerator generator = new IdGenerator(1023);
+        long[] ids = {0, 1, 31, 32, generator.generate(), generator.generate(), Long.MAX_VALUE};
+        for (int i = 1; i < ids.length; i++) {
+            String previous = IdGenerator.encode(ids[i - 1]);
+            String current = IdGenerator.encode(ids[i]);
+            assertEquals(IdGenerator.ENCODED_LENGTH, current.length());
+            assertTrue(previous.compareTo(current) < 0, previous + " should sort before " + current);
+        }
+        assertTrue(IdGenerator.next("SAV_").matches("SAV_[0-9A-Z]{13}"));
+    }
+
+    @Test
+    public void rejectsNodeIdsOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new IdGenerator(-1));
+        assertThrows(IllegalArgumentException.class, () -> new IdGenerator(IdGenerator.MAX_NODE + 1));
+    }
+}
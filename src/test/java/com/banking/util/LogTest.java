@@ -0,0 +1,102 @@
+package com.banking.util;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class LogTest {
+
+    private Log.Level previousLevel;
+    private ByteArrayOutputStream captured;
+
+    @BeforeEach
+    public void setUp() {
+        previousLevel = Log.getLevel();
+        captured = new ByteArrayOutputStream();
+        Log.setOut(new PrintStream(captured, true, StandardCharsets.UTF_8));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        Log.setOut(System.out);
+        Log.setLevel(previousLevel);
+    }
+
+    private List<String> lines() {
+        Log.flush();
+        String text = captured.toString(StandardCharsets.UTF_8);
+        return text.isEmpty() ? List.of() : Arrays.asList(text.split("\\R"));
+    }
+
+    @Test
+    public void disabledLevelsNeverBuildTheMessage() {
+        Log.setLevel(Log.Level.WARN);
+        AtomicInteger built = new AtomicInteger();
+
+        Log.debug(() -> "debug " + built.incrementAndGet());
+        Log.info(() -> "info " + built.incrementAndGet());
+        Log.warn(() -> "warn " + built.incrementAndGet());
+        Log.error("error");
+
+        assertEquals(1, built.get(), "Only the WARN supplier should run");
+        assertFalse(Log.isEnabled(Log.Level.INFO));
+        assertTrue(Log.isEnabled(Log.Level.ERROR));
+        assertEquals(List.of("warn 1", "error"), lines());
+    }
+
+    @Test
+    public void messagesFromManyThreadsAreAllPrintedInPerThreadOrder() throws Exception {
+        Log.setLevel(Log.Level.INFO);
+        int threads = 4;
+        int perThread = 500;
+        long droppedBefore = Log.droppedCount();
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            Thread writer = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    int n = i;
+                    Log.info(() -> id + ":" + n);
+                }
+            });
+            writers.add(writer);
+            writer.start();
+        }
+        for (Thread writer : writers) writer.join();
+
+        List<String> lines = lines();
+        assertEquals(droppedBefore, Log.droppedCount(), "Buffer is large enough for this test");
+        assertEquals(threads * perThread, lines.size());
+        int[] next = new int[threads];
+        for (String line : lines) {
+            String[] parts = line.split(":");
+            int id = Integer.parseInt(parts[0]);
+            assertEquals(next[id]++, Integer.parseInt(parts[1]), "Each thread's messages keep their order");
+        }
+    }
+
+    @Test
+    public void errorsCarryTheStackTrace() {
+        Log.setLevel(Log.Level.ERROR);
+        Log.error("✗ failed", new IllegalStateException("boom"));
+
+        List<String> lines = lines();
+        assertEquals("✗ failed", lines.get(0));
+        assertEquals("java.lang.IllegalStateException: boom", lines.get(1));
+        assertTrue(lines.get(2).trim().startsWith("at com.banking.util.LogTest.errorsCarryTheStackTrace"), lines.get(2));
+    }
+
+    @Test
+    public void parsesLevelNamesLeniently() {
+        assertEquals(Log.Level.DEBUG, Log.parseLevel(" debug ", Log.Level.INFO));
+        assertEquals(Log.Level.INFO, Log.parseLevel("verbose", Log.Level.INFO));
+        assertEquals(Log.Level.INFO, Log.parseLevel(null, Log.Level.INFO));
+    }
+}